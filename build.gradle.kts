@@ -33,6 +33,10 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.zalando:logbook-spring-boot-starter:3.12.1")
 
+    // Persistence
+    implementation("org.springframework.boot:spring-boot-starter-jdbc")
+    runtimeOnly("com.h2database:h2")
+
     // Other
     implementation("com.google.guava:guava:33.3.1-jre")
 
@@ -45,3 +49,21 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+val benchmark by tasks.registering(Test::class) {
+	description = "Runs the benchmarks tagged \"benchmark\", which the test task skips."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	testLogging.showStandardStreams = true
+	shouldRunAfter(tasks.test)
+}
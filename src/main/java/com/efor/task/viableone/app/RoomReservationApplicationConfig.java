@@ -2,7 +2,12 @@ package com.efor.task.viableone.app;
 
 import com.efor.task.viableone.common.CommonConfig;
 import com.efor.task.viableone.reservation.ReservationConfig;
+import com.efor.task.viableone.reservation.bulk.BulkConfig;
+import com.efor.task.viableone.reservation.cluster.ClusterConfig;
+import com.efor.task.viableone.reservation.consensus.ConsensusConfig;
+import com.efor.task.viableone.reservation.events.EventsConfig;
 import com.efor.task.viableone.reservation.controller.ReservationControllerConfig;
+import com.efor.task.viableone.reservation.replication.ReplicationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
@@ -14,7 +19,12 @@ import org.springframework.context.annotation.Import;
 @Import({
         CommonConfig.class,
         ReservationConfig.class,
-        ReservationControllerConfig.class
+        ReservationControllerConfig.class,
+        ClusterConfig.class,
+        ReplicationConfig.class,
+        ConsensusConfig.class,
+        BulkConfig.class,
+        EventsConfig.class
 })
 public class RoomReservationApplicationConfig {
     @Bean
@@ -0,0 +1,33 @@
+package com.efor.task.viableone.reservation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Availability of the rooms in consecutive time slots.
+ *
+ * @param from      Inclusive start of the first slot, truncated to minutes.
+ * @param slot      Length of a slot.
+ * @param slotCount Number of slots; the last one may end after the requested window.
+ * @param freeSlots Bitmap per room id, ordered by room id; bit {@code i} is set if slot {@code i} is free.
+ *                  The bitmaps must not be modified.
+ */
+public record AvailabilityMatrix(Instant from, Duration slot, int slotCount, SortedMap<String, BitSet> freeSlots) {
+
+    /**
+     * Maximum number of slots of a matrix.
+     */
+    public static final int MAX_SLOTS = 4096;
+
+    public AvailabilityMatrix {
+        Objects.requireNonNull(from, "AvailabilityMatrix.from must not be null");
+        Objects.requireNonNull(slot, "AvailabilityMatrix.slot must not be null");
+        freeSlots = Collections.unmodifiableSortedMap(new TreeMap<>(Objects.requireNonNull(freeSlots,
+                "AvailabilityMatrix.freeSlots must not be null")));
+    }
+}
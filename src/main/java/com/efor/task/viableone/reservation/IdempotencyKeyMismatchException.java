@@ -0,0 +1,10 @@
+package com.efor.task.viableone.reservation;
+
+/**
+ * Thrown when an idempotency key is reused for a booking request different from the one it was first used for.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
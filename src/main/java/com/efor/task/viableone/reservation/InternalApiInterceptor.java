@@ -0,0 +1,65 @@
+package com.efor.task.viableone.reservation;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Admits a request to an internal API, through which the instances of a cluster, consensus group or replication
+ * talk to each other, only if it carries their shared secret in the {@value #SECRET_HEADER} header; any other request
+ * is answered with {@code 401}. The secret is compared in constant time.
+ * <p>
+ * The clients of an internal API send the header with every request, see {@link #requireSecret(String, String)}.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+public class InternalApiInterceptor implements HandlerInterceptor {
+
+    /**
+     * @param secretProperty name of the property configuring the secret, for the error message
+     * @param secret         the shared secret
+     * @throws IllegalStateException if the secret is not set
+     */
+    public InternalApiInterceptor(String secretProperty, String secret) {
+        this.secret = requireSecret(secretProperty, secret).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(InternalApiInterceptor.class);
+
+    public static final String SECRET_HEADER = "X-Internal-Secret";
+
+    private final byte[] secret;
+
+    /**
+     * Returns the secret, failing if it is not set.
+     *
+     * @throws IllegalStateException if the secret is null or blank
+     */
+    public static String requireSecret(String secretProperty, String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException(secretProperty + " must be set");
+        }
+        return secret;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        var provided = request.getHeader(SECRET_HEADER);
+        if (provided != null && MessageDigest.isEqual(secret, provided.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        logger.warn("Internal API request rejected. path='{}', remoteAddress='{}'", request.getRequestURI(),
+                request.getRemoteAddr());
+        response.sendError(HttpStatus.UNAUTHORIZED.value(), "Missing or wrong " + SECRET_HEADER + " header");
+        return false;
+    }
+}
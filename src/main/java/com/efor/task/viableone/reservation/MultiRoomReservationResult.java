@@ -0,0 +1,18 @@
+package com.efor.task.viableone.reservation;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Outcome of booking several rooms for the same interval at once.
+ *
+ * @param isNewReservation {@code true} if all rooms were reserved; {@code false} if none was because of a collision.
+ * @param reservations On success, the created reservation of each room; on collision, the collision of each
+ *                     conflicting room.
+ */
+public record MultiRoomReservationResult(boolean isNewReservation, List<RoomReservationResult> reservations) {
+    public MultiRoomReservationResult {
+        reservations = List.copyOf(Objects.requireNonNull(reservations,
+                "MultiRoomReservationResult.reservations must not be null"));
+    }
+}
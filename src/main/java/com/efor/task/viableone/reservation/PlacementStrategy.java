@@ -0,0 +1,19 @@
+package com.efor.task.viableone.reservation;
+
+/**
+ * Selects which of several available rooms is returned or booked for a requested interval.
+ */
+public enum PlacementStrategy {
+    /**
+     * The first available room found; cheapest, the search stops at the first match.
+     */
+    FIRST_FIT,
+    /**
+     * The room whose free gap enclosing the interval is the smallest; keeps large gaps for long reservations.
+     */
+    BEST_FIT,
+    /**
+     * The room with the fewest reserved minutes; spreads reservations evenly across rooms.
+     */
+    LEAST_LOADED
+}
@@ -0,0 +1,57 @@
+package com.efor.task.viableone.reservation;
+
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.time.Instant;
+
+/**
+ * Committed change of the reservations or rooms, as observed by a {@link ReservationChangeListener}.
+ *
+ * Changes carry everything needed to apply them again to another instance with the same reservation ids.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ReservationChange.Booked.class, name = "BOOKED"),
+        @JsonSubTypes.Type(value = ReservationChange.Cancelled.class, name = "CANCELLED"),
+        @JsonSubTypes.Type(value = ReservationChange.RoomAttributesSet.class, name = "ROOM_ATTRIBUTES_SET")
+})
+public sealed interface ReservationChange {
+
+    /**
+     * Identifier of the room that changed.
+     */
+    String roomId();
+
+    /**
+     * A reservation or a series was booked.
+     *
+     * @param reservationId Identifier of the new reservation.
+     * @param roomId Identifier of the booked room.
+     * @param reservationStart Inclusive start of the reservation or of the first occurrence of the series.
+     * @param reservationEnd Exclusive end of the reservation or of the first occurrence of the series.
+     * @param recurrence Recurrence of the series; {@code null} for a single reservation.
+     */
+    record Booked(long reservationId, String roomId, Instant reservationStart, Instant reservationEnd,
+                  RecurrenceRule recurrence) implements ReservationChange {
+    }
+
+    /**
+     * A reservation or a whole series was cancelled.
+     *
+     * @param reservationId Identifier of the cancelled reservation.
+     * @param roomId Identifier of the room the reservation was cancelled in.
+     */
+    record Cancelled(long reservationId, String roomId) implements ReservationChange {
+    }
+
+    /**
+     * The attributes of a room were set.
+     *
+     * @param roomId Identifier of the room.
+     * @param attributes The new attributes of the room.
+     */
+    record RoomAttributesSet(String roomId, RoomAttributes attributes) implements ReservationChange {
+    }
+}
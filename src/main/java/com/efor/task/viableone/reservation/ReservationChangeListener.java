@@ -0,0 +1,18 @@
+package com.efor.task.viableone.reservation;
+
+/**
+ * Receives every change committed by the room reservation service.
+ * <p>
+ * The listener is called under the lock of the changed room, so the changes of one room are received in the order
+ * they were committed. It must return quickly and must not throw; it must not call back into the service.
+ * </p>
+ */
+public interface ReservationChangeListener {
+
+    /**
+     * Called after a change is committed, before the lock of the changed room is released.
+     *
+     * @param change the committed change; never {@code null}
+     */
+    void onChange(ReservationChange change);
+}
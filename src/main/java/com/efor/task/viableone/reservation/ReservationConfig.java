@@ -1,9 +1,19 @@
 package com.efor.task.viableone.reservation;
 
+import com.efor.task.viableone.reservation.impl.AvailableRoomCache;
 import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.impl.IdempotencyCache;
+import com.efor.task.viableone.reservation.impl.OccupancyIndex;
+import com.efor.task.viableone.reservation.impl.ParallelRoomScanner;
+import com.efor.task.viableone.reservation.impl.ReservationArchiver;
+import com.efor.task.viableone.reservation.impl.RoomCatalog;
+import com.efor.task.viableone.reservation.impl.RoomResidency;
+import com.efor.task.viableone.reservation.impl.UtilizationAggregates;
+import com.efor.task.viableone.reservation.storage.StorageConfig;
 import com.efor.task.viableone.reservation.validation.DefaultIntervalValidator;
 import com.efor.task.viableone.reservation.validation.DefaultRoomIdentifierValidator;
 import com.efor.task.viableone.reservation.validation.DefaultRoomReservationValidator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
@@ -11,8 +21,18 @@ import org.springframework.context.annotation.Import;
  * Reservation feature Spring Context configuration.
  */
 @Configuration
+@EnableConfigurationProperties(ReservationProperties.class)
 @Import({
+        AvailableRoomCache.class,
         DefaultRoomReservationService.class,
+        IdempotencyCache.class,
+        OccupancyIndex.class,
+        ParallelRoomScanner.class,
+        ReservationArchiver.class,
+        RoomCatalog.class,
+        RoomResidency.class,
+        UtilizationAggregates.class,
+        StorageConfig.class,
         DefaultIntervalValidator.class,
         DefaultRoomIdentifierValidator.class,
         DefaultRoomReservationValidator.class
@@ -0,0 +1,35 @@
+package com.efor.task.viableone.reservation;
+
+/**
+ * Converts the reservation ids assigned by the local service of this instance to the ids of the API.
+ * <p>
+ * They are the same unless the instance is a cluster node, which encodes its ordinal in the ids; components reading
+ * the local service directly, such as the change feed and the snapshot export, convert the ids they publish.
+ * </p>
+ */
+@FunctionalInterface
+public interface ReservationIdEncoder {
+
+    /**
+     * Keeps the ids of the local service.
+     */
+    ReservationIdEncoder LOCAL = localReservationId -> localReservationId;
+
+    /**
+     * Returns the API id of a reservation of the local service.
+     */
+    long encode(long localReservationId);
+
+    /**
+     * Returns the change with the API id of its reservation.
+     */
+    default ReservationChange encode(ReservationChange change) {
+        return switch (change) {
+            case ReservationChange.Booked booked -> new ReservationChange.Booked(encode(booked.reservationId()),
+                    booked.roomId(), booked.reservationStart(), booked.reservationEnd(), booked.recurrence());
+            case ReservationChange.Cancelled cancelled ->
+                    new ReservationChange.Cancelled(encode(cancelled.reservationId()), cancelled.roomId());
+            case ReservationChange.RoomAttributesSet attributesSet -> attributesSet;
+        };
+    }
+}
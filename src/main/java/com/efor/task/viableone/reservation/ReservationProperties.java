@@ -0,0 +1,102 @@
+package com.efor.task.viableone.reservation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Reservation feature configuration bound from the {@code reservation.*} properties.
+ *
+ * @param availableRoomCache settings of the read-through cache in front of the available room search
+ * @param placementStrategy  selects the room among several available ones
+ * @param idempotency        settings of the cache of booking results keyed by idempotency key
+ * @param parallelSearchThreshold   number of candidate rooms from which availability searches scan the rooms in parallel
+ * @param parallelSearchParallelism number of threads scanning the rooms in parallel; 0 uses one per available processor
+ * @param storage            where the reservations of the rooms are kept
+ * @param residency          paging of rarely used rooms out of the heap
+ * @param archive            compaction of past reservations
+ * @param changeLog          log of the committed changes read by replication followers and change feed subscribers
+ */
+@ConfigurationProperties(prefix = "reservation")
+public record ReservationProperties(
+        @DefaultValue AvailableRoomCacheProperties availableRoomCache,
+        @DefaultValue("FIRST_FIT") PlacementStrategy placementStrategy,
+        @DefaultValue IdempotencyProperties idempotency,
+        @DefaultValue("4096") int parallelSearchThreshold,
+        @DefaultValue("0") int parallelSearchParallelism,
+        @DefaultValue StorageProperties storage,
+        @DefaultValue ResidencyProperties residency,
+        @DefaultValue ArchiveProperties archive,
+        @DefaultValue ChangeLogProperties changeLog
+) {
+
+    /**
+     * @param enabled     whether available room search results are cached
+     * @param maximumSize maximum number of cached intervals; least recently used entries are evicted first
+     */
+    public record AvailableRoomCacheProperties(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("1024") long maximumSize
+    ) {
+    }
+
+    /**
+     * @param maximumFootprint estimated memory the cached booking results may take; oldest entries are evicted first
+     * @param expireAfterWrite how long a booking result is replayed for retries with the same idempotency key
+     */
+    public record IdempotencyProperties(
+            @DefaultValue("16MB") DataSize maximumFootprint,
+            @DefaultValue("24h") Duration expireAfterWrite
+    ) {
+    }
+
+    /**
+     * @param type            where the reservations are kept
+     * @param directory       directory of the reservation files; required for {@code MAPPED}
+     * @param initialCapacity number of reservations a new room file has room for before it grows
+     * @param batchSize       maximum number of writes committed to the database in one transaction for {@code JDBC}
+     */
+    public record StorageProperties(
+            @DefaultValue("HEAP") StorageType type,
+            Path directory,
+            @DefaultValue("64") int initialCapacity,
+            @DefaultValue("256") int batchSize
+    ) {
+    }
+
+    /**
+     * @param enabled      whether rooms not used recently are spilled to disk when over the memory budget
+     * @param directory    directory of the spilled rooms; a temporary directory if not set
+     * @param memoryBudget estimated heap the reservation stores of the resident rooms may take; the indexes derived
+     *                     from all reservations are not counted
+     */
+    public record ResidencyProperties(
+            @DefaultValue("false") boolean enabled,
+            Path directory,
+            @DefaultValue("64MB") DataSize memoryBudget
+    ) {
+    }
+
+    /**
+     * @param enabled  whether past reservations are moved into compact cold segments in the background
+     * @param after    how long after its end a reservation is archived
+     * @param interval how often the rooms are archived and their cold segments compacted
+     */
+    public record ArchiveProperties(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("7d") Duration after,
+            @DefaultValue("1h") Duration interval
+    ) {
+    }
+
+    /**
+     * @param retention number of the latest changes retained for readers catching up
+     */
+    public record ChangeLogProperties(
+            @DefaultValue("100000") int retention
+    ) {
+    }
+}
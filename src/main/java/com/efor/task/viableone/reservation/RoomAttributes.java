@@ -0,0 +1,49 @@
+package com.efor.task.viableone.reservation;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Descriptive attributes of a room used to filter availability searches.
+ *
+ * This is an immutable value object; equipment tags and the location are trimmed and compared case-insensitively.
+ *
+ * @param capacity  Number of seats; not negative.
+ * @param equipment Equipment tags, e.g. {@code projector}; may be empty.
+ * @param location  Location of the room, e.g. a building; {@code null} if unknown.
+ */
+public record RoomAttributes(int capacity, Set<String> equipment, String location) {
+
+    public RoomAttributes {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("RoomAttributes.capacity must not be negative");
+        }
+        equipment = normalize(equipment);
+        location = normalize(location);
+    }
+
+    /**
+     * Normalizes equipment tags the same way room attributes do; {@code null} becomes an empty set.
+     */
+    static Set<String> normalize(Set<String> tags) {
+        if (tags == null) {
+            return Set.of();
+        }
+        return tags.stream()
+                .map(RoomAttributes::normalize)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Normalizes a tag or location the same way room attributes do; blank values become {@code null}.
+     */
+    static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,64 @@
+package com.efor.task.viableone.reservation;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Restricts which rooms may be selected when searching for or booking any available room.
+ *
+ * This is an immutable value object; an empty constraint matches every room. Attribute constraints match only rooms
+ * with {@link RoomAttributes}.
+ *
+ * @param roomIds     Identifiers of the candidate rooms, trimmed like booked room ids; empty means any room.
+ * @param minCapacity Minimum number of seats; 0 means any capacity.
+ * @param equipment   Equipment tags the room must all have; empty means any equipment.
+ * @param location    Location the room must be in; {@code null} means any location.
+ */
+public record RoomConstraints(Set<String> roomIds, int minCapacity, Set<String> equipment, String location) {
+    private static final RoomConstraints NONE = new RoomConstraints(Set.of());
+
+    public RoomConstraints {
+        Objects.requireNonNull(roomIds, "RoomConstraints.roomIds must not be null");
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("RoomConstraints.minCapacity must not be negative");
+        }
+        roomIds = roomIds.stream()
+                .map(String::trim)
+                .collect(Collectors.toUnmodifiableSet());
+        equipment = RoomAttributes.normalize(equipment);
+        location = RoomAttributes.normalize(location);
+    }
+
+    public RoomConstraints(Set<String> roomIds) {
+        this(roomIds, 0, Set.of(), null);
+    }
+
+    /**
+     * Returns constraints matching every room.
+     */
+    public static RoomConstraints none() {
+        return NONE;
+    }
+
+    /**
+     * Returns true if the room identifier satisfies these constraints; attributes are not checked.
+     */
+    public boolean matches(String roomId) {
+        return roomIds.isEmpty() || roomIds.contains(roomId);
+    }
+
+    /**
+     * Returns true if these constraints restrict the room attributes.
+     */
+    public boolean hasAttributeConstraints() {
+        return minCapacity > 0 || !equipment.isEmpty() || location != null;
+    }
+
+    /**
+     * Returns true if these constraints match every room.
+     */
+    public boolean isNone() {
+        return roomIds.isEmpty() && !hasAttributeConstraints();
+    }
+}
@@ -1,5 +1,7 @@
 package com.efor.task.viableone.reservation;
 
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+
 import java.time.Instant;
 
 /**
@@ -7,9 +9,13 @@ import java.time.Instant;
  *
  * This immutable value object is returned by the service when reading reservations.
  *
+ * @param reservationId Identifier of the reservation.
  * @param roomId Unique identifier of the room that is reserved.
  * @param reservationStart Inclusive start of the reserved interval, as an {@link java.time.Instant} (UTC).
  * @param reservationEnd Exclusive end of the reserved interval, as an {@link java.time.Instant} (UTC).
+ * @param recurrence Recurrence of the series the reservation belongs to; {@code null} for a single reservation.
+ *                   For a series looked up by id, the interval is its first occurrence.
  */
-public record RoomReservationInfo(String roomId, Instant reservationStart, Instant reservationEnd) {
+public record RoomReservationInfo(long reservationId, String roomId, Instant reservationStart, Instant reservationEnd,
+                                  RecurrenceRule recurrence) {
 }
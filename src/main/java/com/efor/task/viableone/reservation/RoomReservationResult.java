@@ -8,15 +8,38 @@ import java.util.Objects;
  *
  * This immutable value object is returned by the service when reading reservations.
  *
+ * @param reservationId Identifier of the created reservation; {@code null} if the reserved interval collides.
  * @param roomId Unique identifier of the room that is reserved.
  * @param reservationStart Inclusive start of the reserved interval, as an {@link java.time.Instant} (UTC).
  * @param reservationEnd Exclusive end of the reserved interval, as an {@link java.time.Instant} (UTC).
+ * @param isNewReservation {@code true} if the reservation was created; {@code false} if the reserved interval collides.
+ * @param nextAvailableStart On collision, inclusive start of the nearest free interval of the requested length
+ *                           in the same room; {@code null} otherwise.
+ * @param nextAvailableEnd On collision, exclusive end of the nearest free interval of the requested length
+ *                         in the same room; {@code null} otherwise.
+ * @param alternativeRoomId On collision, a room available for the requested interval if any; {@code null} otherwise.
  */
-public record RoomReservationResult(String roomId, Instant reservationStart, Instant reservationEnd,
-                                    boolean isNewReservation) {
+public record RoomReservationResult(Long reservationId, String roomId, Instant reservationStart,
+                                    Instant reservationEnd, boolean isNewReservation, Instant nextAvailableStart,
+                                    Instant nextAvailableEnd, String alternativeRoomId) {
     public RoomReservationResult {
         Objects.requireNonNull(roomId, "BookReservationResult.roomId must not be null");
         Objects.requireNonNull(reservationStart, "BookReservationResult.reservationStart must not be null");
         Objects.requireNonNull(reservationEnd, "BookReservationResult.reservationEnd must not be null");
     }
+
+    /**
+     * Creates the result of a successfully created reservation.
+     */
+    public RoomReservationResult(long reservationId, String roomId, Instant reservationStart, Instant reservationEnd) {
+        this(reservationId, roomId, reservationStart, reservationEnd, true, null, null, null);
+    }
+
+    /**
+     * Returns a copy of this collision result with the suggested alternative room.
+     */
+    public RoomReservationResult withAlternativeRoomId(String alternativeRoomId) {
+        return new RoomReservationResult(reservationId, roomId, reservationStart, reservationEnd, isNewReservation,
+                nextAvailableStart, nextAvailableEnd, alternativeRoomId);
+    }
 }
@@ -1,12 +1,16 @@
 package com.efor.task.viableone.reservation;
 
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
 import com.efor.task.viableone.reservation.validation.IntervalValidatorException;
+import com.efor.task.viableone.reservation.validation.RoomIdentifierValidatorException;
 import com.efor.task.viableone.reservation.validation.RoomReservationValidatorException;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service API for creating and querying room reservations.
@@ -19,7 +23,9 @@ public interface RoomReservationService {
      * <p>
      * If the requested interval conflicts with an existing one, the returned
      * {@link RoomReservationResult} will have {@code isNewReservation = false} and will include
-     * the conflicting interval; on success it will have {@code isNewReservation = true}.
+     * the conflicting interval, the nearest free interval of the requested length in the same room
+     * and, if one exists, an alternative room available for the requested interval;
+     * on success it will have {@code isNewReservation = true}.
      * </p>
      *
      * @param roomReservation the reservation request
@@ -30,6 +36,58 @@ public interface RoomReservationService {
      */
     RoomReservationResult bookRoom(RoomReservation roomReservation);
 
+    /**
+     * Attempts to reserve a room for the specified time interval at most once per idempotency key.
+     * <p>
+     * The first request with a key is booked as by {@link #bookRoom(RoomReservation)}; retries with the same key
+     * and request return the original result for as long as it is retained, without booking again.
+     * </p>
+     *
+     * @param roomReservation the reservation request
+     * @param idempotencyKey  client supplied key identifying the request; {@code null} books without deduplication
+     * @return the outcome of the original booking attempt; never {@code null}
+     * @throws IdempotencyKeyMismatchException   if the key was already used for a different request
+     * @throws IllegalStateException             if the booking cannot be processed at the moment
+     * @throws RoomReservationValidatorException if the room reservation request is invalid
+     * @throws IntervalValidatorException        if the interval is invalid
+     */
+    RoomReservationResult bookRoom(RoomReservation roomReservation, String idempotencyKey);
+
+    /**
+     * Attempts to reserve several rooms for the same time interval in a single operation.
+     * <p>
+     * Either all rooms are reserved or, if any of them conflicts with an existing reservation, none is
+     * and the returned result lists the collisions. Room ids are trimmed; duplicates are booked once.
+     * </p>
+     *
+     * @param roomIds          the rooms to reserve; must not be empty
+     * @param reservationStart inclusive start of the requested interval; must not be {@code null}
+     * @param reservationEnd   exclusive end of the requested interval; must not be {@code null} and must be after {@code reservationStart}
+     * @return the outcome of the booking attempt; never {@code null}
+     * @throws IllegalStateException             if the booking cannot be processed at the moment
+     * @throws RoomIdentifierValidatorException  if no room or an invalid room id is given
+     * @throws IntervalValidatorException        if the interval is invalid
+     */
+    MultiRoomReservationResult bookRooms(Set<String> roomIds, Instant reservationStart, Instant reservationEnd);
+
+    /**
+     * Attempts to reserve a room for a series of intervals in a single operation.
+     * <p>
+     * The series starts with the interval of {@code firstOccurrence} and repeats according to {@code recurrence}.
+     * Either all occurrences are reserved under one reservation id or, if any of them conflicts with an existing
+     * reservation, none is and the returned {@link RoomReservationResult} has {@code isNewReservation = false}
+     * and includes the earliest found conflicting interval.
+     * </p>
+     *
+     * @param firstOccurrence the reservation request for the first occurrence
+     * @param recurrence      how the first occurrence repeats
+     * @return the outcome of the booking attempt; on success the interval is the first occurrence; never {@code null}
+     * @throws IllegalStateException             if the booking cannot be processed at the moment
+     * @throws RoomReservationValidatorException if the room reservation request is invalid
+     * @throws IntervalValidatorException        if the interval is invalid or longer than the recurrence period
+     */
+    RoomReservationResult bookRecurringRoom(RoomReservation firstOccurrence, RecurrenceRule recurrence);
+
     /**
      * Finds any room that is available for the entire requested interval without creating a reservation.
      * <p>
@@ -45,7 +103,156 @@ public interface RoomReservationService {
     Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd);
 
     /**
-     * Returns all reservations for the given room.
+     * Finds any room matching the constraints that is available for the entire requested interval without
+     * creating a reservation.
+     * <p>
+     * Attribute constraints are resolved from an index before any room's reservations are checked, so only rooms
+     * with matching {@link RoomAttributes} are considered.
+     * </p>
+     *
+     * @param reservationStart inclusive start of the requested interval; must not be {@code null}
+     * @param reservationEnd   exclusive end of the requested interval; must not be {@code null} and must be after {@code reservationStart}
+     * @param constraints      restricts the candidate rooms; use {@link RoomConstraints#none()} for any room
+     * @return an {@code Optional} containing the identifier of an available room, or {@code Optional.empty()} if none is available
+     * @throws IntervalValidatorException if the interval violates configured constraints
+     */
+    Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd, RoomConstraints constraints);
+
+    /**
+     * Finds up to {@code count} distinct rooms that are all available for the entire requested interval
+     * without creating reservations.
+     * <p>
+     * The rooms are found in a single pass over the rooms that stops as soon as {@code count} rooms are found.
+     * Which rooms are chosen is implementation-defined. Fewer rooms are returned if fewer are available.
+     * </p>
+     *
+     * @param reservationStart inclusive start of the requested interval; must not be {@code null}
+     * @param reservationEnd   exclusive end of the requested interval; must not be {@code null} and must be after {@code reservationStart}
+     * @param count            number of rooms to find; at least 1
+     * @return identifiers of at most {@code count} available rooms; never {@code null}
+     * @throws IllegalArgumentException   if {@code count} is less than 1
+     * @throws IntervalValidatorException if the interval violates configured constraints
+     */
+    List<String> findAvailableRooms(Instant reservationStart, Instant reservationEnd, int count);
+
+    /**
+     * Finds an available room matching the constraints and reserves it for the specified time interval
+     * in a single operation.
+     * <p>
+     * Candidates are verified and booked under the room's lock; a candidate booked concurrently by another
+     * request is skipped in favor of the next one. Only known rooms are considered: rooms that were booked before
+     * or whose attributes were set.
+     * </p>
+     *
+     * @param reservationStart inclusive start of the requested interval; must not be {@code null}
+     * @param reservationEnd   exclusive end of the requested interval; must not be {@code null} and must be after {@code reservationStart}
+     * @param constraints      restricts the candidate rooms; use {@link RoomConstraints#none()} for any room
+     * @return the successful reservation ({@code isNewReservation = true}), or {@code Optional.empty()} if no room could be booked
+     * @throws IllegalStateException      if the booking cannot be processed at the moment
+     * @throws IntervalValidatorException if the interval violates configured constraints
+     */
+    Optional<RoomReservationResult> bookAnyAvailableRoom(Instant reservationStart, Instant reservationEnd,
+                                                         RoomConstraints constraints);
+
+    /**
+     * Returns the availability of every room in consecutive slots covering {@code [from, to)}.
+     * <p>
+     * Each room is computed in a single sweep over its reservations within the window.
+     * </p>
+     *
+     * @param from inclusive start of the window; must not be {@code null}
+     * @param to   exclusive end of the window; must not be {@code null} and must be after {@code from}
+     * @param slot length of a slot; a positive number of whole minutes
+     * @return availability of every known room; never {@code null}
+     * @throws IllegalArgumentException   if the slot is invalid or the window has more than
+     *                                    {@link AvailabilityMatrix#MAX_SLOTS} slots
+     * @throws IntervalValidatorException if the window is invalid
+     */
+    AvailabilityMatrix getAvailabilityMatrix(Instant from, Instant to, Duration slot);
+
+    /**
+     * Returns the reservations occupying any room during {@code [from, to)}.
+     * <p>
+     * Series occurrences are returned individually with the identifier and recurrence of their series.
+     * The reservations are found in an index across all rooms without iterating the rooms.
+     * </p>
+     *
+     * @param from inclusive start of the window; must not be {@code null}
+     * @param to   exclusive end of the window; must not be {@code null} and must be after {@code from}
+     * @return reservations overlapping the window ordered by start and room id; never {@code null}
+     * @throws IntervalValidatorException if the window is invalid
+     */
+    List<RoomReservationInfo> getOccupancy(Instant from, Instant to);
+
+    /**
+     * Returns the reservations occupying any room at {@code instant}.
+     *
+     * @param instant the queried instant; must not be {@code null}
+     * @return reservations containing the instant ordered by start and room id; never {@code null}
+     * @see #getOccupancy(Instant, Instant)
+     */
+    List<RoomReservationInfo> getOccupancy(Instant instant);
+
+    /**
+     * Returns the booked minutes of every room or location in consecutive UTC-aligned buckets covering
+     * {@code [from, to)}.
+     * <p>
+     * Read from counters maintained on every booking and cancellation, so no reservation is scanned.
+     * </p>
+     *
+     * @param from        inclusive start of the window; must not be {@code null}
+     * @param to          exclusive end of the window; must not be {@code null} and must be after {@code from}
+     * @param granularity length of a bucket; must not be {@code null}
+     * @param grouping    how rooms are grouped; must not be {@code null}
+     * @return booked minutes per group and bucket; never {@code null}
+     * @throws IntervalValidatorException if the window is invalid
+     * @throws IllegalArgumentException   if the window has more than {@link Utilization#MAX_BUCKETS} buckets
+     */
+    Utilization getUtilization(Instant from, Instant to, UtilizationGranularity granularity,
+                               UtilizationGrouping grouping);
+
+    /**
+     * Sets the attributes of a room, replacing the previous ones.
+     * <p>
+     * A room without reservations becomes known to availability searches once its attributes are set.
+     * </p>
+     *
+     * @param roomId     the room identifier
+     * @param attributes the new attributes of the room
+     * @throws IllegalStateException            if the room cannot be updated at the moment
+     * @throws RoomIdentifierValidatorException if the room id is invalid
+     */
+    void setRoomAttributes(String roomId, RoomAttributes attributes);
+
+    /**
+     * Returns the attributes of a room.
+     *
+     * @param roomId the room identifier
+     * @return the attributes, or {@code Optional.empty()} if none were set
+     * @throws RoomIdentifierValidatorException if the room id is invalid
+     */
+    Optional<RoomAttributes> getRoomAttributes(String roomId);
+
+    /**
+     * Returns the reservation with the given identifier; a series is returned with its first occurrence.
+     *
+     * @param reservationId the reservation identifier
+     * @return an {@code Optional} containing the reservation, or {@code Optional.empty()} if there is no such reservation
+     */
+    Optional<RoomReservationInfo> getReservation(long reservationId);
+
+    /**
+     * Cancels the reservation with the given identifier, making its interval available again.
+     * Cancelling a series cancels all its occurrences.
+     *
+     * @param reservationId the reservation identifier
+     * @return {@code true} if the reservation was cancelled; {@code false} if there is no such reservation
+     * @throws IllegalStateException if the cancellation cannot be processed at the moment
+     */
+    boolean cancelReservation(long reservationId);
+
+    /**
+     * Returns all reservations for the given room, with series occurrences expanded.
      *
      * @param roomId the room identifier
      * @return a list of reservations; never {@code null}
@@ -54,7 +261,7 @@ public interface RoomReservationService {
     List<RoomReservationInfo> getReservations(String roomId);
 
     /**
-     * Returns all reservations grouped by room id.
+     * Returns all reservations grouped by room id, with series occurrences expanded.
      *
      * @return a map of reservations keyed by room id; never {@code null}
      */
@@ -0,0 +1,19 @@
+package com.efor.task.viableone.reservation;
+
+/**
+ * Where the reservations of the rooms are kept.
+ */
+public enum StorageType {
+    /**
+     * On the heap; lost when the service stops.
+     */
+    HEAP,
+    /**
+     * Off the heap in a memory-mapped file per room; kept across restarts.
+     */
+    MAPPED,
+    /**
+     * In a relational database behind {@code spring.datasource}, cached on the heap; kept across restarts.
+     */
+    JDBC
+}
@@ -0,0 +1,60 @@
+package com.efor.task.viableone.reservation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Booked minutes of groups of rooms in consecutive time buckets.
+ *
+ * @param from        Inclusive start of the first bucket, aligned to the bucket length.
+ * @param granularity Length of a bucket.
+ * @param bucketCount Number of buckets; the last one may end after the requested window.
+ * @param groups      Utilization per group key (room id or location), ordered by key.
+ */
+public record Utilization(Instant from, UtilizationGranularity granularity, int bucketCount,
+                          SortedMap<String, Group> groups) {
+
+    /**
+     * Maximum number of buckets of a report; a leap year of hours.
+     */
+    public static final int MAX_BUCKETS = 366 * 24;
+
+    /**
+     * Group key of the rooms without a location.
+     */
+    public static final String UNASSIGNED_LOCATION = "unassigned";
+
+    public Utilization {
+        Objects.requireNonNull(from, "Utilization.from must not be null");
+        Objects.requireNonNull(granularity, "Utilization.granularity must not be null");
+        groups = Collections.unmodifiableSortedMap(new TreeMap<>(Objects.requireNonNull(groups,
+                "Utilization.groups must not be null")));
+    }
+
+    /**
+     * Utilization of a group of rooms.
+     *
+     * @param rooms         Number of rooms in the group.
+     * @param bookedMinutes Booked minutes of all rooms of the group per bucket. Must not be modified.
+     */
+    public record Group(int rooms, long[] bookedMinutes) {
+
+        /**
+         * Returns the booked share of the available room minutes of the whole report, between 0 and 1.
+         *
+         * @param bucket length of a bucket
+         */
+        public double ratio(Duration bucket) {
+            long booked = 0;
+            for (long minutes : bookedMinutes) {
+                booked += minutes;
+            }
+            long available = bucket.toMinutes() * bookedMinutes.length * rooms;
+            return available == 0 ? 0 : (double) booked / available;
+        }
+    }
+}
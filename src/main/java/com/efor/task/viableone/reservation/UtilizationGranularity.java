@@ -0,0 +1,21 @@
+package com.efor.task.viableone.reservation;
+
+import java.time.Duration;
+
+/**
+ * Length of the buckets of a utilization report; buckets are aligned to UTC.
+ */
+public enum UtilizationGranularity {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    UtilizationGranularity(Duration bucket) {
+        this.bucket = bucket;
+    }
+
+    private final Duration bucket;
+
+    public Duration bucket() {
+        return bucket;
+    }
+}
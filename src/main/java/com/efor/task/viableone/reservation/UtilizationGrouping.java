@@ -0,0 +1,16 @@
+package com.efor.task.viableone.reservation;
+
+/**
+ * Groups of rooms a utilization report is aggregated by.
+ */
+public enum UtilizationGrouping {
+    /**
+     * Every room on its own.
+     */
+    ROOM,
+    /**
+     * Rooms by the location of their attributes; rooms without a location are grouped under
+     * {@link Utilization#UNASSIGNED_LOCATION}.
+     */
+    LOCATION
+}
@@ -0,0 +1,20 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Bulk import and export Spring Context configuration.
+ */
+@Configuration
+@EnableConfigurationProperties({ImportProperties.class, ExportProperties.class})
+@Import({
+        ReservationImporter.class,
+        ReservationImportController.class,
+        ReservationImportRunner.class,
+        SnapshotExporter.class,
+        ReservationExportController.class
+})
+public class BulkConfig {
+}
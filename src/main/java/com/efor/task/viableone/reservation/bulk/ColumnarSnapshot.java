@@ -0,0 +1,160 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar snapshot of the reservations of all rooms, as written by {@link SnapshotExporter}.
+ * <p>
+ * The file stores the reservations in batches of fixed-width little-endian columns, so a batch is read by copying or
+ * mapping its columns as they are, without parsing. Rooms are stored once in a dictionary and referenced by index;
+ * instants are epoch milliseconds. Every section starts 8-byte aligned:
+ * </p>
+ * <pre>
+ * "RESCOL01"                                   magic
+ * batch*                                       one per batch, in order
+ *   room            int32[rows], zero padded   dictionary index of the room
+ *   reservation_id  int64[rows]                reservation id; the series id for series occurrences
+ *   start           int64[rows]                inclusive start
+ *   end             int64[rows]                exclusive end
+ * footer
+ *   snapshot_at     int64
+ *   room_count      int32
+ *   batch_count     int32
+ *   rooms           room_count x (int32 length, UTF-8 bytes), zero padded
+ *   batches         batch_count x (int64 offset, int64 rows)
+ * footer_length     int32
+ * "RESCOL01"                                   magic
+ * </pre>
+ * <p>
+ * Rows are ordered by room and start; the rooms of the dictionary are ordered by id.
+ * </p>
+ *
+ * @param snapshotAt instant the snapshot was taken
+ * @param rooms      dictionary of the room ids
+ * @param batches    the reservations
+ */
+public record ColumnarSnapshot(Instant snapshotAt, List<String> rooms, List<Batch> batches) {
+
+    static final byte[] MAGIC = "RESCOL01".getBytes(StandardCharsets.US_ASCII);
+    private static final int TRAILER_BYTES = Integer.BYTES + 8;
+
+    /**
+     * Columns of a batch of reservations.
+     *
+     * @param rooms          dictionary index of the room of each reservation
+     * @param reservationIds reservation ids
+     * @param starts         inclusive starts in epoch milliseconds
+     * @param ends           exclusive ends in epoch milliseconds
+     */
+    public record Batch(int[] rooms, long[] reservationIds, long[] starts, long[] ends) {
+
+        public int rows() {
+            return rooms.length;
+        }
+    }
+
+    /**
+     * Returns the number of reservations of all batches.
+     */
+    public long reservations() {
+        return batches.stream().mapToLong(Batch::rows).sum();
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @throws IllegalArgumentException if the file is not a snapshot
+     * @throws UncheckedIOException     if the file cannot be read
+     */
+    public static ColumnarSnapshot read(Path file) {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MAGIC.length + TRAILER_BYTES) {
+                throw new IllegalArgumentException("Not a reservation snapshot: " + file);
+            }
+            var trailer = read(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            int footerLength = trailer.getInt();
+            if (!hasMagic(trailer) || !hasMagic(read(channel, 0, MAGIC.length))
+                    || footerLength < 0 || footerLength > size - MAGIC.length - TRAILER_BYTES) {
+                throw new IllegalArgumentException("Not a reservation snapshot: " + file);
+            }
+
+            var footer = read(channel, size - TRAILER_BYTES - footerLength, footerLength);
+            var snapshotAt = Instant.ofEpochMilli(footer.getLong());
+            int roomCount = footer.getInt();
+            int batchCount = footer.getInt();
+            List<String> rooms = new ArrayList<>(roomCount);
+            for (int i = 0; i < roomCount; i++) {
+                var bytes = new byte[footer.getInt()];
+                footer.get(bytes);
+                rooms.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            footer.position(align(footer.position()));
+            List<Batch> batches = new ArrayList<>(batchCount);
+            for (int i = 0; i < batchCount; i++) {
+                batches.add(readBatch(channel, footer.getLong(), Math.toIntExact(footer.getLong())));
+            }
+            return new ColumnarSnapshot(snapshotAt, List.copyOf(rooms), List.copyOf(batches));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the reservation snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Returns the size of a batch of {@code rows} reservations.
+     */
+    static long batchBytes(int rows) {
+        return align(Integer.BYTES * (long) rows) + 3L * Long.BYTES * rows;
+    }
+
+    static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static int align(int position) {
+        return (position + 7) & ~7;
+    }
+
+    private static Batch readBatch(FileChannel channel, long offset, int rows) throws IOException {
+        var buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, batchBytes(rows))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        var rooms = new int[rows];
+        buffer.asIntBuffer().get(rooms);
+        buffer.position(Math.toIntExact(align(Integer.BYTES * (long) rows)));
+        var reservationIds = new long[rows];
+        var starts = new long[rows];
+        var ends = new long[rows];
+        for (var column : List.of(reservationIds, starts, ends)) {
+            buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(column);
+            buffer.position(buffer.position() + Long.BYTES * rows);
+        }
+        return new Batch(rooms, reservationIds, starts, ends);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of the reservation snapshot");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static boolean hasMagic(ByteBuffer buffer) {
+        var magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        return Arrays.equals(magic, MAGIC);
+    }
+}
@@ -0,0 +1,128 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import com.efor.task.viableone.reservation.ReservationIdEncoder;
+import com.efor.task.viableone.reservation.impl.OccupancyIndex.Occupancy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a {@link ColumnarSnapshot} file: the batches are encoded independently, so they can be encoded in parallel,
+ * and appended in order; the footer is written last.
+ *
+ * <p><strong>Thread-safety:</strong> {@link #encode(List)} is thread-safe; the writing methods are not.</p>
+ */
+final class ColumnarSnapshotWriter implements AutoCloseable {
+
+    ColumnarSnapshotWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        writeFully(ByteBuffer.wrap(ColumnarSnapshot.MAGIC));
+    }
+
+    private final FileChannel channel;
+    private final List<long[]> batches = new ArrayList<>();
+    private long position = ColumnarSnapshot.MAGIC.length;
+
+    /**
+     * Reservations of a room within a batch.
+     *
+     * @param room        dictionary index of the room
+     * @param occupancies reservations of the room ordered by start
+     */
+    record Slice(int room, List<Occupancy> occupancies) {
+    }
+
+    /**
+     * Batch encoded by {@link #encode(List, ReservationIdEncoder)}, ready to be written.
+     */
+    record EncodedBatch(int rows, ByteBuffer bytes) {
+    }
+
+    /**
+     * Encodes the columns of a batch with the API ids of the reservations.
+     */
+    static EncodedBatch encode(List<Slice> slices, ReservationIdEncoder reservationIdEncoder) {
+        int rows = slices.stream().mapToInt(slice -> slice.occupancies().size()).sum();
+        var buffer = ByteBuffer.allocate(Math.toIntExact(ColumnarSnapshot.batchBytes(rows)))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (var slice : slices) {
+            for (int i = 0; i < slice.occupancies().size(); i++) {
+                buffer.putInt(slice.room());
+            }
+        }
+        buffer.position(Math.toIntExact(ColumnarSnapshot.align(Integer.BYTES * (long) rows)));
+        int reservationIds = buffer.position();
+        int starts = reservationIds + Long.BYTES * rows;
+        int ends = starts + Long.BYTES * rows;
+        int row = 0;
+        for (var slice : slices) {
+            for (var occupancy : slice.occupancies()) {
+                buffer.putLong(reservationIds + Long.BYTES * row, reservationIdEncoder.encode(occupancy.reservationId()));
+                buffer.putLong(starts + Long.BYTES * row, occupancy.start().toEpochMilli());
+                buffer.putLong(ends + Long.BYTES * row, occupancy.end().toEpochMilli());
+                row++;
+            }
+        }
+        return new EncodedBatch(rows, buffer.position(0));
+    }
+
+    /**
+     * Appends an encoded batch.
+     */
+    void write(EncodedBatch batch) throws IOException {
+        batches.add(new long[]{position, batch.rows()});
+        position += batch.bytes().remaining();
+        writeFully(batch.bytes());
+    }
+
+    /**
+     * Writes the footer and forces the file to disk.
+     *
+     * @param rooms the room dictionary
+     * @return the size of the file
+     */
+    long finish(Instant snapshotAt, List<String> rooms) throws IOException {
+        List<byte[]> names = rooms.stream().map(room -> room.getBytes(StandardCharsets.UTF_8)).toList();
+        long dictionaryBytes = names.stream().mapToLong(name -> Integer.BYTES + name.length).sum();
+        int length = Math.toIntExact(Long.BYTES + 2 * Integer.BYTES + ColumnarSnapshot.align(dictionaryBytes)
+                + 2L * Long.BYTES * batches.size());
+        var footer = ByteBuffer.allocate(length + Integer.BYTES + ColumnarSnapshot.MAGIC.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        footer.putLong(snapshotAt.toEpochMilli());
+        footer.putInt(names.size());
+        footer.putInt(batches.size());
+        for (var name : names) {
+            footer.putInt(name.length);
+            footer.put(name);
+        }
+        footer.position(Math.toIntExact(ColumnarSnapshot.align(footer.position())));
+        for (var batch : batches) {
+            footer.putLong(batch[0]);
+            footer.putLong(batch[1]);
+        }
+        footer.putInt(length);
+        footer.put(ColumnarSnapshot.MAGIC);
+        writeFully(footer.flip());
+        channel.force(true);
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
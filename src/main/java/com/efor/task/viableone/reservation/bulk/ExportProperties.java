@@ -0,0 +1,21 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Snapshot export configuration bound from the {@code reservation.export.*} properties.
+ *
+ * @param directory   directory the snapshots are written to; the temporary directory if not set
+ * @param batchSize   maximum number of reservations per batch of a snapshot
+ * @param parallelism number of threads encoding batches; 0 uses one per available processor
+ */
+@ConfigurationProperties(prefix = "reservation.export")
+public record ExportProperties(
+        Path directory,
+        @DefaultValue("65536") int batchSize,
+        @DefaultValue("0") int parallelism
+) {
+}
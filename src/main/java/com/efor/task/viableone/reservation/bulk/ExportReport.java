@@ -0,0 +1,17 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Outcome of a snapshot export.
+ *
+ * @param file         the written snapshot, see {@link ColumnarSnapshot}
+ * @param snapshotAt   instant the snapshot was taken
+ * @param rooms        number of rooms with reservations
+ * @param reservations number of exported reservations, counting every series occurrence
+ * @param batches      number of batches
+ * @param bytes        size of the file
+ */
+public record ExportReport(Path file, Instant snapshotAt, int rooms, long reservations, int batches, long bytes) {
+}
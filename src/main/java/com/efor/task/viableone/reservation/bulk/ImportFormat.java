@@ -0,0 +1,50 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Format of a bulk import; one reservation with {@code roomId}, {@code reservationStart} and
+ * {@code reservationEnd} per line.
+ */
+public enum ImportFormat {
+    /**
+     * A JSON object per line.
+     */
+    NDJSON,
+    /**
+     * Comma separated values in the order {@code roomId,reservationStart,reservationEnd}, optionally quoted;
+     * a header line is skipped.
+     */
+    CSV;
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final String CSV_VALUE = "text/csv";
+
+    private static final MediaType NDJSON_MEDIA_TYPE = MediaType.parseMediaType(NDJSON_VALUE);
+    private static final MediaType CSV_MEDIA_TYPE = MediaType.parseMediaType(CSV_VALUE);
+
+    /**
+     * @throws IllegalArgumentException if the content type is neither {@code application/x-ndjson} nor
+     *                                  {@code text/csv}
+     */
+    public static ImportFormat ofContentType(String contentType) {
+        var mediaType = contentType == null ? null : MediaType.parseMediaType(contentType);
+        if (mediaType != null && NDJSON_MEDIA_TYPE.includes(mediaType)) {
+            return NDJSON;
+        }
+        if (mediaType != null && CSV_MEDIA_TYPE.includes(mediaType)) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Import content type must be application/x-ndjson or text/csv");
+    }
+
+    /**
+     * Returns {@code CSV} for a {@code .csv} file, {@code NDJSON} otherwise.
+     */
+    public static ImportFormat ofFile(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,30 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+
+/**
+ * Record of a bulk import that was not imported.
+ *
+ * @param line     line number of the record, starting with 1
+ * @param type     why the record was not imported
+ * @param roomId   room of the record; {@code null} if it could not be read
+ * @param message  description of the problem
+ * @param conflict reservation the record conflicts with; {@code null} unless the type is {@code CONFLICT}
+ */
+public record ImportIssue(long line, Type type, String roomId, String message, ReservationInterval conflict) {
+
+    public enum Type {
+        /**
+         * The record could not be read or is not a valid reservation.
+         */
+        INVALID,
+        /**
+         * The reservation overlaps a reservation of the room or an earlier record of the import.
+         */
+        CONFLICT,
+        /**
+         * The room could not be booked at the moment.
+         */
+        FAILED
+    }
+}
@@ -0,0 +1,19 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bulk import configuration bound from the {@code reservation.import.*} properties.
+ *
+ * @param chunkSize         number of lines parsed and validated by one task
+ * @param parallelism       number of threads parsing, validating and loading; 0 uses one per available processor
+ * @param maxReportedIssues maximum number of invalid or conflicting records listed in an import report
+ */
+@ConfigurationProperties(prefix = "reservation.import")
+public record ImportProperties(
+        @DefaultValue("8192") int chunkSize,
+        @DefaultValue("0") int parallelism,
+        @DefaultValue("1000") int maxReportedIssues
+) {
+}
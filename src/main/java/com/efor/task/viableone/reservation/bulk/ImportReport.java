@@ -0,0 +1,18 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @param records   number of records read
+ * @param imported  number of reservations booked
+ * @param invalid   number of records not read or not valid
+ * @param conflicts number of reservations conflicting with a reservation of their room
+ * @param failed    number of reservations whose room could not be booked at the moment
+ * @param rooms     number of rooms imported into
+ * @param issues    records not imported ordered by line, up to {@code reservation.import.max-reported-issues}
+ */
+public record ImportReport(long records, long imported, long invalid, long conflicts, long failed, int rooms,
+                           List<ImportIssue> issues) {
+}
@@ -0,0 +1,51 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exporting a columnar snapshot of all reservations, see {@link SnapshotExporter}.
+ */
+@RestController
+@RequestMapping(
+        path = "/api/v1/room",
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+@Tag(name = "Room Reservations")
+public class ReservationExportController {
+
+    public ReservationExportController(SnapshotExporter snapshotExporter) {
+        this.snapshotExporter = snapshotExporter;
+    }
+
+    private final SnapshotExporter snapshotExporter;
+
+    @Operation(
+            summary = "Export a snapshot of all reservations",
+            description = """
+                    Writes a point-in-time snapshot of the reservations of all rooms to a columnar file in the export directory of the server and returns its location.
+                    The file stores a room dictionary and the reservation id, start and end (epoch milliseconds) of every reservation as batches of little-endian int32/int64 columns.
+                    Bookings are not blocked while the snapshot is written.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Snapshot written.",
+                    content = @Content(schema = @Schema(implementation = ExportReport.class))
+            ),
+            @ApiResponse(responseCode = "500", description = "Server error, e.g. the snapshot cannot be written.", content = @Content)
+    })
+    @PostMapping("/export")
+    public ExportReport exportReservations() {
+        return snapshotExporter.export();
+    }
+}
@@ -0,0 +1,75 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * REST controller importing reservations in bulk, see {@link ReservationImporter}.
+ * <p>
+ * The request body is streamed to the importer as it arrives, so the size of an import is not limited by memory.
+ * </p>
+ */
+@RestController
+@RequestMapping(
+        path = "/api/v1/room",
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+@Tag(name = "Room Reservations")
+public class ReservationImportController {
+
+    public ReservationImportController(ReservationImporter reservationImporter) {
+        this.reservationImporter = reservationImporter;
+    }
+
+    private final ReservationImporter reservationImporter;
+
+    @Operation(
+            summary = "Import reservations",
+            description = """
+                    Imports reservations from NDJSON (Content-Type application/x-ndjson, one booking payload per line) or CSV (Content-Type text/csv, roomId,reservationStart,reservationEnd per line with an optional header).
+                    Invalid records and records conflicting with an existing reservation or an earlier record are not imported; the report counts them and lists them by line.
+                    """,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = {
+                            @Content(mediaType = ImportFormat.NDJSON_VALUE, examples = @ExampleObject(value = """
+                                    {"roomId":"R-101","reservationStart":"2025-09-20T08:00:00Z","reservationEnd":"2025-09-20T10:00:00Z"}
+                                    {"roomId":"R-102","reservationStart":"2025-09-20T09:00:00Z","reservationEnd":"2025-09-20T11:00:00Z"}
+                                    """)),
+                            @Content(mediaType = ImportFormat.CSV_VALUE, examples = @ExampleObject(value = """
+                                    roomId,reservationStart,reservationEnd
+                                    R-101,2025-09-20T08:00:00Z,2025-09-20T10:00:00Z
+                                    R-102,2025-09-20T09:00:00Z,2025-09-20T11:00:00Z
+                                    """))
+                    }
+            )
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import finished.",
+                    content = @Content(schema = @Schema(implementation = ImportReport.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Unsupported Content-Type.", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Imports are not supported by this instance.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @PostMapping("/import")
+    public ImportReport importReservations(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           InputStream body) {
+        return reservationImporter.importReservations(body, ImportFormat.ofContentType(contentType));
+    }
+}
@@ -0,0 +1,59 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Imports the files given by {@code --import=<file>} options at startup, see {@link ReservationImporter}; the format
+ * follows the file extension, {@code .csv} for CSV and NDJSON otherwise.
+ * <p>
+ * Combined with {@code --spring.main.web-application-type=none} the application imports the files into its storage
+ * and exits.
+ * </p>
+ */
+public class ReservationImportRunner implements ApplicationRunner {
+
+    public ReservationImportRunner(ReservationImporter reservationImporter) {
+        this.reservationImporter = reservationImporter;
+    }
+
+    static final String IMPORT_OPTION = "import";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationImportRunner.class);
+
+    private final ReservationImporter reservationImporter;
+
+    /**
+     * @throws UncheckedIOException if a file cannot be read
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> files = args.getOptionValues(IMPORT_OPTION);
+        if (files == null) {
+            return;
+        }
+        for (var name : files) {
+            var file = Path.of(name);
+            ImportReport report;
+            try (var input = Files.newInputStream(file)) {
+                report = reservationImporter.importReservations(input, ImportFormat.ofFile(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot import reservations from " + file, e);
+            }
+            logger.info("Reservation file imported. file='{}', records={}, imported={}, invalid={}, conflicts={}, " +
+                            "failed={}", file, report.records(), report.imported(), report.invalid(),
+                    report.conflicts(), report.failed());
+            report.issues().forEach(issue -> logger.warn("Reservation not imported. file='{}', line={}, type={}, " +
+                            "roomId='{}', message='{}', conflict={}", file, issue.line(), issue.type(),
+                    issue.roomId(), issue.message(), issue.conflict()));
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationService;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import com.efor.task.viableone.reservation.model.RoomReservations;
+import com.efor.task.viableone.reservation.validation.RoomReservationValidator;
+import com.efor.task.viableone.reservation.validation.RoomReservationValidatorException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Imports reservations in bulk from NDJSON or CSV, e.g. the bookings of a customer migrating from another system.
+ * <p>
+ * The input is read line by line and never held as a whole: chunks of {@code reservation.import.chunk-size} lines are
+ * parsed and validated in parallel while the next chunks are read, and only the valid reservations are kept, grouped
+ * by room. Once the input is read, the rooms are loaded in parallel: the reservations of a room are sorted by start
+ * and booked in one operation under the room lock, see
+ * {@link DefaultRoomReservationService#importReservations(String, List)}, which adds them to the room in one pass.
+ * </p>
+ * <p>
+ * A reservation overlapping a reservation of its room, or an earlier one of the import, is not imported; the report
+ * lists it together with the reservation it conflicts with. Imports are booked by this instance only, so they are
+ * not supported in cluster mode, in consensus mode or by a read replica.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class ReservationImporter {
+
+    public ReservationImporter(RoomReservationService roomReservationService,
+                               DefaultRoomReservationService localService,
+                               RoomReservationValidator roomReservationValidator,
+                               ObjectMapper objectMapper,
+                               ImportProperties importProperties) {
+        this.standalone = roomReservationService == localService;
+        this.localService = localService;
+        this.roomReservationValidator = roomReservationValidator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, importProperties.chunkSize());
+        this.parallelism = importProperties.parallelism() > 0
+                ? importProperties.parallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.maxReportedIssues = importProperties.maxReportedIssues();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationImporter.class);
+
+    private static final Comparator<ImportRow> BY_START = Comparator.comparing(row -> row.interval().start());
+
+    private final boolean standalone;
+    private final DefaultRoomReservationService localService;
+    private final RoomReservationValidator roomReservationValidator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxReportedIssues;
+
+    /**
+     * Imports the reservations of the input; invalid and conflicting records are reported, not imported.
+     *
+     * @param input  the records, UTF-8 encoded; not closed
+     * @param format the format of the records
+     * @return the report of the import
+     * @throws IllegalStateException if this instance does not book its reservations itself
+     * @throws UncheckedIOException  if the input cannot be read
+     */
+    public ImportReport importReservations(InputStream input, ImportFormat format) {
+        if (!standalone) {
+            throw new IllegalStateException(
+                    "Reservations can only be imported by a standalone instance or a replication leader");
+        }
+        long started = System.nanoTime();
+        var state = new ImportState(maxReportedIssues);
+
+        // Parse and validate the chunks while the next ones are read, at most two per thread in memory
+        try (var executor = Executors.newFixedThreadPool(parallelism)) {
+            var inFlight = new Semaphore(2 * parallelism);
+            var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            List<String> chunk = new ArrayList<>(chunkSize);
+            long firstLine = 1;
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    submit(executor, inFlight, chunk, firstLine, format, state);
+                    firstLine += chunk.size();
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            submit(executor, inFlight, chunk, firstLine, format, state);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the import", e);
+        }
+
+        try (var executor = Executors.newFixedThreadPool(parallelism)) {
+            state.rooms.forEach((roomId, rows) -> executor.execute(() -> importRoom(roomId, rows, state)));
+        }
+
+        var report = state.report();
+        logger.info("Reservations imported. format={}, records={}, imported={}, invalid={}, conflicts={}, " +
+                        "failed={}, rooms={}, millis={}", format, report.records(), report.imported(),
+                report.invalid(), report.conflicts(), report.failed(), report.rooms(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return report;
+    }
+
+    private void submit(ExecutorService executor, Semaphore inFlight, List<String> lines, long firstLine,
+                        ImportFormat format, ImportState state) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing reservations", e);
+        }
+        executor.execute(() -> {
+            try {
+                parse(lines, firstLine, format, state);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Parses and validates a chunk of lines and adds the valid reservations to their rooms.
+     */
+    private void parse(List<String> lines, long firstLine, ImportFormat format, ImportState state) {
+        Map<String, List<ImportRow>> rooms = new HashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            long line = firstLine + i;
+            var text = lines.get(i);
+            if (text.isBlank() || format == ImportFormat.CSV && line == 1 && isHeader(text)) {
+                continue;
+            }
+            state.records.increment();
+            RoomReservation reservation = null;
+            try {
+                reservation = format == ImportFormat.CSV ? parseCsv(text) : parseNdjson(text);
+                roomReservationValidator.validate(reservation);
+                var interval = RoomReservations.normalize(reservation.reservationStart(),
+                        reservation.reservationEnd());
+                rooms.computeIfAbsent(reservation.roomId().trim(), __ -> new ArrayList<>())
+                        .add(new ImportRow(line, interval));
+            } catch (JsonProcessingException | RuntimeException e) {
+                state.invalid.increment();
+                state.report(new ImportIssue(line, ImportIssue.Type.INVALID,
+                        reservation == null ? null : reservation.roomId(), invalidMessage(e), null));
+            }
+        }
+        rooms.forEach((roomId, rows) -> {
+            var roomRows = state.rooms.computeIfAbsent(roomId, __ -> new ArrayList<>());
+            synchronized (roomRows) {
+                roomRows.addAll(rows);
+            }
+        });
+    }
+
+    private void importRoom(String roomId, List<ImportRow> rows, ImportState state) {
+        rows.sort(BY_START);
+        try {
+            var conflicts = localService.importReservations(roomId,
+                    rows.stream().map(ImportRow::interval).toList());
+            state.imported.add(rows.size() - conflicts.size());
+            state.conflicts.add(conflicts.size());
+            conflicts.forEach((index, conflict) -> state.report(new ImportIssue(rows.get(index).line(),
+                    ImportIssue.Type.CONFLICT, roomId, "Reservation conflicts with an existing reservation",
+                    conflict)));
+        } catch (RuntimeException e) {
+            logger.warn("Room import has failed. roomId='{}', reservations={}", roomId, rows.size(), e);
+            state.failed.add(rows.size());
+            rows.forEach(row -> state.report(new ImportIssue(row.line(), ImportIssue.Type.FAILED, roomId,
+                    e.getMessage(), null)));
+        }
+    }
+
+    private static String invalidMessage(Exception e) {
+        if (e instanceof JsonProcessingException json) {
+            return json.getOriginalMessage();
+        }
+        // The validator wraps the failed check
+        if (e instanceof RoomReservationValidatorException && e.getCause() != null) {
+            return e.getCause().getMessage();
+        }
+        return e.getMessage();
+    }
+
+    private RoomReservation parseNdjson(String line) throws JsonProcessingException {
+        return objectMapper.readValue(line, RoomReservation.class);
+    }
+
+    private static RoomReservation parseCsv(String line) {
+        var fields = splitCsv(line);
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException("Expected 3 fields roomId,reservationStart,reservationEnd but got "
+                    + fields.size());
+        }
+        try {
+            return new RoomReservation(fields.get(0), Instant.parse(fields.get(1).trim()),
+                    Instant.parse(fields.get(2).trim()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid instant '" + e.getParsedString() + "'", e);
+        }
+    }
+
+    private static boolean isHeader(String line) {
+        return splitCsv(line).getFirst().trim().equalsIgnoreCase("roomId");
+    }
+
+    /**
+     * Splits a CSV line into fields; a quoted field may contain commas and doubled quotes.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(3);
+        var field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Valid reservation of the import.
+     */
+    private record ImportRow(long line, ReservationInterval interval) {
+    }
+
+    /**
+     * Progress of one import, shared by its tasks.
+     */
+    private static final class ImportState {
+
+        ImportState(int maxReportedIssues) {
+            this.maxReportedIssues = maxReportedIssues;
+        }
+
+        private final int maxReportedIssues;
+        final Map<String, List<ImportRow>> rooms = new ConcurrentHashMap<>();
+        final LongAdder records = new LongAdder();
+        final LongAdder invalid = new LongAdder();
+        final LongAdder imported = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        private final List<ImportIssue> issues = new ArrayList<>();
+
+        synchronized void report(ImportIssue issue) {
+            if (issues.size() < maxReportedIssues) {
+                issues.add(issue);
+            }
+        }
+
+        synchronized ImportReport report() {
+            issues.sort(Comparator.comparingLong(ImportIssue::line));
+            return new ImportReport(records.sum(), imported.sum(), invalid.sum(), conflicts.sum(), failed.sum(),
+                    rooms.size(), List.copyOf(issues));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import com.efor.task.viableone.reservation.ReservationIdEncoder;
+import com.efor.task.viableone.reservation.bulk.ColumnarSnapshotWriter.EncodedBatch;
+import com.efor.task.viableone.reservation.bulk.ColumnarSnapshotWriter.Slice;
+import com.efor.task.viableone.reservation.impl.OccupancyIndex;
+import com.efor.task.viableone.reservation.impl.OccupancyIndex.Occupancy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Exports a point-in-time snapshot of the reservations of all rooms to a {@link ColumnarSnapshot} file, e.g. for
+ * analytics that would otherwise parse a JSON dump of all reservations.
+ * <p>
+ * The snapshot is read from one published version of the {@link OccupancyIndex}, which is persistent, so an export
+ * neither locks a room nor blocks a booking, never loads a room paged out to disk, and contains every booking
+ * completed before it started and none started after. Series occurrences are exported individually. The
+ * reservations are grouped by room; the rooms, ordered by id, are packed into batches of up to
+ * {@code reservation.export.batch-size} reservations, which are encoded in parallel and appended to the file in
+ * order, at most two per thread in memory. The file is written next to its final name and moved there once
+ * complete, so readers never see a partial snapshot.
+ * </p>
+ * <p>
+ * In cluster mode a node exports the rooms it owns, with the cluster reservation ids.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class SnapshotExporter {
+
+    public SnapshotExporter(OccupancyIndex occupancyIndex, ExportProperties exportProperties,
+                            Optional<ReservationIdEncoder> reservationIdEncoder) {
+        this.occupancyIndex = occupancyIndex;
+        this.reservationIdEncoder = reservationIdEncoder.orElse(ReservationIdEncoder.LOCAL);
+        this.directory = exportProperties.directory() != null
+                ? exportProperties.directory()
+                : Path.of(System.getProperty("java.io.tmpdir"));
+        this.batchSize = Math.max(1, exportProperties.batchSize());
+        this.parallelism = exportProperties.parallelism() > 0
+                ? exportProperties.parallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotExporter.class);
+
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter
+            .ofPattern("'reservations-'yyyyMMdd'T'HHmmssSSS'Z.rescol'")
+            .withZone(ZoneOffset.UTC);
+
+    private final OccupancyIndex occupancyIndex;
+    private final ReservationIdEncoder reservationIdEncoder;
+    private final Path directory;
+    private final int batchSize;
+    private final int parallelism;
+
+    /**
+     * Exports a snapshot to a new file named after the snapshot instant in {@code reservation.export.directory}.
+     *
+     * @throws UncheckedIOException if the snapshot cannot be written
+     */
+    public ExportReport export() {
+        var snapshotAt = Instant.now();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the export directory " + directory, e);
+        }
+        return export(directory.resolve(FILE_NAME.format(snapshotAt)), snapshotAt);
+    }
+
+    /**
+     * Exports a snapshot to the file, replacing it if it exists.
+     *
+     * @throws UncheckedIOException if the snapshot cannot be written
+     */
+    public ExportReport export(Path file) {
+        return export(file, Instant.now());
+    }
+
+    private ExportReport export(Path file, Instant snapshotAt) {
+        long started = System.nanoTime();
+        List<Occupancy> snapshot = occupancyIndex.snapshot();
+        // Grouping a parallel stream keeps the encounter order, so each room's reservations stay ordered by start
+        Map<String, List<Occupancy>> rooms = snapshot.parallelStream()
+                .collect(Collectors.groupingBy(Occupancy::roomId, TreeMap::new, Collectors.toList()));
+        List<List<Slice>> batches = batches(rooms);
+
+        var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        deleteQuietly(temporary);
+        long bytes;
+        try (var executor = Executors.newFixedThreadPool(parallelism);
+             var writer = new ColumnarSnapshotWriter(temporary)) {
+            var pending = new ArrayDeque<CompletableFuture<EncodedBatch>>();
+            for (var batch : batches) {
+                if (pending.size() == 2 * parallelism) {
+                    writer.write(pending.removeFirst().join());
+                }
+                pending.addLast(CompletableFuture.supplyAsync(
+                        () -> ColumnarSnapshotWriter.encode(batch, reservationIdEncoder), executor));
+            }
+            while (!pending.isEmpty()) {
+                writer.write(pending.removeFirst().join());
+            }
+            bytes = writer.finish(snapshotAt, List.copyOf(rooms.keySet()));
+        } catch (IOException e) {
+            deleteQuietly(temporary);
+            throw new UncheckedIOException("Cannot write the reservation snapshot " + file, e);
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temporary);
+            throw new UncheckedIOException("Cannot move the reservation snapshot to " + file, e);
+        }
+
+        var report = new ExportReport(file, snapshotAt, rooms.size(), snapshot.size(), batches.size(), bytes);
+        logger.info("Reservations exported. file='{}', rooms={}, reservations={}, batches={}, bytes={}, millis={}",
+                file, report.rooms(), report.reservations(), report.batches(), report.bytes(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return report;
+    }
+
+    /**
+     * Packs the rooms, in dictionary order, into batches of up to {@code batchSize} reservations; a room with more
+     * reservations spans several batches.
+     */
+    private List<List<Slice>> batches(Map<String, List<Occupancy>> rooms) {
+        List<List<Slice>> batches = new ArrayList<>();
+        List<Slice> batch = new ArrayList<>();
+        int rows = 0;
+        int room = 0;
+        for (var occupancies : rooms.values()) {
+            for (int from = 0; from < occupancies.size(); ) {
+                int to = Math.min(occupancies.size(), from + batchSize - rows);
+                batch.add(new Slice(room, occupancies.subList(from, to)));
+                rows += to - from;
+                from = to;
+                if (rows == batchSize) {
+                    batches.add(batch);
+                    batch = new ArrayList<>();
+                    rows = 0;
+                }
+            }
+            room++;
+        }
+        if (rows > 0) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Cannot delete the partial reservation snapshot. file='{}'", file, e);
+        }
+    }
+}
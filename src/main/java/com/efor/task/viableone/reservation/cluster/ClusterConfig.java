@@ -0,0 +1,36 @@
+package com.efor.task.viableone.reservation.cluster;
+
+import com.efor.task.viableone.reservation.InternalApiInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Cluster mode Spring Context configuration; active with {@code reservation.cluster.enabled=true}. The internal API
+ * requires the {@code reservation.cluster.secret} shared by the nodes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reservation.cluster", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ClusterProperties.class)
+@Import({
+        ClusterController.class,
+        ClusterRoomReservationService.class
+})
+public class ClusterConfig implements WebMvcConfigurer {
+
+    public ClusterConfig(ClusterProperties clusterProperties) {
+        this.internalApiInterceptor = new InternalApiInterceptor("reservation.cluster.secret",
+                clusterProperties.secret());
+    }
+
+    private final InternalApiInterceptor internalApiInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(internalApiInterceptor)
+                .addPathPatterns(ClusterController.PATH + "/**");
+    }
+}
@@ -0,0 +1,149 @@
+package com.efor.task.viableone.reservation.cluster;
+
+import com.efor.task.viableone.reservation.MultiRoomReservationResult;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Internal API through which the nodes of a cluster forward requests to the node owning a room.
+ * <p>
+ * Every request is served by the local shard, the {@link DefaultRoomReservationService} of this node, and is never
+ * forwarded again; the forwarding node already resolved this node as the owner.
+ * </p>
+ */
+@Hidden
+@RestController
+@RequestMapping(
+        path = ClusterController.PATH,
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class ClusterController {
+
+    public ClusterController(DefaultRoomReservationService localService) {
+        this.localService = localService;
+    }
+
+    static final String PATH = "/internal/v1/cluster";
+
+    private final DefaultRoomReservationService localService;
+
+    /**
+     * Payload of a forwarded recurring booking.
+     */
+    record RecurringBooking(RoomReservation firstOccurrence, RecurrenceRule recurrence) {
+    }
+
+    /**
+     * Payload of a forwarded booking of several rooms.
+     */
+    record MultiRoomBooking(Set<String> roomIds, Instant reservationStart, Instant reservationEnd) {
+    }
+
+    /**
+     * Room found by a forwarded search.
+     */
+    record AvailableRoom(String roomId) {
+    }
+
+    @PostMapping("/book")
+    public RoomReservationResult bookRoom(@RequestBody RoomReservation roomReservation,
+                                          @RequestHeader(value = "Idempotency-Key", required = false)
+                                          String idempotencyKey) {
+        return localService.bookRoom(roomReservation, idempotencyKey);
+    }
+
+    @PostMapping("/book-recurring")
+    public RoomReservationResult bookRecurringRoom(@RequestBody RecurringBooking booking) {
+        return localService.bookRecurringRoom(booking.firstOccurrence(), booking.recurrence());
+    }
+
+    @PostMapping("/book-rooms")
+    public MultiRoomReservationResult bookRooms(@RequestBody MultiRoomBooking booking) {
+        return localService.bookRooms(booking.roomIds(), booking.reservationStart(), booking.reservationEnd());
+    }
+
+    @PostMapping("/book-any")
+    public ResponseEntity<RoomReservationResult> bookAnyAvailableRoom(
+            @RequestParam("start") Instant start,
+            @RequestParam("end") Instant end,
+            @RequestParam(value = "roomIds", required = false) Set<String> roomIds,
+            @RequestParam(value = "minCapacity", defaultValue = "0") int minCapacity,
+            @RequestParam(value = "equipment", required = false) Set<String> equipment,
+            @RequestParam(value = "location", required = false) String location) {
+        return localService.bookAnyAvailableRoom(start, end, constraints(roomIds, minCapacity, equipment, location))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/reservations/{id}")
+    public ResponseEntity<RoomReservationInfo> getReservation(@PathVariable("id") long reservationId) {
+        return localService.getReservation(reservationId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @DeleteMapping("/reservations/{id}")
+    public ResponseEntity<Void> cancelReservation(@PathVariable("id") long reservationId) {
+        return localService.cancelReservation(reservationId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/rooms/{roomId}/reservations")
+    public List<RoomReservationInfo> getReservations(@PathVariable String roomId) {
+        return localService.getReservations(roomId);
+    }
+
+    @PutMapping("/rooms/{roomId}/attributes")
+    public void setRoomAttributes(@PathVariable String roomId, @RequestBody RoomAttributes attributes) {
+        localService.setRoomAttributes(roomId, attributes);
+    }
+
+    @GetMapping("/rooms/{roomId}/attributes")
+    public ResponseEntity<RoomAttributes> getRoomAttributes(@PathVariable String roomId) {
+        return localService.getRoomAttributes(roomId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/available")
+    public ResponseEntity<AvailableRoom> findAvailableRoom(
+            @RequestParam("start") Instant start,
+            @RequestParam("end") Instant end,
+            @RequestParam(value = "roomIds", required = false) Set<String> roomIds,
+            @RequestParam(value = "minCapacity", defaultValue = "0") int minCapacity,
+            @RequestParam(value = "equipment", required = false) Set<String> equipment,
+            @RequestParam(value = "location", required = false) String location) {
+        return localService.findAvailableRoom(start, end, constraints(roomIds, minCapacity, equipment, location))
+                .map(roomId -> ResponseEntity.ok(new AvailableRoom(roomId)))
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    private static RoomConstraints constraints(Set<String> roomIds, int minCapacity, Set<String> equipment,
+                                               String location) {
+        return new RoomConstraints(roomIds == null ? Set.of() : roomIds, minCapacity,
+                equipment == null ? Set.of() : equipment, location);
+    }
+}
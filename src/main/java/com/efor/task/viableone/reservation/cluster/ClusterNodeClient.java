@@ -0,0 +1,202 @@
+package com.efor.task.viableone.reservation.cluster;
+
+import com.efor.task.viableone.reservation.IdempotencyKeyMismatchException;
+import com.efor.task.viableone.reservation.MultiRoomReservationResult;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriBuilder;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Calls the internal cluster API of another node, see {@link ClusterController}.
+ * <p>
+ * Errors reported by the node are rethrown as the exceptions the local service would throw:
+ * {@code 400} as {@link IllegalArgumentException}, {@code 422} as {@link IdempotencyKeyMismatchException};
+ * an unreachable or failing node as {@link IllegalStateException}.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+class ClusterNodeClient {
+
+    ClusterNodeClient(String nodeId, RestClient restClient) {
+        this.nodeId = nodeId;
+        this.restClient = restClient;
+    }
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final String nodeId;
+    private final RestClient restClient;
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    RoomReservationResult bookRoom(RoomReservation roomReservation, String idempotencyKey) {
+        return call(() -> restClient.post()
+                .uri("/book")
+                .headers(headers -> {
+                    if (idempotencyKey != null) {
+                        headers.set(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(roomReservation)
+                .retrieve()
+                .body(RoomReservationResult.class));
+    }
+
+    RoomReservationResult bookRecurringRoom(RoomReservation firstOccurrence, RecurrenceRule recurrence) {
+        return call(() -> restClient.post()
+                .uri("/book-recurring")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ClusterController.RecurringBooking(firstOccurrence, recurrence))
+                .retrieve()
+                .body(RoomReservationResult.class));
+    }
+
+    MultiRoomReservationResult bookRooms(Set<String> roomIds, Instant reservationStart, Instant reservationEnd) {
+        return call(() -> restClient.post()
+                .uri("/book-rooms")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ClusterController.MultiRoomBooking(roomIds, reservationStart, reservationEnd))
+                .retrieve()
+                .body(MultiRoomReservationResult.class));
+    }
+
+    /**
+     * Books any available room owned by the node.
+     */
+    Optional<RoomReservationResult> bookAnyAvailableRoom(Instant reservationStart, Instant reservationEnd,
+                                                         RoomConstraints constraints) {
+        return call(() -> Optional.ofNullable(restClient.post()
+                .uri(uri -> withConstraints(uri.path("/book-any"), reservationStart, reservationEnd, constraints))
+                .retrieve()
+                .body(RoomReservationResult.class)));
+    }
+
+    Optional<RoomReservationInfo> getReservation(long reservationId) {
+        return call(() -> Optional.ofNullable(restClient.get()
+                .uri("/reservations/{id}", reservationId)
+                .retrieve()
+                .body(RoomReservationInfo.class)));
+    }
+
+    boolean cancelReservation(long reservationId) {
+        return call(() -> restClient.delete()
+                .uri("/reservations/{id}", reservationId)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return false;
+                    }
+                    if (response.getStatusCode().isError()) {
+                        throw unavailable(response.getStatusCode(), null);
+                    }
+                    return true;
+                }));
+    }
+
+    List<RoomReservationInfo> getReservations(String roomId) {
+        return call(() -> restClient.get()
+                .uri("/rooms/{roomId}/reservations", roomId)
+                .retrieve()
+                .body(new ParameterizedTypeReference<List<RoomReservationInfo>>() {
+                }));
+    }
+
+    void setRoomAttributes(String roomId, RoomAttributes attributes) {
+        call(() -> restClient.put()
+                .uri("/rooms/{roomId}/attributes", roomId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(attributes)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    Optional<RoomAttributes> getRoomAttributes(String roomId) {
+        return call(() -> Optional.ofNullable(restClient.get()
+                .uri("/rooms/{roomId}/attributes", roomId)
+                .retrieve()
+                .body(RoomAttributes.class)));
+    }
+
+    /**
+     * Returns an available room owned by the node.
+     */
+    Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd, RoomConstraints constraints) {
+        return call(() -> Optional.ofNullable(restClient.get()
+                .uri(uri -> withConstraints(uri.path("/available"), reservationStart, reservationEnd, constraints))
+                .retrieve()
+                .body(ClusterController.AvailableRoom.class))
+                .map(ClusterController.AvailableRoom::roomId));
+    }
+
+    private static URI withConstraints(UriBuilder uri, Instant reservationStart, Instant reservationEnd,
+                                       RoomConstraints constraints) {
+        uri.queryParam("start", reservationStart)
+                .queryParam("end", reservationEnd)
+                .queryParam("minCapacity", constraints.minCapacity())
+                .queryParamIfPresent("location", Optional.ofNullable(constraints.location()));
+        // An empty parameter would bind as a set with an empty id
+        if (!constraints.roomIds().isEmpty()) {
+            uri.queryParam("roomIds", constraints.roomIds());
+        }
+        if (!constraints.equipment().isEmpty()) {
+            uri.queryParam("equipment", constraints.equipment());
+        }
+        return uri.build();
+    }
+
+    private <T> T call(Supplier<T> request) {
+        try {
+            return request.get();
+        } catch (RestClientResponseException e) {
+            var message = message(e);
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST)) {
+                throw new IllegalArgumentException(message);
+            }
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.UNPROCESSABLE_ENTITY)) {
+                throw new IdempotencyKeyMismatchException(message);
+            }
+            throw unavailable(e.getStatusCode(), e);
+        } catch (RestClientException e) {
+            throw unavailable(null, e);
+        }
+    }
+
+    private IllegalStateException unavailable(HttpStatusCode status, Exception cause) {
+        return new IllegalStateException("Cluster node '" + nodeId + "' is unavailable"
+                + (status == null ? "" : " (" + status.value() + ")") + "; try again.", cause);
+    }
+
+    private static String message(RestClientResponseException e) {
+        try {
+            var body = e.getResponseBodyAs(Map.class);
+            if (body != null && body.get("message") instanceof String message) {
+                return message;
+            }
+        } catch (RuntimeException ignored) {
+            // Not an error body of the node; fall back to the status text
+        }
+        return e.getStatusText();
+    }
+}
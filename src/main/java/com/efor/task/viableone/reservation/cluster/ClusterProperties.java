@@ -0,0 +1,31 @@
+package com.efor.task.viableone.reservation.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Cluster mode configuration bound from the {@code reservation.cluster.*} properties.
+ *
+ * @param enabled        whether rooms are sharded across the nodes
+ * @param nodeId         identifier of this node; must be one of {@code nodes}
+ * @param nodes          base URLs of all nodes, including this one, by node identifier
+ * @param secret         secret shared by all nodes, required by their internal API
+ * @param virtualNodes   positions of every node on the hash ring
+ * @param connectTimeout timeout of connecting to another node
+ * @param requestTimeout timeout of a request to another node
+ */
+@ConfigurationProperties(prefix = "reservation.cluster")
+public record ClusterProperties(
+        @DefaultValue("false") boolean enabled,
+        String nodeId,
+        @DefaultValue Map<String, URI> nodes,
+        String secret,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("500ms") Duration connectTimeout,
+        @DefaultValue("2s") Duration requestTimeout
+) {
+}
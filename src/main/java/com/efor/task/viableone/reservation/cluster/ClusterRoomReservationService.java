@@ -0,0 +1,402 @@
+package com.efor.task.viableone.reservation.cluster;
+
+import com.efor.task.viableone.reservation.AvailabilityMatrix;
+import com.efor.task.viableone.reservation.InternalApiInterceptor;
+import com.efor.task.viableone.reservation.MultiRoomReservationResult;
+import com.efor.task.viableone.reservation.ReservationIdEncoder;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.efor.task.viableone.reservation.RoomReservationService;
+import com.efor.task.viableone.reservation.Utilization;
+import com.efor.task.viableone.reservation.UtilizationGranularity;
+import com.efor.task.viableone.reservation.UtilizationGrouping;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import com.efor.task.viableone.reservation.validation.RoomIdentifierValidator;
+import com.efor.task.viableone.reservation.validation.RoomReservationValidator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link RoomReservationService} of a cluster node; rooms are sharded across the nodes by a
+ * {@link ConsistentHashRing} and every room is booked only on the node owning it, so two nodes never double-book.
+ * <p>
+ * Requests for a room — booking, its reservations and attributes — are served by the local shard when this node
+ * owns the room and are forwarded to the owning node otherwise. A search for an available room tries the local
+ * shard first and then asks all other nodes concurrently, returning the first room found; a node that fails or does
+ * not answer within the request timeout is skipped. Booking several rooms at once is forwarded when all of them
+ * belong to one node and rejected otherwise.
+ * </p>
+ * <p>
+ * Reservation ids are made unique across the cluster by encoding the ordinal of the owning node in their lowest
+ * bits, so a reservation is looked up and cancelled on its node from any node; the node encodes the ids published by
+ * its change feed and snapshot export the same way, see {@link ReservationIdEncoder}. Reports — the availability matrix,
+ * occupancy, utilization, the search for several simultaneously available rooms and the list of all reservations —
+ * cover the rooms owned by this node only.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Primary
+@Service
+public class ClusterRoomReservationService implements RoomReservationService, ReservationIdEncoder {
+
+    public ClusterRoomReservationService(DefaultRoomReservationService localService,
+                                         RoomReservationValidator roomReservationValidator,
+                                         RoomIdentifierValidator roomIdentifierValidator,
+                                         ClusterProperties clusterProperties,
+                                         RestClient.Builder restClientBuilder) {
+        var nodeIds = clusterProperties.nodes().keySet().stream().sorted().toList();
+        if (!nodeIds.contains(clusterProperties.nodeId())) {
+            throw new IllegalStateException("Cluster node id '" + clusterProperties.nodeId()
+                    + "' is not one of the cluster nodes " + nodeIds);
+        }
+        if (nodeIds.size() > MAX_NODES) {
+            throw new IllegalStateException("Cluster must not have more than " + MAX_NODES + " nodes");
+        }
+        this.localService = localService;
+        this.roomReservationValidator = roomReservationValidator;
+        this.roomIdentifierValidator = roomIdentifierValidator;
+        this.nodeId = clusterProperties.nodeId();
+        this.nodeIds = nodeIds;
+        this.ring = new ConsistentHashRing(nodeIds, clusterProperties.virtualNodes());
+        this.requestTimeout = clusterProperties.requestTimeout();
+
+        var requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(clusterProperties.connectTimeout())
+                .build());
+        requestFactory.setReadTimeout(clusterProperties.requestTimeout());
+        var secret = InternalApiInterceptor.requireSecret("reservation.cluster.secret", clusterProperties.secret());
+        this.peers = new LinkedHashMap<>();
+        clusterProperties.nodes().forEach((peerId, uri) -> {
+            if (!peerId.equals(nodeId)) {
+                peers.put(peerId, new ClusterNodeClient(peerId, restClientBuilder.clone()
+                        .baseUrl(uri.toString().replaceAll("/+$", "") + ClusterController.PATH)
+                        .defaultHeader(InternalApiInterceptor.SECRET_HEADER, secret)
+                        .requestFactory(requestFactory)
+                        .build()));
+            }
+        });
+        logger.info("Cluster node started. nodeId='{}', nodes={}", nodeId, nodeIds);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterRoomReservationService.class);
+
+    /**
+     * Maximum number of nodes; the node ordinal takes the lowest 10 bits of a reservation id.
+     */
+    static final int MAX_NODES = 1024;
+
+    private final DefaultRoomReservationService localService;
+    private final RoomReservationValidator roomReservationValidator;
+    private final RoomIdentifierValidator roomIdentifierValidator;
+    private final String nodeId;
+    /**
+     * Node ids in ordinal order.
+     */
+    private final List<String> nodeIds;
+    private final ConsistentHashRing ring;
+    private final Duration requestTimeout;
+    private final Map<String, ClusterNodeClient> peers;
+    private final ExecutorService searches = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public RoomReservationResult bookRoom(RoomReservation roomReservation) {
+        return bookRoom(roomReservation, null);
+    }
+
+    @Override
+    public RoomReservationResult bookRoom(RoomReservation roomReservation, String idempotencyKey) {
+        roomReservationValidator.validate(roomReservation);
+
+        var owner = ownerOf(roomReservation.roomId());
+        return toClusterResult(onNode(owner,
+                () -> localService.bookRoom(roomReservation, idempotencyKey),
+                peer -> peer.bookRoom(roomReservation, idempotencyKey)), owner);
+    }
+
+    @Override
+    public MultiRoomReservationResult bookRooms(Set<String> roomIds, Instant reservationStart,
+                                                Instant reservationEnd) {
+        if (roomIds == null || roomIds.isEmpty()) {
+            return localService.bookRooms(roomIds, reservationStart, reservationEnd);
+        }
+        roomIds.forEach(roomIdentifierValidator::validate);
+
+        var owners = roomIds.stream().map(this::ownerOf).collect(Collectors.toSet());
+        if (owners.size() > 1) {
+            throw new IllegalArgumentException("Rooms " + roomIds + " belong to different cluster nodes and cannot "
+                    + "be booked atomically; book them separately.");
+        }
+        var owner = owners.iterator().next();
+        var result = onNode(owner,
+                () -> localService.bookRooms(roomIds, reservationStart, reservationEnd),
+                peer -> peer.bookRooms(roomIds, reservationStart, reservationEnd));
+        return new MultiRoomReservationResult(result.isNewReservation(), result.reservations().stream()
+                .map(reservation -> toClusterResult(reservation, owner))
+                .toList());
+    }
+
+    @Override
+    public RoomReservationResult bookRecurringRoom(RoomReservation firstOccurrence, RecurrenceRule recurrence) {
+        roomReservationValidator.validate(firstOccurrence);
+
+        var owner = ownerOf(firstOccurrence.roomId());
+        return toClusterResult(onNode(owner,
+                () -> localService.bookRecurringRoom(firstOccurrence, recurrence),
+                peer -> peer.bookRecurringRoom(firstOccurrence, recurrence)), owner);
+    }
+
+    @Override
+    public Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd) {
+        // The local search validates the interval before any node is asked
+        var local = localService.findAvailableRoom(reservationStart, reservationEnd);
+        return local.isPresent()
+                ? local
+                : findOnPeers(peer -> peer.findAvailableRoom(reservationStart, reservationEnd, RoomConstraints.none()));
+    }
+
+    @Override
+    public Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd,
+                                              RoomConstraints constraints) {
+        var local = localService.findAvailableRoom(reservationStart, reservationEnd, constraints);
+        return local.isPresent()
+                ? local
+                : findOnPeers(peer -> peer.findAvailableRoom(reservationStart, reservationEnd, constraints));
+    }
+
+    @Override
+    public List<String> findAvailableRooms(Instant reservationStart, Instant reservationEnd, int count) {
+        return localService.findAvailableRooms(reservationStart, reservationEnd, count);
+    }
+
+    @Override
+    public Optional<RoomReservationResult> bookAnyAvailableRoom(Instant reservationStart, Instant reservationEnd,
+                                                                RoomConstraints constraints) {
+        var local = localService.bookAnyAvailableRoom(reservationStart, reservationEnd, constraints);
+        if (local.isPresent()) {
+            return local.map(result -> toClusterResult(result, nodeId));
+        }
+        // Nodes are tried one by one, so at most one of them books a room
+        for (var peer : peers.values()) {
+            try {
+                var booked = peer.bookAnyAvailableRoom(reservationStart, reservationEnd, constraints);
+                if (booked.isPresent()) {
+                    return booked.map(result -> toClusterResult(result, peer.nodeId()));
+                }
+            } catch (IllegalStateException e) {
+                logger.warn("Booking any room on cluster node has failed, trying next. nodeId='{}', error={}",
+                        peer.nodeId(), e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public AvailabilityMatrix getAvailabilityMatrix(Instant from, Instant to, Duration slot) {
+        return localService.getAvailabilityMatrix(from, to, slot);
+    }
+
+    @Override
+    public List<RoomReservationInfo> getOccupancy(Instant from, Instant to) {
+        return toClusterInfos(localService.getOccupancy(from, to), nodeId);
+    }
+
+    @Override
+    public List<RoomReservationInfo> getOccupancy(Instant instant) {
+        return toClusterInfos(localService.getOccupancy(instant), nodeId);
+    }
+
+    @Override
+    public Utilization getUtilization(Instant from, Instant to, UtilizationGranularity granularity,
+                                      UtilizationGrouping grouping) {
+        return localService.getUtilization(from, to, granularity, grouping);
+    }
+
+    @Override
+    public void setRoomAttributes(String roomId, RoomAttributes attributes) {
+        roomIdentifierValidator.validate(roomId);
+
+        onNode(ownerOf(roomId),
+                () -> {
+                    localService.setRoomAttributes(roomId, attributes);
+                    return null;
+                },
+                peer -> {
+                    peer.setRoomAttributes(roomId, attributes);
+                    return null;
+                });
+    }
+
+    @Override
+    public Optional<RoomAttributes> getRoomAttributes(String roomId) {
+        roomIdentifierValidator.validate(roomId);
+
+        return onNode(ownerOf(roomId),
+                () -> localService.getRoomAttributes(roomId),
+                peer -> peer.getRoomAttributes(roomId));
+    }
+
+    @Override
+    public Optional<RoomReservationInfo> getReservation(long reservationId) {
+        var owner = ownerOfReservation(reservationId);
+        if (owner == null) {
+            return Optional.empty();
+        }
+        var localId = localReservationId(reservationId);
+        return onNode(owner,
+                () -> localService.getReservation(localId),
+                peer -> peer.getReservation(localId))
+                .map(info -> toClusterInfo(info, owner));
+    }
+
+    @Override
+    public boolean cancelReservation(long reservationId) {
+        var owner = ownerOfReservation(reservationId);
+        if (owner == null) {
+            return false;
+        }
+        var localId = localReservationId(reservationId);
+        return onNode(owner,
+                () -> localService.cancelReservation(localId),
+                peer -> peer.cancelReservation(localId));
+    }
+
+    @Override
+    public List<RoomReservationInfo> getReservations(String roomId) {
+        roomIdentifierValidator.validate(roomId);
+
+        var owner = ownerOf(roomId);
+        return toClusterInfos(onNode(owner,
+                () -> localService.getReservations(roomId),
+                peer -> peer.getReservations(roomId)), owner);
+    }
+
+    @Override
+    public Map<String, List<RoomReservationInfo>> getAllReservations() {
+        var result = new LinkedHashMap<String, List<RoomReservationInfo>>();
+        localService.getAllReservations().forEach((roomId, reservations) ->
+                result.put(roomId, toClusterInfos(reservations, nodeId)));
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searches.shutdownNow();
+    }
+
+    private String ownerOf(String roomId) {
+        // Room ids are trimmed by the services, so they are hashed trimmed too
+        return ring.ownerOf(roomId.trim());
+    }
+
+    /**
+     * Runs the action on the local shard if {@code owner} is this node, on the owning node otherwise.
+     */
+    private <T> T onNode(String owner, Supplier<T> local, Function<ClusterNodeClient, T> remote) {
+        if (owner.equals(nodeId)) {
+            return local.get();
+        }
+        logger.debug("Forwarding to owning cluster node. nodeId='{}'", owner);
+        return remote.apply(peers.get(owner));
+    }
+
+    /**
+     * Asks all other nodes concurrently and returns the first room found; stops waiting for the remaining nodes once
+     * a room is found. A node failing or exceeding the request timeout counts as having no room.
+     */
+    private Optional<String> findOnPeers(Function<ClusterNodeClient, Optional<String>> search) {
+        if (peers.isEmpty()) {
+            return Optional.empty();
+        }
+        var found = new CompletableFuture<Optional<String>>();
+        var pending = new AtomicInteger(peers.size());
+        var requests = new ArrayList<CompletableFuture<Optional<String>>>();
+        for (var peer : peers.values()) {
+            requests.add(CompletableFuture.supplyAsync(() -> search.apply(peer), searches)
+                    .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((roomId, failure) -> {
+                        if (failure != null) {
+                            logger.warn("Available room search on cluster node has failed. nodeId='{}', error={}",
+                                    peer.nodeId(), failure.toString());
+                        } else if (roomId.isPresent()) {
+                            found.complete(roomId);
+                        }
+                        if (pending.decrementAndGet() == 0) {
+                            found.complete(Optional.empty());
+                        }
+                    }));
+        }
+        try {
+            return found.join();
+        } finally {
+            requests.forEach(request -> request.cancel(true));
+        }
+    }
+
+    /**
+     * Returns the cluster id of a reservation of the local shard.
+     */
+    @Override
+    public long encode(long localReservationId) {
+        return clusterReservationId(localReservationId, nodeId);
+    }
+
+    private String ownerOfReservation(long reservationId) {
+        int ordinal = (int) Math.floorMod(reservationId, (long) MAX_NODES);
+        return reservationId > 0 && ordinal < nodeIds.size() ? nodeIds.get(ordinal) : null;
+    }
+
+    private static long localReservationId(long reservationId) {
+        return reservationId / MAX_NODES;
+    }
+
+    private long clusterReservationId(long localReservationId, String owner) {
+        return localReservationId * MAX_NODES + nodeIds.indexOf(owner);
+    }
+
+    private RoomReservationResult toClusterResult(RoomReservationResult result, String owner) {
+        if (result.reservationId() == null) {
+            return result;
+        }
+        return new RoomReservationResult(clusterReservationId(result.reservationId(), owner), result.roomId(),
+                result.reservationStart(), result.reservationEnd(), result.isNewReservation(),
+                result.nextAvailableStart(), result.nextAvailableEnd(), result.alternativeRoomId());
+    }
+
+    private RoomReservationInfo toClusterInfo(RoomReservationInfo info, String owner) {
+        return new RoomReservationInfo(clusterReservationId(info.reservationId(), owner), info.roomId(),
+                info.reservationStart(), info.reservationEnd(), info.recurrence());
+    }
+
+    private List<RoomReservationInfo> toClusterInfos(List<RoomReservationInfo> infos, String owner) {
+        return infos.stream().map(info -> toClusterInfo(info, owner)).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package com.efor.task.viableone.reservation.cluster;
+
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Assigns rooms to cluster nodes by consistent hashing.
+ * <p>
+ * Every node is placed on a hash ring at {@code virtualNodes} positions; a room belongs to the node at the first
+ * position at or after the hash of the room id. Virtual nodes spread the rooms evenly, and adding or removing a node
+ * moves only the rooms between its positions and their predecessors, about {@code 1 / nodes} of all rooms.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Immutable and thread-safe.</p>
+ */
+public class ConsistentHashRing {
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("Hash ring must have at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Hash ring must have at least one virtual node per node");
+        }
+        for (var nodeId : nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // A colliding position keeps its first node; with 64-bit hashes this does not happen in practice
+                ring.putIfAbsent(hash(nodeId + "#" + i), nodeId);
+            }
+        }
+    }
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    /**
+     * Returns the node owning the room.
+     *
+     * @param roomId normalized room identifier
+     * @return identifier of the owning node; never {@code null}
+     */
+    public String ownerOf(String roomId) {
+        Objects.requireNonNull(roomId, "roomId must not be null");
+        var position = ring.ceilingEntry(hash(roomId));
+        // Past the last position the ring wraps around to the first one
+        return position != null ? position.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long hash(String key) {
+        return Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).asLong();
+    }
+}
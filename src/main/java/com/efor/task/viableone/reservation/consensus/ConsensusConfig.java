@@ -0,0 +1,54 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import com.efor.task.viableone.reservation.InternalApiInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Consensus mode Spring Context configuration; active with {@code reservation.consensus.enabled=true}. The internal
+ * API requires the {@code reservation.consensus.secret} shared by the nodes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reservation.consensus", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ConsensusProperties.class)
+@Import({
+        ConsensusRoomReservationService.class,
+        HttpRaftTransport.class,
+        RaftController.class,
+        ReservationStateMachine.class
+})
+public class ConsensusConfig implements WebMvcConfigurer {
+
+    public ConsensusConfig(ConsensusProperties consensusProperties) {
+        this.internalApiInterceptor = new InternalApiInterceptor("reservation.consensus.secret",
+                consensusProperties.secret());
+    }
+
+    private final InternalApiInterceptor internalApiInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(internalApiInterceptor)
+                .addPathPatterns(RaftController.PATH + "/**");
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    RaftNode raftNode(ConsensusProperties consensusProperties, HttpRaftTransport transport,
+                      ReservationStateMachine stateMachine, ObjectMapper objectMapper) {
+        var nodeId = consensusProperties.nodeId();
+        if (nodeId == null || !consensusProperties.nodes().containsKey(nodeId)) {
+            throw new IllegalStateException("reservation.consensus.node-id must be one of reservation.consensus.nodes");
+        }
+        RaftStorage storage = consensusProperties.dataDir() == null
+                ? new MemoryRaftStorage()
+                : new FileRaftStorage(consensusProperties.dataDir(), objectMapper);
+        return new RaftNode(nodeId, consensusProperties.nodes().keySet(), transport, storage, stateMachine,
+                consensusProperties);
+    }
+}
@@ -0,0 +1,42 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Consensus mode configuration bound from the {@code reservation.consensus.*} properties.
+ *
+ * @param enabled           whether changes are replicated through the consensus log
+ * @param nodeId            identifier of this node; must be one of {@code nodes}
+ * @param nodes             base URLs of all nodes, including this one, by node identifier
+ * @param secret            secret shared by all nodes, required by their internal API
+ * @param dataDir           directory of the durable log and vote of this node; kept in memory if not set
+ * @param electionTimeout   minimum time without a leader before a node starts an election; randomized up to twice
+ * @param heartbeatInterval interval of the leader's heartbeats; well below the election timeout
+ * @param maxBatch          maximum number of log entries appended or sent to a follower at once
+ * @param pipelineDepth     maximum number of unacknowledged append requests per follower
+ * @param requestTimeout    timeout of a request to another node
+ * @param commitTimeout     how long a change waits to be committed and applied
+ * @param idempotencyKeys   number of most recent idempotency keys remembered by the replicated state
+ */
+@ConfigurationProperties(prefix = "reservation.consensus")
+public record ConsensusProperties(
+        @DefaultValue("false") boolean enabled,
+        String nodeId,
+        @DefaultValue Map<String, URI> nodes,
+        String secret,
+        Path dataDir,
+        @DefaultValue("500ms") Duration electionTimeout,
+        @DefaultValue("50ms") Duration heartbeatInterval,
+        @DefaultValue("256") int maxBatch,
+        @DefaultValue("4") int pipelineDepth,
+        @DefaultValue("1s") Duration requestTimeout,
+        @DefaultValue("5s") Duration commitTimeout,
+        @DefaultValue("100000") int idempotencyKeys
+) {
+}
@@ -0,0 +1,206 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import com.efor.task.viableone.reservation.AvailabilityMatrix;
+import com.efor.task.viableone.reservation.MultiRoomReservationResult;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.efor.task.viableone.reservation.RoomReservationService;
+import com.efor.task.viableone.reservation.Utilization;
+import com.efor.task.viableone.reservation.UtilizationGranularity;
+import com.efor.task.viableone.reservation.UtilizationGrouping;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import com.efor.task.viableone.reservation.validation.RoomReservationValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link RoomReservationService} of a node of the consensus group.
+ * <p>
+ * Bookings, cancellations and room attribute changes are proposed to the {@link RaftNode} and return once they are
+ * committed by a majority of the nodes and applied to the local service, so a change that returned survives the
+ * failure of any minority of the nodes and no failover can double-book a room. Only the leader accepts changes;
+ * the other nodes reject them with {@link NotLeaderException} naming the leader. A change that is not applied within
+ * the commit timeout fails without telling whether it was committed; a booking retried with the same
+ * idempotency key is then answered with the original result, also by a new leader.
+ * </p>
+ * <p>
+ * Reads are served by the local service. On the leader they include every change that has returned; on the other
+ * nodes they may miss the latest changes by the replication lag.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Primary
+@Service
+public class ConsensusRoomReservationService implements RoomReservationService {
+
+    public ConsensusRoomReservationService(DefaultRoomReservationService localService,
+                                           RoomReservationValidator roomReservationValidator,
+                                           RaftNode raftNode,
+                                           ConsensusProperties consensusProperties) {
+        this.localService = localService;
+        this.roomReservationValidator = roomReservationValidator;
+        this.raftNode = raftNode;
+        this.commitTimeout = consensusProperties.commitTimeout();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsensusRoomReservationService.class);
+
+    private final DefaultRoomReservationService localService;
+    private final RoomReservationValidator roomReservationValidator;
+    private final RaftNode raftNode;
+    private final Duration commitTimeout;
+
+    @Override
+    public RoomReservationResult bookRoom(RoomReservation roomReservation) {
+        return bookRoom(roomReservation, null);
+    }
+
+    @Override
+    public RoomReservationResult bookRoom(RoomReservation roomReservation, String idempotencyKey) {
+        // Invalid requests are rejected before they reach the log
+        roomReservationValidator.validate(roomReservation);
+        return (RoomReservationResult) commit(new ReservationCommand.BookRoom(roomReservation, idempotencyKey));
+    }
+
+    @Override
+    public MultiRoomReservationResult bookRooms(Set<String> roomIds, Instant reservationStart,
+                                                Instant reservationEnd) {
+        return (MultiRoomReservationResult) commit(
+                new ReservationCommand.BookRooms(roomIds, reservationStart, reservationEnd));
+    }
+
+    @Override
+    public RoomReservationResult bookRecurringRoom(RoomReservation firstOccurrence, RecurrenceRule recurrence) {
+        roomReservationValidator.validate(firstOccurrence);
+        return (RoomReservationResult) commit(new ReservationCommand.BookRecurringRoom(firstOccurrence, recurrence));
+    }
+
+    @Override
+    public Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd) {
+        return localService.findAvailableRoom(reservationStart, reservationEnd);
+    }
+
+    @Override
+    public Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd,
+                                              RoomConstraints constraints) {
+        return localService.findAvailableRoom(reservationStart, reservationEnd, constraints);
+    }
+
+    @Override
+    public List<String> findAvailableRooms(Instant reservationStart, Instant reservationEnd, int count) {
+        return localService.findAvailableRooms(reservationStart, reservationEnd, count);
+    }
+
+    @Override
+    public Optional<RoomReservationResult> bookAnyAvailableRoom(Instant reservationStart, Instant reservationEnd,
+                                                                RoomConstraints constraints) {
+        if (!raftNode.isLeader()) {
+            throw new NotLeaderException(raftNode.leaderId());
+        }
+        // The room is chosen from the local state and booked through the log; a room booked concurrently collides
+        // when applied, and once that booking is applied locally the search moves on to another room
+        while (true) {
+            var roomId = localService.findAvailableRoom(reservationStart, reservationEnd, constraints);
+            if (roomId.isEmpty()) {
+                return Optional.empty();
+            }
+            var result = bookRoom(new RoomReservation(roomId.get(), reservationStart, reservationEnd));
+            if (result.isNewReservation()) {
+                return Optional.of(result);
+            }
+            logger.debug("Candidate room booked concurrently, trying next. roomId='{}'", roomId.get());
+        }
+    }
+
+    @Override
+    public AvailabilityMatrix getAvailabilityMatrix(Instant from, Instant to, Duration slot) {
+        return localService.getAvailabilityMatrix(from, to, slot);
+    }
+
+    @Override
+    public List<RoomReservationInfo> getOccupancy(Instant from, Instant to) {
+        return localService.getOccupancy(from, to);
+    }
+
+    @Override
+    public List<RoomReservationInfo> getOccupancy(Instant instant) {
+        return localService.getOccupancy(instant);
+    }
+
+    @Override
+    public Utilization getUtilization(Instant from, Instant to, UtilizationGranularity granularity,
+                                      UtilizationGrouping grouping) {
+        return localService.getUtilization(from, to, granularity, grouping);
+    }
+
+    @Override
+    public void setRoomAttributes(String roomId, RoomAttributes attributes) {
+        commit(new ReservationCommand.SetRoomAttributes(roomId, attributes));
+    }
+
+    @Override
+    public Optional<RoomAttributes> getRoomAttributes(String roomId) {
+        return localService.getRoomAttributes(roomId);
+    }
+
+    @Override
+    public Optional<RoomReservationInfo> getReservation(long reservationId) {
+        return localService.getReservation(reservationId);
+    }
+
+    @Override
+    public boolean cancelReservation(long reservationId) {
+        return (Boolean) commit(new ReservationCommand.CancelReservation(reservationId));
+    }
+
+    @Override
+    public List<RoomReservationInfo> getReservations(String roomId) {
+        return localService.getReservations(roomId);
+    }
+
+    @Override
+    public Map<String, List<RoomReservationInfo>> getAllReservations() {
+        return localService.getAllReservations();
+    }
+
+    /**
+     * Proposes the command and waits until it is applied locally.
+     *
+     * @return the result of applying the command
+     */
+    private Object commit(ReservationCommand command) {
+        var applied = raftNode.propose(command);
+        try {
+            return applied.get(commitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            logger.warn("Change has not been committed in time. command={}, commitTimeout={}", command, commitTimeout);
+            throw new IllegalStateException("The change has not been committed in time and may or may not take "
+                    + "effect; retry a booking with the same Idempotency-Key.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the change to be committed", e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link RaftStorage} in a directory: the log as JSON lines in {@code log.jsonl}, the term and vote in
+ * {@code vote.json}.
+ * <p>
+ * Entries are appended to the log file and forced to the disk once per {@link #append(List)}, so the cost of the
+ * sync is shared by the whole batch. The vote is replaced atomically. A truncation, which only happens when a
+ * follower's log conflicts with a new leader, rewrites the log file. An entry partially written before a crash is
+ * dropped when the storage is opened. The log is also kept in memory and is never compacted.
+ * </p>
+ */
+class FileRaftStorage implements RaftStorage {
+
+    FileRaftStorage(Path directory, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.logFile = directory.resolve("log.jsonl");
+        this.voteFile = directory.resolve("vote.json");
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(voteFile)) {
+                var vote = objectMapper.readValue(voteFile.toFile(), Vote.class);
+                this.term = vote.term();
+                this.votedFor = vote.votedFor();
+            }
+            if (Files.exists(logFile)) {
+                load();
+            }
+            this.channel = openLog();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the consensus log in " + directory, e);
+        }
+        logger.info("Consensus log opened. directory='{}', term={}, lastIndex={}", directory, term, log.size());
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(FileRaftStorage.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path logFile;
+    private final Path voteFile;
+    private final List<LogEntry> log = new ArrayList<>();
+    private FileChannel channel;
+    private long term;
+    private String votedFor;
+
+    @Override
+    public long term() {
+        return term;
+    }
+
+    @Override
+    public String votedFor() {
+        return votedFor;
+    }
+
+    @Override
+    public void saveVote(long term, String votedFor) {
+        try {
+            var temporary = voteFile.resolveSibling(voteFile.getFileName() + ".tmp");
+            try (var out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                out.write(ByteBuffer.wrap(objectMapper.writeValueAsBytes(new Vote(term, votedFor))));
+                out.force(true);
+            }
+            Files.move(temporary, voteFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot save the consensus vote", e);
+        }
+        this.term = term;
+        this.votedFor = votedFor;
+    }
+
+    @Override
+    public long lastIndex() {
+        return log.size();
+    }
+
+    @Override
+    public long termAt(long index) {
+        return index == 0 ? 0 : log.get((int) index - 1).term();
+    }
+
+    @Override
+    public List<LogEntry> entries(long fromIndex, int max) {
+        int from = (int) fromIndex - 1;
+        return List.copyOf(log.subList(from, Math.min(log.size(), from + max)));
+    }
+
+    @Override
+    public void append(List<LogEntry> entries) {
+        try {
+            channel.write(ByteBuffer.wrap(toLines(entries)));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to the consensus log", e);
+        }
+        log.addAll(entries);
+    }
+
+    @Override
+    public void truncateFrom(long fromIndex) {
+        log.subList((int) fromIndex - 1, log.size()).clear();
+        try {
+            channel.close();
+            var temporary = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+            Files.write(temporary, toLines(log));
+            try (var out = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                out.force(true);
+            }
+            Files.move(temporary, logFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            channel = openLog();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot truncate the consensus log", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Cannot close the consensus log. file='{}', error={}", logFile, e.toString());
+        }
+    }
+
+    private void load() throws IOException {
+        var lines = Files.readAllLines(logFile, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            try {
+                log.add(objectMapper.readValue(lines.get(i), LogEntry.class));
+            } catch (JsonProcessingException e) {
+                if (i < lines.size() - 1) {
+                    throw e;
+                }
+                // Only the last entry can be incomplete, if the node stopped while appending it
+                logger.warn("Dropping an incomplete entry at the end of the consensus log. file='{}', index={}",
+                        logFile, i + 1);
+                Files.write(logFile, toLines(log));
+            }
+        }
+    }
+
+    private FileChannel openLog() throws IOException {
+        return FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private byte[] toLines(List<LogEntry> entries) throws JsonProcessingException {
+        var lines = new StringBuilder();
+        for (var entry : entries) {
+            lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Vote(long term, String votedFor) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import com.efor.task.viableone.reservation.InternalApiInterceptor;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link RaftTransport} calling the internal consensus API of the other nodes, see {@link RaftController}.
+ * <p>
+ * Every message is sent from its own virtual thread, so a slow or unreachable node delays only the messages sent
+ * to it; a message not answered within the request timeout fails.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class HttpRaftTransport implements RaftTransport {
+
+    public HttpRaftTransport(ConsensusProperties consensusProperties, RestClient.Builder restClientBuilder) {
+        var requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(consensusProperties.requestTimeout())
+                .build());
+        requestFactory.setReadTimeout(consensusProperties.requestTimeout());
+        var secret = InternalApiInterceptor.requireSecret("reservation.consensus.secret",
+                consensusProperties.secret());
+        var clients = new HashMap<String, RestClient>();
+        consensusProperties.nodes().forEach((nodeId, url) -> clients.put(nodeId, restClientBuilder.clone()
+                .baseUrl(url.toString().replaceAll("/+$", "") + RaftController.PATH)
+                .defaultHeader(InternalApiInterceptor.SECRET_HEADER, secret)
+                .requestFactory(requestFactory)
+                .build()));
+        this.clients = Map.copyOf(clients);
+    }
+
+    private final Map<String, RestClient> clients;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public CompletableFuture<VoteResponse> requestVote(String peerId, VoteRequest request) {
+        return send(peerId, "/vote", request, VoteResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<AppendResponse> appendEntries(String peerId, AppendRequest request) {
+        return send(peerId, "/append", request, AppendResponse.class);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> send(String peerId, String path, Object request, Class<T> responseType) {
+        var client = clients.get(peerId);
+        return CompletableFuture.supplyAsync(() -> client.post()
+                .uri(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(responseType), executor);
+    }
+}
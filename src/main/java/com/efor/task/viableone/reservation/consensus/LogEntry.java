@@ -0,0 +1,11 @@
+package com.efor.task.viableone.reservation.consensus;
+
+/**
+ * Entry of the consensus log.
+ *
+ * @param index   position in the log, starting with 1
+ * @param term    term of the leader that appended the entry
+ * @param command the replicated command
+ */
+record LogEntry(long index, long term, ReservationCommand command) {
+}
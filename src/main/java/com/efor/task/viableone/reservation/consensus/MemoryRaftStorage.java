@@ -0,0 +1,67 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link RaftStorage} kept in memory; the state of a node is lost when it stops.
+ * <p>
+ * A node that restarts without its state must not vote before it has caught up again, otherwise committed entries
+ * may be lost; use {@link FileRaftStorage} where nodes restart.
+ * </p>
+ */
+class MemoryRaftStorage implements RaftStorage {
+
+    private long term;
+    private String votedFor;
+    /**
+     * Entry of index {@code i} is at {@code i - 1}.
+     */
+    private final List<LogEntry> log = new ArrayList<>();
+
+    @Override
+    public long term() {
+        return term;
+    }
+
+    @Override
+    public String votedFor() {
+        return votedFor;
+    }
+
+    @Override
+    public void saveVote(long term, String votedFor) {
+        this.term = term;
+        this.votedFor = votedFor;
+    }
+
+    @Override
+    public long lastIndex() {
+        return log.size();
+    }
+
+    @Override
+    public long termAt(long index) {
+        return index == 0 ? 0 : log.get((int) index - 1).term();
+    }
+
+    @Override
+    public List<LogEntry> entries(long fromIndex, int max) {
+        int from = (int) fromIndex - 1;
+        return List.copyOf(log.subList(from, Math.min(log.size(), from + max)));
+    }
+
+    @Override
+    public void append(List<LogEntry> entries) {
+        log.addAll(entries);
+    }
+
+    @Override
+    public void truncateFrom(long fromIndex) {
+        log.subList((int) fromIndex - 1, log.size()).clear();
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,23 @@
+package com.efor.task.viableone.reservation.consensus;
+
+/**
+ * Thrown when a change is sent to a node that is not the consensus leader.
+ */
+public class NotLeaderException extends IllegalStateException {
+
+    public NotLeaderException(String leaderId) {
+        super("This node is not the consensus leader; "
+                + (leaderId == null ? "no leader is elected yet" : "send changes to node '" + leaderId + "'")
+                + "; try again.");
+        this.leaderId = leaderId;
+    }
+
+    private final String leaderId;
+
+    /**
+     * Returns the leader known to the node, or {@code null} if none is.
+     */
+    public String leaderId() {
+        return leaderId;
+    }
+}
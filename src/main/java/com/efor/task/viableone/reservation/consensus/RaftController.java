@@ -0,0 +1,52 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Internal API through which the nodes of the consensus group exchange the messages of the {@link RaftNode}.
+ */
+@Hidden
+@RestController
+@RequestMapping(
+        path = RaftController.PATH,
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class RaftController {
+
+    public RaftController(RaftNode raftNode) {
+        this.raftNode = raftNode;
+    }
+
+    static final String PATH = "/internal/v1/raft";
+
+    private final RaftNode raftNode;
+
+    /**
+     * State of this node as seen by itself.
+     */
+    public record RaftStatus(String nodeId, boolean leader, String leaderId, long term, long commitIndex,
+                             long lastApplied) {
+    }
+
+    @PostMapping(path = "/vote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public RaftTransport.VoteResponse requestVote(@RequestBody RaftTransport.VoteRequest request) {
+        return raftNode.handleRequestVote(request);
+    }
+
+    @PostMapping(path = "/append", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public RaftTransport.AppendResponse appendEntries(@RequestBody RaftTransport.AppendRequest request) {
+        return raftNode.handleAppendEntries(request);
+    }
+
+    @GetMapping("/status")
+    public RaftStatus getStatus() {
+        return new RaftStatus(raftNode.nodeId(), raftNode.isLeader(), raftNode.leaderId(), raftNode.term(),
+                raftNode.commitIndex(), raftNode.lastApplied());
+    }
+}
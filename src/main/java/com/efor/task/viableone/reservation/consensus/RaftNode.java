@@ -0,0 +1,623 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import com.efor.task.viableone.reservation.consensus.RaftTransport.AppendRequest;
+import com.efor.task.viableone.reservation.consensus.RaftTransport.AppendResponse;
+import com.efor.task.viableone.reservation.consensus.RaftTransport.VoteRequest;
+import com.efor.task.viableone.reservation.consensus.RaftTransport.VoteResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Member of a Raft group that replicates {@link ReservationCommand}s and applies the committed ones, in log order,
+ * to a deterministic state machine on every node.
+ * <p>
+ * The node implements leader election and log replication of the Raft paper. A change proposed on the leader is
+ * committed once a majority of the nodes stored it, so it survives the failure of any minority of the nodes;
+ * the future returned by {@link #propose(ReservationCommand)} completes with the result of applying it.
+ * </p>
+ * <p>
+ * Throughput comes from batching and pipelining: concurrent proposals are appended to the log together with a
+ * single storage sync, a follower receives up to {@code maxBatch} entries per request, and up to
+ * {@code pipelineDepth} requests are sent to a follower without waiting for the previous ones to be acknowledged.
+ * Membership is static and the log is not compacted.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe. The Raft state is guarded by a single lock; the state machine is
+ * only called by the applier thread.</p>
+ */
+public class RaftNode implements AutoCloseable {
+
+    RaftNode(String nodeId, Collection<String> peerIds, RaftTransport transport, RaftStorage storage,
+             Function<ReservationCommand, Object> stateMachine, ConsensusProperties properties) {
+        this.nodeId = nodeId;
+        this.transport = transport;
+        this.storage = storage;
+        this.stateMachine = stateMachine;
+        this.electionTimeoutNanos = properties.electionTimeout().toNanos();
+        this.heartbeatIntervalNanos = properties.heartbeatInterval().toNanos();
+        this.maxBatch = properties.maxBatch();
+        this.pipelineDepth = properties.pipelineDepth();
+        this.peers = new LinkedHashMap<>();
+        peerIds.stream()
+                .filter(peerId -> !peerId.equals(nodeId))
+                .forEach(peerId -> peers.put(peerId, new Peer()));
+        this.timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("raft-timer-" + nodeId)
+                .daemon()
+                .factory());
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(RaftNode.class);
+
+    enum Role {
+        FOLLOWER, CANDIDATE, LEADER
+    }
+
+    private final String nodeId;
+    private final RaftTransport transport;
+    private final RaftStorage storage;
+    private final Function<ReservationCommand, Object> stateMachine;
+    private final long electionTimeoutNanos;
+    private final long heartbeatIntervalNanos;
+    private final int maxBatch;
+    private final int pipelineDepth;
+    private final Map<String, Peer> peers;
+    private final ScheduledExecutorService timer;
+    /**
+     * Runs the callbacks of the transport, so they never run on a thread holding the lock.
+     */
+    private final ExecutorService callbacks = Executors.newVirtualThreadPerTaskExecutor();
+    private final BlockingQueue<Proposal> pendingProposals = new LinkedBlockingQueue<>();
+    /**
+     * Proposals appended to the log by this node, by index.
+     */
+    private final Map<Long, Proposal> proposals = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition committed = lock.newCondition();
+    private volatile boolean running;
+    private volatile long lastApplied;
+    private Thread appender;
+    private Thread applier;
+
+    // Guarded by lock
+    private Role role = Role.FOLLOWER;
+    private String leaderId;
+    private long commitIndex;
+    private long electionDeadlineNanos;
+    private Set<String> votes = Set.of();
+
+    /**
+     * Starts taking part in elections and replication.
+     */
+    public void start() {
+        lock.lock();
+        try {
+            running = true;
+            resetElectionDeadline();
+        } finally {
+            lock.unlock();
+        }
+        appender = Thread.ofVirtual().name("raft-appender-" + nodeId).start(this::appendProposals);
+        applier = Thread.ofVirtual().name("raft-applier-" + nodeId).start(this::applyCommitted);
+        long tick = Math.max(TimeUnit.MILLISECONDS.toNanos(5), heartbeatIntervalNanos / 2);
+        timer.scheduleWithFixedDelay(this::tick, tick, tick, TimeUnit.NANOSECONDS);
+        logger.info("Raft node started. nodeId='{}', peers={}, term={}, lastIndex={}",
+                nodeId, peers.keySet(), storage.term(), storage.lastIndex());
+    }
+
+    /**
+     * Replicates the command and applies it once committed.
+     *
+     * @param command the change
+     * @return completes with the result of applying the command on this node, or exceptionally with the exception
+     * the state machine threw; with {@link NotLeaderException} if this node is not the leader or lost the
+     * leadership before the command was committed
+     */
+    public CompletableFuture<Object> propose(ReservationCommand command) {
+        lock.lock();
+        try {
+            if (role != Role.LEADER) {
+                return CompletableFuture.failedFuture(new NotLeaderException(leaderId));
+            }
+        } finally {
+            lock.unlock();
+        }
+        var proposal = new Proposal(command);
+        pendingProposals.add(proposal);
+        return proposal.result;
+    }
+
+    public boolean isLeader() {
+        lock.lock();
+        try {
+            return role == Role.LEADER;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the leader known to this node, or {@code null} if none is.
+     */
+    public String leaderId() {
+        lock.lock();
+        try {
+            return leaderId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public long term() {
+        lock.lock();
+        try {
+            return storage.term();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long commitIndex() {
+        lock.lock();
+        try {
+            return commitIndex;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the index of the last entry applied to the state machine.
+     */
+    public long lastApplied() {
+        return lastApplied;
+    }
+
+    VoteResponse handleRequestVote(VoteRequest request) {
+        lock.lock();
+        try {
+            if (request.term() > storage.term()) {
+                stepDown(request.term());
+            }
+            long lastIndex = storage.lastIndex();
+            long lastTerm = storage.termAt(lastIndex);
+            // Only a candidate whose log holds every committed entry may win, i.e. one at least as up to date
+            boolean upToDate = request.lastLogTerm() > lastTerm
+                    || request.lastLogTerm() == lastTerm && request.lastLogIndex() >= lastIndex;
+            boolean granted = request.term() == storage.term()
+                    && (storage.votedFor() == null || storage.votedFor().equals(request.candidateId()))
+                    && upToDate;
+            if (granted) {
+                storage.saveVote(request.term(), request.candidateId());
+                resetElectionDeadline();
+            }
+            return new VoteResponse(storage.term(), granted);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    AppendResponse handleAppendEntries(AppendRequest request) {
+        lock.lock();
+        try {
+            if (request.term() < storage.term()) {
+                return new AppendResponse(storage.term(), false, storage.lastIndex());
+            }
+            if (request.term() > storage.term() || role != Role.FOLLOWER) {
+                stepDown(request.term());
+            }
+            if (!request.leaderId().equals(leaderId)) {
+                leaderId = request.leaderId();
+                logger.info("Raft leader elected. nodeId='{}', leaderId='{}', term={}",
+                        nodeId, leaderId, storage.term());
+            }
+            resetElectionDeadline();
+
+            long lastIndex = storage.lastIndex();
+            if (request.prevLogIndex() > lastIndex) {
+                return new AppendResponse(storage.term(), false, lastIndex);
+            }
+            if (storage.termAt(request.prevLogIndex()) != request.prevLogTerm()) {
+                return new AppendResponse(storage.term(), false, request.prevLogIndex() - 1);
+            }
+
+            var newEntries = new ArrayList<LogEntry>();
+            for (var entry : request.entries()) {
+                if (entry.index() <= storage.lastIndex() && newEntries.isEmpty()) {
+                    if (storage.termAt(entry.index()) == entry.term()) {
+                        continue;
+                    }
+                    // A conflicting entry was never committed; it and everything after it are replaced
+                    truncateFrom(entry.index());
+                }
+                newEntries.add(entry);
+            }
+            if (!newEntries.isEmpty()) {
+                storage.append(newEntries);
+            }
+
+            long lastNewIndex = request.prevLogIndex() + request.entries().size();
+            long newCommitIndex = Math.min(request.leaderCommit(), lastNewIndex);
+            if (newCommitIndex > commitIndex) {
+                commitIndex = newCommitIndex;
+                committed.signalAll();
+            }
+            return new AppendResponse(storage.term(), true, lastNewIndex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        timer.shutdownNow();
+        if (appender != null) {
+            appender.interrupt();
+            applier.interrupt();
+        }
+        callbacks.shutdownNow();
+        var stopped = new NotLeaderException(null);
+        pendingProposals.forEach(proposal -> proposal.result.completeExceptionally(stopped));
+        proposals.values().forEach(proposal -> proposal.result.completeExceptionally(stopped));
+        lock.lock();
+        try {
+            storage.close();
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Raft node stopped. nodeId='{}'", nodeId);
+    }
+
+    private void tick() {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            if (role == Role.LEADER) {
+                peers.keySet().forEach(this::replicate);
+            } else if (System.nanoTime() - electionDeadlineNanos >= 0) {
+                startElection();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Raft timer has failed. nodeId='{}'", nodeId, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must be called under the lock.
+     */
+    private void startElection() {
+        long term = storage.term() + 1;
+        storage.saveVote(term, nodeId);
+        role = Role.CANDIDATE;
+        leaderId = null;
+        votes = new HashSet<>(Set.of(nodeId));
+        resetElectionDeadline();
+        logger.info("Raft election started. nodeId='{}', term={}", nodeId, term);
+        if (votes.size() >= quorum()) {
+            becomeLeader();
+            return;
+        }
+
+        long lastIndex = storage.lastIndex();
+        var request = new VoteRequest(term, nodeId, lastIndex, storage.termAt(lastIndex));
+        for (var peerId : peers.keySet()) {
+            transport.requestVote(peerId, request)
+                    .whenCompleteAsync((response, error) -> onVoteResponse(peerId, request, response), callbacks);
+        }
+    }
+
+    private void onVoteResponse(String peerId, VoteRequest request, VoteResponse response) {
+        if (response == null) {
+            // Lost; the election times out and starts again
+            return;
+        }
+        lock.lock();
+        try {
+            if (response.term() > storage.term()) {
+                stepDown(response.term());
+                return;
+            }
+            if (role == Role.CANDIDATE && request.term() == storage.term() && response.granted()) {
+                votes.add(peerId);
+                if (votes.size() >= quorum()) {
+                    becomeLeader();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must be called under the lock.
+     */
+    private void becomeLeader() {
+        role = Role.LEADER;
+        leaderId = nodeId;
+        long lastIndex = storage.lastIndex();
+        for (var peer : peers.values()) {
+            peer.nextIndex = lastIndex + 1;
+            peer.matchIndex = 0;
+            peer.inflight = 0;
+            peer.lastSentNanos = System.nanoTime() - heartbeatIntervalNanos;
+            peer.retryAtNanos = System.nanoTime();
+        }
+        logger.info("Raft node became the leader. nodeId='{}', term={}, lastIndex={}",
+                nodeId, storage.term(), lastIndex);
+        // Entries of earlier terms are committed together with the first entry of this term
+        storage.append(List.of(new LogEntry(lastIndex + 1, storage.term(), new ReservationCommand.NoOp())));
+        advanceCommitIndex();
+        peers.keySet().forEach(this::replicate);
+    }
+
+    /**
+     * Must be called under the lock.
+     */
+    private void stepDown(long term) {
+        if (term > storage.term()) {
+            storage.saveVote(term, null);
+            leaderId = null;
+        }
+        if (role != Role.FOLLOWER) {
+            logger.info("Raft node became a follower. nodeId='{}', term={}", nodeId, term);
+        }
+        role = Role.FOLLOWER;
+        votes = Set.of();
+        resetElectionDeadline();
+    }
+
+    /**
+     * Sends the follower its missing entries, up to the pipeline depth, or a heartbeat when one is due.
+     * Must be called under the lock.
+     */
+    private void replicate(String peerId) {
+        var peer = peers.get(peerId);
+        long now = System.nanoTime();
+        while (role == Role.LEADER && peer.inflight < pipelineDepth && now - peer.retryAtNanos >= 0) {
+            boolean hasEntries = peer.nextIndex <= storage.lastIndex();
+            if (!hasEntries && now - peer.lastSentNanos < heartbeatIntervalNanos) {
+                return;
+            }
+            var entries = hasEntries ? storage.entries(peer.nextIndex, maxBatch) : List.<LogEntry>of();
+            long prevLogIndex = peer.nextIndex - 1;
+            var request = new AppendRequest(storage.term(), nodeId, prevLogIndex, storage.termAt(prevLogIndex),
+                    entries, commitIndex);
+            // Optimistically assume the entries arrive; a rejection moves nextIndex back
+            peer.nextIndex += entries.size();
+            peer.inflight++;
+            peer.lastSentNanos = now;
+            transport.appendEntries(peerId, request)
+                    .whenCompleteAsync((response, error) -> onAppendResponse(peerId, request, response), callbacks);
+            if (!hasEntries) {
+                return;
+            }
+        }
+    }
+
+    private void onAppendResponse(String peerId, AppendRequest request, AppendResponse response) {
+        lock.lock();
+        try {
+            if (role != Role.LEADER || request.term() != storage.term()) {
+                return;
+            }
+            var peer = peers.get(peerId);
+            peer.inflight--;
+            if (response == null) {
+                // Not delivered; resend from the last acknowledged entry after a heartbeat interval
+                peer.nextIndex = peer.matchIndex + 1;
+                peer.retryAtNanos = System.nanoTime() + heartbeatIntervalNanos;
+                return;
+            }
+            if (response.term() > storage.term()) {
+                stepDown(response.term());
+                return;
+            }
+            if (response.success()) {
+                peer.matchIndex = Math.max(peer.matchIndex, response.matchIndex());
+                peer.nextIndex = Math.max(peer.nextIndex, peer.matchIndex + 1);
+                advanceCommitIndex();
+            } else if (request.prevLogIndex() < peer.nextIndex) {
+                // Rejections of requests sent before nextIndex was moved back are stale
+                peer.nextIndex = Math.max(peer.matchIndex + 1,
+                        Math.min(request.prevLogIndex(), response.matchIndex() + 1));
+            }
+            replicate(peerId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits the last entry of the current term stored by a majority. Must be called under the lock.
+     */
+    private void advanceCommitIndex() {
+        for (long index = storage.lastIndex(); index > commitIndex; index--) {
+            // Entries of earlier terms are only committed indirectly, by an entry of the current term
+            if (storage.termAt(index) != storage.term()) {
+                return;
+            }
+            int replicas = 1;
+            for (var peer : peers.values()) {
+                if (peer.matchIndex >= index) {
+                    replicas++;
+                }
+            }
+            if (replicas >= quorum()) {
+                commitIndex = index;
+                committed.signalAll();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Must be called under the lock.
+     */
+    private void truncateFrom(long index) {
+        storage.truncateFrom(index);
+        var lost = new NotLeaderException(leaderId);
+        proposals.keySet().removeIf(proposalIndex -> {
+            if (proposalIndex >= index) {
+                proposals.get(proposalIndex).result.completeExceptionally(lost);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Appends the pending proposals to the log in batches, one storage sync per batch.
+     */
+    private void appendProposals() {
+        var batch = new ArrayList<Proposal>();
+        while (running) {
+            try {
+                batch.add(pendingProposals.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            pendingProposals.drainTo(batch, maxBatch - 1);
+            lock.lock();
+            try {
+                if (role != Role.LEADER) {
+                    var notLeader = new NotLeaderException(leaderId);
+                    batch.forEach(proposal -> proposal.result.completeExceptionally(notLeader));
+                } else {
+                    var entries = new ArrayList<LogEntry>(batch.size());
+                    long index = storage.lastIndex();
+                    for (var proposal : batch) {
+                        var entry = new LogEntry(++index, storage.term(), proposal.command);
+                        proposal.term = entry.term();
+                        entries.add(entry);
+                    }
+                    storage.append(entries);
+                    for (int i = 0; i < batch.size(); i++) {
+                        proposals.put(entries.get(i).index(), batch.get(i));
+                    }
+                    advanceCommitIndex();
+                    peers.keySet().forEach(this::replicate);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Appending to the consensus log has failed. nodeId='{}'", nodeId, e);
+                batch.forEach(proposal -> proposal.result.completeExceptionally(
+                        new IllegalStateException("The change could not be stored; try again.", e)));
+            } finally {
+                lock.unlock();
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Applies the committed entries to the state machine in log order.
+     */
+    private void applyCommitted() {
+        while (running) {
+            List<LogEntry> entries;
+            lock.lock();
+            try {
+                while (lastApplied >= commitIndex) {
+                    committed.await();
+                }
+                entries = storage.entries(lastApplied + 1, (int) Math.min(commitIndex - lastApplied, maxBatch));
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            for (var entry : entries) {
+                Object result = null;
+                RuntimeException failure = null;
+                if (!(entry.command() instanceof ReservationCommand.NoOp)) {
+                    try {
+                        result = stateMachine.apply(entry.command());
+                    } catch (RuntimeException e) {
+                        // Deterministic, so every node fails the same way
+                        failure = e;
+                    }
+                }
+                lastApplied = entry.index();
+
+                var proposal = proposals.remove(entry.index());
+                if (proposal == null) {
+                    continue;
+                }
+                if (proposal.term != entry.term()) {
+                    proposal.result.completeExceptionally(new NotLeaderException(leaderId()));
+                } else if (failure != null) {
+                    proposal.result.completeExceptionally(failure);
+                } else {
+                    proposal.result.complete(result);
+                }
+            }
+        }
+    }
+
+    /**
+     * Must be called under the lock.
+     */
+    private void resetElectionDeadline() {
+        electionDeadlineNanos = System.nanoTime() + electionTimeoutNanos
+                + ThreadLocalRandom.current().nextLong(electionTimeoutNanos);
+    }
+
+    private int quorum() {
+        return (peers.size() + 1) / 2 + 1;
+    }
+
+    /**
+     * Replication state of a follower, kept by the leader; guarded by the lock.
+     */
+    private static final class Peer {
+        long nextIndex = 1;
+        long matchIndex;
+        int inflight;
+        long lastSentNanos;
+        long retryAtNanos;
+    }
+
+    private static final class Proposal {
+
+        Proposal(ReservationCommand command) {
+            this.command = command;
+        }
+
+        final ReservationCommand command;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        /**
+         * Term of the log entry; set when appended.
+         */
+        long term;
+    }
+}
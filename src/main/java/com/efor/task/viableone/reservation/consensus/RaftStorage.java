@@ -0,0 +1,51 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import java.util.List;
+
+/**
+ * Durable state of a {@link RaftNode}: the current term, the vote in it and the log.
+ * <p>
+ * Every change must be durable when the method returns, since the node acknowledges it to other nodes right after.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Not thread-safe; the node calls it under its lock.</p>
+ */
+interface RaftStorage extends AutoCloseable {
+
+    long term();
+
+    /**
+     * Returns the node voted for in the current term, or {@code null}.
+     */
+    String votedFor();
+
+    void saveVote(long term, String votedFor);
+
+    /**
+     * Returns the index of the last entry; 0 for an empty log.
+     */
+    long lastIndex();
+
+    /**
+     * Returns the term of the entry at {@code index}; 0 for index 0.
+     */
+    long termAt(long index);
+
+    /**
+     * Returns up to {@code max} consecutive entries starting at {@code fromIndex}.
+     */
+    List<LogEntry> entries(long fromIndex, int max);
+
+    /**
+     * Appends entries following the last one.
+     */
+    void append(List<LogEntry> entries);
+
+    /**
+     * Removes the entry at {@code fromIndex} and all following ones.
+     */
+    void truncateFrom(long fromIndex);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,57 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers the messages of a {@link RaftNode} to the other nodes of its group.
+ * <p>
+ * Calls must not block and must not complete the returned future on the calling thread.
+ * A message may be lost, delayed or delivered out of order; the node retries as needed.
+ * </p>
+ */
+interface RaftTransport {
+
+    CompletableFuture<VoteResponse> requestVote(String peerId, VoteRequest request);
+
+    CompletableFuture<AppendResponse> appendEntries(String peerId, AppendRequest request);
+
+    /**
+     * @param term         term of the candidate
+     * @param candidateId  node asking for the vote
+     * @param lastLogIndex index of the last entry of the candidate's log
+     * @param lastLogTerm  term of the last entry of the candidate's log
+     */
+    record VoteRequest(long term, String candidateId, long lastLogIndex, long lastLogTerm) {
+    }
+
+    /**
+     * @param term    term of the voter, for the candidate to update itself
+     * @param granted whether the vote was granted
+     */
+    record VoteResponse(long term, boolean granted) {
+    }
+
+    /**
+     * Replicates entries; without entries it is a heartbeat.
+     *
+     * @param term         term of the leader
+     * @param leaderId     the leader
+     * @param prevLogIndex index of the entry preceding {@code entries}
+     * @param prevLogTerm  term of the entry preceding {@code entries}
+     * @param entries      entries to append; empty for a heartbeat
+     * @param leaderCommit commit index of the leader
+     */
+    record AppendRequest(long term, String leaderId, long prevLogIndex, long prevLogTerm, List<LogEntry> entries,
+                         long leaderCommit) {
+    }
+
+    /**
+     * @param term       term of the follower, for the leader to update itself
+     * @param success    whether the follower's log matched and the entries were appended
+     * @param matchIndex on success the index of the last appended entry; otherwise the index after which the leader
+     *                   should retry
+     */
+    record AppendResponse(long term, boolean success, long matchIndex) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Change of the reservations replicated through the consensus log and applied by every node in log order.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ReservationCommand.NoOp.class, name = "NO_OP"),
+        @JsonSubTypes.Type(value = ReservationCommand.BookRoom.class, name = "BOOK_ROOM"),
+        @JsonSubTypes.Type(value = ReservationCommand.BookRecurringRoom.class, name = "BOOK_RECURRING_ROOM"),
+        @JsonSubTypes.Type(value = ReservationCommand.BookRooms.class, name = "BOOK_ROOMS"),
+        @JsonSubTypes.Type(value = ReservationCommand.CancelReservation.class, name = "CANCEL_RESERVATION"),
+        @JsonSubTypes.Type(value = ReservationCommand.SetRoomAttributes.class, name = "SET_ROOM_ATTRIBUTES")
+})
+public sealed interface ReservationCommand {
+
+    /**
+     * Appended by a new leader to commit the entries of earlier terms; changes nothing.
+     */
+    record NoOp() implements ReservationCommand {
+    }
+
+    record BookRoom(RoomReservation roomReservation, String idempotencyKey) implements ReservationCommand {
+    }
+
+    record BookRecurringRoom(RoomReservation firstOccurrence, RecurrenceRule recurrence)
+            implements ReservationCommand {
+    }
+
+    record BookRooms(Set<String> roomIds, Instant reservationStart, Instant reservationEnd)
+            implements ReservationCommand {
+    }
+
+    record CancelReservation(long reservationId) implements ReservationCommand {
+    }
+
+    record SetRoomAttributes(String roomId, RoomAttributes attributes) implements ReservationCommand {
+    }
+}
@@ -0,0 +1,86 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import com.efor.task.viableone.reservation.IdempotencyKeyMismatchException;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Applies the committed {@link ReservationCommand}s to the local {@link DefaultRoomReservationService}.
+ * <p>
+ * Every node applies the same commands in the same order, so all of them assign the same reservation ids and
+ * reach the same state. For that reason the idempotency keys are remembered here, as part of the replicated state,
+ * rather than in the time-expiring cache of the service: the {@code idempotencyKeys} most recent keys are kept,
+ * so a retry sent to a new leader after a failover is answered with the original result.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Not thread-safe; called by the applier thread of the {@link RaftNode} only.</p>
+ */
+@Component
+public class ReservationStateMachine implements Function<ReservationCommand, Object> {
+
+    public ReservationStateMachine(DefaultRoomReservationService localService,
+                                   ConsensusProperties consensusProperties) {
+        this.localService = localService;
+        int idempotencyKeys = consensusProperties.idempotencyKeys();
+        this.bookings = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotentBooking> eldest) {
+                return size() > idempotencyKeys;
+            }
+        };
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationStateMachine.class);
+
+    private final DefaultRoomReservationService localService;
+    private final Map<String, IdempotentBooking> bookings;
+
+    @Override
+    public Object apply(ReservationCommand command) {
+        logger.debug("Apply reservation command. command={}", command);
+
+        return switch (command) {
+            case ReservationCommand.NoOp noOp -> null;
+            case ReservationCommand.BookRoom bookRoom -> bookRoom(bookRoom);
+            case ReservationCommand.BookRecurringRoom bookRecurringRoom -> localService.bookRecurringRoom(
+                    bookRecurringRoom.firstOccurrence(), bookRecurringRoom.recurrence());
+            case ReservationCommand.BookRooms bookRooms -> localService.bookRooms(
+                    bookRooms.roomIds(), bookRooms.reservationStart(), bookRooms.reservationEnd());
+            case ReservationCommand.CancelReservation cancel -> localService.cancelReservation(cancel.reservationId());
+            case ReservationCommand.SetRoomAttributes setAttributes -> {
+                localService.setRoomAttributes(setAttributes.roomId(), setAttributes.attributes());
+                yield null;
+            }
+        };
+    }
+
+    private RoomReservationResult bookRoom(ReservationCommand.BookRoom command) {
+        var idempotencyKey = command.idempotencyKey();
+        if (idempotencyKey == null) {
+            return localService.bookRoom(command.roomReservation());
+        }
+        var booking = bookings.get(idempotencyKey);
+        if (booking != null) {
+            if (!booking.roomReservation().equals(command.roomReservation())) {
+                throw new IdempotencyKeyMismatchException(
+                        "Idempotency key '" + idempotencyKey + "' was already used for a different booking request");
+            }
+            return booking.result();
+        }
+        // A booking that throws is not remembered, so it is performed again on retry
+        var result = localService.bookRoom(command.roomReservation());
+        bookings.put(idempotencyKey, new IdempotentBooking(command.roomReservation(), result));
+        return result;
+    }
+
+    private record IdempotentBooking(RoomReservation roomReservation, RoomReservationResult result) {
+    }
+}
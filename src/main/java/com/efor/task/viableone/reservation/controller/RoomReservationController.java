@@ -1,12 +1,33 @@
 package com.efor.task.viableone.reservation.controller;
 
+import com.efor.task.viableone.reservation.AvailabilityMatrix;
+import com.efor.task.viableone.reservation.MultiRoomReservationResult;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
 import com.efor.task.viableone.reservation.RoomReservation;
 import com.efor.task.viableone.reservation.RoomReservationResult;
 import com.efor.task.viableone.reservation.RoomReservationService;
+import com.efor.task.viableone.reservation.Utilization;
+import com.efor.task.viableone.reservation.UtilizationGranularity;
+import com.efor.task.viableone.reservation.UtilizationGrouping;
+import com.efor.task.viableone.reservation.controller.dto.AvailabilityMatrixResponse;
+import com.efor.task.viableone.reservation.controller.dto.BookAnyRoomRequest;
+import com.efor.task.viableone.reservation.controller.dto.BookRecurringRoomRequest;
 import com.efor.task.viableone.reservation.controller.dto.BookRoomRequest;
 import com.efor.task.viableone.reservation.controller.dto.BookRoomResponse;
+import com.efor.task.viableone.reservation.controller.dto.BookRoomsRequest;
+import com.efor.task.viableone.reservation.controller.dto.BookRoomsResponse;
 import com.efor.task.viableone.reservation.controller.dto.FindAvailableRoomResponse;
+import com.efor.task.viableone.reservation.controller.dto.FindAvailableRoomsResponse;
+import com.efor.task.viableone.reservation.controller.dto.OccupancyResponse;
+import com.efor.task.viableone.reservation.controller.dto.RoomAttributesRequest;
+import com.efor.task.viableone.reservation.controller.dto.RoomAttributesResponse;
+import com.efor.task.viableone.reservation.controller.dto.RoomReservationResponse;
+import com.efor.task.viableone.reservation.controller.dto.UtilizationResponse;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
 import com.efor.task.viableone.reservation.validation.IntervalValidatorException;
+import com.efor.task.viableone.reservation.validation.RoomIdentifierValidatorException;
 import com.efor.task.viableone.reservation.validation.RoomReservationValidatorException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -22,14 +43,23 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST controller exposing endpoints for creating and querying room reservations.
@@ -60,13 +90,16 @@ public class RoomReservationController {
         this.service = service;
     }
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final RoomReservationService service;
 
     @Operation(
             summary = "Book a room",
             description = """
                     Attempts to create a reservation for the given room and interval.
-                    Returns 201 Created when a new reservation is made; 409 Conflict when the interval conflicts with an existing reservation (the response still includes the interval that was processed).
+                    Returns 201 Created when a new reservation is made; 409 Conflict when the interval conflicts with an existing reservation (the response includes the conflicting interval, the nearest free window of the requested length in the same room and, if any, an alternative room).
+                    Retries carrying the same Idempotency-Key header receive the original response without booking again.
                     """,
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     required = true,
@@ -95,11 +128,17 @@ public class RoomReservationController {
                     content = @Content(schema = @Schema(implementation = BookRoomResponse.class))
             ),
             @ApiResponse(responseCode = "400", description = "Malformed request.", content = @Content),
-            @ApiResponse(responseCode = "422", description = "Validation failed.", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Validation failed or Idempotency-Key reused for a different request.", content = @Content),
             @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
     })
     @PostMapping("/book")
-    public ResponseEntity<BookRoomResponse> bookRoom(@Valid @RequestBody BookRoomRequest request)
+    public ResponseEntity<BookRoomResponse> bookRoom(
+            @Valid @RequestBody BookRoomRequest request,
+            @Parameter(
+                    description = "Client generated key identifying the booking; retries with the same key and payload get the original response.",
+                    example = "3f6b1c9e-8d2a-4f5e-9b7c-1a2d3e4f5a6b"
+            )
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey)
             throws RoomReservationValidatorException, IntervalValidatorException {
 
         RoomReservation domainReq = new RoomReservation(
@@ -108,12 +147,16 @@ public class RoomReservationController {
                 request.reservationEnd()
         );
 
-        RoomReservationResult result = service.bookRoom(domainReq);
+        RoomReservationResult result = service.bookRoom(domainReq, idempotencyKey);
 
         BookRoomResponse body = new BookRoomResponse(
+                result.reservationId(),
                 result.roomId(),
                 result.reservationStart(),
-                result.reservationEnd()
+                result.reservationEnd(),
+                result.nextAvailableStart(),
+                result.nextAvailableEnd(),
+                result.alternativeRoomId()
         );
 
         // 201 when a new reservation was created; 409 when it conflicted (but we still return details)
@@ -121,10 +164,180 @@ public class RoomReservationController {
         return ResponseEntity.status(status).body(body);
     }
 
+    @Operation(
+            summary = "Book any available room",
+            description = """
+                    Finds an available room (optionally restricted to the given room ids and room attributes) and books
+                    it in one operation.
+                    Returns 201 Created with the booked room; 409 Conflict with no body when no room could be booked.
+                    """,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Booking payload with time interval (UTC) and optional candidate rooms.",
+                    content = @Content(
+                            schema = @Schema(implementation = BookAnyRoomRequest.class),
+                            examples = @ExampleObject(name = "Sample booking", value = """
+                                    {
+                                      "reservationStart": "2025-09-20T08:00:00Z",
+                                      "reservationEnd": "2025-09-20T10:00:00Z",
+                                      "roomIds": ["R-101", "R-102"],
+                                      "minCapacity": 12,
+                                      "equipment": ["projector"]
+                                    }
+                                    """)
+                    )
+            )
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Reservation created.",
+                    content = @Content(schema = @Schema(implementation = BookRoomResponse.class))
+            ),
+            @ApiResponse(responseCode = "409", description = "No room could be booked.", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Malformed request.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @PostMapping("/book-any")
+    public ResponseEntity<BookRoomResponse> bookAnyAvailableRoom(@Valid @RequestBody BookAnyRoomRequest request)
+            throws IntervalValidatorException {
+
+        var constraints = constraints(request.roomIds(), request.minCapacity(), request.equipment(),
+                request.location());
+
+        return service.bookAnyAvailableRoom(request.reservationStart(), request.reservationEnd(), constraints)
+                .map(result -> ResponseEntity.status(HttpStatus.CREATED).body(new BookRoomResponse(
+                        result.reservationId(),
+                        result.roomId(),
+                        result.reservationStart(),
+                        result.reservationEnd()
+                )))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    @Operation(
+            summary = "Book several rooms",
+            description = """
+                    Reserves all given rooms for the same interval in a single operation: either all rooms are booked or none is.
+                    Returns 201 Created with the reservation of each room; 409 Conflict with the conflicting reservation of each conflicting room.
+                    """,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Booking payload with room ids and time interval (UTC).",
+                    content = @Content(
+                            schema = @Schema(implementation = BookRoomsRequest.class),
+                            examples = @ExampleObject(name = "Event with breakout rooms", value = """
+                                    {
+                                      "roomIds": ["HALL-1", "R-101", "R-102"],
+                                      "reservationStart": "2025-09-20T08:00:00Z",
+                                      "reservationEnd": "2025-09-20T10:00:00Z"
+                                    }
+                                    """)
+                    )
+            )
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "All rooms reserved.",
+                    content = @Content(schema = @Schema(implementation = BookRoomsResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Conflicting reservations exist; no room was reserved.",
+                    content = @Content(schema = @Schema(implementation = BookRoomsResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Malformed request.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @PostMapping("/book-rooms")
+    public ResponseEntity<BookRoomsResponse> bookRooms(@Valid @RequestBody BookRoomsRequest request)
+            throws RoomIdentifierValidatorException, IntervalValidatorException {
+
+        MultiRoomReservationResult result = service.bookRooms(
+                request.roomIds(),
+                request.reservationStart(),
+                request.reservationEnd()
+        );
+
+        BookRoomsResponse body = new BookRoomsResponse(result.reservations().stream()
+                .map(reservation -> new BookRoomResponse(
+                        reservation.reservationId(),
+                        reservation.roomId(),
+                        reservation.reservationStart(),
+                        reservation.reservationEnd()
+                ))
+                .toList());
+        HttpStatus status = result.isNewReservation() ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @Operation(
+            summary = "Book a room for a recurring series",
+            description = """
+                    Reserves the room for every occurrence of the series in a single operation: either all occurrences are booked under one reservation id or none is.
+                    Returns 201 Created with the first occurrence; 409 Conflict with the earliest found conflicting interval.
+                    """,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Booking payload with room id, first occurrence (UTC) and recurrence.",
+                    content = @Content(
+                            schema = @Schema(implementation = BookRecurringRoomRequest.class),
+                            examples = @ExampleObject(name = "Weekly stand-up for a year", value = """
+                                    {
+                                      "roomId": "R-101",
+                                      "reservationStart": "2025-09-22T09:00:00Z",
+                                      "reservationEnd": "2025-09-22T09:15:00Z",
+                                      "frequency": "WEEKLY",
+                                      "interval": 1,
+                                      "count": 52
+                                    }
+                                    """)
+                    )
+            )
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Recurring reservation created.",
+                    content = @Content(schema = @Schema(implementation = BookRoomResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "An occurrence conflicts with an existing reservation.",
+                    content = @Content(schema = @Schema(implementation = BookRoomResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Malformed request.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @PostMapping("/book-recurring")
+    public ResponseEntity<BookRoomResponse> bookRecurringRoom(@Valid @RequestBody BookRecurringRoomRequest request)
+            throws RoomReservationValidatorException, IntervalValidatorException {
+
+        RoomReservation firstOccurrence = new RoomReservation(
+                request.roomId(),
+                request.reservationStart(),
+                request.reservationEnd()
+        );
+        RecurrenceRule recurrence = new RecurrenceRule(request.frequency(), request.interval(), request.count());
+
+        RoomReservationResult result = service.bookRecurringRoom(firstOccurrence, recurrence);
+
+        BookRoomResponse body = new BookRoomResponse(
+                result.reservationId(),
+                result.roomId(),
+                result.reservationStart(),
+                result.reservationEnd()
+        );
+        HttpStatus status = result.isNewReservation() ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(body);
+    }
+
     @Operation(
             summary = "Find an available room",
             description = """
-                    Returns any room that is fully available for the given interval (no reservation is created).
+                    Returns any room that is fully available for the given interval (no reservation is created),
+                    optionally only among the rooms with the given attributes.
                     Responds with 200 and a room id if found; 204 No Content if no room is available.
                     """
     )
@@ -154,12 +367,356 @@ public class RoomReservationController {
                     example = "2025-09-20T10:00:00Z",
                     schema = @Schema(type = "string", format = "date-time")
             )
-            @RequestParam("end") @NotNull Instant end)
+            @RequestParam("end") @NotNull Instant end,
+            @Parameter(description = "Minimum number of seats; any capacity when omitted.", example = "12")
+            @RequestParam(value = "minCapacity", required = false) Integer minCapacity,
+            @Parameter(description = "Equipment tags the room must all have; any equipment when omitted.",
+                    example = "projector")
+            @RequestParam(value = "equipment", required = false) Set<String> equipment,
+            @Parameter(description = "Location the room must be in; any location when omitted.", example = "B")
+            @RequestParam(value = "location", required = false) String location)
             throws IntervalValidatorException {
 
-        Optional<String> room = service.findAvailableRoom(start, end);
+        Optional<String> room = service.findAvailableRoom(start, end,
+                constraints(null, minCapacity, equipment, location));
         return room
                 .map(id -> ResponseEntity.ok(new FindAvailableRoomResponse(id)))
                 .orElseGet(() -> ResponseEntity.noContent().build());
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Find several available rooms",
+            description = """
+                    Returns the given number of distinct rooms that are all fully available for the given interval (no reservation is created).
+                    Responds with 200 and the room ids if enough rooms are available; 204 No Content otherwise.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Enough available rooms found.",
+                    content = @Content(schema = @Schema(implementation = FindAvailableRoomsResponse.class))
+            ),
+            @ApiResponse(responseCode = "204", description = "Fewer rooms available than requested.", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Malformed request, invalid interval or count.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @GetMapping("/available-rooms")
+    public ResponseEntity<FindAvailableRoomsResponse> findAvailableRooms(
+            @Parameter(
+                    description = "Inclusive start of the interval (UTC, RFC3339).",
+                    required = true,
+                    example = "2025-09-20T08:00:00Z",
+                    schema = @Schema(type = "string", format = "date-time")
+            )
+            @RequestParam("start") @NotNull Instant start,
+            @Parameter(
+                    description = "Exclusive end of the interval (UTC, RFC3339).",
+                    required = true,
+                    example = "2025-09-20T10:00:00Z",
+                    schema = @Schema(type = "string", format = "date-time")
+            )
+            @RequestParam("end") @NotNull Instant end,
+            @Parameter(
+                    description = "Number of rooms to find; at least 1.",
+                    required = true,
+                    example = "3"
+            )
+            @RequestParam("count") int count)
+            throws IntervalValidatorException {
+
+        List<String> rooms = service.findAvailableRooms(start, end, count);
+        return rooms.size() == count
+                ? ResponseEntity.ok(new FindAvailableRoomsResponse(rooms))
+                : ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Get the availability matrix",
+            description = """
+                    Returns the free slots of every room in consecutive slots of the given length covering the window,
+                    as a Base64 encoded little-endian bitmap per room (bit i set = slot i free).
+                    Each room is computed in a single sweep over its reservations within the window.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Availability matrix.",
+                    content = @Content(schema = @Schema(implementation = AvailabilityMatrixResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Malformed request, invalid slot or too many slots.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @GetMapping("/availability-matrix")
+    public ResponseEntity<AvailabilityMatrixResponse> getAvailabilityMatrix(
+            @Parameter(
+                    description = "Inclusive start of the window (UTC, RFC3339).",
+                    required = true,
+                    example = "2025-09-20T08:00:00Z",
+                    schema = @Schema(type = "string", format = "date-time")
+            )
+            @RequestParam("from") @NotNull Instant from,
+            @Parameter(
+                    description = "Exclusive end of the window (UTC, RFC3339).",
+                    required = true,
+                    example = "2025-09-20T18:00:00Z",
+                    schema = @Schema(type = "string", format = "date-time")
+            )
+            @RequestParam("to") @NotNull Instant to,
+            @Parameter(
+                    description = "Length of a slot (ISO-8601 duration, whole minutes).",
+                    required = true,
+                    example = "PT30M",
+                    schema = @Schema(type = "string", format = "duration")
+            )
+            @RequestParam("slot") @NotNull Duration slot)
+            throws IntervalValidatorException {
+
+        AvailabilityMatrix matrix = service.getAvailabilityMatrix(from, to, slot);
+
+        var encoder = Base64.getEncoder();
+        var rooms = new LinkedHashMap<String, String>();
+        matrix.freeSlots().forEach((roomId, freeSlots) -> rooms.put(roomId, encoder.encodeToString(freeSlots.toByteArray())));
+        return ResponseEntity.ok(new AvailabilityMatrixResponse(
+                matrix.from(),
+                matrix.slot().toMinutes(),
+                matrix.slotCount(),
+                rooms
+        ));
+    }
+
+    @Operation(
+            summary = "Get utilization",
+            description = """
+                    Returns the booked minutes of every room, or of the rooms of every location, in consecutive hourly
+                    or daily UTC-aligned buckets covering the window. Read from counters maintained on every booking
+                    and cancellation, without scanning reservations.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Utilization report.",
+                    content = @Content(schema = @Schema(implementation = UtilizationResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Malformed request, invalid window or too many buckets.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @GetMapping("/utilization")
+    public ResponseEntity<UtilizationResponse> getUtilization(
+            @Parameter(
+                    description = "Inclusive start of the window (UTC, RFC3339).",
+                    required = true,
+                    example = "2025-09-20T00:00:00Z",
+                    schema = @Schema(type = "string", format = "date-time")
+            )
+            @RequestParam("from") @NotNull Instant from,
+            @Parameter(
+                    description = "Exclusive end of the window (UTC, RFC3339).",
+                    required = true,
+                    example = "2025-09-21T00:00:00Z",
+                    schema = @Schema(type = "string", format = "date-time")
+            )
+            @RequestParam("to") @NotNull Instant to,
+            @Parameter(description = "Length of a bucket.", example = "HOUR")
+            @RequestParam(value = "granularity", defaultValue = "HOUR") UtilizationGranularity granularity,
+            @Parameter(description = "Group the rooms by room id or by location.", example = "LOCATION")
+            @RequestParam(value = "groupBy", defaultValue = "ROOM") UtilizationGrouping groupBy)
+            throws IntervalValidatorException {
+
+        Utilization utilization = service.getUtilization(from, to, granularity, groupBy);
+
+        var bucket = utilization.granularity().bucket();
+        var groups = new LinkedHashMap<String, UtilizationResponse.GroupUtilization>();
+        utilization.groups().forEach((key, group) -> groups.put(key, new UtilizationResponse.GroupUtilization(
+                group.rooms(), group.bookedMinutes(), group.ratio(bucket))));
+        return ResponseEntity.ok(new UtilizationResponse(
+                utilization.from(),
+                bucket.toMinutes(),
+                utilization.bucketCount(),
+                groups
+        ));
+    }
+
+    @Operation(
+            summary = "Get occupied rooms",
+            description = """
+                    Returns the reservations occupying any room at the instant `at`, or during the window [from, to).
+                    Series occurrences are listed individually. Answered from an index across all rooms.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Occupying reservations.",
+                    content = @Content(schema = @Schema(implementation = OccupancyResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Malformed request or invalid window.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyResponse> getOccupancy(
+            @Parameter(
+                    description = "Queried instant (UTC, RFC3339); alternative to from/to.",
+                    example = "2025-09-20T14:00:00Z",
+                    schema = @Schema(type = "string", format = "date-time")
+            )
+            @RequestParam(value = "at", required = false) Instant at,
+            @Parameter(
+                    description = "Inclusive start of the window (UTC, RFC3339).",
+                    example = "2025-09-20T08:00:00Z",
+                    schema = @Schema(type = "string", format = "date-time")
+            )
+            @RequestParam(value = "from", required = false) Instant from,
+            @Parameter(
+                    description = "Exclusive end of the window (UTC, RFC3339).",
+                    example = "2025-09-20T10:00:00Z",
+                    schema = @Schema(type = "string", format = "date-time")
+            )
+            @RequestParam(value = "to", required = false) Instant to)
+            throws IntervalValidatorException {
+
+        if ((at == null) == (from == null && to == null)) {
+            throw new IllegalArgumentException("Either 'at' or 'from' and 'to' must be given");
+        }
+        List<RoomReservationInfo> reservations = at != null
+                ? service.getOccupancy(at)
+                : service.getOccupancy(from, to);
+
+        return ResponseEntity.ok(new OccupancyResponse(reservations.stream()
+                .map(RoomReservationController::toResponse)
+                .toList()));
+    }
+
+    @Operation(
+            summary = "Set room attributes",
+            description = """
+                    Sets the capacity, equipment tags and location of a room, replacing the previous ones.
+                    A room without reservations becomes available for searches and bookings of any room.
+                    Responds with 200 and the stored attributes.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Attributes stored.",
+                    content = @Content(schema = @Schema(implementation = RoomAttributesResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Malformed request.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @PutMapping(path = "/attributes/{roomId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RoomAttributesResponse> setRoomAttributes(
+            @Parameter(description = "Room id.", required = true, example = "R-101")
+            @PathVariable("roomId") String roomId,
+            @Valid @RequestBody RoomAttributesRequest request)
+            throws RoomIdentifierValidatorException {
+
+        var attributes = new RoomAttributes(request.capacity(), request.equipment(), request.location());
+        service.setRoomAttributes(roomId, attributes);
+        return ResponseEntity.ok(toResponse(roomId.trim(), attributes));
+    }
+
+    @Operation(
+            summary = "Get room attributes",
+            description = """
+                    Returns the attributes of the room.
+                    Responds with 200 and the attributes if set; 404 Not Found otherwise.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Attributes found.",
+                    content = @Content(schema = @Schema(implementation = RoomAttributesResponse.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Room has no attributes.", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Malformed request.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @GetMapping("/attributes/{roomId}")
+    public ResponseEntity<RoomAttributesResponse> getRoomAttributes(
+            @Parameter(description = "Room id.", required = true, example = "R-101")
+            @PathVariable("roomId") String roomId)
+            throws RoomIdentifierValidatorException {
+
+        return service.getRoomAttributes(roomId)
+                .map(attributes -> ResponseEntity.ok(toResponse(roomId.trim(), attributes)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(
+            summary = "Get a reservation",
+            description = """
+                    Returns the reservation with the given id.
+                    Responds with 200 and the reservation if found; 404 Not Found otherwise.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Reservation found.",
+                    content = @Content(schema = @Schema(implementation = RoomReservationResponse.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Reservation not found.", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Malformed request.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @GetMapping("/reservation/{id}")
+    public ResponseEntity<RoomReservationResponse> getReservation(
+            @Parameter(description = "Reservation id.", required = true, example = "42")
+            @PathVariable("id") long id) {
+
+        return service.getReservation(id)
+                .map(reservation -> ResponseEntity.ok(toResponse(reservation)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(
+            summary = "Cancel a reservation",
+            description = """
+                    Cancels the reservation with the given id and makes its interval available again.
+                    Responds with 204 No Content when cancelled; 404 Not Found if there is no such reservation.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Reservation cancelled.", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Reservation not found.", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Malformed request.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = @Content)
+    })
+    @DeleteMapping("/reservation/{id}")
+    public ResponseEntity<Void> cancelReservation(
+            @Parameter(description = "Reservation id.", required = true, example = "42")
+            @PathVariable("id") long id) {
+
+        return service.cancelReservation(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    private static RoomConstraints constraints(Set<String> roomIds, Integer minCapacity, Set<String> equipment,
+                                               String location) {
+        return new RoomConstraints(
+                roomIds == null ? Set.of() : roomIds,
+                minCapacity == null ? 0 : minCapacity,
+                equipment,
+                location
+        );
+    }
+
+    private static RoomReservationResponse toResponse(RoomReservationInfo reservation) {
+        return new RoomReservationResponse(
+                reservation.reservationId(),
+                reservation.roomId(),
+                reservation.reservationStart(),
+                reservation.reservationEnd(),
+                reservation.recurrence()
+        );
+    }
+
+    private static RoomAttributesResponse toResponse(String roomId, RoomAttributes attributes) {
+        return new RoomAttributesResponse(roomId, attributes.capacity(), attributes.equipment(), attributes.location());
+    }
+}
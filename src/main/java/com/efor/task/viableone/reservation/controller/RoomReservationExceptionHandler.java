@@ -1,5 +1,8 @@
 package com.efor.task.viableone.reservation.controller;
 
+import com.efor.task.viableone.reservation.IdempotencyKeyMismatchException;
+import com.efor.task.viableone.reservation.bulk.ReservationImportController;
+import com.efor.task.viableone.reservation.cluster.ClusterController;
 import com.efor.task.viableone.reservation.validation.IntervalValidatorException;
 import com.efor.task.viableone.reservation.validation.RoomIdentifierValidatorException;
 import com.efor.task.viableone.reservation.validation.RoomReservationValidatorException;
@@ -7,6 +10,7 @@ import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -15,7 +19,11 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Order(Ordered.HIGHEST_PRECEDENCE)
-@RestControllerAdvice(assignableTypes = RoomReservationController.class)
+@RestControllerAdvice(assignableTypes = {
+        RoomReservationController.class,
+        ClusterController.class,
+        ReservationImportController.class
+})
 public class RoomReservationExceptionHandler {
     private ResponseEntity<Object> body(HttpStatus status, String message) {
         Map<String, Object> m = new LinkedHashMap<>();
@@ -40,4 +48,21 @@ public class RoomReservationExceptionHandler {
     public ResponseEntity<Object> handleInterval(RoomIdentifierValidatorException ex) {
         return body(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleIllegalArgument(IllegalArgumentException ex) {
+        return body(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Object> handleInvalidRequest(MethodArgumentNotValidException ex) {
+        return body(HttpStatus.BAD_REQUEST, "Invalid request: " + ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + " " + error.getDefaultMessage())
+                .toList());
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        return body(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+    }
 }
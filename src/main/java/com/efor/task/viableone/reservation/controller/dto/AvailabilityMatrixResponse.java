@@ -0,0 +1,32 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Response payload of the availability matrix: a bitmap of free slots per room.
+ * <p>
+ * A bitmap is the Base64 encoding of little-endian bytes: slot {@code i} is free if bit {@code i % 8} of byte
+ * {@code i / 8} is set. Trailing bytes without free slots are omitted.
+ * </p>
+ */
+@Schema(
+        name = "AvailabilityMatrixResponse",
+        description = "Free slots of every room as a Base64 encoded little-endian bitmap (bit i set = slot i free)."
+)
+public record AvailabilityMatrixResponse(
+        @Schema(description = "Inclusive start of the first slot (UTC).", format = "date-time", example = "2025-09-20T08:00:00Z")
+        Instant from,
+
+        @Schema(description = "Length of a slot in minutes.", example = "30")
+        long slotMinutes,
+
+        @Schema(description = "Number of slots.", example = "20")
+        int slots,
+
+        @Schema(description = "Bitmap of free slots per room id.", example = "{\"R-101\": \"8/8P\", \"R-102\": \"\"}")
+        Map<String, String> rooms
+) {
+}
@@ -0,0 +1,68 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Request payload used to book any available room for a specific time interval.
+ * The {@code reservationStart} is inclusive and {@code reservationEnd} is exclusive. UTC expected.
+ */
+@Schema(
+        name = "BookAnyRoomRequest",
+        description = "Booking payload with the desired interval (UTC), optional candidate rooms and required room attributes."
+)
+public record BookAnyRoomRequest(
+        @Schema(
+                description = "Inclusive start of the reservation window (UTC, RFC3339).",
+                example = "2025-09-20T08:00:00Z",
+                format = "date-time",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull Instant reservationStart,
+
+        @Schema(
+                description = "Exclusive end of the reservation window (UTC, RFC3339).",
+                example = "2025-09-20T10:00:00Z",
+                format = "date-time",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull Instant reservationEnd,
+
+        @Schema(
+                description = "Identifiers of the rooms that may be booked; any room when omitted or empty.",
+                example = "[\"R-101\", \"R-102\"]",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED
+        )
+        Set<String> roomIds,
+
+        @Schema(
+                description = "Minimum number of seats; any capacity when omitted.",
+                example = "12",
+                minimum = "0",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED
+        )
+        @Min(0) Integer minCapacity,
+
+        @Schema(
+                description = "Equipment tags the room must all have; any equipment when omitted or empty.",
+                example = "[\"projector\"]",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED
+        )
+        Set<String> equipment,
+
+        @Schema(
+                description = "Location the room must be in; any location when omitted.",
+                example = "B",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED
+        )
+        String location
+) {
+
+    public BookAnyRoomRequest(Instant reservationStart, Instant reservationEnd, Set<String> roomIds) {
+        this(reservationStart, reservationEnd, roomIds, null, null, null);
+    }
+}
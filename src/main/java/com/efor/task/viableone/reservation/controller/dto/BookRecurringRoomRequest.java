@@ -0,0 +1,71 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+/**
+ * Request payload used to book a room for a recurring series of intervals.
+ * The interval is the first occurrence; {@code reservationStart} is inclusive and {@code reservationEnd} is exclusive.
+ * UTC expected.
+ */
+@Schema(
+        name = "BookRecurringRoomRequest",
+        description = "Booking payload with the room identifier, the first occurrence (UTC) and its recurrence."
+)
+public record BookRecurringRoomRequest(
+        @Schema(
+                description = "Unique identifier of the room to reserve.",
+                example = "R-101",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotBlank String roomId,
+
+        @Schema(
+                description = "Inclusive start of the first occurrence (UTC, RFC3339).",
+                example = "2025-09-22T09:00:00Z",
+                format = "date-time",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull Instant reservationStart,
+
+        @Schema(
+                description = "Exclusive end of the first occurrence (UTC, RFC3339).",
+                example = "2025-09-22T09:15:00Z",
+                format = "date-time",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull Instant reservationEnd,
+
+        @Schema(
+                description = "Unit of the period between occurrences.",
+                example = "WEEKLY",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull RecurrenceRule.Frequency frequency,
+
+        @Schema(
+                description = "Number of frequency units between occurrences.",
+                example = "1",
+                minimum = "1",
+                maximum = "" + RecurrenceRule.MAX_INTERVAL,
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @Min(1) @Max(RecurrenceRule.MAX_INTERVAL) int interval,
+
+        @Schema(
+                description = "Total number of occurrences including the first one.",
+                example = "52",
+                minimum = "1",
+                maximum = "" + RecurrenceRule.MAX_COUNT,
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @Min(1) @Max(RecurrenceRule.MAX_COUNT) int count
+) {
+
+}
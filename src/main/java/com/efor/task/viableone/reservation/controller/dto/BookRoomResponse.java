@@ -1,5 +1,6 @@
 package com.efor.task.viableone.reservation.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.Instant;
@@ -7,12 +8,17 @@ import java.time.Instant;
 /**
  * Response payload returned after attempting to book a room.
  * Uses HTTP 201 for success, 409 when a conflicting reservation exists.
+ * On conflict it also suggests the nearest free interval in the same room and an alternative room.
  */
 @Schema(
         name = "BookRoomResponse",
         description = "Echoes the room id and interval that were processed by the booking endpoint."
 )
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record BookRoomResponse(
+        @Schema(description = "Identifier of the created reservation; absent on conflict.", example = "42")
+        Long reservationId,
+
         @Schema(description = "Identifier of the room related to the reservation.", example = "R-101")
         String roomId,
 
@@ -20,6 +26,18 @@ public record BookRoomResponse(
         Instant reservationStart,
 
         @Schema(description = "Exclusive end of the reservation window (UTC).", format = "date-time", example = "2025-09-20T10:00:00Z")
-        Instant reservationEnd
+        Instant reservationEnd,
+
+        @Schema(description = "On conflict, inclusive start of the nearest free window of the requested length in the same room (UTC).", format = "date-time", example = "2025-09-20T10:00:00Z")
+        Instant nextAvailableStart,
+
+        @Schema(description = "On conflict, exclusive end of the nearest free window of the requested length in the same room (UTC).", format = "date-time", example = "2025-09-20T12:00:00Z")
+        Instant nextAvailableEnd,
+
+        @Schema(description = "On conflict, a room available for the requested window, if any.", example = "R-102")
+        String alternativeRoomId
 ) {
-}
\ No newline at end of file
+    public BookRoomResponse(Long reservationId, String roomId, Instant reservationStart, Instant reservationEnd) {
+        this(reservationId, roomId, reservationStart, reservationEnd, null, null, null);
+    }
+}
@@ -0,0 +1,43 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Request payload used to book several rooms for the same time interval at once.
+ * The {@code reservationStart} is inclusive and {@code reservationEnd} is exclusive. UTC expected.
+ */
+@Schema(
+        name = "BookRoomsRequest",
+        description = "Booking payload with the room identifiers and the desired interval (UTC)."
+)
+public record BookRoomsRequest(
+        @Schema(
+                description = "Identifiers of the rooms to reserve; all of them or none are reserved.",
+                example = "[\"HALL-1\", \"R-101\", \"R-102\"]",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotEmpty Set<String> roomIds,
+
+        @Schema(
+                description = "Inclusive start of the reservation window (UTC, RFC3339).",
+                example = "2025-09-20T08:00:00Z",
+                format = "date-time",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull Instant reservationStart,
+
+        @Schema(
+                description = "Exclusive end of the reservation window (UTC, RFC3339).",
+                example = "2025-09-20T10:00:00Z",
+                format = "date-time",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull Instant reservationEnd
+) {
+
+}
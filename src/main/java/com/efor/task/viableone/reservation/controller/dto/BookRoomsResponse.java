@@ -0,0 +1,19 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response payload returned after attempting to book several rooms at once.
+ * Uses HTTP 201 when all rooms were reserved, 409 when none was because of conflicting reservations.
+ */
+@Schema(
+        name = "BookRoomsResponse",
+        description = "On success the created reservation of each room; on conflict the conflicting reservation of each conflicting room."
+)
+public record BookRoomsResponse(
+        @Schema(description = "Reservations of the individual rooms.")
+        List<BookRoomResponse> reservations
+) {
+}
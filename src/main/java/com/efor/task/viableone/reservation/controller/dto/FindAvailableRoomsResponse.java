@@ -0,0 +1,19 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response payload when querying for several rooms available at the same time.
+ * If fewer rooms than requested are available, the API returns 204 No Content (no body).
+ */
+@Schema(
+        name = "FindAvailableRoomsResponse",
+        description = "Contains the identifiers of rooms that are all available for the requested interval."
+)
+public record FindAvailableRoomsResponse(
+        @Schema(description = "Identifiers of the available rooms.", example = "[\"R-101\", \"R-102\"]")
+        List<String> roomIds
+) {
+}
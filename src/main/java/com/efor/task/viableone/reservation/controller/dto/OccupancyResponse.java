@@ -0,0 +1,18 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response payload listing the reservations occupying rooms at an instant or during a window.
+ */
+@Schema(
+        name = "OccupancyResponse",
+        description = "Reservations occupying rooms, ordered by start and room id; series occurrences individually."
+)
+public record OccupancyResponse(
+        @Schema(description = "Occupying reservations.")
+        List<RoomReservationResponse> reservations
+) {
+}
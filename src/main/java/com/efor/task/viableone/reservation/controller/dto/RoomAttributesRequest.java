@@ -0,0 +1,40 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+
+import java.util.Set;
+
+/**
+ * Request payload used to set the attributes of a room.
+ * Equipment tags and the location are compared case-insensitively.
+ */
+@Schema(
+        name = "RoomAttributesRequest",
+        description = "Attributes of a room used to filter availability searches."
+)
+public record RoomAttributesRequest(
+        @Schema(
+                description = "Number of seats.",
+                example = "12",
+                minimum = "0",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @Min(0) int capacity,
+
+        @Schema(
+                description = "Equipment tags of the room.",
+                example = "[\"projector\", \"whiteboard\"]",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED
+        )
+        Set<String> equipment,
+
+        @Schema(
+                description = "Location of the room, e.g. a building.",
+                example = "B",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED
+        )
+        String location
+) {
+
+}
@@ -0,0 +1,30 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Set;
+
+/**
+ * Response payload when querying the attributes of a room.
+ * If the room has no attributes, the API returns 404 Not Found (no body).
+ */
+@Schema(
+        name = "RoomAttributesResponse",
+        description = "Attributes of a room; equipment tags and the location are lower case."
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RoomAttributesResponse(
+        @Schema(description = "Identifier of the room.", example = "R-101")
+        String roomId,
+
+        @Schema(description = "Number of seats.", example = "12")
+        int capacity,
+
+        @Schema(description = "Equipment tags of the room.", example = "[\"projector\", \"whiteboard\"]")
+        Set<String> equipment,
+
+        @Schema(description = "Location of the room. Absent if unknown.", example = "b")
+        String location
+) {
+}
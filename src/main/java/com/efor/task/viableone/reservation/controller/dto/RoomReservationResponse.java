@@ -0,0 +1,34 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * Response payload when querying a reservation by its id.
+ * If there is no such reservation, the API returns 404 Not Found (no body).
+ */
+@Schema(
+        name = "RoomReservationResponse",
+        description = "An existing reservation of a room."
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RoomReservationResponse(
+        @Schema(description = "Identifier of the reservation.", example = "42")
+        long reservationId,
+
+        @Schema(description = "Identifier of the reserved room.", example = "R-101")
+        String roomId,
+
+        @Schema(description = "Inclusive start of the reservation window (UTC).", format = "date-time", example = "2025-09-20T08:00:00Z")
+        Instant reservationStart,
+
+        @Schema(description = "Exclusive end of the reservation window (UTC).", format = "date-time", example = "2025-09-20T10:00:00Z")
+        Instant reservationEnd,
+
+        @Schema(description = "Recurrence of a series; the window is then the first occurrence. Absent for a single reservation.")
+        RecurrenceRule recurrence
+) {
+}
@@ -0,0 +1,42 @@
+package com.efor.task.viableone.reservation.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Response payload of the utilization report: booked minutes per room or location in consecutive buckets.
+ */
+@Schema(
+        name = "UtilizationResponse",
+        description = "Booked minutes per room or location in consecutive UTC-aligned buckets."
+)
+public record UtilizationResponse(
+        @Schema(description = "Inclusive start of the first bucket (UTC).", format = "date-time", example = "2025-09-20T00:00:00Z")
+        Instant from,
+
+        @Schema(description = "Length of a bucket in minutes.", example = "60")
+        long bucketMinutes,
+
+        @Schema(description = "Number of buckets.", example = "24")
+        int buckets,
+
+        @Schema(description = "Utilization per room id or location.")
+        Map<String, GroupUtilization> groups
+) {
+
+    @Schema(name = "GroupUtilization", description = "Utilization of a room or of the rooms of a location.")
+    public record GroupUtilization(
+            @Schema(description = "Number of rooms in the group.", example = "3")
+            int rooms,
+
+            @Schema(description = "Booked minutes of all rooms of the group per bucket.", example = "[0, 45, 180]")
+            long[] bookedMinutes,
+
+            @Schema(description = "Booked share of the available room minutes of the whole window, between 0 and 1.",
+                    example = "0.25")
+            double utilization
+    ) {
+    }
+}
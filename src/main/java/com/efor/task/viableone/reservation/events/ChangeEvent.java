@@ -0,0 +1,15 @@
+package com.efor.task.viableone.reservation.events;
+
+import com.efor.task.viableone.reservation.ReservationChange;
+
+import java.time.Instant;
+
+/**
+ * Change published on the change feed.
+ *
+ * @param sequence    number of the event; increases by one with every change committed since the instance started
+ * @param committedAt instant the change was committed
+ * @param change      the booking, cancellation or room attributes change
+ */
+public record ChangeEvent(long sequence, Instant committedAt, ReservationChange change) {
+}
@@ -0,0 +1,130 @@
+package com.efor.task.viableone.reservation.events;
+
+import com.efor.task.viableone.reservation.ReservationChange;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * REST controller streaming the {@link ChangeFeed} as Server-Sent Events.
+ * <p>
+ * Every subscriber is served by its own virtual thread reading its {@link ChangeFeedSubscription}, so a slow
+ * connection only delays itself. The SSE id of an event is its sequence number, so a reconnecting
+ * {@code EventSource} resumes after the last event it received through the {@code Last-Event-ID} header.
+ * </p>
+ */
+@RestController
+@RequestMapping(path = "/api/v1/room")
+@Tag(name = "Room Reservations")
+public class ChangeEventController {
+
+    public ChangeEventController(ChangeFeed changeFeed, EventsProperties eventsProperties) {
+        this.changeFeed = changeFeed;
+        this.heartbeat = eventsProperties.heartbeat();
+    }
+
+    static final String OVERFLOW_EVENT = "OVERFLOW";
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeEventController.class);
+
+    private final ChangeFeed changeFeed;
+    private final Duration heartbeat;
+
+    @Operation(
+            summary = "Stream bookings, cancellations and room attribute changes",
+            description = """
+                    Streams an event for every booking (BOOKED), cancellation (CANCELLED) and room attributes change (ROOM_ATTRIBUTES_SET) as Server-Sent Events. The SSE id of an event is its sequence number, which increases by one with every event.
+                    A subscriber resumes after the last sequence number it received with the after parameter or the Last-Event-ID header; 410 Gone means the following events are no longer retained and the reservations must be read again.
+                    A subscriber that falls too far behind receives an OVERFLOW event and is disconnected, or misses events, depending on the configured overflow policy.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream.",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = ChangeEvent.class))
+            ),
+            @ApiResponse(responseCode = "410", description = "The events following the sequence number are no longer retained.", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many subscribers.", content = @Content)
+    })
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @Parameter(description = "Last sequence number received; events following it are sent first.", example = "42")
+            @RequestParam(value = "after", required = false) Long after,
+            @Parameter(description = "Set by a reconnecting EventSource; takes precedence over after.")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        var resumeAfter = lastEventId != null ? lastEventId : after;
+        ChangeFeedSubscription subscription;
+        try {
+            var subscribed = changeFeed.subscribe(resumeAfter);
+            if (subscribed.isEmpty()) {
+                logger.info("Change feed cannot be resumed. after={}, sequence={}", resumeAfter, changeFeed.sequence());
+                return ResponseEntity.status(HttpStatus.GONE).build();
+            }
+            subscription = subscribed.get();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        // The stream never times out; it ends when the client disconnects or overflows
+        var emitter = new SseEmitter(0L);
+        emitter.onCompletion(subscription::close);
+        emitter.onError(e -> subscription.close());
+        Thread.ofVirtual().name("reservation-events").start(() -> stream(subscription, emitter));
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void stream(ChangeFeedSubscription subscription, SseEmitter emitter) {
+        try (subscription) {
+            while (true) {
+                var event = subscription.next(heartbeat);
+                if (event != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.sequence()))
+                            .name(name(event.change()))
+                            .data(event, MediaType.APPLICATION_JSON));
+                } else if (subscription.ended()) {
+                    emitter.send(SseEmitter.event().name(OVERFLOW_EVENT).data("Subscriber buffer overflowed"));
+                    emitter.complete();
+                    return;
+                } else {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client disconnected
+            logger.debug("Change feed subscriber disconnected. cause={}", e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+
+    private static String name(ReservationChange change) {
+        return switch (change) {
+            case ReservationChange.Booked booked -> "BOOKED";
+            case ReservationChange.Cancelled cancelled -> "CANCELLED";
+            case ReservationChange.RoomAttributesSet attributesSet -> "ROOM_ATTRIBUTES_SET";
+        };
+    }
+}
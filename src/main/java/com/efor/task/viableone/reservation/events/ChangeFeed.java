@@ -0,0 +1,115 @@
+package com.efor.task.viableone.reservation.events;
+
+import com.efor.task.viableone.reservation.ReservationIdEncoder;
+import com.efor.task.viableone.reservation.impl.ChangeLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feed of the changes committed by the local service, numbered by sequence, for downstream systems following the
+ * reservations without re-reading them.
+ * <p>
+ * The events are the entries of the {@link ChangeLog}, their sequence number is the version of the change. Every
+ * subscriber reads the log from its own position, so committing a change never waits for a subscriber; a subscriber
+ * that falls more than {@code reservation.events.buffer-size} events behind is handled by its
+ * {@link OverflowPolicy}. A subscriber can resume after the last sequence number it received as long as the log
+ * retains the following events. In cluster mode a node publishes the changes of the rooms it owns, with the cluster
+ * reservation ids.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class ChangeFeed implements MeterBinder {
+
+    public ChangeFeed(ChangeLog changeLog, EventsProperties eventsProperties,
+                      Optional<ReservationIdEncoder> reservationIdEncoder) {
+        this.changeLog = changeLog;
+        this.reservationIdEncoder = reservationIdEncoder.orElse(ReservationIdEncoder.LOCAL);
+        this.bufferSize = Math.max(1, eventsProperties.bufferSize());
+        this.overflowPolicy = eventsProperties.overflowPolicy();
+        this.maxSubscribers = eventsProperties.maxSubscribers();
+    }
+
+    private final ChangeLog changeLog;
+    private final ReservationIdEncoder reservationIdEncoder;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxSubscribers;
+    private final Set<ChangeFeedSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    /**
+     * Subscribes to the events following {@code after}.
+     *
+     * @param after the last sequence number the subscriber received; {@code null} for the events published from now
+     * @return the subscription; empty if the events following {@code after} are no longer retained or {@code after}
+     * was not published by this instance since it started
+     * @throws IllegalStateException if there are {@code reservation.events.max-subscribers} subscribers
+     */
+    public Optional<ChangeFeedSubscription> subscribe(Long after) {
+        long sequence = changeLog.version();
+        if (after != null && (after < sequence - changeLog.retention() || after > sequence)) {
+            return Optional.empty();
+        }
+        var subscription = new ChangeFeedSubscription(this, changeLog, reservationIdEncoder, after != null ? after : sequence, sequence,
+                bufferSize, overflowPolicy);
+        subscriptions.add(subscription);
+        if (subscriptions.size() > maxSubscribers) {
+            subscriptions.remove(subscription);
+            throw new IllegalStateException("Too many change feed subscribers");
+        }
+        return Optional.of(subscription);
+    }
+
+    /**
+     * Returns the sequence number of the latest event; 0 if none was published.
+     */
+    public long sequence() {
+        return changeLog.version();
+    }
+
+    /**
+     * Returns the number of subscribers.
+     */
+    public int subscribers() {
+        return subscriptions.size();
+    }
+
+    void unsubscribe(ChangeFeedSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    void onDropped(long events) {
+        dropped.add(events);
+    }
+
+    void onDisconnected() {
+        disconnected.increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.events.sequence", this, ChangeFeed::sequence)
+                .description("Sequence number of the latest change event")
+                .register(registry);
+        Gauge.builder("reservation.events.subscribers", this, ChangeFeed::subscribers)
+                .description("Subscribers of the change feed")
+                .register(registry);
+        FunctionCounter.builder("reservation.events.dropped", dropped, LongAdder::sum)
+                .description("Change events skipped because a subscriber fell too far behind")
+                .register(registry);
+        FunctionCounter.builder("reservation.events.disconnected", disconnected, LongAdder::sum)
+                .description("Subscribers disconnected because they fell too far behind")
+                .register(registry);
+    }
+}
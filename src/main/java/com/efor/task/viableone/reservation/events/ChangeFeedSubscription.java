@@ -0,0 +1,118 @@
+package com.efor.task.viableone.reservation.events;
+
+import com.efor.task.viableone.reservation.ReservationIdEncoder;
+import com.efor.task.viableone.reservation.impl.ChangeLog;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+
+/**
+ * Subscription to the {@link ChangeFeed}: reads the {@link ChangeLog} from the last sequence number received.
+ * <p>
+ * The subscriber is behind by the events committed since it subscribed, or since the event it is reading if that
+ * is later, that it has not read yet. When that exceeds {@code reservation.events.buffer-size}, or the log no longer
+ * retains the next event, the {@link OverflowPolicy} decides whether the oldest events are skipped or the
+ * subscription ends once the events already read from the log are returned.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Events must be read by one thread at a time.</p>
+ */
+public final class ChangeFeedSubscription implements AutoCloseable {
+
+    ChangeFeedSubscription(ChangeFeed changeFeed, ChangeLog changeLog, ReservationIdEncoder reservationIdEncoder,
+                           long after, long subscribedAt, int bufferSize, OverflowPolicy overflowPolicy) {
+        this.changeFeed = changeFeed;
+        this.changeLog = changeLog;
+        this.reservationIdEncoder = reservationIdEncoder;
+        this.position = after;
+        this.subscribedAt = subscribedAt;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    private final ChangeFeed changeFeed;
+    private final ChangeLog changeLog;
+    private final ReservationIdEncoder reservationIdEncoder;
+    private final long subscribedAt;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    /**
+     * Events read from the log and not returned yet.
+     */
+    private final ArrayDeque<ChangeEvent> pending = new ArrayDeque<>();
+    /**
+     * Sequence number of the latest event read from the log.
+     */
+    private long position;
+    private volatile boolean overflowed;
+    private volatile long dropped;
+
+    /**
+     * Returns the next event, waiting up to {@code timeout} for one.
+     *
+     * @return the next event; {@code null} if none was published within the timeout or the subscription has
+     * {@link #ended()}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public ChangeEvent next(Duration timeout) throws InterruptedException {
+        while (pending.isEmpty() && !overflowed) {
+            long sequence = changeLog.version();
+            if (sequence - Math.max(position, subscribedAt) > bufferSize) {
+                overflow(sequence - bufferSize);
+                continue;
+            }
+            var batch = changeLog.read(position, bufferSize, timeout);
+            if (batch.isEmpty()) {
+                overflow(changeLog.version() - changeLog.retention());
+                continue;
+            }
+            for (var entry : batch.get().entries()) {
+                pending.addLast(new ChangeEvent(entry.version(), entry.committedAt(),
+                        reservationIdEncoder.encode(entry.change())));
+                position = entry.version();
+            }
+            if (pending.isEmpty()) {
+                return null;
+            }
+        }
+        return pending.pollFirst();
+    }
+
+    /**
+     * Returns whether the subscriber was disconnected because it fell too far behind and has read every event
+     * already read from the log; no event follows.
+     */
+    public boolean ended() {
+        return overflowed && pending.isEmpty();
+    }
+
+    /**
+     * Returns the number of events skipped because the subscriber fell too far behind.
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * Stops receiving events.
+     */
+    @Override
+    public void close() {
+        changeFeed.unsubscribe(this);
+    }
+
+    /**
+     * Skips to {@code skipTo} or ends the subscription, depending on the overflow policy.
+     */
+    private void overflow(long skipTo) {
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            long skipped = Math.max(0, skipTo - position);
+            position += skipped;
+            dropped += skipped;
+            changeFeed.onDropped(skipped);
+        } else {
+            overflowed = true;
+            changeFeed.onDisconnected();
+        }
+    }
+}
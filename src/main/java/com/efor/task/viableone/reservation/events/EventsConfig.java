@@ -0,0 +1,21 @@
+package com.efor.task.viableone.reservation.events;
+
+import com.efor.task.viableone.reservation.impl.ChangeLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Change feed Spring Context configuration; active unless {@code reservation.events.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reservation.events", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(EventsProperties.class)
+@Import({
+        ChangeLog.class,
+        ChangeFeed.class,
+        ChangeEventController.class
+})
+public class EventsConfig {
+}
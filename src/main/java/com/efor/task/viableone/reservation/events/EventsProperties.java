@@ -0,0 +1,25 @@
+package com.efor.task.viableone.reservation.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Change feed configuration bound from the {@code reservation.events.*} properties.
+ *
+ * @param enabled        whether the committed changes are published on the change feed
+ * @param bufferSize     number of events a subscriber may fall behind before its overflow policy applies
+ * @param overflowPolicy what happens to a subscriber whose buffer is full
+ * @param heartbeat      interval of the heartbeat comments sent to an idle subscriber
+ * @param maxSubscribers maximum number of concurrent subscribers
+ */
+@ConfigurationProperties(prefix = "reservation.events")
+public record EventsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1024") int bufferSize,
+        @DefaultValue("DISCONNECT") OverflowPolicy overflowPolicy,
+        @DefaultValue("15s") Duration heartbeat,
+        @DefaultValue("1000") int maxSubscribers
+) {
+}
@@ -0,0 +1,17 @@
+package com.efor.task.viableone.reservation.events;
+
+/**
+ * What happens to a subscriber of the change feed that falls more than the buffer size behind because it reads
+ * slower than changes are committed.
+ */
+public enum OverflowPolicy {
+    /**
+     * The subscriber is disconnected; it resumes from its last received sequence number as long as the change log
+     * still retains the following events.
+     */
+    DISCONNECT,
+    /**
+     * The oldest unread events are skipped; the subscriber sees a gap in the sequence numbers.
+     */
+    DROP
+}
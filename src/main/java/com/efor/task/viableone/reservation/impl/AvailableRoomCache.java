@@ -0,0 +1,264 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.PlacementStrategy;
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import com.efor.task.viableone.reservation.model.RoomReservations;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache of available room search results keyed by the normalized interval.
+ * <p>
+ * Bookings invalidate only the entries they can make stale: entries that answered the booked room
+ * with an overlapping interval and, when the booking creates a new room, empty answers the new room
+ * is now free for. Cached answers therefore always name a room that is still available.
+ * Cancellations invalidate the empty answers overlapping the freed interval.
+ * </p>
+ *
+ * <p>
+ * Only {@link PlacementStrategy#FIRST_FIT} answers are cached, since any available room is a correct answer for it.
+ * The other strategies rank every room by its gaps or load, so a booking of any room, at any time, can change the
+ * best answer; their searches always scan.
+ * </p>
+ *
+ * <p><strong>Consistency:</strong> a computed result is stored only if no booking was registered while
+ * it was being computed; puts and invalidations are serialized on this cache, reads are lock-free.</p>
+ */
+@Component
+public class AvailableRoomCache implements MeterBinder {
+
+    public AvailableRoomCache(ReservationProperties reservationProperties) {
+        var properties = reservationProperties.availableRoomCache();
+        this.enabled = properties.enabled()
+                && reservationProperties.placementStrategy() == PlacementStrategy.FIRST_FIT;
+        if (properties.enabled() && !enabled) {
+            logger.info("Available room cache disabled for the placement strategy. placementStrategy={}",
+                    reservationProperties.placementStrategy());
+        }
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(properties.maximumSize())
+                // writes are serialized on this cache anyway; a single segment keeps the eviction order strict LRU
+                .concurrencyLevel(1)
+                .recordStats()
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailableRoomCache.class);
+
+    private final boolean enabled;
+    private final Cache<ReservationInterval, Optional<String>> cache;
+    /**
+     * Cached intervals grouped by the room they answered; guarded by {@code this}.
+     */
+    private final Map<String, Set<ReservationInterval>> intervalsByRoom = new HashMap<>();
+    /**
+     * Cached intervals with no available room; guarded by {@code this}.
+     */
+    private final Set<ReservationInterval> emptyIntervals = new HashSet<>();
+    private final LongAdder invalidations = new LongAdder();
+    private volatile long version;
+
+    /**
+     * Returns the cached result for the interval or computes and caches it using {@code loader}.
+     * <p>
+     * Intervals that are empty after normalization are not cached.
+     * </p>
+     *
+     * @param start  inclusive start of the requested interval
+     * @param end    exclusive end of the requested interval
+     * @param loader computes the available room when the result is not cached
+     * @return the cached or computed result
+     */
+    public Optional<String> get(Instant start, Instant end, Supplier<Optional<String>> loader) {
+        if (!enabled || !start.truncatedTo(ChronoUnit.MINUTES).isBefore(end.truncatedTo(ChronoUnit.MINUTES))) {
+            return loader.get();
+        }
+
+        var key = RoomReservations.normalize(start, end);
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadVersion = version;
+        var loaded = loader.get();
+        synchronized (this) {
+            if (loadVersion == version) {
+                cache.put(key, loaded);
+                index(key, loaded);
+            } else {
+                logger.debug("Available room not cached - reservations changed meanwhile. interval={}", key);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Invalidates entries that became stale by booking {@code interval} in {@code roomId}.
+     *
+     * @param roomId   room that was booked
+     * @param interval normalized booked interval
+     * @param newRoom  whether the booking created the room
+     */
+    public void onRoomBooked(String roomId, ReservationInterval interval, boolean newRoom) {
+        invalidateBooked(roomId, interval::overlaps, newRoom);
+    }
+
+    /**
+     * Invalidates entries that became stale by booking the occurrences of {@code series} in {@code roomId}.
+     *
+     * @param roomId  room that was booked
+     * @param series  booked series
+     * @param newRoom whether the booking created the room
+     */
+    public void onRoomBooked(String roomId, RecurringReservation series, boolean newRoom) {
+        invalidateBooked(roomId, series::overlaps, newRoom);
+    }
+
+    /**
+     * Invalidates entries that became stale by adding {@code roomId} without a reservation: every empty answer.
+     *
+     * @param roomId room that was added
+     */
+    public void onRoomAdded(String roomId) {
+        invalidateBooked(roomId, interval -> false, true);
+    }
+
+    /**
+     * Invalidates entries that became stale by cancelling {@code interval} in {@code roomId}.
+     * <p>
+     * Cached rooms stay available after a cancellation; only empty answers the freed interval may now satisfy
+     * are dropped.
+     * </p>
+     *
+     * @param roomId   room whose reservation was cancelled
+     * @param interval normalized cancelled interval
+     */
+    public void onRoomCancelled(String roomId, ReservationInterval interval) {
+        invalidateCancelled(roomId, interval::overlaps);
+    }
+
+    /**
+     * Invalidates entries that became stale by cancelling the occurrences of {@code series} in {@code roomId}.
+     *
+     * @param roomId room whose series was cancelled
+     * @param series cancelled series
+     */
+    public void onRoomCancelled(String roomId, RecurringReservation series) {
+        invalidateCancelled(roomId, series::overlaps);
+    }
+
+    /**
+     * Returns a version that changes whenever a booking or a cancellation is registered.
+     * <p>
+     * A computation started after reading version {@code v} reflects all changes registered up to {@code v}.
+     * </p>
+     *
+     * @return current reservations version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Drops all cached entries.
+     */
+    public synchronized void clear() {
+        version++;
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, cache, "reservation.available-room");
+        Gauge.builder("reservation.available-room.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Ratio of available room searches answered from the cache")
+                .register(registry);
+        FunctionCounter.builder("reservation.available-room.cache.invalidations", invalidations, LongAdder::sum)
+                .description("Number of cache entries invalidated by bookings and cancellations")
+                .register(registry);
+    }
+
+    /**
+     * @param booked tests whether a cached interval overlaps the booked reservations
+     */
+    private synchronized void invalidateBooked(String roomId, Predicate<ReservationInterval> booked, boolean newRoom) {
+        version++;
+
+        var roomIntervals = intervalsByRoom.get(roomId);
+        if (roomIntervals != null) {
+            invalidate(roomIntervals.stream().filter(booked).toList());
+        }
+        if (newRoom) {
+            invalidate(emptyIntervals.stream().filter(booked.negate()).toList());
+        }
+    }
+
+    /**
+     * @param cancelled tests whether a cached interval overlaps the cancelled reservations
+     */
+    private synchronized void invalidateCancelled(String roomId, Predicate<ReservationInterval> cancelled) {
+        version++;
+
+        logger.debug("Room reservation cancelled. roomId='{}'", roomId);
+        invalidate(emptyIntervals.stream().filter(cancelled).toList());
+    }
+
+    private void invalidate(List<ReservationInterval> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        logger.debug("Invalidating available room cache entries. intervals={}", keys);
+        cache.invalidateAll(keys);
+        invalidations.add(keys.size());
+    }
+
+    private void index(ReservationInterval key, Optional<String> roomId) {
+        roomId.ifPresentOrElse(
+                id -> intervalsByRoom.computeIfAbsent(id, __ -> new HashSet<>()).add(key),
+                () -> emptyIntervals.add(key)
+        );
+    }
+
+    private synchronized void onRemoval(RemovalNotification<ReservationInterval, Optional<String>> notification) {
+        var key = notification.getKey();
+        var roomId = notification.getValue();
+        // Notifications may be delivered late by another thread; keep the index of a key cached again with the same room
+        if (key == null || roomId == null || roomId.equals(cache.asMap().get(key))) {
+            return;
+        }
+        roomId.ifPresentOrElse(
+                id -> {
+                    var roomIntervals = intervalsByRoom.get(id);
+                    if (roomIntervals != null && roomIntervals.remove(key) && roomIntervals.isEmpty()) {
+                        intervalsByRoom.remove(id);
+                    }
+                },
+                () -> emptyIntervals.remove(key)
+        );
+    }
+}
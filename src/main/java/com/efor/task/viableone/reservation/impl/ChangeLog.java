@@ -0,0 +1,131 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.ReservationChange;
+import com.efor.task.viableone.reservation.ReservationChangeListener;
+import com.efor.task.viableone.reservation.ReservationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Log of the changes committed by the local service, numbered by version; the replication log of a leader and the
+ * change feed are read from it.
+ * <p>
+ * Changes are appended under the lock of the changed room, so the log orders the changes of every room as they
+ * were committed. Appending never waits for a reader: readers keep their own position and a read of a reader that
+ * is up to date waits for the next change. The latest {@code reservation.change-log.retention} changes are kept in
+ * a ring buffer; a reader whose position is older than the retained tail cannot continue from the log.
+ * </p>
+ * <p>
+ * Like the reservations themselves the log is kept in memory only; versions start over when the instance restarts.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class ChangeLog implements ReservationChangeListener {
+
+    public ChangeLog(ReservationProperties reservationProperties) {
+        int retention = reservationProperties.changeLog().retention();
+        if (retention <= 0) {
+            throw new IllegalStateException("reservation.change-log.retention must be positive");
+        }
+        this.entries = new Entry[retention];
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    /**
+     * Ring buffer of the retained tail; entry of version {@code v} is at index {@code (v - 1) % entries.length}.
+     * Guarded by {@link #lock}.
+     */
+    private final Entry[] entries;
+    private volatile long version;
+
+    @Override
+    public void onChange(ReservationChange change) {
+        lock.lock();
+        try {
+            var entry = new Entry(version + 1, Instant.now(), change);
+            entries[index(entry.version())] = entry;
+            version = entry.version();
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} changes following {@code after}, waiting up to {@code wait} for one if there is
+     * none yet.
+     *
+     * @param after the last version the reader has; 0 for the beginning of the log
+     * @param limit maximum number of changes returned
+     * @param wait  how long to wait for a change
+     * @return the changes, with no entries if there was no change within the wait or {@code after} is later than the
+     * latest version; empty if the changes following {@code after} are no longer retained
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Optional<Batch> read(long after, int limit, Duration wait) throws InterruptedException {
+        long remaining = wait.toNanos();
+        lock.lock();
+        try {
+            while (version == after && remaining > 0) {
+                remaining = appended.awaitNanos(remaining);
+            }
+            if (after < version - entries.length) {
+                return Optional.empty();
+            }
+            List<Entry> batch = new ArrayList<>();
+            for (long v = after + 1; v <= version && batch.size() < limit; v++) {
+                batch.add(entries[index(v)]);
+            }
+            return Optional.of(new Batch(version, batch));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the version of the latest change; 0 if there was none.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns the number of the latest changes retained.
+     */
+    public int retention() {
+        return entries.length;
+    }
+
+    private int index(long version) {
+        return (int) ((version - 1) % entries.length);
+    }
+
+    /**
+     * Change in the log.
+     *
+     * @param version     position of the change in the log, starting with 1
+     * @param committedAt when the change was committed
+     * @param change      the committed change
+     */
+    public record Entry(long version, Instant committedAt, ReservationChange change) {
+    }
+
+    /**
+     * Consecutive changes read from the log.
+     *
+     * @param version version of the log when they were read
+     * @param entries changes following the requested version in log order; empty if there are none
+     */
+    public record Batch(long version, List<Entry> entries) {
+    }
+}
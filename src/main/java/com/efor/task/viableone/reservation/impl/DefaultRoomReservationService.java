@@ -1,28 +1,63 @@
 package com.efor.task.viableone.reservation.impl;
 
+import com.efor.task.viableone.reservation.AvailabilityMatrix;
+import com.efor.task.viableone.reservation.MultiRoomReservationResult;
+import com.efor.task.viableone.reservation.PlacementStrategy;
+import com.efor.task.viableone.reservation.ReservationChange;
+import com.efor.task.viableone.reservation.ReservationChangeListener;
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
 import com.efor.task.viableone.reservation.RoomReservation;
 import com.efor.task.viableone.reservation.RoomReservationInfo;
 import com.efor.task.viableone.reservation.RoomReservationResult;
 import com.efor.task.viableone.reservation.RoomReservationService;
+import com.efor.task.viableone.reservation.Utilization;
+import com.efor.task.viableone.reservation.UtilizationGranularity;
+import com.efor.task.viableone.reservation.UtilizationGrouping;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.Reservation;
 import com.efor.task.viableone.reservation.model.ReservationInterval;
 import com.efor.task.viableone.reservation.model.RoomReservations;
+import com.efor.task.viableone.reservation.storage.RoomReservationRepository;
 import com.efor.task.viableone.reservation.validation.IntervalValidator;
+import com.efor.task.viableone.reservation.validation.IntervalValidatorException;
 import com.efor.task.viableone.reservation.validation.RoomIdentifierValidator;
+import com.efor.task.viableone.reservation.validation.RoomIdentifierValidatorException;
 import com.efor.task.viableone.reservation.validation.RoomReservationValidator;
 import com.google.common.util.concurrent.Striped;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Default in-memory implementation of {@link RoomReservationService}.
@@ -36,10 +71,31 @@ public class DefaultRoomReservationService implements RoomReservationService {
 
     public DefaultRoomReservationService(RoomReservationValidator roomReservationValidator,
                                          RoomIdentifierValidator roomIdentifierValidator,
-                                         IntervalValidator intervalValidator) {
+                                         IntervalValidator intervalValidator,
+                                         AvailableRoomCache availableRoomCache,
+                                         IdempotencyCache idempotencyCache,
+                                         RoomCatalog roomCatalog,
+                                         ParallelRoomScanner parallelRoomScanner,
+                                         OccupancyIndex occupancyIndex,
+                                         UtilizationAggregates utilizationAggregates,
+                                         RoomReservationRepository roomReservationRepository,
+                                         RoomResidency roomResidency,
+                                         ReservationProperties reservationProperties,
+                                         List<ReservationChangeListener> changeListeners) {
         this.roomReservationValidator = roomReservationValidator;
         this.roomIdentifierValidator = roomIdentifierValidator;
         this.intervalValidator = intervalValidator;
+        this.availableRoomCache = availableRoomCache;
+        this.idempotencyCache = idempotencyCache;
+        this.roomCatalog = roomCatalog;
+        this.parallelRoomScanner = parallelRoomScanner;
+        this.occupancyIndex = occupancyIndex;
+        this.utilizationAggregates = utilizationAggregates;
+        this.roomReservationRepository = roomReservationRepository;
+        this.roomResidency = roomResidency;
+        this.placementStrategy = reservationProperties.placementStrategy();
+        this.parallelSearchThreshold = reservationProperties.parallelSearchThreshold();
+        this.changeListeners = List.copyOf(changeListeners);
     }
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultRoomReservationService.class);
@@ -47,8 +103,25 @@ public class DefaultRoomReservationService implements RoomReservationService {
     private final RoomReservationValidator roomReservationValidator;
     private final RoomIdentifierValidator roomIdentifierValidator;
     private final IntervalValidator intervalValidator;
+    private final AvailableRoomCache availableRoomCache;
+    private final IdempotencyCache idempotencyCache;
+    private final RoomCatalog roomCatalog;
+    private final ParallelRoomScanner parallelRoomScanner;
+    private final OccupancyIndex occupancyIndex;
+    private final UtilizationAggregates utilizationAggregates;
+    private final RoomReservationRepository roomReservationRepository;
+    private final RoomResidency roomResidency;
+    private final PlacementStrategy placementStrategy;
+    private final int parallelSearchThreshold;
+    private final List<ReservationChangeListener> changeListeners;
     private final Map<String, RoomReservations> roomReservationsMap = new ConcurrentHashMap<>();
+    /**
+     * Reservations by id; entries are added and removed under the room lock together with the room reservations.
+     */
+    private final Map<Long, RoomReservationInfo> reservationIndex = new ConcurrentHashMap<>();
+    private final AtomicLong reservationIds = new AtomicLong();
     private final Striped<Lock> roomLocks = Striped.lock(1024);
+    private final SingleFlight<AvailableRoomQuery, Optional<String>> availableRoomSearches = new SingleFlight<>();
 
     public RoomReservationResult bookRoom(RoomReservation roomReservation) {
         logger.info("Room reservation. roomReservation={}", roomReservation);
@@ -58,15 +131,9 @@ public class DefaultRoomReservationService implements RoomReservationService {
         // Normalize room id
         var roomId = roomReservation.roomId().trim();
 
-        Lock lock = roomLocks.get(roomReservation.roomId());
-        boolean acquired = false;
-        try {
-            acquired = lock.tryLock(60, TimeUnit.SECONDS);
-            if (!acquired) {
-                throw new IllegalStateException("Room '" + roomId + "' is busy; try again.");
-            }
-
-            var reservations = findOrCreateRoomReservations(roomReservation.roomId());
+        var bookingResult = withRoomLock(roomId, () -> {
+            var newRoom = !roomReservationsMap.containsKey(roomId);
+            var reservations = findOrCreateRoomReservations(roomId);
             return reservations.findCollision(roomReservation.reservationStart(), roomReservation.reservationEnd())
                     .map(collisionInterval -> {
                         logger.info("Room reservation has failed - collision detected. " +
@@ -76,23 +143,36 @@ public class DefaultRoomReservationService implements RoomReservationService {
                                 roomReservation.reservationEnd(),
                                 collisionInterval.start(),
                                 collisionInterval.end());
+                        // The neighbors were just located, so the nearest free slot is cheap to find here
+                        var nextFreeSlot = reservations.findNextFreeSlot(
+                                roomReservation.reservationStart(),
+                                roomReservation.reservationEnd()
+                        );
                         return new RoomReservationResult(
+                                null,
                                 roomId,
                                 collisionInterval.start(),
                                 collisionInterval.end(),
-                                false
+                                false,
+                                nextFreeSlot.start(),
+                                nextFreeSlot.end(),
+                                null
                         );
                     }).orElseGet(() -> {
-                        var reservation = reservations.add(
+                        var reservation = reserve(
+                                roomId,
+                                reservations,
+                                reservationIds.incrementAndGet(),
                                 roomReservation.reservationStart(),
-                                roomReservation.reservationEnd()
+                                roomReservation.reservationEnd(),
+                                newRoom
                         );
 
                         var result = new RoomReservationResult(
+                                reservation.reservationId(),
                                 roomId,
-                                reservation.start(),
-                                reservation.end(),
-                                true
+                                reservation.reservationStart(),
+                                reservation.reservationEnd()
                         );
                         logger.info("Room reservation has been successful. roomId='{}', requestedInterval={}-{}",
                                 roomId,
@@ -100,23 +180,202 @@ public class DefaultRoomReservationService implements RoomReservationService {
                                 roomReservation.reservationEnd());
                         return result;
                     });
-        } catch (InterruptedException e) {
-            throw new IllegalStateException("Interrupted while acquiring room lock", e);
-        } finally {
-            if (acquired) lock.unlock();
+        });
+
+        if (bookingResult.isNewReservation()) {
+            return bookingResult;
+        }
+        // Suggest another room outside the room lock; the search is usually answered from the cache
+        return searchAvailableRoom(roomReservation.reservationStart(), roomReservation.reservationEnd())
+                .map(bookingResult::withAlternativeRoomId)
+                .orElse(bookingResult);
+    }
+
+    @Override
+    public RoomReservationResult bookRoom(RoomReservation roomReservation, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return bookRoom(roomReservation);
+        }
+        // Retries are answered from the cache without validation and without taking the room lock
+        return idempotencyCache.get(idempotencyKey, roomReservation, () -> bookRoom(roomReservation));
+    }
+
+    @Override
+    public MultiRoomReservationResult bookRooms(Set<String> roomIds, Instant reservationStart, Instant reservationEnd) {
+        logger.info("Multi-room reservation. roomIds={}, reservationStart={}, reservationEnd={}",
+                roomIds, reservationStart, reservationEnd);
+
+        if (roomIds == null || roomIds.isEmpty()) {
+            throw new RoomIdentifierValidatorException("Multi-room reservation must have set at least one roomId");
+        }
+        roomIds.forEach(roomIdentifierValidator::validate);
+        intervalValidator.validate(reservationStart, reservationEnd);
+
+        // Normalize room ids; the sorted order only makes logs and results stable, lock order comes from bulkGet
+        var normalizedRoomIds = roomIds.stream()
+                .map(String::trim)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        return withRoomLocks(normalizedRoomIds, () -> {
+            // Check every room before inserting anything, so a collision leaves no partial booking behind
+            var collisions = normalizedRoomIds.stream()
+                    .flatMap(roomId -> Optional.ofNullable(roomReservationsMap.get(roomId))
+                            .flatMap(reservations -> reservations.findCollision(reservationStart, reservationEnd))
+                            .map(collisionInterval -> new RoomReservationResult(
+                                    null,
+                                    roomId,
+                                    collisionInterval.start(),
+                                    collisionInterval.end(),
+                                    false,
+                                    null,
+                                    null,
+                                    null
+                            ))
+                            .stream())
+                    .toList();
+            if (!collisions.isEmpty()) {
+                logger.info("Multi-room reservation has failed - collision detected. roomIds={}, " +
+                                "requestedInterval={}-{}, collisionRoomIds={}",
+                        normalizedRoomIds, reservationStart, reservationEnd,
+                        collisions.stream().map(RoomReservationResult::roomId).toList());
+                return new MultiRoomReservationResult(false, collisions);
+            }
+
+            var reservations = normalizedRoomIds.stream()
+                    .map(roomId -> {
+                        var newRoom = !roomReservationsMap.containsKey(roomId);
+                        var reservation = reserve(roomId, findOrCreateRoomReservations(roomId),
+                                reservationIds.incrementAndGet(), reservationStart, reservationEnd, newRoom);
+                        return new RoomReservationResult(
+                                reservation.reservationId(),
+                                roomId,
+                                reservation.reservationStart(),
+                                reservation.reservationEnd()
+                        );
+                    })
+                    .toList();
+            logger.info("Multi-room reservation has been successful. roomIds={}, requestedInterval={}-{}",
+                    normalizedRoomIds, reservationStart, reservationEnd);
+            return new MultiRoomReservationResult(true, reservations);
+        });
+    }
+
+    @Override
+    public RoomReservationResult bookRecurringRoom(RoomReservation firstOccurrence, RecurrenceRule recurrence) {
+        logger.info("Recurring room reservation. firstOccurrence={}, recurrence={}", firstOccurrence, recurrence);
+
+        roomReservationValidator.validate(firstOccurrence);
+        Objects.requireNonNull(recurrence, "recurrence must not be null");
+        var occurrence = RoomReservations.normalize(firstOccurrence.reservationStart(), firstOccurrence.reservationEnd());
+        if (Duration.between(occurrence.start(), occurrence.end()).compareTo(recurrence.period()) > 0) {
+            throw new IntervalValidatorException(
+                    "Recurring room reservation must not be longer than its recurrence period");
+        }
+        if (recurrence.period().multipliedBy(recurrence.count() - 1L)
+                .compareTo(Duration.between(occurrence.end(), Instant.MAX)) > 0) {
+            throw new IntervalValidatorException("Recurring room reservation must end before " + Instant.MAX);
         }
+
+        var roomId = firstOccurrence.roomId().trim();
+
+        // All occurrences are checked and booked under a single room lock
+        return withRoomLock(roomId, () -> {
+            var newRoom = !roomReservationsMap.containsKey(roomId);
+            var reservations = findOrCreateRoomReservations(roomId);
+            return reservations.findSeriesCollision(occurrence.start(), occurrence.end(), recurrence)
+                    .map(collisionInterval -> {
+                        logger.info("Recurring room reservation has failed - collision detected. " +
+                                        "roomId='{}', firstOccurrence={}-{}, recurrence={}, collisionInterval={}-{}",
+                                roomId,
+                                occurrence.start(),
+                                occurrence.end(),
+                                recurrence,
+                                collisionInterval.start(),
+                                collisionInterval.end());
+                        return new RoomReservationResult(
+                                null,
+                                roomId,
+                                collisionInterval.start(),
+                                collisionInterval.end(),
+                                false,
+                                null,
+                                null,
+                                null
+                        );
+                    }).orElseGet(() -> {
+                        var series = reserveSeries(roomId, reservations, reservationIds.incrementAndGet(),
+                                occurrence.start(), occurrence.end(), recurrence, newRoom);
+
+                        logger.info("Recurring room reservation has been successful. roomId='{}', " +
+                                "firstOccurrence={}-{}, recurrence={}", roomId, occurrence.start(), occurrence.end(),
+                                recurrence);
+                        return new RoomReservationResult(
+                                series.reservationId(),
+                                roomId,
+                                series.reservationStart(),
+                                series.reservationEnd()
+                        );
+                    });
+        });
+    }
+
+    @Override
+    public Optional<RoomReservationResult> bookAnyAvailableRoom(Instant reservationStart, Instant reservationEnd,
+                                                                RoomConstraints constraints) {
+        logger.info("Book any available room. reservationStart={}, reservationEnd={}, constraints={}",
+                reservationStart, reservationEnd, constraints);
+
+        intervalValidator.validate(reservationStart, reservationEnd);
+        Objects.requireNonNull(constraints, "constraints must not be null");
+
+        // Candidates come from a lock-free scan; each one is verified again under its lock
+        var candidates = availableRooms(reservationStart, reservationEnd, constraints).iterator();
+        while (candidates.hasNext()) {
+            var roomId = candidates.next();
+            var reservations = roomReservationsMap.get(roomId);
+
+            var reservation = withRoomLock(roomId, () ->
+                    reservations.hasNoConflict(reservationStart, reservationEnd)
+                            ? Optional.of(reserve(roomId, reservations, reservationIds.incrementAndGet(),
+                                    reservationStart, reservationEnd, false))
+                            : Optional.<RoomReservationInfo>empty()
+            );
+            if (reservation.isPresent()) {
+                logger.info("Any available room has been booked. roomId='{}', reservationStart={}, reservationEnd={}",
+                        roomId, reservationStart, reservationEnd);
+                return Optional.of(new RoomReservationResult(
+                        reservation.get().reservationId(),
+                        roomId,
+                        reservation.get().reservationStart(),
+                        reservation.get().reservationEnd()
+                ));
+            }
+            logger.debug("Candidate room booked concurrently, trying next. roomId='{}'", roomId);
+        }
+
+        logger.info("No available room to book. reservationStart={}, reservationEnd={}",
+                reservationStart, reservationEnd);
+        return Optional.empty();
     }
 
     @Override
     public Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd) {
-        logger.info("Find available room. reservationStart={}, reservationEnd={}", reservationStart, reservationEnd);
+        return findAvailableRoom(reservationStart, reservationEnd, RoomConstraints.none());
+    }
+
+    @Override
+    public Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd,
+                                              RoomConstraints constraints) {
+        logger.info("Find available room. reservationStart={}, reservationEnd={}, constraints={}",
+                reservationStart, reservationEnd, constraints);
 
         intervalValidator.validate(reservationStart, reservationEnd);
+        Objects.requireNonNull(constraints, "constraints must not be null");
 
-        var result = roomReservationsMap.entrySet().stream()
-                .filter(e -> e.getValue().hasNoConflict(reservationStart, reservationEnd))
-                .findFirst()
-                .map(Map.Entry::getKey);
+        // Only unconstrained searches are cached; constrained ones scan just the rooms matching the constraints
+        var result = constraints.isNone()
+                ? searchAvailableRoom(reservationStart, reservationEnd)
+                : findAvailableRooms(reservationStart, reservationEnd, constraints, 1).stream().findFirst();
 
         result.ifPresentOrElse(
                 roomId -> logger.info("Available room found. roomId='{}', reservationStart={}, reservationEnd={}",
@@ -128,6 +387,197 @@ public class DefaultRoomReservationService implements RoomReservationService {
         return result;
     }
 
+    @Override
+    public List<String> findAvailableRooms(Instant reservationStart, Instant reservationEnd, int count) {
+        logger.info("Find available rooms. reservationStart={}, reservationEnd={}, count={}",
+                reservationStart, reservationEnd, count);
+
+        intervalValidator.validate(reservationStart, reservationEnd);
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be at least 1");
+        }
+
+        var result = findAvailableRooms(reservationStart, reservationEnd, RoomConstraints.none(), count);
+
+        logger.info("Available rooms found. roomIds={}, count={}", result, count);
+        return result;
+    }
+
+    @Override
+    public AvailabilityMatrix getAvailabilityMatrix(Instant from, Instant to, Duration slot) {
+        logger.info("Get availability matrix. from={}, to={}, slot={}", from, to, slot);
+
+        intervalValidator.validate(from, to);
+        if (slot == null || slot.toMinutes() < 1 || slot.toSecondsPart() != 0 || slot.toNanosPart() != 0) {
+            throw new IllegalArgumentException("slot must be a positive number of whole minutes");
+        }
+        // The end is rounded up to a whole minute so a partial last minute is still covered by a slot
+        var window = RoomReservations.normalize(from, to.plus(59, ChronoUnit.SECONDS));
+        long slotCount = Math.ceilDiv(Duration.between(window.start(), window.end()).toMinutes(), slot.toMinutes());
+        if (slotCount > AvailabilityMatrix.MAX_SLOTS) {
+            throw new IllegalArgumentException("Availability matrix must not have more than "
+                    + AvailabilityMatrix.MAX_SLOTS + " slots");
+        }
+
+        // Each room is swept independently; large room sets are swept in parallel
+        var rooms = roomReservationsMap.entrySet();
+        Function<Map.Entry<String, RoomReservations>, Map.Entry<String, BitSet>> freeSlots = room -> {
+            var free = room.getValue().busySlots(window.start(), slot, (int) slotCount);
+            free.flip(0, (int) slotCount);
+            return Map.entry(room.getKey(), free);
+        };
+        var matrix = rooms.size() < parallelSearchThreshold
+                ? rooms.stream().map(freeSlots).toList()
+                : parallelRoomScanner.map(rooms.spliterator(), freeSlots);
+
+        return new AvailabilityMatrix(window.start(), slot, (int) slotCount, matrix.stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> b, TreeMap::new)));
+    }
+
+    @Override
+    public List<RoomReservationInfo> getOccupancy(Instant from, Instant to) {
+        logger.info("Get occupancy. from={}, to={}", from, to);
+
+        intervalValidator.validate(from, to);
+
+        return toInfos(occupancyIndex.occupied(from, to));
+    }
+
+    @Override
+    public List<RoomReservationInfo> getOccupancy(Instant instant) {
+        logger.info("Get occupancy. instant={}", instant);
+
+        Objects.requireNonNull(instant, "instant must not be null");
+
+        return toInfos(occupancyIndex.occupiedAt(instant));
+    }
+
+    @Override
+    public Utilization getUtilization(Instant from, Instant to, UtilizationGranularity granularity,
+                                      UtilizationGrouping grouping) {
+        logger.info("Get utilization. from={}, to={}, granularity={}, grouping={}", from, to, granularity, grouping);
+
+        intervalValidator.validate(from, to);
+        Objects.requireNonNull(granularity, "granularity must not be null");
+        Objects.requireNonNull(grouping, "grouping must not be null");
+        // Buckets are aligned to UTC; the window is widened to whole buckets
+        long bucketSeconds = granularity.bucket().toSeconds();
+        var windowStart = Instant.ofEpochSecond(Math.floorDiv(from.getEpochSecond(), bucketSeconds) * bucketSeconds);
+        long bucketCount = Math.ceilDiv(to.getEpochSecond() - windowStart.getEpochSecond()
+                + (to.getNano() > 0 ? 1 : 0), bucketSeconds);
+        if (bucketCount > Utilization.MAX_BUCKETS) {
+            throw new IllegalArgumentException("Utilization must not have more than " + Utilization.MAX_BUCKETS
+                    + " buckets");
+        }
+
+        int bucketHours = (int) granularity.bucket().toHours();
+        SortedMap<String, Utilization.Group> groups = new TreeMap<>();
+        for (var roomId : roomReservationsMap.keySet()) {
+            var bookedMinutes = utilizationAggregates.bookedMinutes(roomId, windowStart, bucketHours,
+                    (int) bucketCount);
+            var key = grouping == UtilizationGrouping.ROOM
+                    ? roomId
+                    : roomCatalog.get(roomId)
+                            .map(RoomAttributes::location)
+                            .orElse(Utilization.UNASSIGNED_LOCATION);
+            groups.merge(key, new Utilization.Group(1, bookedMinutes), (a, b) -> {
+                var sum = a.bookedMinutes().clone();
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += b.bookedMinutes()[i];
+                }
+                return new Utilization.Group(a.rooms() + b.rooms(), sum);
+            });
+        }
+
+        return new Utilization(windowStart, granularity, (int) bucketCount, groups);
+    }
+
+    @Override
+    public void setRoomAttributes(String roomId, RoomAttributes attributes) {
+        logger.info("Set room attributes. roomId='{}', attributes={}", roomId, attributes);
+
+        roomIdentifierValidator.validate(roomId);
+        Objects.requireNonNull(attributes, "attributes must not be null");
+
+        // Normalize room id
+        var normalizedRoomId = roomId.trim();
+
+        // The room becomes known to searches together with its attributes
+        withRoomLock(normalizedRoomId, () -> {
+            var newRoom = !roomReservationsMap.containsKey(normalizedRoomId);
+            findOrCreateRoomReservations(normalizedRoomId);
+            roomCatalog.put(normalizedRoomId, attributes);
+            if (newRoom) {
+                availableRoomCache.onRoomAdded(normalizedRoomId);
+            }
+            notifyChange(new ReservationChange.RoomAttributesSet(normalizedRoomId, attributes));
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<RoomAttributes> getRoomAttributes(String roomId) {
+        logger.info("Get room attributes. roomId='{}'", roomId);
+
+        roomIdentifierValidator.validate(roomId);
+
+        return roomCatalog.get(roomId.trim());
+    }
+
+    @Override
+    public Optional<RoomReservationInfo> getReservation(long reservationId) {
+        logger.info("Get reservation. reservationId={}", reservationId);
+
+        return Optional.ofNullable(reservationIndex.get(reservationId));
+    }
+
+    @Override
+    public boolean cancelReservation(long reservationId) {
+        logger.info("Cancel reservation. reservationId={}", reservationId);
+
+        var reservation = reservationIndex.get(reservationId);
+        if (reservation == null) {
+            logger.info("Reservation not found. reservationId={}", reservationId);
+            return false;
+        }
+
+        var roomId = reservation.roomId();
+        // A concurrent cancellation of the same reservation may win the lock first; removal is checked again under it
+        var cancelled = withRoomLock(roomId, () -> {
+            var reservations = roomReservationsMap.get(roomId);
+            if (reservation.recurrence() != null) {
+                return reservations.removeSeries(reservationId, reservation.reservationStart())
+                        .map(removed -> {
+                            reservationIndex.remove(reservationId);
+                            availableRoomCache.onRoomCancelled(roomId, removed);
+                            occupancyIndex.remove(roomId, removed);
+                            utilizationAggregates.remove(roomId, removed);
+                            notifyChange(new ReservationChange.Cancelled(reservationId, roomId));
+                            return removed;
+                        })
+                        .isPresent();
+            }
+            return reservations.remove(reservationId, reservation.reservationStart())
+                    .map(removed -> {
+                        reservationIndex.remove(reservationId);
+                        availableRoomCache.onRoomCancelled(roomId, removed.interval());
+                        occupancyIndex.remove(roomId, removed.interval());
+                        utilizationAggregates.remove(roomId, removed.interval());
+                        notifyChange(new ReservationChange.Cancelled(reservationId, roomId));
+                        return removed;
+                    })
+                    .isPresent();
+        });
+
+        if (cancelled) {
+            logger.info("Reservation has been cancelled. reservationId={}, roomId='{}', interval={}-{}",
+                    reservationId, roomId, reservation.reservationStart(), reservation.reservationEnd());
+        } else {
+            logger.info("Reservation not found. reservationId={}", reservationId);
+        }
+        return cancelled;
+    }
+
     @Override
     public List<RoomReservationInfo> getReservations(String roomId) {
         logger.info("Get room reservations. roomId='{}'", roomId);
@@ -139,14 +589,8 @@ public class DefaultRoomReservationService implements RoomReservationService {
             throw new IllegalArgumentException("Room '" + roomId + "' not found");
         }
 
-        return roomReservations.asList().stream()
-                .map(reservation ->
-                        new RoomReservationInfo(
-                                roomId,
-                                reservation.start(),
-                                reservation.end()
-                        )
-                )
+        return roomReservations.reservations().stream()
+                .map(reservation -> toInfo(roomId, reservation))
                 .toList();
     }
 
@@ -157,17 +601,11 @@ public class DefaultRoomReservationService implements RoomReservationService {
         return roomReservationsMap.entrySet().stream()
                 .map(e -> {
                             String roomId = e.getKey();
-                            List<ReservationInterval> intervals = e.getValue().asList();
+                            List<Reservation> reservations = e.getValue().reservations();
                             return Map.entry(
                                     roomId,
-                                    intervals.stream()
-                                            .map(reservation ->
-                                                    new RoomReservationInfo(
-                                                            roomId,
-                                                            reservation.start(),
-                                                            reservation.end()
-                                                    )
-                                            )
+                                    reservations.stream()
+                                            .map(reservation -> toInfo(roomId, reservation))
                                             .toList()
                             );
                         }
@@ -180,11 +618,445 @@ public class DefaultRoomReservationService implements RoomReservationService {
                 ));
     }
 
+    /**
+     * Applies a change committed by another instance, keeping its reservation id; used by read replicas.
+     * <p>
+     * Changes of a room must be applied in the order they were committed. A booking is applied without a collision
+     * check, since the instance committing it already made one.
+     * </p>
+     *
+     * @param change the change to apply
+     */
+    public void apply(ReservationChange change) {
+        logger.debug("Apply reservation change. change={}", change);
+
+        switch (change) {
+            case ReservationChange.Booked booked -> withRoomLock(booked.roomId(), () -> {
+                var newRoom = !roomReservationsMap.containsKey(booked.roomId());
+                var reservations = findOrCreateRoomReservations(booked.roomId());
+                // Ids of applied bookings must not be handed out again by this instance
+                reservationIds.accumulateAndGet(booked.reservationId(), Math::max);
+                return booked.recurrence() == null
+                        ? reserve(booked.roomId(), reservations, booked.reservationId(),
+                        booked.reservationStart(), booked.reservationEnd(), newRoom)
+                        : reserveSeries(booked.roomId(), reservations, booked.reservationId(),
+                        booked.reservationStart(), booked.reservationEnd(), booked.recurrence(), newRoom);
+            });
+            case ReservationChange.Cancelled cancelled -> cancelReservation(cancelled.reservationId());
+            case ReservationChange.RoomAttributesSet attributesSet ->
+                    setRoomAttributes(attributesSet.roomId(), attributesSet.attributes());
+        }
+    }
+
+    /**
+     * Returns the changes rebuilding every room as it is now, room by room; used to bootstrap read replicas.
+     * <p>
+     * Each room is read under its room lock together with {@code version}, the number of changes reported to the
+     * change listeners so far. Changes are reported under the lock of their room, so the changes of a room reflect
+     * exactly its changes numbered up to the version of the room; applying them and then the room's later changes
+     * in order rebuilds the room. Rooms created after the snapshot started are not included.
+     * </p>
+     *
+     * @param version returns the number of changes reported so far
+     * @return the changes of every room, its attributes first
+     */
+    public List<RoomSnapshot> snapshot(LongSupplier version) {
+        List<RoomSnapshot> rooms = new ArrayList<>(roomReservationsMap.size());
+        for (var room : roomReservationsMap.entrySet()) {
+            var roomId = room.getKey();
+            var reservations = room.getValue();
+            rooms.add(withRoomLock(roomId, () -> {
+                List<ReservationChange> changes = new ArrayList<>(reservations.size() + 1);
+                roomCatalog.get(roomId).ifPresent(attributes ->
+                        changes.add(new ReservationChange.RoomAttributesSet(roomId, attributes)));
+                for (var reservation : reservations.singleReservations()) {
+                    changes.add(new ReservationChange.Booked(reservation.id(), roomId,
+                            reservation.interval().start(), reservation.interval().end(), null));
+                }
+                for (var series : reservations.series()) {
+                    changes.add(new ReservationChange.Booked(series.id(), roomId, series.first().start(),
+                            series.first().end(), recurrenceOf(series)));
+                }
+                return new RoomSnapshot(roomId, version.getAsLong(), changes);
+            }));
+        }
+        return rooms;
+    }
+
+    /**
+     * Books the intervals of a room in one operation under its room lock; used by bulk imports.
+     * <p>
+     * The intervals must be ordered by start. An interval overlapping a reservation of the room or an interval booked
+     * before it by this call is not booked. The booked intervals get consecutive reservation ids in start order and
+     * are added to the room in one pass, see {@link RoomReservations#addAll(List)}. Every booking is reported to the
+     * change listeners.
+     * </p>
+     *
+     * <p><strong>Time complexity:</strong> O(m (log n + s)) for the collision checks, m = intervals, then O(m) to add
+     * them to the room.</p>
+     *
+     * @param roomId    the room; must be valid
+     * @param intervals intervals to book, ordered by start; must be valid
+     * @return the conflicting interval of every interval not booked, by index in {@code intervals}
+     * @throws IllegalArgumentException if the intervals are not ordered by start
+     * @throws IllegalStateException    if the room cannot be booked at the moment
+     */
+    public Map<Integer, ReservationInterval> importReservations(String roomId, List<ReservationInterval> intervals) {
+        return withRoomLock(roomId, () -> {
+            var newRoom = !roomReservationsMap.containsKey(roomId);
+            var reservations = findOrCreateRoomReservations(roomId);
+            Map<Integer, ReservationInterval> conflicts = new LinkedHashMap<>();
+            List<ReservationInterval> booked = new ArrayList<>(intervals.size());
+            Instant previousStart = null;
+            for (int i = 0; i < intervals.size(); i++) {
+                var interval = RoomReservations.normalize(intervals.get(i).start(), intervals.get(i).end());
+                if (previousStart != null && interval.start().isBefore(previousStart)) {
+                    throw new IllegalArgumentException("Imported intervals must be ordered by start");
+                }
+                previousStart = interval.start();
+                // Booked intervals are disjoint and ordered, so only the last one can overlap a later interval
+                var collision = !booked.isEmpty() && booked.getLast().overlaps(interval)
+                        ? Optional.of(booked.getLast())
+                        : reservations.findCollision(interval.start(), interval.end());
+                if (collision.isPresent()) {
+                    conflicts.put(i, collision.get());
+                } else {
+                    booked.add(interval);
+                }
+            }
+
+            long firstId = reservationIds.getAndAdd(booked.size()) + 1;
+            List<Reservation> added = new ArrayList<>(booked.size());
+            for (int i = 0; i < booked.size(); i++) {
+                added.add(new Reservation(firstId + i, booked.get(i)));
+            }
+            reservations.addAll(added);
+            for (var reservation : added) {
+                var interval = reservation.interval();
+                reservationIndex.put(reservation.id(), new RoomReservationInfo(reservation.id(), roomId,
+                        interval.start(), interval.end(), null));
+                occupancyIndex.add(roomId, reservation.id(), interval);
+                utilizationAggregates.add(roomId, interval);
+                notifyChange(new ReservationChange.Booked(reservation.id(), roomId, interval.start(), interval.end(),
+                        null));
+            }
+            // One invalidation instead of one per booked interval
+            if (!added.isEmpty()) {
+                availableRoomCache.clear();
+            } else if (newRoom) {
+                availableRoomCache.onRoomAdded(roomId);
+            }
+            logger.info("Room reservations imported. roomId='{}', imported={}, conflicts={}",
+                    roomId, added.size(), conflicts.size());
+            return conflicts;
+        });
+    }
+
+    /**
+     * Moves the single reservations that ended at or before {@code before} into the compact cold storage of their
+     * rooms and compacts fragmented cold storage, one room at a time under its room lock. The reservations stay
+     * queryable and cancellable; their entries in the reservation id index and the {@link OccupancyIndex} stay on the
+     * heap.
+     *
+     * @param before reservations ending at or before this instant are archived
+     * @return the number of reservations archived
+     */
+    public int archive(Instant before) {
+        int archived = 0;
+        int compacted = 0;
+        for (var room : roomReservationsMap.entrySet()) {
+            var reservations = room.getValue();
+            var result = withRoomLock(room.getKey(), () ->
+                    new ArchivedRoom(reservations.archive(before), reservations.compact()));
+            archived += result.archived();
+            compacted += result.compacted() ? 1 : 0;
+        }
+        if (archived > 0 || compacted > 0) {
+            logger.info("Reservations archived. before={}, archived={}, compactedRooms={}", before, archived, compacted);
+        }
+        return archived;
+    }
+
+    /**
+     * Restores the rooms kept by an earlier run if the storage is persistent.
+     * <p>
+     * The reservations stay in their stores; only the derived structures — the reservation id index, occupancy
+     * index and utilization counters — are rebuilt from them, on the heap. Room attributes are not persisted.
+     * </p>
+     *
+     * <p><strong>Time complexity:</strong> O(n log n) over all n stored reservations and series occurrences.</p>
+     */
+    @PostConstruct
+    public void restore() {
+        var stored = roomReservationRepository.findAll();
+        long reservations = 0;
+        for (var room : stored.entrySet()) {
+            var roomId = room.getKey();
+            var store = room.getValue();
+            for (var reservation : store.values()) {
+                var interval = reservation.interval();
+                reservationIndex.put(reservation.id(), new RoomReservationInfo(reservation.id(), roomId,
+                        interval.start(), interval.end(), null));
+                occupancyIndex.add(roomId, reservation.id(), interval);
+                utilizationAggregates.add(roomId, interval);
+                reservationIds.accumulateAndGet(reservation.id(), Math::max);
+                reservations++;
+            }
+            for (var series : store.series()) {
+                reservationIndex.put(series.id(), new RoomReservationInfo(series.id(), roomId,
+                        series.first().start(), series.first().end(), recurrenceOf(series)));
+                occupancyIndex.add(roomId, series);
+                utilizationAggregates.add(roomId, series);
+                reservationIds.accumulateAndGet(series.id(), Math::max);
+                reservations++;
+            }
+            roomReservationsMap.put(roomId, new RoomReservations(store));
+        }
+        if (!stored.isEmpty()) {
+            logger.info("Rooms restored from storage. rooms={}, reservations={}", stored.size(), reservations);
+        }
+    }
+
+    /**
+     * Drops all rooms and reservations from memory and leaves the repository as it is; used by read replicas
+     * replacing their state with a snapshot of the leader.
+     */
+    public void clear() {
+        roomReservationsMap.clear();
+        roomResidency.clear();
+        reservationIndex.clear();
+        availableRoomCache.clear();
+        idempotencyCache.clear();
+        roomCatalog.clear();
+        occupancyIndex.clear();
+        utilizationAggregates.clear();
+    }
+
     /**
      * For testing purposes.
      */
     public void reset() {
-        roomReservationsMap.clear();
+        clear();
+        roomReservationRepository.deleteAll();
+    }
+
+    /**
+     * Finds an available room through the cache.
+     */
+    private Optional<String> searchAvailableRoom(Instant reservationStart, Instant reservationEnd) {
+        // Identical concurrent searches missing the cache share a single scan. The key carries the reservations
+        // version so a search never joins a scan started before a booking it has already observed.
+        return availableRoomCache.get(reservationStart, reservationEnd, () ->
+                availableRoomSearches.execute(
+                        AvailableRoomQuery.of(reservationStart, reservationEnd, availableRoomCache.version()),
+                        () -> findAvailableRooms(reservationStart, reservationEnd, RoomConstraints.none(), 1)
+                                .stream()
+                                .findFirst()
+                )
+        );
+    }
+
+    /**
+     * Returns up to {@code count} rooms available for the interval, chosen by the configured
+     * {@link PlacementStrategy}.
+     * <p>
+     * From {@code parallelSearchThreshold} candidate rooms the rooms are scanned in parallel partitions by the
+     * {@link ParallelRoomScanner}. {@code FIRST_FIT} then stops all partitions once {@code count} rooms are found
+     * and returns the rooms found first by any worker; the other strategies rank all candidate rooms.
+     * </p>
+     */
+    private List<String> findAvailableRooms(Instant reservationStart, Instant reservationEnd,
+                                            RoomConstraints constraints, int count) {
+        var candidates = candidateRooms(constraints);
+        if (candidates.size() < parallelSearchThreshold) {
+            return availableRooms(reservationStart, reservationEnd, candidates, constraints).limit(count).toList();
+        }
+
+        logger.debug("Scanning rooms in parallel. candidates={}, count={}", candidates.size(), count);
+        Function<Map.Entry<String, RoomReservations>, Optional<RankedRoom>> match =
+                room -> rank(room, reservationStart, reservationEnd, constraints);
+        var rooms = placementStrategy == PlacementStrategy.FIRST_FIT
+                ? parallelRoomScanner.findAny(candidates.spliterator(), match, count)
+                : parallelRoomScanner.findLeast(candidates.spliterator(), match, RankedRoom.ORDER, count);
+        return rooms.stream().map(RankedRoom::roomId).toList();
+    }
+
+    /**
+     * Returns the rooms available for the interval, ordered by the configured {@link PlacementStrategy}.
+     */
+    private Stream<String> availableRooms(Instant reservationStart, Instant reservationEnd,
+                                          RoomConstraints constraints) {
+        return availableRooms(reservationStart, reservationEnd, candidateRooms(constraints), constraints);
+    }
+
+    /**
+     * Returns the candidate rooms available for the interval, ordered by the configured {@link PlacementStrategy}.
+     * <p>
+     * The scan is lock-free, so a returned room may be booked concurrently before it is used.
+     * {@code FIRST_FIT} is evaluated lazily; the other strategies rank all available rooms,
+     * each in O(log n) of the room's reservations.
+     * </p>
+     */
+    private Stream<String> availableRooms(Instant reservationStart, Instant reservationEnd,
+                                          Collection<Map.Entry<String, RoomReservations>> candidates,
+                                          RoomConstraints constraints) {
+        var rooms = candidates.stream()
+                .flatMap(room -> rank(room, reservationStart, reservationEnd, constraints).stream());
+        return (placementStrategy == PlacementStrategy.FIRST_FIT ? rooms : rooms.sorted(RankedRoom.ORDER))
+                .map(RankedRoom::roomId);
+    }
+
+    /**
+     * Returns the rooms that may satisfy the constraints. Attribute constraints are resolved from the
+     * {@link RoomCatalog} index, so only the rooms matching them are checked for availability.
+     */
+    private Collection<Map.Entry<String, RoomReservations>> candidateRooms(RoomConstraints constraints) {
+        if (!constraints.hasAttributeConstraints()) {
+            return roomReservationsMap.entrySet();
+        }
+        return roomCatalog.matchingRooms(constraints).stream()
+                .flatMap(roomId -> Optional.ofNullable(roomReservationsMap.get(roomId))
+                        .map(reservations -> Map.entry(roomId, reservations))
+                        .stream())
+                .toList();
+    }
+
+    /**
+     * Ranks the room for the interval by the configured {@link PlacementStrategy}, lower is better.
+     *
+     * @return the ranked room, or {@code Optional.empty()} if the room does not satisfy the constraints or is not
+     * available for the entire interval
+     */
+    private Optional<RankedRoom> rank(Map.Entry<String, RoomReservations> room, Instant reservationStart,
+                                      Instant reservationEnd, RoomConstraints constraints) {
+        if (!constraints.matches(room.getKey())) {
+            return Optional.empty();
+        }
+        var reservations = room.getValue();
+        return switch (placementStrategy) {
+            case FIRST_FIT -> reservations.hasNoConflict(reservationStart, reservationEnd)
+                    ? Optional.of(new RankedRoom(room.getKey(), 0))
+                    : Optional.empty();
+            case BEST_FIT -> {
+                var gap = reservations.enclosingGapMinutes(reservationStart, reservationEnd);
+                yield gap.isPresent() ? Optional.of(new RankedRoom(room.getKey(), gap.getAsLong())) : Optional.empty();
+            }
+            case LEAST_LOADED -> reservations.hasNoConflict(reservationStart, reservationEnd)
+                    ? Optional.of(new RankedRoom(room.getKey(), reservations.bookedMinutes()))
+                    : Optional.empty();
+        };
+    }
+
+    /**
+     * Runs {@code action} while holding the lock of the given room.
+     *
+     * @throws IllegalStateException if the lock cannot be acquired in time
+     */
+    private <T> T withRoomLock(String roomId, Supplier<T> action) {
+        Lock lock = roomLocks.get(roomId);
+        boolean acquired = false;
+        try {
+            acquired = lock.tryLock(60, TimeUnit.SECONDS);
+            if (!acquired) {
+                throw new IllegalStateException("Room '" + roomId + "' is busy; try again.");
+            }
+            return action.get();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Interrupted while acquiring room lock", e);
+        } finally {
+            if (acquired) lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code action} while holding the locks of all given rooms.
+     * <p>
+     * {@link Striped#bulkGet(Iterable)} returns the stripes in a canonical order, so concurrent callers with
+     * overlapping room sets acquire shared stripes in the same order and cannot deadlock. Rooms sharing a stripe
+     * lock the same reentrant lock more than once.
+     * </p>
+     *
+     * @throws IllegalStateException if any of the locks cannot be acquired in time
+     */
+    private <T> T withRoomLocks(Collection<String> roomIds, Supplier<T> action) {
+        var locks = roomLocks.bulkGet(roomIds);
+        var acquired = new ArrayDeque<Lock>();
+        try {
+            for (var lock : locks) {
+                if (!lock.tryLock(60, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Rooms " + roomIds + " are busy; try again.");
+                }
+                acquired.push(lock);
+            }
+            return action.get();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Interrupted while acquiring room locks", e);
+        } finally {
+            while (!acquired.isEmpty()) {
+                acquired.pop().unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds the reservation and updates derived structures. Must be called under the room lock
+     * after the collision check.
+     */
+    private RoomReservationInfo reserve(String roomId, RoomReservations reservations, long reservationId,
+                                        Instant reservationStart, Instant reservationEnd, boolean newRoom) {
+        var interval = reservations.add(reservationId, reservationStart, reservationEnd);
+        var reservation = new RoomReservationInfo(reservationId, roomId, interval.start(), interval.end(), null);
+        reservationIndex.put(reservationId, reservation);
+        availableRoomCache.onRoomBooked(roomId, interval, newRoom);
+        occupancyIndex.add(roomId, reservationId, interval);
+        utilizationAggregates.add(roomId, interval);
+        notifyChange(new ReservationChange.Booked(reservationId, roomId, interval.start(), interval.end(), null));
+        return reservation;
+    }
+
+    /**
+     * Adds the series and updates derived structures. Must be called under the room lock
+     * after the collision check.
+     *
+     * @return the series with its first occurrence
+     */
+    private RoomReservationInfo reserveSeries(String roomId, RoomReservations reservations, long reservationId,
+                                              Instant occurrenceStart, Instant occurrenceEnd,
+                                              RecurrenceRule recurrence, boolean newRoom) {
+        var series = reservations.addSeries(reservationId, occurrenceStart, occurrenceEnd, recurrence);
+        var reservation = new RoomReservationInfo(reservationId, roomId, series.first().start(),
+                series.first().end(), recurrence);
+        reservationIndex.put(reservationId, reservation);
+        availableRoomCache.onRoomBooked(roomId, series, newRoom);
+        occupancyIndex.add(roomId, series);
+        utilizationAggregates.add(roomId, series);
+        notifyChange(new ReservationChange.Booked(reservationId, roomId, series.first().start(),
+                series.first().end(), recurrence));
+        return reservation;
+    }
+
+    private void notifyChange(ReservationChange change) {
+        for (var listener : changeListeners) {
+            listener.onChange(change);
+        }
+    }
+
+    private List<RoomReservationInfo> toInfos(List<OccupancyIndex.Occupancy> occupancies) {
+        return occupancies.stream()
+                .map(occupancy -> toInfo(occupancy.roomId(), new Reservation(occupancy.reservationId(),
+                        new ReservationInterval(occupancy.start(), occupancy.end()))))
+                .toList();
+    }
+
+    private RoomReservationInfo toInfo(String roomId, Reservation reservation) {
+        var indexed = reservationIndex.get(reservation.id());
+        return new RoomReservationInfo(
+                reservation.id(),
+                roomId,
+                reservation.interval().start(),
+                reservation.interval().end(),
+                indexed == null ? null : indexed.recurrence()
+        );
     }
 
     private RoomReservations findOrCreateRoomReservations(String roomId) {
@@ -193,8 +1065,51 @@ public class DefaultRoomReservationService implements RoomReservationService {
                 roomId,
                 __ -> {
                     logger.info("Creating new room reservations. roomId='{}'", roomId);
-                    return new RoomReservations();
+                    // A room tracked by the residency manager is spilled only under its room lock
+                    return new RoomReservations(roomResidency.isEnabled()
+                            ? roomResidency.track(roomId, roomLocks.get(roomId))
+                            : roomReservationRepository.create(roomId));
                 }
         );
     }
+
+    /**
+     * Returns the rule of a stored series; the frequency is the coarsest one the period is a multiple of.
+     */
+    private static RecurrenceRule recurrenceOf(RecurringReservation series) {
+        long days = Duration.ofMinutes(series.periodMinutes()).toDays();
+        return days % 7 == 0
+                ? new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, (int) (days / 7), series.count())
+                : new RecurrenceRule(RecurrenceRule.Frequency.DAILY, (int) days, series.count());
+    }
+
+    /**
+     * Changes rebuilding a room, see {@link #snapshot(LongSupplier)}.
+     *
+     * @param roomId  Identifier of the room.
+     * @param version Number of changes reported when the room was read; the changes reflect those of the room up to it.
+     * @param changes The attributes of the room, if set, and a booking of every reservation and series.
+     */
+    public record RoomSnapshot(String roomId, long version, List<ReservationChange> changes) {
+    }
+
+    private record ArchivedRoom(int archived, boolean compacted) {
+    }
+
+    private record RankedRoom(String roomId, long rank) {
+        static final Comparator<RankedRoom> ORDER = Comparator.comparingLong(RankedRoom::rank);
+    }
+
+    /**
+     * Available room search key; instants are truncated to minutes the same way reservations are.
+     */
+    private record AvailableRoomQuery(Instant start, Instant end, long version) {
+        static AvailableRoomQuery of(Instant start, Instant end, long version) {
+            return new AvailableRoomQuery(
+                    start.truncatedTo(ChronoUnit.MINUTES),
+                    end.truncatedTo(ChronoUnit.MINUTES),
+                    version
+            );
+        }
+    }
 }
@@ -0,0 +1,155 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.IdempotencyKeyMismatchException;
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-expiring cache of booking results keyed by the client supplied idempotency key.
+ * <p>
+ * The first request with a key performs the booking; retries with the same key and request receive the original
+ * result without booking again. Concurrent requests with the same key wait for the first one to complete.
+ * The cache is bounded by the estimated memory footprint of its entries.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class IdempotencyCache implements MeterBinder {
+
+    @Autowired
+    public IdempotencyCache(ReservationProperties reservationProperties) {
+        this(reservationProperties, Ticker.systemTicker());
+    }
+
+    IdempotencyCache(ReservationProperties reservationProperties, Ticker ticker) {
+        var properties = reservationProperties.idempotency();
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(properties.maximumFootprint().toBytes())
+                .weigher((String key, IdempotentBooking booking) -> booking.footprint())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .ticker(ticker)
+                .recordStats()
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyCache.class);
+
+    /**
+     * Estimated size of a cache entry without its strings: the entry itself, the key and value objects and instants.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 320;
+
+    private final Cache<String, IdempotentBooking> cache;
+    private final LongAdder footprint = new LongAdder();
+
+    /**
+     * Returns the result of the booking made with {@code idempotencyKey} or books using {@code booking}.
+     * <p>
+     * A booking that throws is not cached, so it is performed again on retry.
+     * </p>
+     *
+     * @param idempotencyKey client supplied key identifying the booking request
+     * @param roomReservation the booking request
+     * @param booking performs the booking when the key is not cached
+     * @return the original or the new booking result
+     * @throws IdempotencyKeyMismatchException if the key was used for a different booking request
+     */
+    public RoomReservationResult get(String idempotencyKey, RoomReservation roomReservation,
+                                     Supplier<RoomReservationResult> booking) {
+        IdempotentBooking cached;
+        try {
+            cached = cache.get(idempotencyKey, () -> {
+                var loaded = new IdempotentBooking(idempotencyKey, roomReservation, booking.get());
+                footprint.add(loaded.footprint());
+                return loaded;
+            });
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (!cached.roomReservation().equals(roomReservation)) {
+            logger.info("Idempotency key reused for a different booking. idempotencyKey='{}', roomReservation={}, " +
+                    "originalRoomReservation={}", idempotencyKey, roomReservation, cached.roomReservation());
+            throw new IdempotencyKeyMismatchException(
+                    "Idempotency key '" + idempotencyKey + "' was already used for a different booking request");
+        }
+        return cached.result();
+    }
+
+    /**
+     * Returns the estimated memory footprint of the cached entries.
+     *
+     * @return estimated footprint in bytes
+     */
+    public long footprint() {
+        return footprint.sum();
+    }
+
+    /**
+     * Drops all cached entries.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, cache, "reservation.idempotency");
+        Gauge.builder("reservation.idempotency.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Ratio of bookings answered with the result of an earlier request with the same key")
+                .register(registry);
+        Gauge.builder("reservation.idempotency.cache.footprint", footprint, LongAdder::sum)
+                .description("Estimated memory footprint of the cached booking results")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void onRemoval(RemovalNotification<String, IdempotentBooking> notification) {
+        var booking = notification.getValue();
+        if (booking != null) {
+            footprint.add(-booking.footprint());
+        }
+    }
+
+    private record IdempotentBooking(RoomReservation roomReservation, RoomReservationResult result, int footprint) {
+        IdempotentBooking(String idempotencyKey, RoomReservation roomReservation, RoomReservationResult result) {
+            this(roomReservation, result, ENTRY_OVERHEAD_BYTES + Character.BYTES * (
+                    length(idempotencyKey)
+                            + length(roomReservation.roomId())
+                            + length(result.roomId())
+                            + length(result.alternativeRoomId())
+            ));
+        }
+
+        private static int length(String s) {
+            return s == null ? 0 : s.length();
+        }
+    }
+}
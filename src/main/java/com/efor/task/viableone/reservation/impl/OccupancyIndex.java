@@ -0,0 +1,302 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Interval index of the reservations of all rooms answering "which rooms are occupied at T / during [from, to)".
+ * <p>
+ * The index is a treap ordered by reservation start and room id, where every node also keeps the latest end of its
+ * subtree. A query descends only into subtrees whose latest end is after the queried start and whose earliest start
+ * is before the queried end, so it visits O(log n) nodes plus O(log n) per reported reservation instead of every
+ * room's reservations. Series occurrences are indexed individually.
+ * </p>
+ * <p>
+ * The treap is persistent: an update copies the O(log n) nodes on its path and publishes the new root by
+ * compare-and-set, retrying against the latest root if another update was published meanwhile. Queries read a
+ * consistent snapshot and updates of different rooms do not block each other.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe; queries and updates are lock-free.</p>
+ */
+@Component
+public class OccupancyIndex {
+
+    private static final Comparator<Occupancy> ORDER = Comparator.comparing(Occupancy::start)
+            .thenComparing(Occupancy::roomId);
+
+    private final AtomicReference<Node> root = new AtomicReference<>();
+
+    /**
+     * Occupancy of a room by a reservation or a series occurrence.
+     *
+     * @param roomId        the occupied room
+     * @param reservationId the reservation or series occupying the room
+     * @param start         inclusive start of the occupancy
+     * @param end           exclusive end of the occupancy
+     */
+    public record Occupancy(String roomId, long reservationId, Instant start, Instant end) {
+    }
+
+    /**
+     * Indexes a booked reservation.
+     *
+     * @param roomId        room that was booked
+     * @param reservationId identifier of the reservation
+     * @param interval      normalized booked interval
+     */
+    public void add(String roomId, long reservationId, ReservationInterval interval) {
+        var inserted = new Node(new Occupancy(roomId, reservationId, interval.start(), interval.end()));
+        root.updateAndGet(current -> insert(current, inserted));
+    }
+
+    /**
+     * Indexes every occurrence of a booked series.
+     *
+     * @param roomId room that was booked
+     * @param series booked series
+     */
+    public void add(String roomId, RecurringReservation series) {
+        var inserted = new Node[series.count()];
+        for (int k = 0; k < inserted.length; k++) {
+            var occurrence = series.occurrence(k);
+            inserted[k] = new Node(new Occupancy(roomId, series.id(), occurrence.start(), occurrence.end()));
+        }
+        root.updateAndGet(current -> {
+            var updated = current;
+            for (var node : inserted) {
+                updated = insert(updated, node);
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Removes a cancelled reservation.
+     *
+     * @param roomId   room whose reservation was cancelled
+     * @param interval normalized cancelled interval
+     */
+    public void remove(String roomId, ReservationInterval interval) {
+        root.updateAndGet(current -> delete(current, interval.start(), roomId));
+    }
+
+    /**
+     * Removes every occurrence of a cancelled series.
+     *
+     * @param roomId room whose series was cancelled
+     * @param series cancelled series
+     */
+    public void remove(String roomId, RecurringReservation series) {
+        root.updateAndGet(current -> {
+            var updated = current;
+            for (int k = 0; k < series.count(); k++) {
+                updated = delete(updated, series.occurrence(k).start(), roomId);
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Returns the occupancies overlapping {@code [from, to)} ordered by start and room id.
+     * <p>
+     * Costs O(log n) plus O(log n) per returned occupancy.
+     * </p>
+     *
+     * @param from inclusive start of the queried window
+     * @param to   exclusive end of the queried window; after {@code from}
+     * @return occupancies overlapping the window; never {@code null}
+     */
+    public List<Occupancy> occupied(Instant from, Instant to) {
+        var result = new ArrayList<Occupancy>();
+        collect(root.get(), from, to, result);
+        return result;
+    }
+
+    /**
+     * Returns the occupancies containing {@code instant} ordered by start and room id.
+     *
+     * @param instant queried instant
+     * @return occupancies with start at or before and end after {@code instant}; never {@code null}
+     */
+    public List<Occupancy> occupiedAt(Instant instant) {
+        // The smallest window containing the instant
+        return occupied(instant, instant.plusNanos(1));
+    }
+
+    /**
+     * Returns all occupancies of a single published version of the index ordered by start and room id, without
+     * locking; concurrent updates are not reflected.
+     * <p>
+     * Costs O(n).
+     * </p>
+     *
+     * @return the indexed occupancies; never {@code null}
+     */
+    public List<Occupancy> snapshot() {
+        var snapshot = root.get();
+        var result = new ArrayList<Occupancy>(snapshot == null ? 0 : snapshot.size);
+        collectAll(snapshot, result);
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed occupancies.
+     */
+    public int size() {
+        var snapshot = root.get();
+        return snapshot == null ? 0 : snapshot.size;
+    }
+
+    /**
+     * Drops all occupancies.
+     */
+    public void clear() {
+        root.set(null);
+    }
+
+    /**
+     * In-order traversal pruned by the subtree bounds; the left subtree is skipped when it ends too early,
+     * the node and the right subtree when they start too late.
+     */
+    private static void collect(Node node, Instant from, Instant to, List<Occupancy> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (!node.occupancy.start().isBefore(to)) {
+            return;
+        }
+        if (node.occupancy.end().isAfter(from)) {
+            result.add(node.occupancy);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static void collectAll(Node node, List<Occupancy> result) {
+        if (node == null) {
+            return;
+        }
+        collectAll(node.left, result);
+        result.add(node.occupancy);
+        collectAll(node.right, result);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            var split = split(node, inserted.occupancy);
+            return inserted.with(split[0], split[1]);
+        }
+        return ORDER.compare(inserted.occupancy, node.occupancy) < 0
+                ? node.with(insert(node.left, inserted), node.right)
+                : node.with(node.left, insert(node.right, inserted));
+    }
+
+    /**
+     * Splits into the nodes ordered before {@code key} and the others.
+     */
+    private static Node[] split(Node node, Occupancy key) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (ORDER.compare(node.occupancy, key) < 0) {
+            var split = split(node.right, key);
+            return new Node[]{node.with(node.left, split[0]), split[1]};
+        }
+        var split = split(node.left, key);
+        return new Node[]{split[0], node.with(split[1], node.right)};
+    }
+
+    private static Node delete(Node node, Instant start, String roomId) {
+        if (node == null) {
+            return null;
+        }
+        int compare = start.compareTo(node.occupancy.start());
+        if (compare == 0) {
+            compare = roomId.compareTo(node.occupancy.roomId());
+        }
+        if (compare == 0) {
+            return merge(node.left, node.right);
+        }
+        if (compare < 0) {
+            var left = delete(node.left, start, roomId);
+            return left == node.left ? node : node.with(left, node.right);
+        }
+        var right = delete(node.right, start, roomId);
+        return right == node.right ? node : node.with(node.left, right);
+    }
+
+    /**
+     * Merges two treaps where every node of {@code left} is ordered before every node of {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        return left.priority > right.priority
+                ? left.with(left.left, merge(left.right, right))
+                : right.with(merge(left, right.left), right.right);
+    }
+
+    /**
+     * Immutable treap node.
+     */
+    private static final class Node {
+        final Occupancy occupancy;
+        final int priority;
+        final Node left;
+        final Node right;
+        /**
+         * Latest end in this subtree.
+         */
+        final Instant maxEnd;
+        final int size;
+
+        Node(Occupancy occupancy) {
+            this(occupancy, mix(occupancy), null, null);
+        }
+
+        private Node(Occupancy occupancy, int priority, Node left, Node right) {
+            this.occupancy = occupancy;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            var maxEnd = occupancy.end();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+            this.maxEnd = maxEnd;
+            this.size = 1 + (left == null ? 0 : left.size) + (right == null ? 0 : right.size);
+        }
+
+        Node with(Node left, Node right) {
+            return new Node(occupancy, priority, left, right);
+        }
+
+        /**
+         * Pseudo-random priority derived from the key, so a re-inserted reservation gets the same one.
+         */
+        private static int mix(Occupancy occupancy) {
+            long h = occupancy.start().getEpochSecond() * 0x9E3779B97F4A7C15L + occupancy.roomId().hashCode();
+            h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+            return (int) (h ^ (h >>> 31));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Scans the rooms in parallel on a dedicated {@link ForkJoinPool}.
+ * <p>
+ * The rooms are split into partitions by their {@link Spliterator} until a partition has at most
+ * {@value #PARTITION_SIZE} rooms; partitions are scanned by the pool workers with work stealing.
+ * A search for the first matches stops every partition as soon as enough matches are found.
+ * Using a dedicated pool keeps request threads from competing with unrelated work in the common pool.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class ParallelRoomScanner {
+
+    public ParallelRoomScanner(ReservationProperties reservationProperties) {
+        var parallelism = reservationProperties.parallelSearchParallelism() > 0
+                ? reservationProperties.parallelSearchParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, ParallelRoomScanner::newWorker, null, false);
+        logger.info("Parallel room scanner created. parallelism={}", parallelism);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelRoomScanner.class);
+
+    /**
+     * Maximum number of rooms scanned by one task; large enough to amortize forking, small enough to balance load.
+     */
+    static final int PARTITION_SIZE = 512;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Returns up to {@code limit} matches in no particular order, stopping the scan once they are found.
+     *
+     * @param rooms rooms to scan; the spliterator is consumed
+     * @param match returns the match for a room, or {@code Optional.empty()} if the room does not match
+     * @param limit maximum number of matches; at least 1
+     * @return at most {@code limit} matches; never {@code null}
+     */
+    public <T, R> List<R> findAny(Spliterator<T> rooms, Function<T, Optional<R>> match, int limit) {
+        var matches = new ConcurrentLinkedQueue<R>();
+        pool.invoke(new FindAnyTask<>(rooms, match, limit, new AtomicInteger(), matches));
+        return List.copyOf(matches);
+    }
+
+    /**
+     * Returns the {@code limit} least matches in ascending order; every room is scanned.
+     *
+     * @param rooms      rooms to scan; the spliterator is consumed
+     * @param match      returns the match for a room, or {@code Optional.empty()} if the room does not match
+     * @param comparator orders the matches
+     * @param limit      maximum number of matches; at least 1
+     * @return at most {@code limit} least matches; never {@code null}
+     */
+    public <T, R> List<R> findLeast(Spliterator<T> rooms, Function<T, Optional<R>> match,
+                                    Comparator<? super R> comparator, int limit) {
+        return pool.invoke(new FindLeastTask<>(rooms, match, comparator, limit));
+    }
+
+    /**
+     * Maps every room in no particular order.
+     *
+     * @param rooms  rooms to scan; the spliterator is consumed
+     * @param mapper computes the result of a room
+     * @return the result of every room; never {@code null}
+     */
+    public <T, R> List<R> map(Spliterator<T> rooms, Function<T, R> mapper) {
+        return findAny(rooms, room -> Optional.of(mapper.apply(room)), Integer.MAX_VALUE);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("room-scan-" + worker.getPoolIndex());
+        return worker;
+    }
+
+    private static final class FindAnyTask<T, R> extends RecursiveAction {
+        private final Spliterator<T> rooms;
+        private final Function<T, Optional<R>> match;
+        private final int limit;
+        private final AtomicInteger found;
+        private final ConcurrentLinkedQueue<R> matches;
+
+        FindAnyTask(Spliterator<T> rooms, Function<T, Optional<R>> match, int limit, AtomicInteger found,
+                    ConcurrentLinkedQueue<R> matches) {
+            this.rooms = rooms;
+            this.match = match;
+            this.limit = limit;
+            this.found = found;
+            this.matches = matches;
+        }
+
+        @Override
+        protected void compute() {
+            var forked = new ArrayList<FindAnyTask<T, R>>();
+            Spliterator<T> partition;
+            while (rooms.estimateSize() > PARTITION_SIZE && !done() && (partition = rooms.trySplit()) != null) {
+                var task = new FindAnyTask<>(partition, match, limit, found, matches);
+                task.fork();
+                forked.add(task);
+            }
+            // Every room checks the shared count, so all partitions stop shortly after the limit is reached
+            while (!done() && rooms.tryAdvance(room -> match.apply(room).ifPresent(this::add))) {
+                // scanning
+            }
+            forked.forEach(FindAnyTask::join);
+        }
+
+        private boolean done() {
+            return found.get() >= limit;
+        }
+
+        private void add(R result) {
+            if (found.incrementAndGet() <= limit) {
+                matches.add(result);
+            }
+        }
+    }
+
+    private static final class FindLeastTask<T, R> extends RecursiveTask<List<R>> {
+        private final Spliterator<T> rooms;
+        private final Function<T, Optional<R>> match;
+        private final Comparator<? super R> comparator;
+        private final int limit;
+
+        FindLeastTask(Spliterator<T> rooms, Function<T, Optional<R>> match, Comparator<? super R> comparator,
+                      int limit) {
+            this.rooms = rooms;
+            this.match = match;
+            this.comparator = comparator;
+            this.limit = limit;
+        }
+
+        @Override
+        protected List<R> compute() {
+            Spliterator<T> partition;
+            if (rooms.estimateSize() > PARTITION_SIZE && (partition = rooms.trySplit()) != null) {
+                var left = new FindLeastTask<>(partition, match, comparator, limit);
+                left.fork();
+                var right = compute();
+                return merge(left.join(), right);
+            }
+            var least = new ArrayList<R>();
+            rooms.forEachRemaining(room -> match.apply(room).ifPresent(least::add));
+            least.sort(comparator);
+            return least.size() > limit ? least.subList(0, limit) : least;
+        }
+
+        private List<R> merge(List<R> left, List<R> right) {
+            var merged = new ArrayList<R>(Math.min(limit, left.size() + right.size()));
+            int l = 0;
+            int r = 0;
+            while (merged.size() < limit && (l < left.size() || r < right.size())) {
+                if (r == right.size() || (l < left.size() && comparator.compare(left.get(l), right.get(r)) <= 0)) {
+                    merged.add(left.get(l++));
+                } else {
+                    merged.add(right.get(r++));
+                }
+            }
+            return merged;
+        }
+    }
+}
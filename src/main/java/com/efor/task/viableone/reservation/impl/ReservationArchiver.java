@@ -0,0 +1,99 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Periodically moves the reservations that ended more than {@code reservation.archive.after} ago into the compact
+ * cold segments of their rooms, see {@link DefaultRoomReservationService#archive(java.time.Instant)}.
+ * <p>
+ * Runs on a single background thread started by {@link #start()}; each room is archived and compacted under its
+ * room lock, so bookings of other rooms are not held up.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class ReservationArchiver implements MeterBinder {
+
+    public ReservationArchiver(DefaultRoomReservationService reservationService,
+                               ReservationProperties reservationProperties) {
+        var properties = reservationProperties.archive();
+        this.reservationService = reservationService;
+        this.after = properties.after();
+        this.interval = properties.interval();
+        this.enabled = properties.enabled();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationArchiver.class);
+
+    private final DefaultRoomReservationService reservationService;
+    private final Duration after;
+    private final Duration interval;
+    private final Clock clock = Clock.systemUTC();
+    private final boolean enabled;
+    private volatile Thread worker;
+    private final LongAdder archived = new LongAdder();
+
+    /**
+     * Archives the reservations that ended more than {@code after} ago.
+     *
+     * @return the number of reservations archived
+     */
+    public int archive() {
+        int count = reservationService.archive(clock.instant().minus(after));
+        archived.add(count);
+        return count;
+    }
+
+    /**
+     * Starts the background thread, if archiving is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (enabled && worker == null) {
+            worker = Thread.ofVirtual().name("reservation-archiver").start(this::run);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        var worker = this.worker;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("reservation.archive.archived", archived, LongAdder::sum)
+                .description("Past reservations moved into compact cold segments")
+                .register(registry);
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(interval);
+                try {
+                    archive();
+                } catch (RuntimeException e) {
+                    logger.warn("Archiving reservations has failed.", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
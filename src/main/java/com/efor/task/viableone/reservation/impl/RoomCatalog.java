@@ -0,0 +1,181 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Attributes of the rooms with an inverted index of bitsets for attribute filtering.
+ * <p>
+ * Every room gets a dense ordinal when its attributes are first set. For each attribute value the index keeps
+ * a bitset of the ordinals of the rooms having it, so matching rooms are found by intersecting a few bitsets
+ * without looking at the rooms themselves:
+ * </p>
+ * <ul>
+ *     <li>equipment tag and location — one bitset per value;</li>
+ *     <li>capacity — one bitset per distinct capacity, ordered; a minimum capacity is the union of the tail.</li>
+ * </ul>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe; updates are serialized, matching runs under a shared read lock.</p>
+ */
+@Component
+public class RoomCatalog {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * Room ids by ordinal; guarded by {@link #lock}.
+     */
+    private final List<String> roomIds = new ArrayList<>();
+    /**
+     * Guarded by {@link #lock}.
+     */
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    /**
+     * Guarded by {@link #lock}.
+     */
+    private final Map<String, RoomAttributes> attributes = new HashMap<>();
+    /**
+     * Rooms with attributes; guarded by {@link #lock}.
+     */
+    private final BitSet described = new BitSet();
+    /**
+     * Guarded by {@link #lock}.
+     */
+    private final NavigableMap<Integer, BitSet> byCapacity = new TreeMap<>();
+    /**
+     * Guarded by {@link #lock}.
+     */
+    private final Map<String, BitSet> byEquipment = new HashMap<>();
+    /**
+     * Guarded by {@link #lock}.
+     */
+    private final Map<String, BitSet> byLocation = new HashMap<>();
+
+    /**
+     * Sets the attributes of the room, replacing the previous ones.
+     *
+     * @param roomId     normalized room identifier
+     * @param attributes new attributes of the room
+     */
+    public void put(String roomId, RoomAttributes attributes) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.computeIfAbsent(roomId, __ -> {
+                roomIds.add(roomId);
+                return roomIds.size() - 1;
+            });
+            var previous = this.attributes.put(roomId, attributes);
+            if (previous != null) {
+                unindex(ordinal, previous);
+            }
+            index(ordinal, attributes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the attributes of the room.
+     *
+     * @param roomId normalized room identifier
+     * @return the attributes, or {@code Optional.empty()} if none were set
+     */
+    public Optional<RoomAttributes> get(String roomId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(attributes.get(roomId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the rooms whose attributes satisfy the attribute constraints, in ordinal order.
+     * <p>
+     * Room id constraints are not applied. Costs O(rooms / 64) per constrained attribute value plus
+     * O(matching rooms).
+     * </p>
+     *
+     * @param constraints attribute constraints to satisfy
+     * @return identifiers of the matching rooms; never {@code null}
+     */
+    public List<String> matchingRooms(RoomConstraints constraints) {
+        lock.readLock().lock();
+        try {
+            var matching = capacityAtLeast(constraints.minCapacity());
+            for (var tag : constraints.equipment()) {
+                matching.and(byEquipment.getOrDefault(tag, new BitSet()));
+            }
+            if (constraints.location() != null) {
+                matching.and(byLocation.getOrDefault(constraints.location(), new BitSet()));
+            }
+            return matching.stream().mapToObj(roomIds::get).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops all attributes.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            roomIds.clear();
+            ordinals.clear();
+            attributes.clear();
+            described.clear();
+            byCapacity.clear();
+            byEquipment.clear();
+            byLocation.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet capacityAtLeast(int minCapacity) {
+        if (minCapacity == 0) {
+            return (BitSet) described.clone();
+        }
+        var result = new BitSet();
+        byCapacity.tailMap(minCapacity, true).values().forEach(result::or);
+        return result;
+    }
+
+    private void index(int ordinal, RoomAttributes attributes) {
+        described.set(ordinal);
+        byCapacity.computeIfAbsent(attributes.capacity(), __ -> new BitSet()).set(ordinal);
+        attributes.equipment().forEach(tag -> byEquipment.computeIfAbsent(tag, __ -> new BitSet()).set(ordinal));
+        if (attributes.location() != null) {
+            byLocation.computeIfAbsent(attributes.location(), __ -> new BitSet()).set(ordinal);
+        }
+    }
+
+    private void unindex(int ordinal, RoomAttributes attributes) {
+        described.clear(ordinal);
+        clear(byCapacity, attributes.capacity(), ordinal);
+        attributes.equipment().forEach(tag -> clear(byEquipment, tag, ordinal));
+        if (attributes.location() != null) {
+            clear(byLocation, attributes.location(), ordinal);
+        }
+    }
+
+    private static <K> void clear(Map<K, BitSet> index, K key, int ordinal) {
+        var rooms = index.get(key);
+        rooms.clear(ordinal);
+        if (rooms.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
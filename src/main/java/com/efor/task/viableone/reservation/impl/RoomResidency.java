@@ -0,0 +1,245 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.StorageType;
+import com.efor.task.viableone.reservation.model.ReservationStore;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Keeps the reservations of the rooms used recently on the heap within a memory budget and spills the others to
+ * disk, see {@link SpillableReservationStore}.
+ * <p>
+ * Rooms are evicted by the clock algorithm: every access to a room sets its reference bit, and the clock hand
+ * passes over the resident rooms clearing the bits until it finds a room not referenced since its last pass.
+ * Eviction runs on a background thread whenever the estimated heap of the resident rooms exceeds the budget and
+ * skips rooms whose room lock is held. Series stay on the heap with their room.
+ * </p>
+ * <p>
+ * The budget covers only the {@link ReservationStore} of each room. The indexes {@link DefaultRoomReservationService}
+ * derives from every reservation stay on the heap for spilled rooms too and are neither counted nor evicted.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class RoomResidency implements MeterBinder {
+
+    @Autowired
+    public RoomResidency(ReservationProperties reservationProperties) {
+        this(reservationProperties, true);
+    }
+
+    /**
+     * @param background whether rooms are evicted on a background thread started by {@link #start()}; otherwise
+     *                   only by {@link #evict()}
+     */
+    RoomResidency(ReservationProperties reservationProperties, boolean background) {
+        var properties = reservationProperties.residency();
+        this.enabled = properties.enabled();
+        this.memoryBudget = properties.memoryBudget().toBytes();
+        this.temporaryDirectory = properties.directory() == null;
+        if (!enabled) {
+            this.directory = null;
+            this.background = false;
+            return;
+        }
+        if (reservationProperties.storage().type() != StorageType.HEAP) {
+            throw new IllegalStateException("reservation.residency requires the heap storage");
+        }
+        try {
+            this.directory = temporaryDirectory
+                    ? Files.createTempDirectory("room-residency")
+                    : Files.createDirectories(properties.directory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the residency directory", e);
+        }
+        this.background = background;
+        logger.info("Room residency enabled. directory='{}', memoryBudget={}", directory, properties.memoryBudget());
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomResidency.class);
+
+    private final boolean enabled;
+    private final long memoryBudget;
+    private final Path directory;
+    private final boolean temporaryDirectory;
+    private final boolean background;
+    private volatile Thread pager;
+    private final Semaphore overBudget = new Semaphore(0);
+    /**
+     * Clock of the tracked rooms; guarded by {@code this}.
+     */
+    private final List<SpillableReservationStore> clock = new ArrayList<>();
+    private int hand;
+    private final AtomicLong residentBytes = new AtomicLong();
+    private final LongAdder faults = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts the background eviction thread, if enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (enabled && background && pager == null) {
+            pager = Thread.ofVirtual().name("room-pager").start(this::page);
+        }
+    }
+
+    /**
+     * Creates the store of a new room and starts tracking its residency.
+     *
+     * @param roomId   the room
+     * @param roomLock the lock guarding changes of the room; held while the room is spilled
+     */
+    public ReservationStore track(String roomId, Lock roomLock) {
+        var file = directory.resolve(Hashing.murmur3_128().hashString(roomId, StandardCharsets.UTF_8) + ".spill");
+        var store = new SpillableReservationStore(this, roomId, roomLock, file);
+        synchronized (this) {
+            clock.add(store);
+        }
+        return store;
+    }
+
+    /**
+     * Spills rooms until the resident rooms fit the memory budget or no room can be spilled; runs the clock hand
+     * at most twice around.
+     *
+     * @return the number of rooms spilled
+     */
+    public synchronized int evict() {
+        int spilled = 0;
+        for (int step = 0; step < 2 * clock.size() && residentBytes.get() > memoryBudget; step++) {
+            hand = hand < clock.size() ? hand : 0;
+            var store = clock.get(hand++);
+            if (!store.isResident() || store.clearReferenced()) {
+                continue;
+            }
+            long released = store.trySpill();
+            if (!store.isResident()) {
+                residentBytes.addAndGet(-released);
+                evictions.increment();
+                spilled++;
+                logger.debug("Room spilled. roomId='{}', bytes={}", store.roomId(), released);
+            }
+        }
+        return spilled;
+    }
+
+    /**
+     * Returns the estimated heap taken by the reservations of the resident rooms.
+     */
+    public long residentBytes() {
+        return residentBytes.get();
+    }
+
+    public long faults() {
+        return faults.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Stops tracking all rooms and deletes their spill files.
+     */
+    public synchronized void clear() {
+        clock.forEach(SpillableReservationStore::delete);
+        clock.clear();
+        hand = 0;
+        residentBytes.set(0);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        var pager = this.pager;
+        if (pager != null) {
+            pager.interrupt();
+        }
+        clear();
+        if (temporaryDirectory) {
+            FileSystemUtils.deleteRecursively(directory.toFile());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        FunctionCounter.builder("reservation.residency.faults", faults, LongAdder::sum)
+                .description("Spilled rooms loaded back on access")
+                .register(registry);
+        FunctionCounter.builder("reservation.residency.evictions", evictions, LongAdder::sum)
+                .description("Rooms spilled to disk to stay within the memory budget")
+                .register(registry);
+        Gauge.builder("reservation.residency.resident.bytes", residentBytes, AtomicLong::get)
+                .description("Estimated heap taken by the reservations of the resident rooms")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("reservation.residency.resident.rooms", this, RoomResidency::residentRooms)
+                .description("Rooms whose reservations are on the heap")
+                .register(registry);
+    }
+
+    void onResidentBytes(long delta) {
+        if (residentBytes.addAndGet(delta) > memoryBudget && delta > 0) {
+            overBudget.release();
+        }
+    }
+
+    void onFault(long bytes) {
+        faults.increment();
+        onResidentBytes(bytes);
+    }
+
+    private synchronized long residentRooms() {
+        return clock.stream().filter(SpillableReservationStore::isResident).count();
+    }
+
+    private void page() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                overBudget.acquire();
+                overBudget.drainPermits();
+                try {
+                    evict();
+                } catch (RuntimeException e) {
+                    logger.warn("Room eviction has failed.", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.efor.task.viableone.reservation.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations of the same key.
+ * <p>
+ * The first caller of {@link #execute(Object, Supplier)} for a key runs the computation on its own thread;
+ * callers arriving while it is in flight wait for it and receive the same result or exception.
+ * Once the computation completes, the next caller starts a new one - results are not cached.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ *
+ * @param <K> key identifying identical computations
+ * @param <V> computed value
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Runs {@code computation} for {@code key} unless an identical computation is already in flight,
+     * in which case waits for its result.
+     *
+     * @param key         identifies identical computations
+     * @param computation computes the value
+     * @return the computed value
+     */
+    public V execute(K key, Supplier<V> computation) {
+        var future = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            shared.increment();
+            return await(existing);
+        }
+
+        try {
+            var value = computation.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Returns the number of calls that received the result of a computation started by another caller.
+     *
+     * @return number of coalesced calls
+     */
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.model.HeapReservationStore;
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.Reservation;
+import com.efor.task.viableone.reservation.model.ReservationStore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * {@link ReservationStore} of a room managed by {@link RoomResidency}: the reservations are kept in a
+ * {@link HeapReservationStore} while the room is resident and in a spill file while it is not.
+ * <p>
+ * Any access to a spilled room faults its reservations back in before it proceeds. A room is only spilled while
+ * its room lock is held, so a booking holding the lock never sees the room spilled or half loaded; lock-free
+ * readers keep reading the reservations they started with.
+ * </p>
+ * <p>
+ * The heap the room takes is reported to the residency as {@link HeapReservationStore#heapBytes()} after every
+ * change, so archiving reservations into cold segments lowers it. The spill file holds the store as written by
+ * {@link HeapReservationStore#writeTo(java.io.DataOutput)}: the cold segments come back as they were encoded and only
+ * the hot reservations are rebuilt. It is only rewritten if the room changed since it was faulted in.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Changes are made under the room lock; reads may run concurrently.</p>
+ */
+final class SpillableReservationStore implements ReservationStore {
+
+    SpillableReservationStore(RoomResidency residency, String roomId, Lock roomLock, Path file) {
+        this.residency = residency;
+        this.roomId = roomId;
+        this.roomLock = roomLock;
+        this.file = file;
+    }
+
+    private final RoomResidency residency;
+    private final String roomId;
+    private final Lock roomLock;
+    private final Path file;
+    /**
+     * The reservations while the room is resident, {@code null} while it is spilled.
+     */
+    private volatile HeapReservationStore resident = new HeapReservationStore();
+    /**
+     * Clock reference bit; set on every access, cleared by a pass of the clock hand.
+     */
+    private volatile boolean referenced = true;
+    /**
+     * Whether the reservations differ from the spill file.
+     */
+    private boolean dirty = true;
+    /**
+     * Heap of the reservations last reported to the residency; changed under the room lock, or by a fault while the
+     * room is spilled.
+     */
+    private long residentBytes;
+
+    @Override
+    public Reservation get(Instant start) {
+        return resident().get(start);
+    }
+
+    @Override
+    public Reservation floor(Instant start) {
+        return resident().floor(start);
+    }
+
+    @Override
+    public Reservation ceiling(Instant start) {
+        return resident().ceiling(start);
+    }
+
+    @Override
+    public Reservation higher(Instant start) {
+        return resident().higher(start);
+    }
+
+    @Override
+    public Reservation first() {
+        return resident().first();
+    }
+
+    @Override
+    public Reservation last() {
+        return resident().last();
+    }
+
+    @Override
+    public List<Reservation> startingBetween(Instant from, Instant to) {
+        return resident().startingBetween(from, to);
+    }
+
+    @Override
+    public List<Reservation> values() {
+        return resident().values();
+    }
+
+    @Override
+    public Reservation put(Reservation reservation) {
+        var reservations = resident();
+        var replaced = reservations.put(reservation);
+        dirty = true;
+        account(reservations);
+        return replaced;
+    }
+
+    @Override
+    public void putAll(List<Reservation> reservations) {
+        var store = resident();
+        store.putAll(reservations);
+        dirty = true;
+        account(store);
+    }
+
+    @Override
+    public Reservation remove(Instant start) {
+        var reservations = resident();
+        var removed = reservations.remove(start);
+        if (removed != null) {
+            dirty = true;
+            account(reservations);
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return resident().size();
+    }
+
+    /**
+     * Archives only while the room is resident; a spilled room is not loaded just to be archived.
+     */
+    @Override
+    public int archive(Instant before) {
+        var reservations = resident;
+        if (reservations == null) {
+            return 0;
+        }
+        int archived = reservations.archive(before);
+        if (archived > 0) {
+            dirty = true;
+            account(reservations);
+        }
+        return archived;
+    }
+
+    @Override
+    public boolean compact() {
+        var reservations = resident;
+        if (reservations == null || !reservations.compact()) {
+            return false;
+        }
+        dirty = true;
+        account(reservations);
+        return true;
+    }
+
+    @Override
+    public List<RecurringReservation> series() {
+        return List.of();
+    }
+
+    @Override
+    public void saveSeries(Collection<RecurringReservation> series) {
+        // Kept on the heap by RoomReservations, series are few and small
+    }
+
+    @Override
+    public void close() {
+    }
+
+    String roomId() {
+        return roomId;
+    }
+
+    boolean isResident() {
+        return resident != null;
+    }
+
+    /**
+     * Clears the reference bit and returns whether it was set.
+     */
+    boolean clearReferenced() {
+        if (referenced) {
+            referenced = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes the reservations to the spill file and drops them from the heap, unless the room lock is held by
+     * another thread or the room is not resident.
+     *
+     * @return the estimated heap released, 0 if the room was not spilled
+     */
+    long trySpill() {
+        if (!roomLock.tryLock()) {
+            return 0;
+        }
+        try {
+            synchronized (this) {
+                var reservations = resident;
+                if (reservations == null) {
+                    return 0;
+                }
+                if (dirty) {
+                    write(reservations);
+                    dirty = false;
+                }
+                resident = null;
+                long released = residentBytes;
+                residentBytes = 0;
+                return released;
+            }
+        } finally {
+            roomLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the spill file.
+     */
+    void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete the spill file of room '" + roomId + "'", e);
+        }
+    }
+
+    private HeapReservationStore resident() {
+        if (!referenced) {
+            referenced = true;
+        }
+        var reservations = resident;
+        return reservations != null ? reservations : faultIn();
+    }
+
+    private synchronized HeapReservationStore faultIn() {
+        var reservations = resident;
+        if (reservations != null) {
+            return reservations;
+        }
+        reservations = read();
+        residentBytes = reservations.heapBytes();
+        resident = reservations;
+        residency.onFault(residentBytes);
+        return reservations;
+    }
+
+    /**
+     * Reports the change of the heap taken by the reservations to the residency.
+     */
+    private void account(HeapReservationStore reservations) {
+        long bytes = reservations.heapBytes();
+        residency.onResidentBytes(bytes - residentBytes);
+        residentBytes = bytes;
+    }
+
+    private void write(HeapReservationStore reservations) {
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            reservations.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot spill room '" + roomId + "'", e);
+        }
+    }
+
+    private HeapReservationStore read() {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return HeapReservationStore.readFrom(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot fault in room '" + roomId + "'", e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Booked minutes per room and UTC hour, maintained on every booking and cancellation.
+ * <p>
+ * The booked minutes of a room per hour are kept as range additions over the hours: a reservation adds its minutes
+ * of the first and of the last hour it touches and 60 minutes to every hour in between, at most three additions
+ * whatever its length. The additions are recorded in a sparse Fenwick tree over the hours, so an update touches
+ * O(log hours) nodes and a report sums O(log hours) nodes per bucket of its window, without scanning any
+ * reservation. Nodes are merged atomically in concurrent maps and dropped once they are back to zero, so cancelled
+ * reservations leave no node behind; reports take no lock.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe; a report running concurrently with updates may include part of
+ * an update, e.g. some occurrences of a series being booked.</p>
+ */
+@Component
+public class UtilizationAggregates {
+
+    private static final long MINUTES_PER_HOUR = 60;
+    /**
+     * Hours since the epoch of every {@link Instant} lie within &plusmn;2^43, so an index of 2^44 covers them all.
+     */
+    private static final long HOUR_OFFSET = 1L << 43;
+    private static final long INDEX_LIMIT = 1L << 44;
+
+    /**
+     * Fenwick tree nodes by room id and index.
+     */
+    private final Map<String, ConcurrentMap<Long, Node>> bookedMinutes = new ConcurrentHashMap<>();
+
+    /**
+     * Counts a booked reservation.
+     *
+     * @param roomId   room that was booked
+     * @param interval normalized booked interval
+     */
+    public void add(String roomId, ReservationInterval interval) {
+        update(nodes(roomId), interval, 1);
+    }
+
+    /**
+     * Counts every occurrence of a booked series.
+     *
+     * @param roomId room that was booked
+     * @param series booked series
+     */
+    public void add(String roomId, RecurringReservation series) {
+        var nodes = nodes(roomId);
+        for (int k = 0; k < series.count(); k++) {
+            update(nodes, series.occurrence(k), 1);
+        }
+    }
+
+    /**
+     * Discounts a cancelled reservation.
+     *
+     * @param roomId   room whose reservation was cancelled
+     * @param interval normalized cancelled interval
+     */
+    public void remove(String roomId, ReservationInterval interval) {
+        update(nodes(roomId), interval, -1);
+    }
+
+    /**
+     * Discounts every occurrence of a cancelled series.
+     *
+     * @param roomId room whose series was cancelled
+     * @param series cancelled series
+     */
+    public void remove(String roomId, RecurringReservation series) {
+        var nodes = nodes(roomId);
+        for (int k = 0; k < series.count(); k++) {
+            update(nodes, series.occurrence(k), -1);
+        }
+    }
+
+    /**
+     * Returns the booked minutes of the room in consecutive buckets.
+     *
+     * @param roomId      room identifier
+     * @param from        start of the first bucket; a whole hour
+     * @param bucketHours length of a bucket in hours; at least 1
+     * @param bucketCount number of buckets
+     * @return booked minutes per bucket; never {@code null}
+     */
+    public long[] bookedMinutes(String roomId, Instant from, int bucketHours, int bucketCount) {
+        var result = new long[bucketCount];
+        var nodes = bookedMinutes.get(roomId);
+        if (nodes == null || nodes.isEmpty()) {
+            return result;
+        }
+        long hour = hour(from);
+        long before = cumulativeMinutes(nodes, hour - 1);
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            hour += bucketHours;
+            long through = cumulativeMinutes(nodes, hour - 1);
+            result[bucket] = through - before;
+            before = through;
+        }
+        return result;
+    }
+
+    /**
+     * Drops all counters.
+     */
+    public void clear() {
+        bookedMinutes.clear();
+    }
+
+    /**
+     * Returns the number of tree nodes kept for the room. For testing purposes.
+     */
+    int nodeCount(String roomId) {
+        var nodes = bookedMinutes.get(roomId);
+        return nodes == null ? 0 : nodes.size();
+    }
+
+    private ConcurrentMap<Long, Node> nodes(String roomId) {
+        return bookedMinutes.computeIfAbsent(roomId, __ -> new ConcurrentHashMap<>());
+    }
+
+    private static void update(ConcurrentMap<Long, Node> nodes, ReservationInterval interval, int sign) {
+        long start = Math.floorDiv(interval.start().getEpochSecond(), 60);
+        long end = Math.floorDiv(interval.end().getEpochSecond(), 60);
+        if (start >= end) {
+            return;
+        }
+        long firstHour = Math.floorDiv(start, MINUTES_PER_HOUR);
+        long lastHour = Math.floorDiv(end - 1, MINUTES_PER_HOUR);
+        if (firstHour == lastHour) {
+            addRange(nodes, firstHour, firstHour + 1, sign * (end - start));
+            return;
+        }
+        addRange(nodes, firstHour, firstHour + 1, sign * ((firstHour + 1) * MINUTES_PER_HOUR - start));
+        if (lastHour > firstHour + 1) {
+            addRange(nodes, firstHour + 1, lastHour, sign * MINUTES_PER_HOUR);
+        }
+        addRange(nodes, lastHour, lastHour + 1, sign * (end - lastHour * MINUTES_PER_HOUR));
+    }
+
+    /**
+     * Adds {@code minutes} to every hour in {@code [fromHour, toHour)}.
+     */
+    private static void addRange(ConcurrentMap<Long, Node> nodes, long fromHour, long toHour, long minutes) {
+        addPoint(nodes, fromHour, minutes);
+        addPoint(nodes, toHour, -minutes);
+    }
+
+    /**
+     * Adds {@code delta} to the hourly difference at {@code hour}, from which the minutes of every later hour follow.
+     * Nodes back to zero are removed by the same atomic merge, so a concurrent update never adds to a dropped node.
+     */
+    private static void addPoint(ConcurrentMap<Long, Node> nodes, long hour, long delta) {
+        var node = new Node(delta, delta * hour);
+        for (long index = hour + HOUR_OFFSET; index < INDEX_LIMIT; index += index & -index) {
+            nodes.merge(index, node, Node::plus);
+        }
+    }
+
+    /**
+     * Returns the booked minutes of all hours up to and including {@code hour}.
+     * <p>
+     * With d(k) the hourly differences, the minutes of hour j are the sum of d(k) for k &le; j, and their sum over
+     * j &le; h is (h + 1) &middot; &Sigma; d(k) &minus; &Sigma; k &middot; d(k). Both products may overflow for distant
+     * hours, but the result fits in a long, so the wrapped arithmetic is exact.
+     * </p>
+     */
+    private static long cumulativeMinutes(Map<Long, Node> nodes, long hour) {
+        long differences = 0;
+        long weighted = 0;
+        for (long index = hour + HOUR_OFFSET; index > 0; index -= index & -index) {
+            var node = nodes.get(index);
+            if (node != null) {
+                differences += node.difference();
+                weighted += node.weighted();
+            }
+        }
+        return (hour + 1) * differences - weighted;
+    }
+
+    private static long hour(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), MINUTES_PER_HOUR * 60);
+    }
+
+    /**
+     * Fenwick tree node: sums of the hourly differences d(k) and of k &middot; d(k) it covers.
+     */
+    private record Node(long difference, long weighted) {
+
+        Node plus(Node other) {
+            long sumDifference = difference + other.difference;
+            long sumWeighted = weighted + other.weighted;
+            return sumDifference == 0 && sumWeighted == 0 ? null : new Node(sumDifference, sumWeighted);
+        }
+    }
+}
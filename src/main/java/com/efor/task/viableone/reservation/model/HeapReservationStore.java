@@ -0,0 +1,425 @@
+package com.efor.task.viableone.reservation.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * {@link ReservationStore} keeping the single reservations on the heap; the series are kept by
+ * {@link RoomReservations} itself, so they are not stored here.
+ * <p>
+ * New reservations go to a mutable hot segment, a {@link TreeMap}. {@link #archive(Instant)} moves the reservations
+ * that have ended into a new immutable cold {@link ReservationSegment}, which takes a few bytes per reservation;
+ * {@link #compact()} merges the cold segments once there are more than {@value #MAX_SEGMENTS} or a quarter of their
+ * reservations is removed. A lookup consults the hot segment and every cold segment and takes the nearest match.
+ * Bulk loaded reservations that have ended go straight into a new cold segment, the others into the hot segment, see
+ * {@link #putAll(List)}.
+ * </p>
+ * <p>
+ * {@link #heapBytes()} estimates the heap taken by the reservations and {@link #writeTo(DataOutput)} writes them with
+ * the cold segments as they are encoded, for a store that is moved off the heap and read back.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Not thread-safe.</p>
+ */
+public class HeapReservationStore implements ReservationStore {
+
+    static final Comparator<Reservation> BY_START = Comparator.comparing(reservation -> reservation.interval().start());
+
+    /**
+     * Estimated heap taken by one reservation of the hot segment: the tree entry, the reservation, its interval and
+     * instants.
+     */
+    public static final long HOT_RESERVATION_BYTES = 136;
+
+    /**
+     * Number of cold segments from which they are merged into one.
+     */
+    static final int MAX_SEGMENTS = 4;
+
+    /**
+     * Ordered by interval start time.
+     */
+    private final NavigableMap<Instant, Reservation> intervals = new TreeMap<>();
+    /**
+     * Cold segments with disjoint starts, oldest first.
+     */
+    private List<ReservationSegment> segments = List.of();
+    private int coldSize;
+    private final Clock clock;
+
+    public HeapReservationStore() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * @param clock clock deciding which bulk loaded reservations have ended
+     */
+    public HeapReservationStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Reservation get(Instant start) {
+        var reservation = intervals.get(start);
+        for (int i = 0; reservation == null && i < segments.size(); i++) {
+            reservation = segments.get(i).get(start);
+        }
+        return reservation;
+    }
+
+    @Override
+    public Reservation floor(Instant start) {
+        var floor = valueOf(intervals.floorEntry(start));
+        for (var segment : segments) {
+            floor = later(floor, segment.floor(start));
+        }
+        return floor;
+    }
+
+    @Override
+    public Reservation ceiling(Instant start) {
+        var ceiling = valueOf(intervals.ceilingEntry(start));
+        for (var segment : segments) {
+            ceiling = earlier(ceiling, segment.ceiling(start));
+        }
+        return ceiling;
+    }
+
+    @Override
+    public Reservation higher(Instant start) {
+        var higher = valueOf(intervals.higherEntry(start));
+        for (var segment : segments) {
+            higher = earlier(higher, segment.higher(start));
+        }
+        return higher;
+    }
+
+    @Override
+    public Reservation first() {
+        var first = valueOf(intervals.firstEntry());
+        for (var segment : segments) {
+            first = earlier(first, segment.first());
+        }
+        return first;
+    }
+
+    @Override
+    public Reservation last() {
+        var last = valueOf(intervals.lastEntry());
+        for (var segment : segments) {
+            last = later(last, segment.last());
+        }
+        return last;
+    }
+
+    @Override
+    public List<Reservation> startingBetween(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        var hot = intervals.subMap(from, false, to, false).values();
+        if (segments.isEmpty()) {
+            return List.copyOf(hot);
+        }
+        List<Reservation> reservations = new ArrayList<>(hot);
+        segments.forEach(segment -> reservations.addAll(segment.startingBetween(from, to)));
+        reservations.sort(BY_START);
+        return List.copyOf(reservations);
+    }
+
+    @Override
+    public List<Reservation> values() {
+        if (segments.isEmpty()) {
+            return List.copyOf(intervals.values());
+        }
+        List<Reservation> reservations = new ArrayList<>(size());
+        segments.forEach(segment -> reservations.addAll(segment.values()));
+        reservations.addAll(intervals.values());
+        reservations.sort(BY_START);
+        return List.copyOf(reservations);
+    }
+
+    @Override
+    public Reservation put(Reservation reservation) {
+        var start = reservation.interval().start();
+        var replaced = intervals.put(start, reservation);
+        return replaced != null ? replaced : removeCold(start);
+    }
+
+    /**
+     * Adds the reservations that have ended as a new cold segment, encoded in one pass over them, and the others to
+     * the hot segment, built in one pass over them if the hot segment is empty.
+     * <p>
+     * <strong>Time complexity:</strong> O(m), m = added reservations, unless the cold segments are merged or the hot
+     * segment is not empty; O(m log n) otherwise.
+     * </p>
+     */
+    @Override
+    public void putAll(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        var now = clock.instant();
+        // Reservations of a room do not overlap, so ordered by start they are ordered by end too
+        int ended = 0;
+        while (ended < reservations.size() && !reservations.get(ended).interval().end().isAfter(now)) {
+            ended++;
+        }
+        putHot(reservations.subList(ended, reservations.size()));
+        if (ended > 0) {
+            var merged = new ArrayList<>(segments);
+            merged.add(ReservationSegment.of(reservations.subList(0, ended)));
+            segments = List.copyOf(merged);
+            coldSize += ended;
+            compact();
+        }
+    }
+
+    @Override
+    public Reservation remove(Instant start) {
+        var removed = intervals.remove(start);
+        return removed != null ? removed : removeCold(start);
+    }
+
+    @Override
+    public int size() {
+        return intervals.size() + coldSize;
+    }
+
+    /**
+     * Moves the reservations ending at or before {@code before} from the hot segment into a new cold segment.
+     * <p>
+     * <strong>Time complexity:</strong> O(k log n), k = reservations starting before {@code before}.
+     * </p>
+     */
+    @Override
+    public int archive(Instant before) {
+        var archived = intervals.headMap(before, false).values().stream()
+                .filter(reservation -> !reservation.interval().end().isAfter(before))
+                .toList();
+        if (archived.isEmpty()) {
+            return 0;
+        }
+        archived.forEach(reservation -> intervals.remove(reservation.interval().start()));
+        var merged = new ArrayList<>(segments);
+        merged.add(ReservationSegment.of(archived));
+        segments = List.copyOf(merged);
+        coldSize += archived.size();
+        return archived.size();
+    }
+
+    /**
+     * Merges the cold segments into one if there are more than {@value #MAX_SEGMENTS} or a quarter of their
+     * reservations is removed.
+     * <p>
+     * <strong>Time complexity:</strong> O(c log c), c = cold reservations, if merged.
+     * </p>
+     */
+    @Override
+    public boolean compact() {
+        int encoded = segments.stream().mapToInt(ReservationSegment::encodedSize).sum();
+        if (segments.size() <= MAX_SEGMENTS && (encoded - coldSize) * 4 <= encoded) {
+            return false;
+        }
+        var merged = ReservationSegment.merge(segments);
+        segments = merged.encodedSize() == 0 ? List.of() : List.of(merged);
+        return true;
+    }
+
+    /**
+     * Returns the estimated heap taken by the reservations: the hot reservations and the encoded cold segments.
+     * <p>
+     * <strong>Time complexity:</strong> O(s), s = cold segments.
+     * </p>
+     */
+    public long heapBytes() {
+        long bytes = intervals.size() * HOT_RESERVATION_BYTES;
+        for (var segment : segments) {
+            bytes += segment.encodedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the cold segments as they are encoded, followed by the hot reservations.
+     * <p>
+     * <strong>Time complexity:</strong> O(h + b), h = hot reservations, b = encoded bytes of the cold segments.
+     * </p>
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(segments.size());
+        for (var segment : segments) {
+            segment.writeTo(out);
+        }
+        out.writeInt(intervals.size());
+        for (var reservation : intervals.values()) {
+            out.writeLong(reservation.interval().start().getEpochSecond() / 60);
+            out.writeLong(reservation.interval().end().getEpochSecond() / 60);
+            out.writeLong(reservation.id());
+        }
+    }
+
+    /**
+     * Reads a store written by {@link #writeTo(DataOutput)}, restoring the cold segments as they were and building
+     * the hot segment in one pass.
+     * <p>
+     * <strong>Time complexity:</strong> O(h + b), h = hot reservations, b = encoded bytes of the cold segments.
+     * </p>
+     */
+    public static HeapReservationStore readFrom(DataInput in) throws IOException {
+        var store = new HeapReservationStore();
+        var segments = new ReservationSegment[in.readInt()];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ReservationSegment.readFrom(in);
+            store.coldSize += segments[i].size();
+        }
+        store.segments = List.of(segments);
+        int hotSize = in.readInt();
+        var hot = new ArrayList<Reservation>(hotSize);
+        for (int i = 0; i < hotSize; i++) {
+            var start = Instant.ofEpochSecond(in.readLong() * 60);
+            var end = Instant.ofEpochSecond(in.readLong() * 60);
+            hot.add(new Reservation(in.readLong(), new ReservationInterval(start, end)));
+        }
+        store.putHot(hot);
+        return store;
+    }
+
+    /**
+     * Returns the cold segments, oldest first.
+     */
+    public List<ReservationSegment> segments() {
+        return segments;
+    }
+
+    @Override
+    public List<RecurringReservation> series() {
+        return List.of();
+    }
+
+    @Override
+    public void saveSeries(Collection<RecurringReservation> series) {
+        // Kept on the heap by RoomReservations
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void putHot(List<Reservation> reservations) {
+        if (intervals.isEmpty()) {
+            // TreeMap.putAll builds the tree in linear time from a sorted map with the same ordering
+            intervals.putAll(new SortedRun(reservations));
+        } else {
+            reservations.forEach(reservation -> intervals.put(reservation.interval().start(), reservation));
+        }
+    }
+
+    private Reservation removeCold(Instant start) {
+        for (var segment : segments) {
+            var removed = segment.remove(start);
+            if (removed != null) {
+                coldSize--;
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    private static Reservation valueOf(Map.Entry<Instant, Reservation> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+
+    private static Reservation earlier(Reservation a, Reservation b) {
+        return a == null || b != null && b.interval().start().isBefore(a.interval().start()) ? b : a;
+    }
+
+    private static Reservation later(Reservation a, Reservation b) {
+        return a == null || b != null && b.interval().start().isAfter(a.interval().start()) ? b : a;
+    }
+
+    /**
+     * Read-only {@link SortedMap} view of reservations ordered by start, just enough for {@link TreeMap#putAll(Map)}.
+     */
+    private static final class SortedRun extends AbstractMap<Instant, Reservation>
+            implements SortedMap<Instant, Reservation> {
+
+        private final List<Reservation> reservations;
+
+        SortedRun(List<Reservation> reservations) {
+            this.reservations = reservations;
+        }
+
+        @Override
+        public Set<Entry<Instant, Reservation>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Instant, Reservation>> iterator() {
+                    var iterator = reservations.iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Instant, Reservation> next() {
+                            var reservation = iterator.next();
+                            return Map.entry(reservation.interval().start(), reservation);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return reservations.size();
+                }
+            };
+        }
+
+        @Override
+        public Comparator<? super Instant> comparator() {
+            return null;
+        }
+
+        @Override
+        public Instant firstKey() {
+            return reservations.getFirst().interval().start();
+        }
+
+        @Override
+        public Instant lastKey() {
+            return reservations.getLast().interval().start();
+        }
+
+        @Override
+        public SortedMap<Instant, Reservation> subMap(Instant fromKey, Instant toKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<Instant, Reservation> headMap(Instant toKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<Instant, Reservation> tailMap(Instant fromKey) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.efor.task.viableone.reservation.model;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Simple recurrence pattern in the spirit of an iCalendar RRULE: {@code FREQ=frequency;INTERVAL=interval;COUNT=count}.
+ * <p>
+ * Occurrences repeat with a fixed period in UTC, so a daily rule always advances by exactly 24 hours.
+ * </p>
+ *
+ * @param frequency unit of the period between occurrences
+ * @param interval  number of frequency units between occurrences; between 1 and {@link #MAX_INTERVAL}
+ * @param count     total number of occurrences including the first one; between 1 and {@link #MAX_COUNT}
+ */
+public record RecurrenceRule(Frequency frequency, int interval, int count) {
+    /**
+     * Maximum number of occurrences of a single series.
+     */
+    public static final int MAX_COUNT = 1000;
+    /**
+     * Maximum number of frequency units between occurrences, so the last occurrence of a series is at most about
+     * ten thousand years after the first.
+     */
+    public static final int MAX_INTERVAL = 520;
+
+    public RecurrenceRule {
+        Objects.requireNonNull(frequency, "RecurrenceRule.frequency must not be null");
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("RecurrenceRule.interval must be between 1 and " + MAX_INTERVAL);
+        }
+        if (count < 1 || count > MAX_COUNT) {
+            throw new IllegalArgumentException("RecurrenceRule.count must be between 1 and " + MAX_COUNT);
+        }
+    }
+
+    /**
+     * Returns the time between the starts of two consecutive occurrences.
+     *
+     * @return recurrence period
+     */
+    public Duration period() {
+        return frequency.unit.multipliedBy(interval);
+    }
+
+    public enum Frequency {
+        DAILY(Duration.ofDays(1)),
+        WEEKLY(Duration.ofDays(7));
+
+        Frequency(Duration unit) {
+            this.unit = unit;
+        }
+
+        private final Duration unit;
+    }
+}
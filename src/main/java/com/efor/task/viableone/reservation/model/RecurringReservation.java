@@ -0,0 +1,159 @@
+package com.efor.task.viableone.reservation.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Compact representation of a series of {@code count} reservations: the first occurrence repeated every
+ * {@code periodMinutes}.
+ * <p>
+ * Occurrences are never materialized in storage. Occurrence {@code k} is {@code first} shifted by
+ * {@code k * period}, so overlap and neighbor queries are answered arithmetically in O(1).
+ * </p>
+ *
+ * @param id            reservation identifier of the whole series
+ * @param first         normalized first occurrence
+ * @param periodMinutes minutes between the starts of two consecutive occurrences; not shorter than an occurrence
+ * @param count         number of occurrences
+ */
+public record RecurringReservation(long id, ReservationInterval first, long periodMinutes, int count) {
+
+    public RecurringReservation {
+        Objects.requireNonNull(first, "RecurringReservation.first must not be null");
+        if (count < 1) {
+            throw new IllegalArgumentException("RecurringReservation.count must be at least 1");
+        }
+        if (periodMinutes < 1 || periodMinutes < Duration.between(first.start(), first.end()).toMinutes()) {
+            throw new IllegalArgumentException("RecurringReservation occurrences must not overlap each other");
+        }
+        if (Duration.ofMinutes(periodMinutes).multipliedBy(count - 1L)
+                .compareTo(Duration.between(first.end(), Instant.MAX)) > 0) {
+            throw new IllegalArgumentException("RecurringReservation occurrences must end before " + Instant.MAX);
+        }
+    }
+
+    /**
+     * Returns occurrence {@code k}; the first occurrence is {@code 0}.
+     */
+    public ReservationInterval occurrence(long k) {
+        var shift = Duration.ofMinutes(periodMinutes * k);
+        return new ReservationInterval(first.start().plus(shift), first.end().plus(shift));
+    }
+
+    /**
+     * Returns the interval from the start of the first occurrence to the end of the last one.
+     */
+    public ReservationInterval span() {
+        return new ReservationInterval(first.start(), occurrence(count - 1L).end());
+    }
+
+    /**
+     * Returns the earliest occurrence overlapping {@code candidate}.
+     *
+     * <p><strong>Time complexity:</strong> O(1).</p>
+     *
+     * @param candidate normalized interval
+     * @return the earliest overlapping occurrence, or empty if none
+     */
+    public Optional<ReservationInterval> firstOverlap(ReservationInterval candidate) {
+        // Occurrence k overlaps [a, b) iff start + k * period < b and a < end + k * period
+        long fromStart = minutesFromStart(candidate.start());
+        long fromEnd = minutesFromStart(candidate.end());
+        long lowest = Math.max(0, Math.floorDiv(fromStart - durationMinutes(), periodMinutes) + 1);
+        long highest = Math.min(count - 1L, ceilDiv(fromEnd, periodMinutes) - 1);
+        return lowest <= highest ? Optional.of(occurrence(lowest)) : Optional.empty();
+    }
+
+    /**
+     * Returns the first collision between the occurrences of this series and those of {@code other}.
+     *
+     * <p><strong>Time complexity:</strong> O(c) where c is the number of occurrences of this series within the
+     * span of {@code other}.</p>
+     *
+     * @param other another series
+     * @return an occurrence of {@code other} overlapping the earliest overlapping occurrence of this series, or empty
+     *         if none
+     */
+    public Optional<ReservationInterval> firstOverlap(RecurringReservation other) {
+        var otherSpan = other.span();
+        if (!otherSpan.overlaps(span())) {
+            return Optional.empty();
+        }
+        return occurrences(otherSpan.start(), otherSpan.end())
+                .map(other::firstOverlap)
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    /**
+     * Returns true if any occurrence overlaps {@code candidate}.
+     *
+     * @param candidate normalized interval
+     */
+    public boolean overlaps(ReservationInterval candidate) {
+        return firstOverlap(candidate).isPresent();
+    }
+
+    /**
+     * Returns the latest occurrence ending at or before {@code instant}.
+     *
+     * @param instant normalized instant
+     * @return the occurrence, or empty if none
+     */
+    public Optional<ReservationInterval> lastEndingAtOrBefore(Instant instant) {
+        long k = Math.min(count - 1L, Math.floorDiv(minutesFromStart(instant) - durationMinutes(), periodMinutes));
+        return k >= 0 ? Optional.of(occurrence(k)) : Optional.empty();
+    }
+
+    /**
+     * Returns the earliest occurrence starting at or after {@code instant}.
+     *
+     * @param instant normalized instant
+     * @return the occurrence, or empty if none
+     */
+    public Optional<ReservationInterval> firstStartingAtOrAfter(Instant instant) {
+        long k = Math.max(0, ceilDiv(minutesFromStart(instant), periodMinutes));
+        return k < count ? Optional.of(occurrence(k)) : Optional.empty();
+    }
+
+    /**
+     * Lazily expands the occurrences overlapping {@code [from, to)} in ascending order.
+     *
+     * @param from inclusive start of the window (normalized)
+     * @param to   exclusive end of the window (normalized)
+     * @return occurrences overlapping the window
+     */
+    public Stream<ReservationInterval> occurrences(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            return Stream.empty();
+        }
+        return firstOverlap(new ReservationInterval(from, to))
+                .map(earliest -> LongStream.range(minutesFromStart(earliest.start()) / periodMinutes, count)
+                        .mapToObj(this::occurrence)
+                        .takeWhile(occurrence -> occurrence.start().isBefore(to)))
+                .orElseGet(Stream::empty);
+    }
+
+    /**
+     * Returns the total number of reserved minutes over all occurrences.
+     */
+    public long bookedMinutes() {
+        return durationMinutes() * count;
+    }
+
+    private long durationMinutes() {
+        return Duration.between(first.start(), first.end()).toMinutes();
+    }
+
+    private long minutesFromStart(Instant instant) {
+        return Duration.between(first.start(), instant).toMinutes();
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+}
@@ -0,0 +1,20 @@
+package com.efor.task.viableone.reservation.model;
+
+import java.util.Objects;
+
+/**
+ * Immutable reservation of a single resource: an identifier and the reserved interval.
+ *
+ * @param id       reservation identifier; {@link #NO_ID} if the reservation is not identified
+ * @param interval reserved half-open interval
+ */
+public record Reservation(long id, ReservationInterval interval) {
+    /**
+     * Identifier of reservations added without one.
+     */
+    public static final long NO_ID = 0;
+
+    public Reservation {
+        Objects.requireNonNull(interval, "Reservation.interval must not be null");
+    }
+}
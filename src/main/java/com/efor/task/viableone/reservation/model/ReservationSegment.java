@@ -0,0 +1,355 @@
+package com.efor.task.viableone.reservation.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable, compactly encoded run of reservations ordered by start; the cold segment of a
+ * {@link HeapReservationStore}.
+ * <p>
+ * The reservations are encoded in blocks of {@value #BLOCK_SIZE}. A block header holds the start of the first
+ * reservation of the block in epoch minutes and the offset of the block in the data. Each reservation is stored as
+ * three variable-length integers: the distance of its start from the previous start, its length in minutes and the
+ * zig-zag encoded difference of its id from the previous id. Usual reservations take 4 to 8 bytes instead of about
+ * 136 bytes of objects. A lookup binary-searches the block headers and decodes a single block.
+ * </p>
+ * <p>
+ * The encoded reservations never change. A removed reservation is only marked in a deletion bitmap and dropped when
+ * segments are merged by {@link #merge(List)}. {@link #writeTo(DataOutput)} writes the encoded data as it is, so
+ * {@link #readFrom(DataInput)} restores a segment without encoding it again.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Not thread-safe; the encoded data may be read concurrently.</p>
+ */
+public final class ReservationSegment {
+
+    private ReservationSegment(long[] blockStarts, int[] blockOffsets, byte[] data, int count, BitSet removed) {
+        this.blockStarts = blockStarts;
+        this.blockOffsets = blockOffsets;
+        this.data = data;
+        this.count = count;
+        this.removed = removed;
+    }
+
+    static final int BLOCK_SIZE = 64;
+
+    /**
+     * Start of the first reservation of each block in epoch minutes.
+     */
+    private final long[] blockStarts;
+    private final int[] blockOffsets;
+    private final byte[] data;
+    private final int count;
+    private final BitSet removed;
+
+    /**
+     * Encodes the reservations.
+     *
+     * @param reservations reservations ordered by start, with distinct starts
+     * @throws IllegalArgumentException if the reservations are not ordered by start
+     */
+    public static ReservationSegment of(List<Reservation> reservations) {
+        int blocks = Math.ceilDiv(reservations.size(), BLOCK_SIZE);
+        var blockStarts = new long[blocks];
+        var blockOffsets = new int[blocks];
+        var out = new Encoder(reservations.size() * 6);
+        long previousStart = 0;
+        long previousId = 0;
+        for (int i = 0; i < reservations.size(); i++) {
+            var interval = reservations.get(i).interval();
+            long start = minutes(interval.start());
+            if (i > 0 && start <= previousStart) {
+                throw new IllegalArgumentException("Reservations must be ordered by distinct starts");
+            }
+            if (i % BLOCK_SIZE == 0) {
+                blockStarts[i / BLOCK_SIZE] = start;
+                blockOffsets[i / BLOCK_SIZE] = out.size;
+                previousStart = start;
+                previousId = 0;
+            }
+            long id = reservations.get(i).id();
+            out.write(start - previousStart);
+            out.write(minutes(interval.end()) - start);
+            out.write((id - previousId) << 1 ^ (id - previousId) >> 63);
+            previousStart = start;
+            previousId = id;
+        }
+        return new ReservationSegment(blockStarts, blockOffsets, Arrays.copyOf(out.bytes, out.size),
+                reservations.size(), new BitSet(reservations.size()));
+    }
+
+    /**
+     * Reads a segment written by {@link #writeTo(DataOutput)}.
+     * <p>
+     * <strong>Time complexity:</strong> O(b), b = encoded bytes.
+     * </p>
+     */
+    public static ReservationSegment readFrom(DataInput in) throws IOException {
+        int count = in.readInt();
+        var blockStarts = new long[Math.ceilDiv(count, BLOCK_SIZE)];
+        var blockOffsets = new int[blockStarts.length];
+        for (int i = 0; i < blockStarts.length; i++) {
+            blockStarts[i] = in.readLong();
+            blockOffsets[i] = in.readInt();
+        }
+        var data = new byte[in.readInt()];
+        in.readFully(data);
+        var removed = new long[in.readInt()];
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = in.readLong();
+        }
+        return new ReservationSegment(blockStarts, blockOffsets, data, count, BitSet.valueOf(removed));
+    }
+
+    /**
+     * Writes the encoded reservations and the deletion bitmap.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(count);
+        for (int i = 0; i < blockStarts.length; i++) {
+            out.writeLong(blockStarts[i]);
+            out.writeInt(blockOffsets[i]);
+        }
+        out.writeInt(data.length);
+        out.write(data);
+        var removedWords = removed.toLongArray();
+        out.writeInt(removedWords.length);
+        for (long word : removedWords) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Merges the live reservations of the segments into one segment.
+     *
+     * @param segments segments with disjoint starts
+     */
+    public static ReservationSegment merge(List<ReservationSegment> segments) {
+        if (segments.size() == 1 && segments.getFirst().removed.isEmpty()) {
+            return segments.getFirst();
+        }
+        List<Reservation> reservations = new ArrayList<>();
+        segments.forEach(segment -> reservations.addAll(segment.values()));
+        if (segments.size() > 1) {
+            reservations.sort(HeapReservationStore.BY_START);
+        }
+        return of(reservations);
+    }
+
+    /**
+     * Returns the number of live reservations.
+     */
+    public int size() {
+        return count - removed.cardinality();
+    }
+
+    /**
+     * Returns the number of encoded reservations, including the removed ones.
+     */
+    public int encodedSize() {
+        return count;
+    }
+
+    /**
+     * Returns the size of the encoded reservations in bytes.
+     */
+    public int encodedBytes() {
+        return data.length + blockStarts.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    public Reservation get(Instant start) {
+        int index = floorIndex(minutes(start));
+        if (index < 0 || removed.get(index)) {
+            return null;
+        }
+        var reservation = at(index);
+        return reservation.interval().start().equals(start) ? reservation : null;
+    }
+
+    public Reservation floor(Instant start) {
+        return live(floorIndex(minutes(start)), false);
+    }
+
+    public Reservation lower(Instant start) {
+        return live(floorIndex(minutes(start) - 1), false);
+    }
+
+    public Reservation ceiling(Instant start) {
+        return live(floorIndex(minutes(start) - 1) + 1, true);
+    }
+
+    public Reservation higher(Instant start) {
+        return live(floorIndex(minutes(start)) + 1, true);
+    }
+
+    public Reservation first() {
+        return live(0, true);
+    }
+
+    public Reservation last() {
+        return live(count - 1, false);
+    }
+
+    /**
+     * Returns the live reservations starting after {@code from} and before {@code to}, in start order.
+     */
+    public List<Reservation> startingBetween(Instant from, Instant to) {
+        return range(floorIndex(minutes(from)) + 1, minutes(to));
+    }
+
+    /**
+     * Returns all live reservations in start order.
+     */
+    public List<Reservation> values() {
+        return range(0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Marks the reservation starting at {@code start} as removed.
+     *
+     * @return the removed reservation, or {@code null} if there was none
+     */
+    public Reservation remove(Instant start) {
+        var reservation = get(start);
+        if (reservation != null) {
+            removed.set(floorIndex(minutes(start)));
+        }
+        return reservation;
+    }
+
+    /**
+     * Returns the index of the last reservation starting at or before {@code minute}, -1 if there is none.
+     */
+    private int floorIndex(long minute) {
+        int block = Arrays.binarySearch(blockStarts, minute);
+        if (block < 0) {
+            block = -block - 2;
+        }
+        if (block < 0) {
+            return -1;
+        }
+        var decoded = decode(block);
+        int index = block * BLOCK_SIZE;
+        for (int i = 1; i < decoded.length && decoded[i].start <= minute; i++) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the live reservation nearest to {@code index} in the given direction, or {@code null}.
+     */
+    private Reservation live(int index, boolean forward) {
+        if (index < 0 || index >= count) {
+            return null;
+        }
+        int live = forward ? removed.nextClearBit(index) : removed.previousClearBit(index);
+        return live < 0 || live >= count ? null : at(live);
+    }
+
+    private List<Reservation> range(int from, long toMinute) {
+        List<Reservation> reservations = new ArrayList<>();
+        for (int block = Math.max(0, from) / BLOCK_SIZE; block < blockStarts.length; block++) {
+            if (blockStarts[block] >= toMinute) {
+                break;
+            }
+            var decoded = decode(block);
+            for (int i = 0; i < decoded.length; i++) {
+                int index = block * BLOCK_SIZE + i;
+                if (index < from || removed.get(index)) {
+                    continue;
+                }
+                if (decoded[i].start >= toMinute) {
+                    return reservations;
+                }
+                reservations.add(decoded[i].toReservation());
+            }
+        }
+        return reservations;
+    }
+
+    private Reservation at(int index) {
+        return decode(index / BLOCK_SIZE)[index % BLOCK_SIZE].toReservation();
+    }
+
+    private Encoded[] decode(int block) {
+        var decoded = new Encoded[Math.min(BLOCK_SIZE, count - block * BLOCK_SIZE)];
+        var in = new Decoder(data, blockOffsets[block]);
+        long start = blockStarts[block];
+        long id = 0;
+        for (int i = 0; i < decoded.length; i++) {
+            start += in.read();
+            long end = start + in.read();
+            long zigZag = in.read();
+            id += zigZag >>> 1 ^ -(zigZag & 1);
+            decoded[i] = new Encoded(start, end, id);
+        }
+        return decoded;
+    }
+
+    private static long minutes(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), 60);
+    }
+
+    private record Encoded(long start, long end, long id) {
+        Reservation toReservation() {
+            return new Reservation(id, new ReservationInterval(Instant.ofEpochSecond(start * 60),
+                    Instant.ofEpochSecond(end * 60)));
+        }
+    }
+
+    /**
+     * Growable buffer of unsigned variable-length integers, 7 bits per byte.
+     */
+    private static final class Encoder {
+
+        Encoder(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        byte[] bytes;
+        int size;
+
+        void write(long value) {
+            if (size + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+    }
+
+    /**
+     * Reads unsigned variable-length integers written by {@link Encoder}.
+     */
+    private static final class Decoder {
+
+        Decoder(byte[] bytes, int offset) {
+            this.bytes = bytes;
+            this.offset = offset;
+        }
+
+        private final byte[] bytes;
+        private int offset;
+
+        long read() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.efor.task.viableone.reservation.model;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage of the reservations of a single room behind {@link RoomReservations}: single reservations ordered by
+ * their start, which is unique, and the recurring series.
+ * <p>
+ * Instants are normalized to minutes by the caller. The store does not check for overlaps.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Changes are made by one thread at a time; implementations state whether they
+ * may be read concurrently with a change.</p>
+ */
+public interface ReservationStore extends AutoCloseable {
+
+    /**
+     * Returns the reservation starting at {@code start}, or {@code null} if there is none.
+     */
+    Reservation get(Instant start);
+
+    /**
+     * Returns the reservation with the greatest start not after {@code start}, or {@code null} if there is none.
+     */
+    Reservation floor(Instant start);
+
+    /**
+     * Returns the reservation with the least start not before {@code start}, or {@code null} if there is none.
+     */
+    Reservation ceiling(Instant start);
+
+    /**
+     * Returns the reservation with the least start after {@code start}, or {@code null} if there is none.
+     */
+    Reservation higher(Instant start);
+
+    /**
+     * Returns the reservation with the least start, or {@code null} if the store is empty.
+     */
+    Reservation first();
+
+    /**
+     * Returns the reservation with the greatest start, or {@code null} if the store is empty.
+     */
+    Reservation last();
+
+    /**
+     * Returns the reservations starting after {@code from} and before {@code to}, in start order.
+     */
+    List<Reservation> startingBetween(Instant from, Instant to);
+
+    /**
+     * Returns all single reservations in start order.
+     */
+    List<Reservation> values();
+
+    /**
+     * Stores the reservation, replacing the one with the same start.
+     *
+     * @return the replaced reservation, or {@code null} if there was none
+     */
+    Reservation put(Reservation reservation);
+
+    /**
+     * Stores reservations ordered by start whose starts are not stored yet.
+     */
+    default void putAll(List<Reservation> reservations) {
+        reservations.forEach(this::put);
+    }
+
+    /**
+     * Removes the reservation starting at {@code start}.
+     *
+     * @return the removed reservation, or {@code null} if there was none
+     */
+    Reservation remove(Instant start);
+
+    /**
+     * Returns the number of single reservations.
+     */
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Moves the reservations ending at or before {@code before} into compact storage, if the store has one.
+     *
+     * @return the number of reservations moved
+     */
+    default int archive(Instant before) {
+        return 0;
+    }
+
+    /**
+     * Reorganizes the compact storage if it became fragmented.
+     *
+     * @return whether anything was reorganized
+     */
+    default boolean compact() {
+        return false;
+    }
+
+    /**
+     * Returns the series saved by {@link #saveSeries(Collection)}.
+     */
+    List<RecurringReservation> series();
+
+    /**
+     * Replaces the stored series; called after every change of the series of the room.
+     */
+    void saveSeries(Collection<RecurringReservation> series);
+
+    /**
+     * Releases the resources of the store; the reservations stay stored if the store is persistent.
+     */
+    @Override
+    void close();
+}
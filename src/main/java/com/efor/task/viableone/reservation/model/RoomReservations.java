@@ -1,63 +1,249 @@
 package com.efor.task.viableone.reservation.model;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.TreeMap;
+import java.util.stream.Stream;
 
 /**
  * Manages non-overlapping {@link ReservationInterval} reservations for a single resource.
+ * Each reservation may carry an identifier, see {@link Reservation}.
  *
- * <p><strong>Normalization:</strong> All instants are truncated to minutes via {@link #normalize(Instant)}.</p>
+ * <p><strong>Recurring reservations:</strong> a series is stored once as a {@link RecurringReservation} and its
+ * occurrences are expanded only within a queried window; collision checks test the series arithmetically.</p>
  *
- * <p><strong>Complexity summary</strong> (n = number of reservations):</p>
+ * <p><strong>Normalization:</strong> All instants are truncated to minutes via {@link #normalize(Instant, Instant)}.</p>
+ *
+ * <p><strong>Storage:</strong> the single reservations and series are kept in a {@link ReservationStore}, on the heap
+ * by default. The complexity below is that of the heap store.</p>
+ *
+ * <p><strong>Complexity summary</strong> (n = number of single reservations, s = number of series,
+ * c = occurrences of a series):</p>
  * <ul>
- *   <li>{@link #add(Instant, Instant) Add}: O(log n)</li>
- *   <li>{@link #findCollision(Instant, Instant) findCollision}: O(log n)</li>
- *   <li>{@link #asList() asList}: O(n)</li>
+ *   <li>{@link #add(long, Instant, Instant) Add}: O(log n)</li>
+ *   <li>{@link #addSeries(long, Instant, Instant, RecurrenceRule) addSeries}: O(s)</li>
+ *   <li>{@link #remove(long, Instant) Remove}, {@link #removeSeries(long, Instant) removeSeries}: O(log n), O(s)</li>
+ *   <li>{@link #findCollision(Instant, Instant) findCollision}: O(log n + s)</li>
+ *   <li>{@link #findSeriesCollision(Instant, Instant, RecurrenceRule) findSeriesCollision}: O(log n + k + s * c),
+ *       k = single intervals within the series span</li>
+ *   <li>{@link #enclosingGapMinutes(Instant, Instant) enclosingGapMinutes}: O(log n + s)</li>
+ *   <li>{@link #findNextFreeSlot(Instant, Instant) findNextFreeSlot}: O((log n + s) * j + k), k = intervals skipped,
+ *       j = series occurrences skipped</li>
+ *   <li>{@link #bookedMinutes() bookedMinutes}: O(1)</li>
+ *   <li>{@link #reservations(Instant, Instant) reservations in a window}: O(log n + k + s + w log w),
+ *       w = reservations returned</li>
+ *   <li>{@link #busySlots(Instant, Duration, int) busySlots}: O(log n + k + s + w + t / 64), t = slots</li>
+ *   <li>{@link #asList() asList}: O(m log m), m = all single reservations and occurrences</li>
  *   <li>{@link #size() size}: O(1)</li>
  * </ul>
  *
  * <p><strong>Thread-safety:</strong> Not thread-safe.</p>
  */
 public class RoomReservations {
+
+    /**
+     * Creates empty reservations kept on the heap.
+     */
+    public RoomReservations() {
+        this(new HeapReservationStore());
+    }
+
+    /**
+     * Creates the reservations kept in {@code store}, including those already stored in it.
+     * <p>
+     * <strong>Time complexity:</strong> O(n + s log s) to sum the reserved minutes and order the series.
+     * </p>
+     *
+     * @param store storage of the reservations; owned by the created instance
+     */
+    public RoomReservations(ReservationStore store) {
+        this.intervals = Objects.requireNonNull(store, "store must not be null");
+        for (var reservation : store.values()) {
+            bookedMinutes += minutes(reservation.interval());
+        }
+        for (var recurring : store.series()) {
+            series.put(recurring.first().start(), recurring);
+            bookedMinutes += recurring.bookedMinutes();
+        }
+    }
+
+    /**
+     * Length used for a gap side that is not bounded by any reservation.
+     */
+    public static final long UNBOUNDED_GAP_MINUTES = Long.MAX_VALUE / 4;
+
+    /**
+     * Single reservations ordered by interval start time.
+     */
+    private final ReservationStore intervals;
+    /**
+     * Recurring reservations ordered by the start of their first occurrence.
+     */
+    private final NavigableMap<Instant, RecurringReservation> series = new TreeMap<>();
     /**
-     * Ordered by interval start time.
+     * Total reserved minutes, maintained on every change.
      */
-    private final NavigableMap<Instant, ReservationInterval> intervals = new TreeMap<>();
+    private long bookedMinutes;
 
     /**
      * Finds a colliding interval with {@code [start, end)} if one exists.
      *
      * <p>The check only needs to consider the predecessor and successor intervals
-     * relative to the candidate's start time in the start-ordered map.</p>
+     * relative to the candidate's start time in the start-ordered map, and each series arithmetically.</p>
      *
-     * <p><strong>Time complexity:</strong> O(log n) to locate neighbors in the tree.</p>
+     * <p><strong>Time complexity:</strong> O(log n) to locate neighbors in the tree, O(s) for the series.</p>
      *
      * @param start inclusive start instant (will be truncated to minutes)
      * @param end exclusive end instant (must be after {@code start})
-     * @return an {@code Optional} containing the conflicting interval, or empty if none
+     * @return an {@code Optional} containing the conflicting interval or series occurrence, or empty if none
      * @throws NullPointerException if {@code start} or {@code end} is null
      * @throws IllegalArgumentException if {@code start} is not before {@code end}
      */
     public Optional<ReservationInterval> findCollision(Instant start, Instant end) {
-        var normalizedStart = normalize(start);
-        var normalizedEnd = normalize(end);
-        var candidate = new ReservationInterval(normalizedStart, normalizedEnd);
+        var candidate = normalize(start, end);
 
-        var predecessor = intervals.floorEntry(normalizedStart);
-        if (predecessor != null && predecessor.getValue().overlaps(candidate)) {
-            return Optional.of(predecessor.getValue());
+        var predecessor = intervalAt(intervals.floor(candidate.start()));
+        if (predecessor != null && predecessor.overlaps(candidate)) {
+            return Optional.of(predecessor);
         }
-        var successor = intervals.ceilingEntry(normalizedStart);
-        if (successor != null && successor.getValue().overlaps(candidate)) {
-            return Optional.of(successor.getValue());
+        var successor = intervalAt(intervals.ceiling(candidate.start()));
+        if (successor != null && successor.overlaps(candidate)) {
+            return Optional.of(successor);
+        }
+        return findOccurrenceCollision(candidate);
+    }
+
+    /**
+     * Finds an interval colliding with any occurrence of the series starting with {@code [start, end)}
+     * and repeating according to {@code recurrence}.
+     *
+     * <p>Single intervals within the span of the series are tested against the series arithmetically;
+     * existing series are tested against the occurrences of the candidate series.</p>
+     *
+     * <p><strong>Time complexity:</strong> O(log n + k + s * c) where k is the number of single intervals
+     * within the span of the series and c the number of its occurrences.</p>
+     *
+     * @param start inclusive start instant of the first occurrence (will be truncated to minutes)
+     * @param end exclusive end instant of the first occurrence (must be after {@code start})
+     * @param recurrence recurrence of the series
+     * @return an {@code Optional} containing the conflicting interval or series occurrence, or empty if none
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if {@code start} is not before {@code end} or occurrences would overlap
+     */
+    public Optional<ReservationInterval> findSeriesCollision(Instant start, Instant end, RecurrenceRule recurrence) {
+        var candidate = recurringReservation(Reservation.NO_ID, start, end, recurrence);
+        var span = candidate.span();
+
+        var predecessor = intervalAt(intervals.floor(span.start()));
+        if (predecessor != null && candidate.overlaps(predecessor)) {
+            return Optional.of(predecessor);
+        }
+        for (var reservation : intervals.startingBetween(span.start(), span.end())) {
+            if (candidate.overlaps(reservation.interval())) {
+                return Optional.of(reservation.interval());
+            }
+        }
+
+        for (var existing : series.headMap(span.end(), false).values()) {
+            var collision = candidate.firstOverlap(existing);
+            if (collision.isPresent()) {
+                return collision;
+            }
         }
         return Optional.empty();
     }
 
+    /**
+     * Returns the length of the free gap enclosing {@code [start, end)}, or empty if the interval collides.
+     *
+     * <p>The gap spans from the end of the predecessor to the start of the successor; a side without
+     * a neighbor counts as {@link #UNBOUNDED_GAP_MINUTES}. Smaller gaps mean a tighter fit.</p>
+     *
+     * <p><strong>Time complexity:</strong> O(log n) to locate neighbors in the tree.</p>
+     *
+     * @param start inclusive start instant (will be truncated to minutes)
+     * @param end exclusive end instant (must be after {@code start})
+     * @return the enclosing gap length in minutes, or empty if the interval collides
+     * @throws NullPointerException if {@code start} or {@code end} is null
+     * @throws IllegalArgumentException if {@code start} is not before {@code end}
+     */
+    public OptionalLong enclosingGapMinutes(Instant start, Instant end) {
+        var candidate = normalize(start, end);
+
+        var predecessor = intervalAt(intervals.floor(candidate.start()));
+        if (predecessor != null && predecessor.overlaps(candidate)) {
+            return OptionalLong.empty();
+        }
+        var successor = intervalAt(intervals.ceiling(candidate.start()));
+        if (successor != null && successor.overlaps(candidate)) {
+            return OptionalLong.empty();
+        }
+        if (findOccurrenceCollision(candidate).isPresent()) {
+            return OptionalLong.empty();
+        }
+
+        var gapStart = predecessor == null ? null : predecessor.end();
+        var gapEnd = successor == null ? null : successor.start();
+        for (var recurring : series.values()) {
+            var before = recurring.lastEndingAtOrBefore(candidate.start());
+            if (before.isPresent() && (gapStart == null || before.get().end().isAfter(gapStart))) {
+                gapStart = before.get().end();
+            }
+            var after = recurring.firstStartingAtOrAfter(candidate.end());
+            if (after.isPresent() && (gapEnd == null || after.get().start().isBefore(gapEnd))) {
+                gapEnd = after.get().start();
+            }
+        }
+
+        long before = gapStart == null
+                ? UNBOUNDED_GAP_MINUTES
+                : minutesBetween(gapStart, candidate.start());
+        long after = gapEnd == null
+                ? UNBOUNDED_GAP_MINUTES
+                : minutesBetween(candidate.end(), gapEnd);
+        return OptionalLong.of(before + minutesBetween(candidate.start(), candidate.end()) + after);
+    }
+
+    /**
+     * Finds the earliest free interval with the same length as {@code [start, end)} that does not start
+     * before {@code start}.
+     *
+     * <p>Walks the intervals following the predecessor of {@code start} until a gap long enough is found;
+     * if the gap collides with a series occurrence, the walk continues after that occurrence.
+     * If {@code [start, end)} is free it is returned as is.</p>
+     *
+     * <p><strong>Time complexity:</strong> O((log n + s) * j + k) where k is the number of intervals skipped
+     * and j the number of series occurrences skipped.</p>
+     *
+     * @param start inclusive start instant (will be truncated to minutes)
+     * @param end exclusive end instant (must be after {@code start})
+     * @return the nearest free interval of the requested length
+     * @throws NullPointerException if {@code start} or {@code end} is null
+     * @throws IllegalArgumentException if {@code start} is not before {@code end}
+     */
+    public ReservationInterval findNextFreeSlot(Instant start, Instant end) {
+        var candidate = normalize(start, end);
+        var length = Duration.between(candidate.start(), candidate.end());
+
+        var slotStart = candidate.start();
+        while (true) {
+            var slot = findNextSingleFreeSlot(slotStart, length);
+            var occurrence = findOccurrenceCollision(slot);
+            if (occurrence.isEmpty()) {
+                return slot;
+            }
+            slotStart = occurrence.get().end();
+        }
+    }
+
     /**
      * Returns true if there is no interval with {@code [start, end]}.
      *
@@ -71,45 +257,368 @@ public class RoomReservations {
     }
 
     /**
-     * Adds the interval {@code [start, end)} without performing a conflict check.
+     * Adds the interval {@code [start, end)} without an identifier and without performing a conflict check.
+     *
+     * @see #add(long, Instant, Instant)
+     */
+    public ReservationInterval add(Instant start, Instant end) {
+        return add(Reservation.NO_ID, start, end);
+    }
+
+    /**
+     * Adds the identified interval {@code [start, end)} without performing a conflict check.
      *
      * <p>Call {@link #findCollision(Instant, Instant)} first if you need to prevent overlaps.</p>
      *
      * <p><strong>Time complexity:</strong> O(log n) for the tree insertion.</p>
      *
+     * @param id reservation identifier
      * @param start inclusive start instant (will be truncated to minutes)
      * @param end exclusive end instant (must be after {@code start})
      * @return the added interval
      * @throws NullPointerException if {@code start} or {@code end} is null
      * @throws IllegalArgumentException if {@code start} is not before {@code end}
      */
-    public ReservationInterval add(Instant start, Instant end) {
-        var normalizedStart = normalize(start);
-        var normalizedEnd = normalize(end);
-        var interval = new ReservationInterval(normalizedStart, normalizedEnd);
-        intervals.put(normalizedStart, interval);
+    public ReservationInterval add(long id, Instant start, Instant end) {
+        var interval = normalize(start, end);
+        var replaced = intervals.put(new Reservation(id, interval));
+        if (replaced != null) {
+            bookedMinutes -= minutes(replaced.interval());
+        }
+        bookedMinutes += minutes(interval);
         return interval;
     }
 
     /**
-     * Returns an immutable snapshot of all reservations in ascending start-time order.
+     * Adds reservations ordered by start without performing a conflict check, in one pass where the store
+     * supports it.
+     *
+     * <p>The reservations must not overlap each other or the reservations of the room, and their intervals must be
+     * normalized by {@link #normalize(Instant, Instant)}.</p>
+     *
+     * <p><strong>Time complexity:</strong> O(m) for the heap store, m = added reservations.</p>
+     *
+     * @param reservations reservations ordered by start
+     */
+    public void addAll(List<Reservation> reservations) {
+        intervals.putAll(reservations);
+        for (var reservation : reservations) {
+            bookedMinutes += minutes(reservation.interval());
+        }
+    }
+
+    /**
+     * Adds the identified series starting with {@code [start, end)} and repeating according to {@code recurrence}
+     * without performing a conflict check. The occurrences are not materialized.
+     *
+     * <p>Call {@link #findSeriesCollision(Instant, Instant, RecurrenceRule)} first if you need to prevent overlaps.</p>
+     *
+     * <p>The series are saved to the store first, so a save failing leaves the reservations unchanged.</p>
+     *
+     * <p><strong>Time complexity:</strong> O(s) to save all series of the room.</p>
+     *
+     * @param id reservation identifier of the series
+     * @param start inclusive start instant of the first occurrence (will be truncated to minutes)
+     * @param end exclusive end instant of the first occurrence (must be after {@code start})
+     * @param recurrence recurrence of the series
+     * @return the added series
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if {@code start} is not before {@code end} or occurrences would overlap
+     */
+    public RecurringReservation addSeries(long id, Instant start, Instant end, RecurrenceRule recurrence) {
+        var recurring = recurringReservation(id, start, end, recurrence);
+        var saved = new TreeMap<>(series);
+        saved.put(recurring.first().start(), recurring);
+        intervals.saveSeries(saved.values());
+
+        var replaced = series.put(recurring.first().start(), recurring);
+        if (replaced != null) {
+            bookedMinutes -= replaced.bookedMinutes();
+        }
+        bookedMinutes += recurring.bookedMinutes();
+        return recurring;
+    }
+
+    /**
+     * Removes the reservation with the given identifier starting at {@code start}.
+     *
+     * <p><strong>Time complexity:</strong> O(log n) for the tree removal.</p>
+     *
+     * @param id reservation identifier
+     * @param start inclusive start instant of the reservation (will be truncated to minutes)
+     * @return the removed reservation, or empty if there is no such reservation
+     * @throws NullPointerException if {@code start} is null
+     */
+    public Optional<Reservation> remove(long id, Instant start) {
+        var normalizedStart = normalize(Objects.requireNonNull(start, "start must not be null"));
+        var reservation = intervals.get(normalizedStart);
+        if (reservation == null || reservation.id() != id) {
+            return Optional.empty();
+        }
+        intervals.remove(normalizedStart);
+        bookedMinutes -= minutes(reservation.interval());
+        return Optional.of(reservation);
+    }
+
+    /**
+     * Removes the series with the given identifier whose first occurrence starts at {@code start}.
+     *
+     * <p>The series are saved to the store first, so a save failing leaves the reservations unchanged.</p>
+     *
+     * <p><strong>Time complexity:</strong> O(s) to save the remaining series of the room.</p>
+     *
+     * @param id reservation identifier of the series
+     * @param start inclusive start instant of the first occurrence (will be truncated to minutes)
+     * @return the removed series, or empty if there is no such series
+     * @throws NullPointerException if {@code start} is null
+     */
+    public Optional<RecurringReservation> removeSeries(long id, Instant start) {
+        var normalizedStart = normalize(Objects.requireNonNull(start, "start must not be null"));
+        var recurring = series.get(normalizedStart);
+        if (recurring == null || recurring.id() != id) {
+            return Optional.empty();
+        }
+        var saved = new TreeMap<>(series);
+        saved.remove(normalizedStart);
+        intervals.saveSeries(saved.values());
+
+        series.remove(normalizedStart);
+        bookedMinutes -= recurring.bookedMinutes();
+        return Optional.of(recurring);
+    }
+
+    /**
+     * Moves the single reservations ending at or before {@code before} into compact storage, where the store has one;
+     * they stay reserved and queryable.
+     *
+     * @param before reservations ending at or before this instant are moved (will be truncated to minutes)
+     * @return the number of reservations moved
+     * @throws NullPointerException if {@code before} is null
+     */
+    public int archive(Instant before) {
+        return intervals.archive(normalize(Objects.requireNonNull(before, "before must not be null")));
+    }
+
+    /**
+     * Reorganizes the compact storage of the store if it became fragmented.
+     *
+     * @return whether anything was reorganized
+     */
+    public boolean compact() {
+        return intervals.compact();
+    }
+
+    /**
+     * Returns an immutable snapshot of all reservations, with all series occurrences expanded,
+     * in ascending start-time order.
      *
      * @return immutable, start-ordered snapshot
      */
     public List<ReservationInterval> asList() {
-        return List.copyOf(intervals.values());
+        return reservations().stream().map(Reservation::interval).toList();
     }
 
     /**
-     * Returns the number of intervals.
+     * Returns an immutable snapshot of all reservations including their identifiers, with all series occurrences
+     * expanded, in ascending start-time order.
+     *
+     * @return immutable, start-ordered snapshot
+     */
+    public List<Reservation> reservations() {
+        if (series.isEmpty()) {
+            return intervals.values();
+        }
+        var from = intervals.isEmpty()
+                ? series.firstKey()
+                : min(intervals.first().interval().start(), series.firstKey());
+        var to = series.values().stream()
+                .map(recurring -> recurring.span().end())
+                .reduce(intervals.isEmpty() ? from : intervals.last().interval().end(),
+                        RoomReservations::max);
+        return reservations(from, to);
+    }
+
+    /**
+     * Returns the reservations overlapping {@code [from, to)} including their identifiers in ascending start-time
+     * order. Series occurrences are expanded only within the window; occurrences share the identifier of their series.
+     *
+     * @param from inclusive start of the window (will be truncated to minutes)
+     * @param to exclusive end of the window
+     * @return immutable, start-ordered reservations overlapping the window
+     * @throws NullPointerException if {@code from} or {@code to} is null
+     */
+    public List<Reservation> reservations(Instant from, Instant to) {
+        var windowStart = normalize(Objects.requireNonNull(from, "from must not be null"));
+        var windowEnd = normalize(Objects.requireNonNull(to, "to must not be null"));
+        if (!windowStart.isBefore(windowEnd)) {
+            return List.of();
+        }
+        return overlapping(new ReservationInterval(windowStart, windowEnd))
+                .sorted(Comparator.comparing(reservation -> reservation.interval().start()))
+                .toList();
+    }
+
+    /**
+     * Returns which of {@code slotCount} consecutive slots overlap a reservation, in a single sweep over the
+     * reservations overlapping the slots. Slot {@code i} is {@code [from + i * slot, from + (i + 1) * slot)}.
+     *
+     * @param from      inclusive start of the first slot (will be truncated to minutes)
+     * @param slot      length of a slot; whole minutes, at least one
+     * @param slotCount number of slots; not negative
+     * @return bitmap with bit {@code i} set if slot {@code i} overlaps a reservation
+     * @throws NullPointerException     if {@code from} or {@code slot} is null
+     * @throws IllegalArgumentException if {@code slot} is not a positive number of whole minutes
+     */
+    public BitSet busySlots(Instant from, Duration slot, int slotCount) {
+        var windowStart = normalize(Objects.requireNonNull(from, "from must not be null"));
+        Objects.requireNonNull(slot, "slot must not be null");
+        if (slot.toMinutes() < 1 || slot.toSecondsPart() != 0 || slot.toNanosPart() != 0) {
+            throw new IllegalArgumentException("slot must be a positive number of whole minutes");
+        }
+        var busy = new BitSet(slotCount);
+        if (slotCount <= 0) {
+            return busy;
+        }
+
+        long slotMinutes = slot.toMinutes();
+        var window = new ReservationInterval(windowStart, windowStart.plus(slot.multipliedBy(slotCount)));
+        overlapping(window).forEach(reservation -> {
+            var interval = reservation.interval();
+            long startOffset = Duration.between(windowStart, interval.start()).toMinutes();
+            long endOffset = Duration.between(windowStart, interval.end()).toMinutes();
+            int first = (int) Math.max(0, Math.floorDiv(startOffset, slotMinutes));
+            int last = (int) Math.min(slotCount, Math.ceilDiv(endOffset, slotMinutes));
+            busy.set(first, last);
+        });
+        return busy;
+    }
+
+    /**
+     * Returns the reservations overlapping the window in no particular order; series occurrences are expanded only
+     * within the window.
+     */
+    private Stream<Reservation> overlapping(ReservationInterval window) {
+        var singles = Stream.concat(
+                Stream.ofNullable(intervals.floor(window.start())),
+                intervals.startingBetween(window.start(), window.end()).stream()
+        ).filter(reservation -> reservation.interval().overlaps(window));
+        var occurrences = series.headMap(window.end(), false).values().stream()
+                .flatMap(recurring -> recurring.occurrences(window.start(), window.end())
+                        .map(occurrence -> new Reservation(recurring.id(), occurrence)));
+        return Stream.concat(singles, occurrences);
+    }
+
+    /**
+     * Returns the single reservations, without the series, in ascending start-time order.
+     *
+     * @return immutable, start-ordered snapshot
+     */
+    public List<Reservation> singleReservations() {
+        return intervals.values();
+    }
+
+    /**
+     * Returns the series, each stored once, ordered by the start of their first occurrence.
+     *
+     * @return immutable snapshot
+     */
+    public List<RecurringReservation> series() {
+        return List.copyOf(series.values());
+    }
+
+    /**
+     * Returns the number of stored reservations; a series counts as one.
      *
      * @return current number of reservations
      */
     public int size() {
-        return intervals.size();
+        return intervals.size() + series.size();
+    }
+
+    /**
+     * Returns the total number of reserved minutes.
+     *
+     * @return reserved minutes across all intervals
+     */
+    public long bookedMinutes() {
+        return bookedMinutes;
+    }
+
+    /**
+     * Creates the interval {@code [start, end)} with both instants truncated to minutes,
+     * the same way reservations are stored.
+     *
+     * @param start inclusive start instant
+     * @param end exclusive end instant
+     * @return normalized interval
+     * @throws NullPointerException if {@code start} or {@code end} is null
+     * @throws IllegalArgumentException if the normalized {@code start} is not before the normalized {@code end}
+     */
+    public static ReservationInterval normalize(Instant start, Instant end) {
+        Objects.requireNonNull(start, "start must not be null");
+        Objects.requireNonNull(end, "end must not be null");
+        return new ReservationInterval(normalize(start), normalize(end));
+    }
+
+    /**
+     * Walks the single intervals from {@code slotStart} to the first gap of the given length.
+     */
+    private ReservationInterval findNextSingleFreeSlot(Instant slotStart, Duration length) {
+        var predecessor = intervalAt(intervals.floor(slotStart));
+        if (predecessor != null && predecessor.end().isAfter(slotStart)) {
+            slotStart = predecessor.end();
+        }
+        for (var reservation = intervals.ceiling(slotStart); reservation != null;
+             reservation = intervals.higher(reservation.interval().start())) {
+            var next = reservation.interval();
+            if (!next.start().isBefore(slotStart.plus(length))) {
+                break;
+            }
+            if (next.end().isAfter(slotStart)) {
+                slotStart = next.end();
+            }
+        }
+        return new ReservationInterval(slotStart, slotStart.plus(length));
+    }
+
+    private Optional<ReservationInterval> findOccurrenceCollision(ReservationInterval candidate) {
+        // Only series starting before the candidate ends can overlap it
+        for (var recurring : series.headMap(candidate.end(), false).values()) {
+            var occurrence = recurring.firstOverlap(candidate);
+            if (occurrence.isPresent()) {
+                return occurrence;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static RecurringReservation recurringReservation(long id, Instant start, Instant end,
+                                                             RecurrenceRule recurrence) {
+        Objects.requireNonNull(recurrence, "recurrence must not be null");
+        return new RecurringReservation(id, normalize(start, end), recurrence.period().toMinutes(), recurrence.count());
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static ReservationInterval intervalAt(Reservation reservation) {
+        return reservation == null ? null : reservation.interval();
+    }
+
+    private static long minutes(ReservationInterval interval) {
+        return minutesBetween(interval.start(), interval.end());
+    }
+
+    private static long minutesBetween(Instant from, Instant to) {
+        return ChronoUnit.MINUTES.between(from, to);
     }
 
-    private Instant normalize(Instant instant) {
+    private static Instant normalize(Instant instant) {
         return instant.truncatedTo(ChronoUnit.MINUTES);
     }
 }
@@ -0,0 +1,34 @@
+package com.efor.task.viableone.reservation.replication;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Holds a read with the {@code minVersion} parameter until that version is visible on this instance, so a client
+ * reads its own changes from a replica by passing the version returned with them.
+ */
+class MinVersionInterceptor implements HandlerInterceptor {
+
+    MinVersionInterceptor(ReplicationState replicationState) {
+        this.replicationState = replicationState;
+    }
+
+    static final String MIN_VERSION_PARAMETER = "minVersion";
+
+    private final ReplicationState replicationState;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        var minVersion = request.getParameter(MIN_VERSION_PARAMETER);
+        if (minVersion != null && HttpMethod.GET.matches(request.getMethod())) {
+            try {
+                replicationState.awaitVersion(Long.parseLong(minVersion.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(MIN_VERSION_PARAMETER + " must be a number");
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,148 @@
+package com.efor.task.viableone.reservation.replication;
+
+import com.efor.task.viableone.reservation.AvailabilityMatrix;
+import com.efor.task.viableone.reservation.MultiRoomReservationResult;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.efor.task.viableone.reservation.RoomReservationService;
+import com.efor.task.viableone.reservation.Utilization;
+import com.efor.task.viableone.reservation.UtilizationGranularity;
+import com.efor.task.viableone.reservation.UtilizationGrouping;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link RoomReservationService} of a read replica.
+ * <p>
+ * Reads are served by the local service, which the {@link ReplicationFollower} keeps up to date with the leader;
+ * they may miss the latest changes of the leader by the replication lag. Bookings, cancellations and room
+ * attribute changes are rejected and must be sent to the leader.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Primary
+@Service
+public class ReplicaRoomReservationService implements RoomReservationService {
+
+    public ReplicaRoomReservationService(DefaultRoomReservationService localService,
+                                         ReplicationProperties replicationProperties) {
+        this.localService = localService;
+        this.leaderUrl = replicationProperties.leaderUrl();
+    }
+
+    private final DefaultRoomReservationService localService;
+    private final URI leaderUrl;
+
+    @Override
+    public RoomReservationResult bookRoom(RoomReservation roomReservation) {
+        throw readOnly();
+    }
+
+    @Override
+    public RoomReservationResult bookRoom(RoomReservation roomReservation, String idempotencyKey) {
+        throw readOnly();
+    }
+
+    @Override
+    public MultiRoomReservationResult bookRooms(Set<String> roomIds, Instant reservationStart,
+                                                Instant reservationEnd) {
+        throw readOnly();
+    }
+
+    @Override
+    public RoomReservationResult bookRecurringRoom(RoomReservation firstOccurrence, RecurrenceRule recurrence) {
+        throw readOnly();
+    }
+
+    @Override
+    public Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd) {
+        return localService.findAvailableRoom(reservationStart, reservationEnd);
+    }
+
+    @Override
+    public Optional<String> findAvailableRoom(Instant reservationStart, Instant reservationEnd,
+                                              RoomConstraints constraints) {
+        return localService.findAvailableRoom(reservationStart, reservationEnd, constraints);
+    }
+
+    @Override
+    public List<String> findAvailableRooms(Instant reservationStart, Instant reservationEnd, int count) {
+        return localService.findAvailableRooms(reservationStart, reservationEnd, count);
+    }
+
+    @Override
+    public Optional<RoomReservationResult> bookAnyAvailableRoom(Instant reservationStart, Instant reservationEnd,
+                                                                RoomConstraints constraints) {
+        throw readOnly();
+    }
+
+    @Override
+    public AvailabilityMatrix getAvailabilityMatrix(Instant from, Instant to, Duration slot) {
+        return localService.getAvailabilityMatrix(from, to, slot);
+    }
+
+    @Override
+    public List<RoomReservationInfo> getOccupancy(Instant from, Instant to) {
+        return localService.getOccupancy(from, to);
+    }
+
+    @Override
+    public List<RoomReservationInfo> getOccupancy(Instant instant) {
+        return localService.getOccupancy(instant);
+    }
+
+    @Override
+    public Utilization getUtilization(Instant from, Instant to, UtilizationGranularity granularity,
+                                      UtilizationGrouping grouping) {
+        return localService.getUtilization(from, to, granularity, grouping);
+    }
+
+    @Override
+    public void setRoomAttributes(String roomId, RoomAttributes attributes) {
+        throw readOnly();
+    }
+
+    @Override
+    public Optional<RoomAttributes> getRoomAttributes(String roomId) {
+        return localService.getRoomAttributes(roomId);
+    }
+
+    @Override
+    public Optional<RoomReservationInfo> getReservation(long reservationId) {
+        return localService.getReservation(reservationId);
+    }
+
+    @Override
+    public boolean cancelReservation(long reservationId) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<RoomReservationInfo> getReservations(String roomId) {
+        return localService.getReservations(roomId);
+    }
+
+    @Override
+    public Map<String, List<RoomReservationInfo>> getAllReservations() {
+        return localService.getAllReservations();
+    }
+
+    private IllegalStateException readOnly() {
+        return new IllegalStateException("This instance is a read replica; send changes to the leader '"
+                + leaderUrl + "'.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.efor.task.viableone.reservation.replication;
+
+import java.util.List;
+
+/**
+ * Consecutive changes shipped by the leader in one response.
+ *
+ * @param epoch         identifies the run of the leader; the log starts again from version 1 when it changes
+ * @param leaderVersion version of the leader when the response was made
+ * @param entries       changes following the requested version in log order; empty if there are none
+ */
+record ReplicationBatch(String epoch, long leaderVersion, List<ReplicationEntry> entries) {
+}
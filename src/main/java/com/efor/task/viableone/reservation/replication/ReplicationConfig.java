@@ -0,0 +1,54 @@
+package com.efor.task.viableone.reservation.replication;
+
+import com.efor.task.viableone.reservation.InternalApiInterceptor;
+import com.efor.task.viableone.reservation.impl.ChangeLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Leader/follower replication Spring Context configuration; active with {@code reservation.replication.role}
+ * {@code leader} or {@code follower}. The replication API of the leader requires the
+ * {@code reservation.replication.secret} shared with its followers.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicationProperties.class)
+public class ReplicationConfig {
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "reservation.replication", name = "role", havingValue = "leader")
+    @Import({
+            ChangeLog.class,
+            ReplicationController.class,
+            ReplicationLog.class,
+            ReplicationWebConfig.class
+    })
+    static class LeaderConfig implements WebMvcConfigurer {
+
+        LeaderConfig(ReplicationProperties replicationProperties) {
+            this.internalApiInterceptor = new InternalApiInterceptor("reservation.replication.secret",
+                    replicationProperties.secret());
+        }
+
+        private final InternalApiInterceptor internalApiInterceptor;
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(internalApiInterceptor)
+                    .addPathPatterns(ReplicationController.PATH + "/**");
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "reservation.replication", name = "role", havingValue = "follower")
+    @Import({
+            ReplicaRoomReservationService.class,
+            ReplicationFollower.class,
+            ReplicationWebConfig.class
+    })
+    static class FollowerConfig {
+    }
+}
@@ -0,0 +1,63 @@
+package com.efor.task.viableone.reservation.replication;
+
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Internal API of the leader from which the followers pull the {@link ReplicationLog}.
+ */
+@Hidden
+@RestController
+@RequestMapping(
+        path = ReplicationController.PATH,
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class ReplicationController {
+
+    public ReplicationController(ReplicationLog replicationLog, DefaultRoomReservationService localService,
+                                 ReplicationProperties replicationProperties) {
+        this.replicationLog = replicationLog;
+        this.localService = localService;
+        this.replicationProperties = replicationProperties;
+    }
+
+    static final String PATH = "/internal/v1/replication";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationController.class);
+
+    private final ReplicationLog replicationLog;
+    private final DefaultRoomReservationService localService;
+    private final ReplicationProperties replicationProperties;
+
+    /**
+     * Returns the changes following {@code after}; holds the request open for the poll wait if there are none yet.
+     * Responds with 410 Gone if they are no longer retained.
+     */
+    @GetMapping("/log")
+    public ResponseEntity<ReplicationBatch> getLog(@RequestParam(value = "after", defaultValue = "0") long after)
+            throws InterruptedException {
+        return replicationLog.read(Math.max(0, after), replicationProperties.batchSize(),
+                        replicationProperties.pollWait())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).build());
+    }
+
+    /**
+     * Returns a snapshot of the leader for a follower that cannot catch up from the log.
+     */
+    @GetMapping("/snapshot")
+    public ReplicationSnapshot getSnapshot() {
+        var snapshot = replicationLog.snapshot(localService);
+        logger.info("Replication snapshot taken. version={}, rooms={}", snapshot.version(), snapshot.rooms().size());
+        return snapshot;
+    }
+}
@@ -0,0 +1,15 @@
+package com.efor.task.viableone.reservation.replication;
+
+import com.efor.task.viableone.reservation.ReservationChange;
+
+import java.time.Instant;
+
+/**
+ * Change in the replication log of the leader.
+ *
+ * @param version     position of the change in the log, starting with 1
+ * @param committedAt when the leader committed the change
+ * @param change      the committed change
+ */
+record ReplicationEntry(long version, Instant committedAt, ReservationChange change) {
+}
@@ -0,0 +1,268 @@
+package com.efor.task.viableone.reservation.replication;
+
+import com.efor.task.viableone.reservation.InternalApiInterceptor;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the local service of a follower up to date with the leader.
+ * <p>
+ * A single background thread pulls the {@link ReplicationLog} of the leader from the last applied version and
+ * applies the changes to the local {@link DefaultRoomReservationService} in log order, with the reservation ids
+ * the leader assigned. The leader answers a poll as soon as there is a new change, so a follower is usually behind
+ * by the network round trip only. When the follower is behind the tail the leader retains, or the leader restarted
+ * and its log started again under a new epoch, the follower drops its reservations, applies a
+ * {@link ReplicationSnapshot} of the leader and continues with the log following it.
+ * </p>
+ * <p>
+ * The lag is published as the metrics {@code reservation.replication.lag} (changes the follower is behind the
+ * leader as of the last poll) and {@code reservation.replication.staleness} (seconds since the follower was last
+ * known to be up to date; 0 while it is).
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class ReplicationFollower implements ReplicationState, MeterBinder {
+
+    public ReplicationFollower(DefaultRoomReservationService localService,
+                               ReplicationProperties replicationProperties,
+                               RestClient.Builder restClientBuilder) {
+        if (replicationProperties.leaderUrl() == null) {
+            throw new IllegalStateException("reservation.replication.leader-url must be set for a follower");
+        }
+        var secret = InternalApiInterceptor.requireSecret("reservation.replication.secret",
+                replicationProperties.secret());
+        this.localService = localService;
+        this.leaderUrl = replicationProperties.leaderUrl();
+        this.retryDelay = replicationProperties.retryDelay();
+        this.minVersionTimeout = replicationProperties.minVersionTimeout();
+
+        var requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(replicationProperties.connectTimeout())
+                .build());
+        // The leader holds a poll open for the poll wait before answering that there is nothing new
+        requestFactory.setReadTimeout(replicationProperties.pollWait().plus(replicationProperties.connectTimeout())
+                .multipliedBy(2));
+        this.restClient = restClientBuilder.clone()
+                .baseUrl(leaderUrl.toString().replaceAll("/+$", "") + ReplicationController.PATH)
+                .defaultHeader(InternalApiInterceptor.SECRET_HEADER, secret)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationFollower.class);
+
+    private final DefaultRoomReservationService localService;
+    private final URI leaderUrl;
+    private final Duration retryDelay;
+    private final Duration minVersionTimeout;
+    private final RestClient restClient;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition applied = lock.newCondition();
+    private volatile long version;
+    private volatile long leaderVersion;
+    private volatile boolean upToDate;
+    private volatile long upToDateAtNanos = System.nanoTime();
+    private volatile boolean running = true;
+    /**
+     * Epoch of the log being applied; only accessed by the replication thread.
+     */
+    private String epoch;
+    /**
+     * Versions the rooms of the last snapshot were read at, while the log up to the latest of them is applied; only
+     * accessed by the replication thread.
+     */
+    private final Map<String, Long> snapshotRoomVersions = new HashMap<>();
+    private long snapshotVersion;
+    private Thread thread;
+
+    @PostConstruct
+    public void start() {
+        thread = Thread.ofVirtual().name("replication-follower").start(this::run);
+        logger.info("Replication follower started. leaderUrl='{}'", leaderUrl);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public void awaitVersion(long minVersion) {
+        if (version >= minVersion) {
+            return;
+        }
+        long remaining = minVersionTimeout.toNanos();
+        lock.lock();
+        try {
+            while (version < minVersion) {
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Replica has not caught up with version " + minVersion
+                            + " yet (version " + version + "); try again.");
+                }
+                remaining = applied.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for version " + minVersion, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.replication.version", this, ReplicationFollower::version)
+                .description("Number of changes of the leader applied by the follower")
+                .register(registry);
+        Gauge.builder("reservation.replication.lag", this, f -> Math.max(0, f.leaderVersion - f.version))
+                .description("Number of changes the follower is behind the leader as of the last poll")
+                .register(registry);
+        Gauge.builder("reservation.replication.staleness", this, ReplicationFollower::staleness)
+                .description("Seconds since the follower was last known to be up to date with the leader")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private double staleness() {
+        return upToDate ? 0 : (System.nanoTime() - upToDateAtNanos) / 1e9;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                poll();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                upToDate = false;
+                logger.warn("Replication from the leader has failed; retrying. leaderUrl='{}', version={}, error={}",
+                        leaderUrl, version, e.toString());
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void poll() throws InterruptedException {
+        ReplicationBatch batch;
+        try {
+            batch = Objects.requireNonNull(restClient.get()
+                    .uri(uri -> uri.path("/log").queryParam("after", version).build())
+                    .retrieve()
+                    .body(ReplicationBatch.class));
+        } catch (HttpClientErrorException.Gone e) {
+            logger.warn("Leader no longer retains the log following the version; applying its snapshot. "
+                    + "leaderUrl='{}', version={}", leaderUrl, version);
+            applySnapshot();
+            return;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        if (!batch.epoch().equals(epoch)) {
+            if (epoch != null || version > 0) {
+                logger.warn("Leader has restarted; applying its snapshot. leaderUrl='{}', version={}",
+                        leaderUrl, version);
+                applySnapshot();
+                return;
+            }
+            epoch = batch.epoch();
+        }
+
+        for (var entry : batch.entries()) {
+            // Changes of a room up to the version it was read at are already part of the snapshot
+            var roomVersion = snapshotRoomVersions.get(entry.change().roomId());
+            if (roomVersion == null || entry.version() > roomVersion) {
+                localService.apply(entry.change());
+            }
+            publish(entry.version(), batch.leaderVersion());
+        }
+        if (version >= snapshotVersion) {
+            snapshotRoomVersions.clear();
+        }
+        leaderVersion = batch.leaderVersion();
+        if (version >= leaderVersion) {
+            upToDate = true;
+            upToDateAtNanos = System.nanoTime();
+        } else {
+            upToDate = false;
+        }
+    }
+
+    /**
+     * Replaces the reservations of the local service with a snapshot of the leader.
+     */
+    private void applySnapshot() throws InterruptedException {
+        var snapshot = Objects.requireNonNull(restClient.get()
+                .uri("/snapshot")
+                .retrieve()
+                .body(ReplicationSnapshot.class));
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        publish(0, snapshot.version());
+        localService.clear();
+        snapshotRoomVersions.clear();
+        snapshotVersion = snapshot.version();
+        for (var room : snapshot.rooms()) {
+            room.changes().forEach(localService::apply);
+            if (room.version() > snapshot.version()) {
+                snapshotRoomVersions.put(room.roomId(), room.version());
+                snapshotVersion = Math.max(snapshotVersion, room.version());
+            }
+        }
+        epoch = snapshot.epoch();
+        publish(snapshot.version(), snapshot.version());
+        logger.info("Leader snapshot applied. leaderUrl='{}', version={}, rooms={}",
+                leaderUrl, snapshot.version(), snapshot.rooms().size());
+    }
+
+    private void publish(long version, long leaderVersion) {
+        lock.lock();
+        try {
+            this.version = version;
+            this.leaderVersion = leaderVersion;
+            applied.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.efor.task.viableone.reservation.replication;
+
+import com.efor.task.viableone.reservation.impl.ChangeLog;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Replication log of the leader: the {@link ChangeLog} of the local service under the epoch of this run.
+ * <p>
+ * Followers read the log from their last applied version. A follower whose last version is older than the retained
+ * tail cannot catch up from the log; it starts again from a {@link ReplicationSnapshot} of the leader instead. A
+ * restarted leader starts a new log under a new epoch.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+@Component
+public class ReplicationLog implements ReplicationState, MeterBinder {
+
+    public ReplicationLog(ChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final ChangeLog changeLog;
+
+    /**
+     * Returns up to {@code limit} changes following {@code after}, waiting up to {@code wait} for one if there is
+     * none yet.
+     *
+     * @param after the last version the caller has; 0 for the beginning of the log
+     * @param limit maximum number of changes returned
+     * @param wait  how long to wait for a change
+     * @return the changes, with no entries if there was no change within the wait or {@code after} is not a version
+     * of this log, i.e. it comes from another epoch; empty if the changes following {@code after} are no longer
+     * retained
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Optional<ReplicationBatch> read(long after, int limit, Duration wait) throws InterruptedException {
+        return changeLog.read(after, limit, wait)
+                .map(batch -> new ReplicationBatch(epoch, batch.version(), batch.entries().stream()
+                        .map(entry -> new ReplicationEntry(entry.version(), entry.committedAt(), entry.change()))
+                        .toList()));
+    }
+
+    /**
+     * Takes a snapshot of the rooms of {@code service}, the local service of the leader.
+     */
+    ReplicationSnapshot snapshot(DefaultRoomReservationService service) {
+        long started = changeLog.version();
+        return new ReplicationSnapshot(epoch, started, service.snapshot(changeLog::version));
+    }
+
+    @Override
+    public long version() {
+        return changeLog.version();
+    }
+
+    /**
+     * The leader has every version it committed, so this never waits.
+     */
+    @Override
+    public void awaitVersion(long minVersion) {
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.replication.version", this, ReplicationLog::version)
+                .description("Number of changes committed by the leader")
+                .register(registry);
+    }
+}
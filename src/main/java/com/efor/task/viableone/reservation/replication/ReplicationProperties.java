@@ -0,0 +1,32 @@
+package com.efor.task.viableone.reservation.replication;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Replication configuration bound from the {@code reservation.replication.*} properties.
+ *
+ * @param role              role of this instance
+ * @param leaderUrl         base URL of the leader; required for a follower
+ * @param secret            secret shared by the leader and its followers, required by the replication API
+ * @param batchSize         maximum number of changes shipped in one response
+ * @param pollWait          how long the leader holds a poll of a follower that is up to date open for new changes
+ * @param connectTimeout    timeout of a follower connecting to the leader
+ * @param retryDelay        delay of a follower before polling again after the leader could not be reached
+ * @param minVersionTimeout how long a read with {@code minVersion} waits for a follower to catch up
+ */
+@ConfigurationProperties(prefix = "reservation.replication")
+public record ReplicationProperties(
+        @DefaultValue("NONE") ReplicationRole role,
+        URI leaderUrl,
+        String secret,
+        @DefaultValue("512") int batchSize,
+        @DefaultValue("1s") Duration pollWait,
+        @DefaultValue("500ms") Duration connectTimeout,
+        @DefaultValue("500ms") Duration retryDelay,
+        @DefaultValue("2s") Duration minVersionTimeout
+) {
+}
@@ -0,0 +1,19 @@
+package com.efor.task.viableone.reservation.replication;
+
+/**
+ * Role of an instance in leader/follower replication.
+ */
+public enum ReplicationRole {
+    /**
+     * Not replicated.
+     */
+    NONE,
+    /**
+     * Accepts all requests and ships its committed changes to the followers.
+     */
+    LEADER,
+    /**
+     * Read replica; applies the changes shipped by the leader and serves reads only.
+     */
+    FOLLOWER
+}
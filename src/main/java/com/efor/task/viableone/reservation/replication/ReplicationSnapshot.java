@@ -0,0 +1,19 @@
+package com.efor.task.viableone.reservation.replication;
+
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+
+import java.util.List;
+
+/**
+ * State of the leader shipped to a follower that is too far behind to catch up from the retained log.
+ * <p>
+ * Each room was read at its own version, at least {@code version}; the follower applies the changes of the rooms
+ * and then the log following {@code version}, skipping the changes of a room up to the version it was read at.
+ * </p>
+ *
+ * @param epoch   identifies the run of the leader
+ * @param version version of the leader when the snapshot started
+ * @param rooms   the changes rebuilding every room
+ */
+record ReplicationSnapshot(String epoch, long version, List<DefaultRoomReservationService.RoomSnapshot> rooms) {
+}
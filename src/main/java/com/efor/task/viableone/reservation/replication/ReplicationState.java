@@ -0,0 +1,21 @@
+package com.efor.task.viableone.reservation.replication;
+
+/**
+ * Version of the reservations of a replicated instance: the number of changes committed by the leader
+ * that are visible on this instance.
+ */
+public interface ReplicationState {
+
+    /**
+     * Returns the version visible on this instance.
+     */
+    long version();
+
+    /**
+     * Waits until at least {@code minVersion} is visible on this instance.
+     *
+     * @param minVersion the version to wait for
+     * @throws IllegalStateException if the version is not visible within the configured timeout
+     */
+    void awaitVersion(long minVersion);
+}
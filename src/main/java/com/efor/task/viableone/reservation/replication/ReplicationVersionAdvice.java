@@ -0,0 +1,40 @@
+package com.efor.task.viableone.reservation.replication;
+
+import com.efor.task.viableone.reservation.controller.RoomReservationController;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Reports the version of this instance in the {@value #VERSION_HEADER} header of every response. Taken after the
+ * request was handled, the version of a change response covers the change, so it can be passed as
+ * {@code minVersion} to read the change from a replica.
+ */
+@RestControllerAdvice(assignableTypes = RoomReservationController.class)
+public class ReplicationVersionAdvice implements ResponseBodyAdvice<Object> {
+
+    public ReplicationVersionAdvice(ReplicationState replicationState) {
+        this.replicationState = replicationState;
+    }
+
+    public static final String VERSION_HEADER = "X-Reservation-Version";
+
+    private final ReplicationState replicationState;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().set(VERSION_HEADER, Long.toString(replicationState.version()));
+        return body;
+    }
+}
@@ -0,0 +1,26 @@
+package com.efor.task.viableone.reservation.replication;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Versioned reads and responses of the public API of a replicated instance.
+ */
+@Configuration
+@Import(ReplicationVersionAdvice.class)
+public class ReplicationWebConfig implements WebMvcConfigurer {
+
+    public ReplicationWebConfig(ReplicationState replicationState) {
+        this.replicationState = replicationState;
+    }
+
+    private final ReplicationState replicationState;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new MinVersionInterceptor(replicationState))
+                .addPathPatterns("/api/v1/room/**");
+    }
+}
@@ -0,0 +1,33 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.model.HeapReservationStore;
+import com.efor.task.viableone.reservation.model.ReservationStore;
+
+import java.util.Map;
+
+/**
+ * Keeps the reservations of every room on the heap only, see {@link HeapReservationStore}.
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+public class InMemoryRoomReservationRepository implements RoomReservationRepository {
+
+    @Override
+    public ReservationStore create(String roomId) {
+        return new HeapReservationStore();
+    }
+
+    @Override
+    public Map<String, ReservationStore> findAll() {
+        return Map.of();
+    }
+
+    @Override
+    public void deleteAll() {
+        // Heap stores are dropped together with the rooms
+    }
+
+    @Override
+    public void close() {
+    }
+}
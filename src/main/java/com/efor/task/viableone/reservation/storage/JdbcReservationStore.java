@@ -0,0 +1,171 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.model.HeapReservationStore;
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.Reservation;
+import com.efor.task.viableone.reservation.model.ReservationStore;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * {@link ReservationStore} of a room kept in the database of a {@link JdbcRoomReservationRepository}.
+ * <p>
+ * Reads are served by a {@link HeapReservationStore} caching all reservations of the room. A change is written to
+ * the database by the {@link JdbcReservationWriter} first and applied to the cache once committed, so a change
+ * rejected by the database leaves the room unchanged.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Changes must be made by one thread at a time.</p>
+ */
+final class JdbcReservationStore implements ReservationStore {
+
+    JdbcReservationStore(JdbcReservationWriter writer, String roomId) {
+        this.writer = writer;
+        this.roomId = roomId;
+    }
+
+    private final JdbcReservationWriter writer;
+    private final String roomId;
+    private final HeapReservationStore cached = new HeapReservationStore();
+    private volatile List<RecurringReservation> series = List.of();
+
+    @Override
+    public Reservation get(Instant start) {
+        return cached.get(start);
+    }
+
+    @Override
+    public Reservation floor(Instant start) {
+        return cached.floor(start);
+    }
+
+    @Override
+    public Reservation ceiling(Instant start) {
+        return cached.ceiling(start);
+    }
+
+    @Override
+    public Reservation higher(Instant start) {
+        return cached.higher(start);
+    }
+
+    @Override
+    public Reservation first() {
+        return cached.first();
+    }
+
+    @Override
+    public Reservation last() {
+        return cached.last();
+    }
+
+    @Override
+    public List<Reservation> startingBetween(Instant from, Instant to) {
+        return cached.startingBetween(from, to);
+    }
+
+    @Override
+    public List<Reservation> values() {
+        return cached.values();
+    }
+
+    /**
+     * @throws IllegalStateException if a reservation of the room stored in the database overlaps it or the write
+     *                               has failed
+     */
+    @Override
+    public Reservation put(Reservation reservation) {
+        writer.insert(roomId, List.of(reservation), cached.get(reservation.interval().start()));
+        return cached.put(reservation);
+    }
+
+    /**
+     * Inserts the reservations in one write.
+     *
+     * @throws IllegalStateException if a reservation of the room stored in the database overlaps any of them or the
+     *                               write has failed
+     */
+    @Override
+    public void putAll(List<Reservation> reservations) {
+        writer.insert(roomId, reservations, null);
+        cached.putAll(reservations);
+    }
+
+    /**
+     * @throws IllegalStateException if the write has failed
+     */
+    @Override
+    public Reservation remove(Instant start) {
+        var reservation = cached.get(start);
+        if (reservation == null) {
+            return null;
+        }
+        writer.delete(roomId, reservation);
+        return cached.remove(start);
+    }
+
+    @Override
+    public int size() {
+        return cached.size();
+    }
+
+    /**
+     * Archives the cached reservations only; the database keeps them as they are.
+     */
+    @Override
+    public int archive(Instant before) {
+        return cached.archive(before);
+    }
+
+    @Override
+    public boolean compact() {
+        return cached.compact();
+    }
+
+    @Override
+    public List<RecurringReservation> series() {
+        return series;
+    }
+
+    /**
+     * Writes only the series added or removed since the last save.
+     *
+     * @throws IllegalStateException if a reservation or series of the room stored in the database overlaps an added
+     *                               series or the write has failed
+     */
+    @Override
+    public void saveSeries(Collection<RecurringReservation> series) {
+        var saved = List.copyOf(series);
+        var removed = new HashSet<>(this.series);
+        List<RecurringReservation> added = new ArrayList<>();
+        for (var recurring : saved) {
+            if (!removed.remove(recurring)) {
+                added.add(recurring);
+            }
+        }
+        writer.saveSeries(roomId, added, List.copyOf(removed));
+        this.series = saved;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Caches a reservation read from the database.
+     */
+    void load(Reservation reservation) {
+        cached.put(reservation);
+    }
+
+    /**
+     * Caches the series read from the database.
+     */
+    void loadSeries(List<RecurringReservation> series) {
+        this.series = List.copyOf(series);
+    }
+}
@@ -0,0 +1,372 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.Reservation;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the changes of the rooms to the database of a {@link JdbcRoomReservationRepository}, committing the
+ * writes of concurrent bookings together.
+ * <p>
+ * A booking waits until its write is committed. The writes arriving while a transaction commits queue up, and the
+ * next transaction takes up to {@code batchSize} of them and sends each statement as one batch of prepared
+ * statements: it locks the rooms written by updating their room rows in room id order, deletes the removed
+ * reservations and series, inserts the new reservations and then the new series one by one.
+ * </p>
+ * <p>
+ * The reservations and series of a room stored in the database never overlap, checked while the room row is locked,
+ * so concurrent transactions of the same room are serialized: a reservation is only inserted if no stored
+ * reservation or occurrence of a stored series overlaps it, checked by the insert statement itself, and a series is
+ * only inserted if none of the room's reservations and series read within its span overlaps it. A rejected write
+ * rolls the transaction back; it is retried without the rejected writes, which fail.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+final class JdbcReservationWriter implements AutoCloseable {
+
+    JdbcReservationWriter(DataSource dataSource, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalStateException("reservation.storage.batch-size must be positive");
+        }
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+        this.thread = Thread.ofVirtual().name("reservation-jdbc-writer").start(this::run);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcReservationWriter.class);
+
+    private static final String LOCK_ROOM = "UPDATE reservation_room SET version = version + 1 WHERE room_id = ?";
+    private static final String DELETE_RESERVATION = "DELETE FROM reservation WHERE id = ?";
+    private static final String INSERT_RESERVATION = """
+            INSERT INTO reservation (id, room_id, start_minute, end_minute)
+            SELECT CAST(? AS BIGINT), CAST(? AS VARCHAR), CAST(? AS BIGINT), CAST(? AS BIGINT)
+            WHERE NOT EXISTS (
+                SELECT 1 FROM reservation WHERE room_id = ? AND start_minute < ? AND end_minute > ?)
+            AND NOT EXISTS (
+                SELECT 1 FROM reservation_series
+                WHERE room_id = ? AND start_minute < ? AND end_minute + period_minutes * (occurrences - 1) > ?
+                AND GREATEST(0, FLOOR(CAST(CAST(? AS BIGINT) - end_minute AS DOUBLE PRECISION) / period_minutes) + 1)
+                    <= LEAST(occurrences - 1,
+                        CEILING(CAST(CAST(? AS BIGINT) - start_minute AS DOUBLE PRECISION) / period_minutes) - 1))""";
+    private static final String SELECT_RESERVATIONS = """
+            SELECT start_minute, end_minute FROM reservation
+            WHERE room_id = ? AND start_minute < ? AND end_minute > ?""";
+    private static final String SELECT_SERIES = """
+            SELECT id, start_minute, end_minute, period_minutes, occurrences FROM reservation_series
+            WHERE room_id = ? AND start_minute < ? AND end_minute + period_minutes * (occurrences - 1) > ?""";
+    private static final String DELETE_SERIES = "DELETE FROM reservation_series WHERE id = ?";
+    private static final String INSERT_SERIES = """
+            INSERT INTO reservation_series (id, room_id, start_minute, end_minute, period_minutes, occurrences)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final Thread thread;
+    private final BlockingQueue<Write> queue = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+
+    /**
+     * Inserts the reservations, deleting the replaced reservation with the same start as one of them first; either
+     * all reservations are inserted or none.
+     *
+     * @param replaced the reservation with the same start, or {@code null}
+     * @throws IllegalStateException if a stored reservation of the room overlaps any of them or the write has failed
+     */
+    void insert(String roomId, List<Reservation> reservations, Reservation replaced) {
+        write(new Insert(roomId, reservations, replaced, new CompletableFuture<>()));
+    }
+
+    /**
+     * @throws IllegalStateException if the write has failed
+     */
+    void delete(String roomId, Reservation reservation) {
+        write(new Delete(roomId, reservation, new CompletableFuture<>()));
+    }
+
+    /**
+     * Deletes the removed series of the room and inserts the added ones; either all are written or none.
+     *
+     * @throws IllegalStateException if a stored reservation or series of the room overlaps an added series or the
+     *                               write has failed
+     */
+    void saveSeries(String roomId, List<RecurringReservation> added, List<RecurringReservation> removed) {
+        write(new SaveSeries(roomId, added, removed, new CompletableFuture<>()));
+    }
+
+    /**
+     * Commits the queued writes and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Write write) {
+        if (closed) {
+            throw new IllegalStateException("The reservation database writer is closed");
+        }
+        queue.add(write);
+        if (closed && queue.remove(write)) {
+            throw new IllegalStateException("The reservation database writer is closed");
+        }
+        try {
+            write.done().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IllegalStateException rejected) {
+                throw new IllegalStateException(rejected.getMessage(), rejected);
+            }
+            throw new IllegalStateException("Cannot write the reservations of room '" + write.roomId() + "'",
+                    e.getCause());
+        }
+    }
+
+    private void run() {
+        List<Write> batch = new ArrayList<>(batchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(List<Write> writes) {
+        List<Write> pending = new ArrayList<>(writes);
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                while (!pending.isEmpty()) {
+                    var rejected = execute(connection, pending);
+                    if (rejected.isEmpty()) {
+                        connection.commit();
+                        pending.forEach(write -> write.done().complete(null));
+                        logger.debug("Reservation writes committed. writes={}", pending.size());
+                        return;
+                    }
+                    connection.rollback();
+                    for (var write : rejected) {
+                        write.done().completeExceptionally(new IllegalStateException(
+                                "Reservation overlaps a reservation stored in the database. roomId='"
+                                        + write.roomId() + "'"));
+                    }
+                    pending.removeAll(rejected);
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Reservation writes have failed. writes={}", pending.size(), e);
+            pending.forEach(write -> write.done().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Executes the writes in the open transaction.
+     *
+     * @return the writes rejected because a stored reservation or series overlaps them
+     */
+    private static List<Write> execute(Connection connection, List<Write> writes) throws SQLException {
+        var rooms = new TreeSet<String>();
+        List<Reservation> deleted = new ArrayList<>();
+        List<RecurringReservation> deletedSeries = new ArrayList<>();
+        List<Insert> inserts = new ArrayList<>();
+        List<SaveSeries> series = new ArrayList<>();
+        for (var write : writes) {
+            rooms.add(write.roomId());
+            switch (write) {
+                case Insert insert -> {
+                    if (insert.replaced() != null) {
+                        deleted.add(insert.replaced());
+                    }
+                    inserts.add(insert);
+                }
+                case Delete delete -> deleted.add(delete.reservation());
+                case SaveSeries saveSeries -> {
+                    deletedSeries.addAll(saveSeries.removed());
+                    series.add(saveSeries);
+                }
+            }
+        }
+
+        try (var statement = connection.prepareStatement(LOCK_ROOM)) {
+            for (var roomId : rooms) {
+                statement.setString(1, roomId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        if (!deleted.isEmpty()) {
+            try (var statement = connection.prepareStatement(DELETE_RESERVATION)) {
+                for (var reservation : deleted) {
+                    statement.setLong(1, reservation.id());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+        if (!deletedSeries.isEmpty()) {
+            try (var statement = connection.prepareStatement(DELETE_SERIES)) {
+                for (var recurring : deletedSeries) {
+                    statement.setLong(1, recurring.id());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+        List<Write> rejected = new ArrayList<>();
+        if (!inserts.isEmpty()) {
+            try (var statement = connection.prepareStatement(INSERT_RESERVATION)) {
+                for (var insert : inserts) {
+                    for (var reservation : insert.reservations()) {
+                        long start = minutes(reservation.interval().start());
+                        long end = minutes(reservation.interval().end());
+                        statement.setLong(1, reservation.id());
+                        statement.setString(2, insert.roomId());
+                        statement.setLong(3, start);
+                        statement.setLong(4, end);
+                        statement.setString(5, insert.roomId());
+                        statement.setLong(6, end);
+                        statement.setLong(7, start);
+                        statement.setString(8, insert.roomId());
+                        statement.setLong(9, end);
+                        statement.setLong(10, start);
+                        statement.setLong(11, start);
+                        statement.setLong(12, end);
+                        statement.addBatch();
+                    }
+                }
+                var counts = statement.executeBatch();
+                int row = 0;
+                for (var insert : inserts) {
+                    for (int i = 0; i < insert.reservations().size(); i++, row++) {
+                        if (counts[row] == 0 && (rejected.isEmpty() || rejected.getLast() != insert)) {
+                            rejected.add(insert);
+                        }
+                    }
+                }
+            }
+        }
+        if (!series.isEmpty() && rejected.isEmpty()) {
+            for (var saveSeries : series) {
+                for (var recurring : saveSeries.added()) {
+                    if (overlapsStored(connection, saveSeries.roomId(), recurring)) {
+                        rejected.add(saveSeries);
+                        break;
+                    }
+                    insertSeries(connection, saveSeries.roomId(), recurring);
+                }
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Returns whether a reservation or series of the room stored in the database overlaps {@code series}, reading
+     * those within its span.
+     */
+    private static boolean overlapsStored(Connection connection, String roomId, RecurringReservation series)
+            throws SQLException {
+        var span = series.span();
+        try (var statement = connection.prepareStatement(SELECT_RESERVATIONS)) {
+            bindSpan(statement, roomId, span);
+            try (var rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    if (series.overlaps(new ReservationInterval(instant(rows.getLong(1)), instant(rows.getLong(2))))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        try (var statement = connection.prepareStatement(SELECT_SERIES)) {
+            bindSpan(statement, roomId, span);
+            try (var rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    var stored = new RecurringReservation(rows.getLong(1),
+                            new ReservationInterval(instant(rows.getLong(2)), instant(rows.getLong(3))),
+                            rows.getLong(4), rows.getInt(5));
+                    if (series.firstOverlap(stored).isPresent()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void bindSpan(PreparedStatement statement, String roomId, ReservationInterval span)
+            throws SQLException {
+        statement.setString(1, roomId);
+        statement.setLong(2, minutes(span.end()));
+        statement.setLong(3, minutes(span.start()));
+    }
+
+    private static void insertSeries(Connection connection, String roomId, RecurringReservation series)
+            throws SQLException {
+        try (var statement = connection.prepareStatement(INSERT_SERIES)) {
+            statement.setLong(1, series.id());
+            statement.setString(2, roomId);
+            statement.setLong(3, minutes(series.first().start()));
+            statement.setLong(4, minutes(series.first().end()));
+            statement.setLong(5, series.periodMinutes());
+            statement.setInt(6, series.count());
+            statement.executeUpdate();
+        }
+    }
+
+    static long minutes(Instant instant) {
+        return instant.getEpochSecond() / 60;
+    }
+
+    private static Instant instant(long minutes) {
+        return Instant.ofEpochSecond(minutes * 60);
+    }
+
+    private sealed interface Write {
+
+        String roomId();
+
+        CompletableFuture<Void> done();
+    }
+
+    private record Insert(String roomId, List<Reservation> reservations, Reservation replaced,
+                          CompletableFuture<Void> done) implements Write {
+    }
+
+    private record Delete(String roomId, Reservation reservation, CompletableFuture<Void> done) implements Write {
+    }
+
+    private record SaveSeries(String roomId, List<RecurringReservation> added, List<RecurringReservation> removed,
+                              CompletableFuture<Void> done) implements Write {
+    }
+}
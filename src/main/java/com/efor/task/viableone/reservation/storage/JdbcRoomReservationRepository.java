@@ -0,0 +1,130 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.Reservation;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import com.efor.task.viableone.reservation.model.ReservationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the reservations of every room in a relational database, see {@link JdbcReservationStore}.
+ * <p>
+ * The tables are created if they do not exist: a row per room in {@code reservation_room}, the single reservations
+ * in {@code reservation} and the series in {@code reservation_series}, with start and end in epoch minutes. The
+ * database keeps the reservations and series of a room from overlapping, see {@link JdbcReservationWriter}.
+ * </p>
+ * <p>
+ * All reservations are read into memory when the service starts and every read is served from there, so one
+ * service writes a database. The database still rejects an overlapping reservation or series written by another one.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+public class JdbcRoomReservationRepository implements RoomReservationRepository {
+
+    public JdbcRoomReservationRepository(DataSource dataSource,
+                                         ReservationProperties.StorageProperties storageProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        SCHEMA.forEach(jdbcTemplate::execute);
+        this.writer = new JdbcReservationWriter(dataSource, storageProperties.batchSize());
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcRoomReservationRepository.class);
+
+    private static final List<String> SCHEMA = List.of("""
+            CREATE TABLE IF NOT EXISTS reservation_room (
+                room_id VARCHAR PRIMARY KEY,
+                version BIGINT DEFAULT 0 NOT NULL
+            )""", """
+            CREATE TABLE IF NOT EXISTS reservation (
+                id BIGINT PRIMARY KEY,
+                room_id VARCHAR NOT NULL REFERENCES reservation_room (room_id),
+                start_minute BIGINT NOT NULL,
+                end_minute BIGINT NOT NULL,
+                CONSTRAINT reservation_interval CHECK (start_minute < end_minute),
+                CONSTRAINT reservation_room_start UNIQUE (room_id, start_minute)
+            )""", """
+            CREATE TABLE IF NOT EXISTS reservation_series (
+                id BIGINT PRIMARY KEY,
+                room_id VARCHAR NOT NULL REFERENCES reservation_room (room_id),
+                start_minute BIGINT NOT NULL,
+                end_minute BIGINT NOT NULL,
+                period_minutes BIGINT NOT NULL,
+                occurrences INT NOT NULL
+            )""");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcReservationWriter writer;
+
+    @Override
+    public ReservationStore create(String roomId) {
+        try {
+            jdbcTemplate.update("""
+                    INSERT INTO reservation_room (room_id)
+                    SELECT CAST(? AS VARCHAR) WHERE NOT EXISTS (SELECT 1 FROM reservation_room WHERE room_id = ?)""",
+                    roomId, roomId);
+        } catch (DuplicateKeyException e) {
+            // Created concurrently by another service
+        }
+        return new JdbcReservationStore(writer, roomId);
+    }
+
+    @Override
+    public Map<String, ReservationStore> findAll() {
+        Map<String, JdbcReservationStore> stores = new HashMap<>();
+        jdbcTemplate.query("SELECT room_id FROM reservation_room", (RowCallbackHandler) row -> {
+            var roomId = row.getString(1);
+            stores.put(roomId, new JdbcReservationStore(writer, roomId));
+        });
+        long[] reservations = {0};
+        jdbcTemplate.query("SELECT room_id, id, start_minute, end_minute FROM reservation",
+                (RowCallbackHandler) row -> {
+                    var interval = new ReservationInterval(toInstant(row.getLong(3)), toInstant(row.getLong(4)));
+                    stores.get(row.getString(1)).load(new Reservation(row.getLong(2), interval));
+                    reservations[0]++;
+                });
+        Map<String, List<RecurringReservation>> series = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT room_id, id, start_minute, end_minute, period_minutes, occurrences
+                FROM reservation_series""", (RowCallbackHandler) row -> {
+            var first = new ReservationInterval(toInstant(row.getLong(3)), toInstant(row.getLong(4)));
+            series.computeIfAbsent(row.getString(1), __ -> new ArrayList<>())
+                    .add(new RecurringReservation(row.getLong(2), first, row.getLong(5), row.getInt(6)));
+        });
+        series.forEach((roomId, roomSeries) -> stores.get(roomId).loadSeries(roomSeries));
+        logger.info("Reservations read from the database. rooms={}, reservations={}, series={}",
+                stores.size(), reservations[0], series.values().stream().mapToInt(List::size).sum());
+        return Map.copyOf(stores);
+    }
+
+    @Override
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM reservation_series");
+        jdbcTemplate.update("DELETE FROM reservation");
+        jdbcTemplate.update("DELETE FROM reservation_room");
+    }
+
+    /**
+     * Commits the pending writes; the database is closed by its owner.
+     */
+    @Override
+    public void close() {
+        writer.close();
+    }
+
+    private static Instant toInstant(long minute) {
+        return Instant.ofEpochSecond(minute * 60);
+    }
+}
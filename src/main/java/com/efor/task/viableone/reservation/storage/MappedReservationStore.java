@@ -0,0 +1,517 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.Reservation;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import com.efor.task.viableone.reservation.model.ReservationStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * {@link ReservationStore} keeping the single reservations of a room off the heap, in a memory-mapped file.
+ * <p>
+ * The file holds a header with the room id and the number of reservations, followed by fixed-width records sorted
+ * by start: start and end as epoch minutes ({@code int}) and the reservation id ({@code long}), 16 bytes each.
+ * Lookups binary search the records directly in the mapping, so the records neither take heap space nor are
+ * visited by the garbage collector; only the returned reservations are created as short-lived objects. This covers
+ * the store only: the indexes the service derives from every reservation stay on the heap. A new reservation shifts
+ * the records after it, which is cheap for the usual bookings at the end of the schedule; a full file is doubled and
+ * mapped again. The file is only open while it is mapped, so a room takes a mapping but no file descriptor.
+ * </p>
+ * <p>
+ * The reservations persist in the file: opening it again maps it and checks the records in one pass. Writes reach the
+ * file through the operating system's page cache, so they survive a crash of the process but not of the machine.
+ * Records are shifted one at a time, away from the end of the file for an insertion and towards it for a removal, and
+ * the reservation id of a record is written on the side that makes a torn record, or the one left behind, carry the id
+ * of the record after it. A change cut short by a crash thus leaves every reservation in the file with at most one
+ * extra record, which {@link #open(Path)} drops; only a reservation replaced in place at the same start may be left
+ * with its new end and old id. The few series are kept in a small side file rewritten on every change.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Changes must be made by one thread at a time. Reads may run concurrently with
+ * a change; they retry when a change overlapped them.</p>
+ */
+public class MappedReservationStore implements ReservationStore {
+
+    private MappedReservationStore(Path file, MappedByteBuffer buffer, String roomId, int dataOffset) {
+        this.file = file;
+        this.seriesFile = file.resolveSibling(file.getFileName() + ".series");
+        this.buffer = buffer;
+        this.roomId = roomId;
+        this.dataOffset = dataOffset;
+        this.count = buffer.getInt(COUNT_OFFSET);
+    }
+
+    static final int RECORD_BYTES = 16;
+    private static final int MAGIC = 0x52525331; // "RRS1"
+    private static final int COUNT_OFFSET = 4;
+    private static final int ROOM_ID_LENGTH_OFFSET = 8;
+    private static final int HEADER_BYTES = 16;
+    private static final int SERIES_RECORD_BYTES = 32;
+
+    private final Path file;
+    private final Path seriesFile;
+    private final String roomId;
+    private final int dataOffset;
+    private final StampedLock lock = new StampedLock();
+    private volatile MappedByteBuffer buffer;
+    private volatile int count;
+
+    /**
+     * Creates the file of a room; an existing file is replaced.
+     *
+     * @param file            the file
+     * @param roomId          the room
+     * @param initialCapacity number of reservations the file has room for before it grows
+     */
+    public static MappedReservationStore create(Path file, String roomId, int initialCapacity) {
+        var roomIdBytes = roomId.getBytes(StandardCharsets.UTF_8);
+        int dataOffset = align(HEADER_BYTES + roomIdBytes.length);
+        try {
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".series"));
+            var buffer = map(file, dataOffset + (long) Math.max(1, initialCapacity) * RECORD_BYTES,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(ROOM_ID_LENGTH_OFFSET, roomIdBytes.length);
+            buffer.put(HEADER_BYTES, roomIdBytes);
+            buffer.putInt(COUNT_OFFSET, 0);
+            // Written last, so a file is only recognized once its header is complete
+            buffer.putInt(0, MAGIC);
+            return new MappedReservationStore(file, buffer, roomId, dataOffset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the reservation file " + file, e);
+        }
+    }
+
+    /**
+     * Maps the existing file of a room and checks its records, dropping the extra record a change cut short by a
+     * crash may have left.
+     * <p>
+     * <strong>Time complexity:</strong> O(n), n = reservations of the room.
+     * </p>
+     *
+     * @throws IllegalStateException if the file is not a reservation file or its records are not sorted by start
+     */
+    public static MappedReservationStore open(Path file) {
+        try {
+            var buffer = map(file, -1);
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IllegalStateException("Not a reservation file: " + file);
+            }
+            int roomIdLength = buffer.getInt(ROOM_ID_LENGTH_OFFSET);
+            if (roomIdLength < 0 || HEADER_BYTES + roomIdLength > buffer.capacity()) {
+                throw new IllegalStateException("Not a reservation file: " + file);
+            }
+            var roomIdBytes = new byte[roomIdLength];
+            buffer.get(HEADER_BYTES, roomIdBytes);
+            var store = new MappedReservationStore(file, buffer, new String(roomIdBytes, StandardCharsets.UTF_8),
+                    align(HEADER_BYTES + roomIdLength));
+            store.repair();
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the reservation file " + file, e);
+        }
+    }
+
+    public String roomId() {
+        return roomId;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public Reservation get(Instant start) {
+        int minute = clampToMinute(start);
+        return read(() -> {
+            int position = search(minute);
+            return position >= 0 ? reservationAt(position) : null;
+        });
+    }
+
+    @Override
+    public Reservation floor(Instant start) {
+        int minute = clampToMinute(start);
+        return read(() -> {
+            int position = search(minute);
+            int floor = position >= 0 ? position : -position - 2;
+            return floor >= 0 ? reservationAt(floor) : null;
+        });
+    }
+
+    @Override
+    public Reservation ceiling(Instant start) {
+        int minute = clampToMinute(start);
+        return read(() -> {
+            int position = search(minute);
+            int ceiling = position >= 0 ? position : -position - 1;
+            return ceiling < count ? reservationAt(ceiling) : null;
+        });
+    }
+
+    @Override
+    public Reservation higher(Instant start) {
+        int minute = clampToMinute(start);
+        return read(() -> {
+            int position = search(minute);
+            int higher = position >= 0 ? position + 1 : -position - 1;
+            return higher < count ? reservationAt(higher) : null;
+        });
+    }
+
+    @Override
+    public Reservation first() {
+        return read(() -> count == 0 ? null : reservationAt(0));
+    }
+
+    @Override
+    public Reservation last() {
+        return read(() -> count == 0 ? null : reservationAt(count - 1));
+    }
+
+    @Override
+    public List<Reservation> startingBetween(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        int fromMinute = clampToMinute(from);
+        int toMinute = clampToMinute(to);
+        return read(() -> {
+            int position = search(fromMinute);
+            int first = position >= 0 ? position + 1 : -position - 1;
+            var reservations = new ArrayList<Reservation>();
+            for (int i = first; i < count && startAt(i) < toMinute; i++) {
+                reservations.add(reservationAt(i));
+            }
+            return Collections.unmodifiableList(reservations);
+        });
+    }
+
+    @Override
+    public List<Reservation> values() {
+        return read(() -> {
+            var reservations = new ArrayList<Reservation>(count);
+            for (int i = 0; i < count; i++) {
+                reservations.add(reservationAt(i));
+            }
+            return Collections.unmodifiableList(reservations);
+        });
+    }
+
+    @Override
+    public Reservation put(Reservation reservation) {
+        int start = toMinute(reservation.interval().start());
+        int end = toMinute(reservation.interval().end());
+        long stamp = lock.writeLock();
+        try {
+            int position = search(start);
+            if (position >= 0) {
+                var replaced = reservationAt(position);
+                int offset = offset(position);
+                buffer.putInt(offset + 4, end);
+                buffer.putLong(offset + 8, reservation.id());
+                return replaced;
+            }
+            position = -position - 1;
+            int size = count;
+            ensureCapacity(size + 1);
+            if (position < size) {
+                // The count covers the copy of the last record before the others are shifted over it
+                copyRecord(size - 1, size);
+                setCount(size + 1);
+                for (int i = size - 1; i > position; i--) {
+                    copyRecord(i - 1, i);
+                }
+            }
+            int offset = offset(position);
+            buffer.putInt(offset, start);
+            buffer.putInt(offset + 4, end);
+            buffer.putLong(offset + 8, reservation.id());
+            if (position == size) {
+                setCount(size + 1);
+            }
+            return null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Reservation remove(Instant start) {
+        int minute = clampToMinute(start);
+        long stamp = lock.writeLock();
+        try {
+            int position = search(minute);
+            if (position < 0) {
+                return null;
+            }
+            var removed = reservationAt(position);
+            for (int i = position + 1; i < count; i++) {
+                copyRecord(i, i - 1);
+            }
+            setCount(count - 1);
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public List<RecurringReservation> series() {
+        if (!Files.exists(seriesFile)) {
+            return List.of();
+        }
+        try {
+            var bytes = ByteBuffer.wrap(Files.readAllBytes(seriesFile));
+            var series = new ArrayList<RecurringReservation>();
+            while (bytes.remaining() >= SERIES_RECORD_BYTES) {
+                long id = bytes.getLong();
+                var first = new ReservationInterval(toInstant(bytes.getInt()), toInstant(bytes.getInt()));
+                long periodMinutes = bytes.getLong();
+                int count = bytes.getInt();
+                bytes.getInt();
+                series.add(new RecurringReservation(id, first, periodMinutes, count));
+            }
+            return series;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the series file " + seriesFile, e);
+        }
+    }
+
+    @Override
+    public void saveSeries(Collection<RecurringReservation> series) {
+        var bytes = ByteBuffer.allocate(series.size() * SERIES_RECORD_BYTES);
+        for (var recurring : series) {
+            bytes.putLong(recurring.id())
+                    .putInt(toMinute(recurring.first().start()))
+                    .putInt(toMinute(recurring.first().end()))
+                    .putLong(recurring.periodMinutes())
+                    .putInt(recurring.count())
+                    .putInt(0);
+        }
+        try {
+            var temporary = seriesFile.resolveSibling(seriesFile.getFileName() + ".tmp");
+            Files.write(temporary, bytes.array());
+            Files.move(temporary, seriesFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the series file " + seriesFile, e);
+        }
+    }
+
+    /**
+     * Does nothing: the file is not kept open, and its mapping is released once the store is unreachable.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Closes the store and deletes its files.
+     */
+    public void delete() {
+        close();
+        try {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(seriesFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete the reservation file " + file, e);
+        }
+    }
+
+    /**
+     * Runs the read optimistically and again under the read lock if a change overlapped it.
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                var result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // A torn read of records being shifted; only meaningful if nothing changed meanwhile
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Binary search by start minute.
+     *
+     * @return the position of the record starting at {@code minute}, or {@code -(insertion point) - 1}
+     */
+    private int search(int minute) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int start = startAt(middle);
+            if (start < minute) {
+                low = middle + 1;
+            } else if (start > minute) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int startAt(int position) {
+        return buffer.getInt(offset(position));
+    }
+
+    private long idAt(int position) {
+        return buffer.getLong(offset(position) + 8);
+    }
+
+    private Reservation reservationAt(int position) {
+        var mapping = buffer;
+        int offset = offset(position);
+        return new Reservation(mapping.getLong(offset + 8),
+                new ReservationInterval(toInstant(mapping.getInt(offset)), toInstant(mapping.getInt(offset + 4))));
+    }
+
+    private int offset(int position) {
+        return dataOffset + position * RECORD_BYTES;
+    }
+
+    /**
+     * Copies a record to another position; the reservation id is written last when moving it towards the end of the
+     * file and first when moving it towards the start, so a torn copy carries the id of the record after it.
+     */
+    private void copyRecord(int from, int to) {
+        int source = offset(from);
+        int target = offset(to);
+        long id = buffer.getLong(source + 8);
+        if (to < from) {
+            buffer.putLong(target + 8, id);
+        }
+        buffer.putInt(target, buffer.getInt(source));
+        buffer.putInt(target + 4, buffer.getInt(source + 4));
+        if (to > from) {
+            buffer.putLong(target + 8, id);
+        }
+    }
+
+    /**
+     * Drops every record with the reservation id of the record after it, which is what a change cut short by a crash
+     * leaves behind, then checks that the records are sorted by start.
+     */
+    private void repair() {
+        int capacity = (buffer.capacity() - dataOffset) / RECORD_BYTES;
+        if (count < 0 || count > capacity) {
+            throw new IllegalStateException("Reservation file " + file + " has " + count
+                    + " records but room for " + capacity);
+        }
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (i + 1 < count && idAt(i) == idAt(i + 1)) {
+                continue;
+            }
+            if (kept < i) {
+                copyRecord(i, kept);
+            }
+            kept++;
+        }
+        if (kept < count) {
+            setCount(kept);
+        }
+        for (int i = 0; i < count; i++) {
+            int offset = offset(i);
+            if (buffer.getInt(offset + 4) <= buffer.getInt(offset) || i > 0 && startAt(i - 1) >= startAt(i)) {
+                throw new IllegalStateException("Reservation file " + file + " has an invalid record at " + i);
+            }
+        }
+    }
+
+    private void setCount(int count) {
+        buffer.putInt(COUNT_OFFSET, count);
+        this.count = count;
+    }
+
+    private void ensureCapacity(int records) {
+        long required = offset(0) + (long) records * RECORD_BYTES;
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        long size = Math.max(required, dataOffset + 2L * (buffer.capacity() - dataOffset));
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Room '" + roomId + "' has too many reservations for its file");
+        }
+        try {
+            buffer = map(file, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow the reservation file " + file, e);
+        }
+    }
+
+    /**
+     * Maps the file, opened only for the time it takes.
+     *
+     * @param size size of the mapping, which extends the file if larger; {@code -1} for the size of the file
+     */
+    private static MappedByteBuffer map(Path file, long size, StandardOpenOption... options) throws IOException {
+        var openOptions = EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE);
+        openOptions.addAll(List.of(options));
+        try (var channel = FileChannel.open(file, openOptions)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size < 0 ? channel.size() : size);
+        }
+    }
+
+    private static int toMinute(Instant instant) {
+        try {
+            return Math.toIntExact(Math.floorDiv(instant.getEpochSecond(), 60));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Instant " + instant + " is out of the range of the reservation file");
+        }
+    }
+
+    /**
+     * Converts an instant looked up, which need not be stored, to epoch minutes; instants out of the range of the
+     * file are moved to its bounds, beyond every stored reservation.
+     */
+    private static int clampToMinute(Instant instant) {
+        long minute = Math.floorDiv(instant.getEpochSecond(), 60);
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, minute));
+    }
+
+    private static Instant toInstant(int minute) {
+        return Instant.ofEpochSecond(minute * 60L);
+    }
+
+    private static int align(int bytes) {
+        return (bytes + RECORD_BYTES - 1) / RECORD_BYTES * RECORD_BYTES;
+    }
+}
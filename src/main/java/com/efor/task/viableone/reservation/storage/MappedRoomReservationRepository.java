@@ -0,0 +1,86 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.model.ReservationStore;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the reservations of every room in its own memory-mapped file in the storage directory, see
+ * {@link MappedReservationStore}.
+ * <p>
+ * A room file is named after a hash of the room id, which is also stored in the file. Every room takes one memory
+ * mapping, so the number of rooms is bounded by the operating system's limit of mappings per process.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Thread-safe.</p>
+ */
+public class MappedRoomReservationRepository implements RoomReservationRepository {
+
+    public MappedRoomReservationRepository(ReservationProperties.StorageProperties storageProperties) {
+        if (storageProperties.directory() == null) {
+            throw new IllegalStateException("reservation.storage.directory must be set for the mapped storage");
+        }
+        this.directory = storageProperties.directory();
+        this.initialCapacity = storageProperties.initialCapacity();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the storage directory " + directory, e);
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedRoomReservationRepository.class);
+
+    private static final String FILE_SUFFIX = ".res";
+
+    private final Path directory;
+    private final int initialCapacity;
+    private final Map<String, MappedReservationStore> stores = new ConcurrentHashMap<>();
+
+    @Override
+    public ReservationStore create(String roomId) {
+        var file = directory.resolve(Hashing.murmur3_128().hashString(roomId, StandardCharsets.UTF_8) + FILE_SUFFIX);
+        var store = MappedReservationStore.create(file, roomId, initialCapacity);
+        stores.put(roomId, store);
+        return store;
+    }
+
+    @Override
+    public Map<String, ReservationStore> findAll() {
+        Map<String, ReservationStore> opened = new HashMap<>();
+        try (var files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (var file : files) {
+                var store = MappedReservationStore.open(file);
+                stores.put(store.roomId(), store);
+                opened.put(store.roomId(), store);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list the storage directory " + directory, e);
+        }
+        logger.info("Reservation files opened. directory='{}', rooms={}", directory, opened.size());
+        return opened;
+    }
+
+    @Override
+    public void deleteAll() {
+        stores.values().forEach(MappedReservationStore::delete);
+        stores.clear();
+    }
+
+    @Override
+    public void close() {
+        stores.values().forEach(MappedReservationStore::close);
+        stores.clear();
+    }
+}
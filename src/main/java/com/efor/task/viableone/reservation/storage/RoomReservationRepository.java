@@ -0,0 +1,41 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.model.ReservationStore;
+
+import java.util.Map;
+
+/**
+ * Keeps the reservations of every room of the service: creates the {@link ReservationStore} of a new room and
+ * finds the stores kept by an earlier run.
+ * <p>
+ * The service reads the rooms through the stores it holds in memory; a repository backed by an external system
+ * writes the changes through to it.
+ * </p>
+ *
+ * <p><strong>Thread-safety:</strong> Implementations are thread-safe.</p>
+ */
+public interface RoomReservationRepository extends AutoCloseable {
+
+    /**
+     * Creates the empty store of a new room.
+     */
+    ReservationStore create(String roomId);
+
+    /**
+     * Finds the stores of the rooms kept by an earlier run of the service.
+     *
+     * @return the stores by room id; empty if the repository is not persistent
+     */
+    Map<String, ReservationStore> findAll();
+
+    /**
+     * Deletes the reservations of all rooms.
+     */
+    void deleteAll();
+
+    /**
+     * Closes the stores of all rooms; persistent repositories keep their reservations.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,51 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.StorageType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Reservation storage Spring Context configuration; the storage is selected by {@code reservation.storage.type}.
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean(destroyMethod = "close")
+    RoomReservationRepository roomReservationRepository(ReservationProperties reservationProperties,
+                                                        ObjectProvider<DataSource> dataSource,
+                                                        Environment environment) {
+        var storage = reservationProperties.storage();
+        if (storage.type() != StorageType.HEAP) {
+            requireOwnState(storage.type(), environment);
+        }
+        return switch (storage.type()) {
+            case HEAP -> new InMemoryRoomReservationRepository();
+            case MAPPED -> new MappedRoomReservationRepository(storage);
+            case JDBC -> new JdbcRoomReservationRepository(dataSource.getIfAvailable(() -> {
+                throw new IllegalStateException("The JDBC storage requires spring.datasource.url to be set");
+            }), storage);
+        };
+    }
+
+    /**
+     * Rejects the modes in which the instance rebuilds its state from other instances; a persistent storage would
+     * keep reservations the other instances no longer have, or be dropped by a read replica starting over.
+     */
+    private static void requireOwnState(StorageType type, Environment environment) {
+        var storage = "reservation.storage.type=" + type.name().toLowerCase();
+        if (environment.getProperty("reservation.cluster.enabled", Boolean.class, false)) {
+            throw new IllegalStateException(storage + " is not supported in cluster mode");
+        }
+        if (environment.getProperty("reservation.consensus.enabled", Boolean.class, false)) {
+            throw new IllegalStateException(storage + " is not supported in consensus mode");
+        }
+        if ("follower".equalsIgnoreCase(environment.getProperty("reservation.replication.role"))) {
+            throw new IllegalStateException(storage + " is not supported by a replication follower");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.impl.RoomReservationServiceFixture;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import com.efor.task.viableone.reservation.validation.DefaultIntervalValidator;
+import com.efor.task.viableone.reservation.validation.DefaultRoomIdentifierValidator;
+import com.efor.task.viableone.reservation.validation.DefaultRoomReservationValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+class ReservationImporterTest {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final DefaultRoomReservationService service = RoomReservationServiceFixture.defaultService();
+
+    @Test
+    void importReservations_Ndjson() {
+        var report = importer(2).importReservations(input("""
+                {"roomId":"room-1","reservationStart":"2025-01-01T10:00:00Z","reservationEnd":"2025-01-01T11:00:00Z"}
+                {"roomId":"room-2","reservationStart":"2025-01-01T10:00:00Z","reservationEnd":"2025-01-01T11:00:00Z"}
+
+                {"roomId":"room-1","reservationStart":"2025-01-01T08:00:00Z","reservationEnd":"2025-01-01T09:00:00Z"}
+                """), ImportFormat.NDJSON);
+
+        assertThat(report).isEqualTo(new ImportReport(3, 3, 0, 0, 0, 2, List.of()));
+        assertThat(service.getReservations("room-1"))
+                .extracting(RoomReservationInfo::reservationStart)
+                .containsExactly(Instant.parse("2025-01-01T08:00:00Z"), Instant.parse("2025-01-01T10:00:00Z"));
+        assertThat(service.findAvailableRoom(Instant.parse("2025-01-01T10:30:00Z"),
+                Instant.parse("2025-01-01T10:45:00Z"))).isEmpty();
+    }
+
+    @Test
+    void importReservations_CsvWithHeaderAndQuotes() {
+        var report = importer(1).importReservations(input("""
+                roomId,reservationStart,reservationEnd
+                "room,1",2025-01-01T10:00:00Z,2025-01-01T11:00:00Z
+                room-2, 2025-01-01T10:00:00Z ,2025-01-01T11:00:00Z
+                """), ImportFormat.CSV);
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.issues()).isEmpty();
+        assertThat(service.getAllReservations()).containsOnlyKeys("room,1", "room-2");
+    }
+
+    @Test
+    void importReservations_InvalidRecordsReported() {
+        var report = importer(2).importReservations(input("""
+                room-1,2025-01-01T10:00:00Z,2025-01-01T11:00:00Z
+                room-1,2025-01-01T12:00:00Z
+                room-1,not-an-instant,2025-01-01T11:00:00Z
+                room-1,2025-01-01T15:00:00Z,2025-01-01T14:00:00Z
+                ,2025-01-01T10:00:00Z,2025-01-01T11:00:00Z
+                """), ImportFormat.CSV);
+
+        assertThat(report.records()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.invalid()).isEqualTo(4);
+        assertThat(report.issues())
+                .extracting(ImportIssue::line)
+                .containsExactly(2L, 3L, 4L, 5L);
+        assertThat(report.issues()).allSatisfy(issue -> assertThat(issue.type()).isEqualTo(ImportIssue.Type.INVALID));
+        assertThat(report.issues().get(2).message()).isEqualTo("Room reservation start must be before end");
+    }
+
+    @Test
+    void importReservations_ConflictsReported() {
+        service.bookRoom(new RoomReservation("room-1", Instant.parse("2025-01-01T08:00:00Z"),
+                Instant.parse("2025-01-01T09:00:00Z")));
+
+        var report = importer(2).importReservations(input("""
+                room-1,2025-01-01T10:00:00Z,2025-01-01T12:00:00Z
+                room-1,2025-01-01T08:30:00Z,2025-01-01T09:30:00Z
+                room-1,2025-01-01T11:00:00Z,2025-01-01T13:00:00Z
+                room-1,2025-01-01T12:00:00Z,2025-01-01T13:00:00Z
+                """), ImportFormat.CSV);
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.conflicts()).isEqualTo(2);
+        assertThat(report.issues()).containsExactly(
+                new ImportIssue(2, ImportIssue.Type.CONFLICT, "room-1",
+                        "Reservation conflicts with an existing reservation",
+                        new ReservationInterval(Instant.parse("2025-01-01T08:00:00Z"),
+                                Instant.parse("2025-01-01T09:00:00Z"))),
+                new ImportIssue(3, ImportIssue.Type.CONFLICT, "room-1",
+                        "Reservation conflicts with an existing reservation",
+                        new ReservationInterval(Instant.parse("2025-01-01T10:00:00Z"),
+                                Instant.parse("2025-01-01T12:00:00Z"))));
+        assertThat(service.getReservations("room-1")).hasSize(3);
+    }
+
+    @Test
+    void importReservations_ShuffledChunks_SameAsSequentialBookings() {
+        final int rooms = 40;
+        final int slots = 250;
+        List<String> lines = new ArrayList<>();
+        for (int room = 0; room < rooms; room++) {
+            for (int slot = 0; slot < slots; slot++) {
+                var start = BASE.plus(Duration.ofMinutes(30L * slot));
+                // Every tenth record overlaps the record of the previous slot
+                if (slot % 10 == 9) {
+                    start = start.minus(Duration.ofMinutes(15));
+                }
+                lines.add("room-%d,%s,%s".formatted(room, start, start.plus(Duration.ofMinutes(30))));
+            }
+        }
+        Collections.shuffle(lines, new Random(48));
+
+        var report = new ReservationImporter(service, service, validator(), objectMapper(),
+                new ImportProperties(100, 4, 10)).importReservations(input(String.join("\n", lines)),
+                ImportFormat.CSV);
+
+        assertThat(report.records()).isEqualTo(rooms * slots);
+        assertThat(report.conflicts()).isEqualTo(rooms * slots / 10);
+        assertThat(report.imported()).isEqualTo(rooms * slots - rooms * slots / 10);
+        assertThat(report.rooms()).isEqualTo(rooms);
+        assertThat(report.issues()).hasSize(10);
+        assertThat(service.getAllReservations().values())
+                .hasSize(rooms)
+                .allSatisfy(reservations -> assertThat(reservations).hasSize(slots - slots / 10));
+        assertThat(service.bookRoom(new RoomReservation("room-0", BASE, BASE.plus(Duration.ofMinutes(10))))
+                .isNewReservation()).isFalse();
+    }
+
+    private ReservationImporter importer(int parallelism) {
+        return new ReservationImporter(service, service, validator(), objectMapper(),
+                new ImportProperties(2, parallelism, 1000));
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    private static DefaultRoomReservationValidator validator() {
+        return new DefaultRoomReservationValidator(new DefaultRoomIdentifierValidator(), new DefaultIntervalValidator());
+    }
+}
@@ -0,0 +1,203 @@
+package com.efor.task.viableone.reservation.bulk;
+
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.impl.OccupancyIndex;
+import com.efor.task.viableone.reservation.impl.RoomReservationServiceFixture;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class SnapshotExporterTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotExporterTest.class);
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final OccupancyIndex occupancyIndex = new OccupancyIndex();
+    private final DefaultRoomReservationService service = RoomReservationServiceFixture.builder()
+            .occupancyIndex(occupancyIndex)
+            .build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void export_ReadBack_ReturnsAllReservationsByRoom() throws Exception {
+        for (int room = 0; room < 5; room++) {
+            for (int slot = 0; slot < 4; slot++) {
+                book("room-" + room, hour(10 * slot + room), hour(10 * slot + room + 1));
+            }
+        }
+        var cancelled = book("room-2", hour(100), hour(101));
+        service.cancelReservation(cancelled);
+        service.bookRecurringRoom(new RoomReservation("room-9", hour(0), hour(2)),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 3));
+
+        var report = exporter(3, 4).export();
+
+        assertThat(report.file()).hasParent(directory).exists();
+        assertThat(report.file().getFileName().toString()).startsWith("reservations-").endsWith(".rescol");
+        assertThat(report.rooms()).isEqualTo(6);
+        assertThat(report.reservations()).isEqualTo(23);
+        assertThat(report.batches()).isEqualTo(8);
+        assertThat(report.bytes()).isEqualTo(Files.size(report.file()));
+
+        var snapshot = ColumnarSnapshot.read(report.file());
+        assertThat(snapshot.snapshotAt()).isEqualTo(Instant.ofEpochMilli(report.snapshotAt().toEpochMilli()));
+        assertThat(snapshot.rooms()).containsExactly("room-0", "room-1", "room-2", "room-3", "room-4", "room-9");
+        assertThat(snapshot.batches()).extracting(ColumnarSnapshot.Batch::rows).containsExactly(3, 3, 3, 3, 3, 3, 3, 2);
+        assertThat(rows(snapshot))
+                .containsExactlyElementsOf(service.getOccupancy(hour(-1), hour(1000)).stream()
+                        .sorted((a, b) -> a.roomId().equals(b.roomId())
+                                ? a.reservationStart().compareTo(b.reservationStart())
+                                : a.roomId().compareTo(b.roomId()))
+                        .map(info -> new RoomReservationInfo(info.reservationId(), info.roomId(),
+                                info.reservationStart(), info.reservationEnd(), null))
+                        .toList());
+    }
+
+    @Test
+    void export_NoReservations_WritesEmptySnapshot() {
+        var file = directory.resolve("empty.rescol");
+
+        var report = exporter(16, 1).export(file);
+
+        assertThat(report.reservations()).isZero();
+        var snapshot = ColumnarSnapshot.read(file);
+        assertThat(snapshot.rooms()).isEmpty();
+        assertThat(snapshot.batches()).isEmpty();
+    }
+
+    @Test
+    void read_NotASnapshot_Rejected() throws Exception {
+        var file = Files.writeString(directory.resolve("bookings.json"), "{\"reservations\": []}");
+
+        assertThatThrownBy(() -> ColumnarSnapshot.read(file)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void export_DuringBookings_EverySnapshotConsistent() throws Exception {
+        final int rooms = 16;
+        var running = new AtomicBoolean(true);
+        List<Future<?>> bookings = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(rooms)) {
+            for (int room = 0; room < rooms; room++) {
+                var roomId = "room-" + room;
+                bookings.add(executor.submit(() -> {
+                    for (int slot = 0; running.get(); slot++) {
+                        book(roomId, hour(slot), hour(slot).plus(Duration.ofMinutes(30)));
+                    }
+                }));
+            }
+
+            var exporter = exporter(100, 4);
+            long previous = 0;
+            for (int i = 0; i < 20; i++) {
+                var report = exporter.export(directory.resolve("snapshot.rescol"));
+                var rows = rows(ColumnarSnapshot.read(report.file()));
+                assertThat(rows).hasSize(Math.toIntExact(report.reservations()));
+                assertThat(report.reservations()).isGreaterThanOrEqualTo(previous);
+                previous = report.reservations();
+                for (int row = 1; row < rows.size(); row++) {
+                    var before = rows.get(row - 1);
+                    var after = rows.get(row);
+                    if (before.roomId().equals(after.roomId())) {
+                        assertThat(after.reservationStart()).isAfterOrEqualTo(before.reservationEnd());
+                    }
+                }
+            }
+            running.set(false);
+        }
+        for (var booking : bookings) {
+            booking.get();
+        }
+        assertThat(Files.list(directory)).containsExactly(directory.resolve("snapshot.rescol"));
+    }
+
+    /**
+     * Benchmark: a JSON dump of all reservations, as the reservations endpoint returns it, compared with a columnar
+     * snapshot, both written and read back.
+     */
+    @Test
+    @Tag("benchmark")
+    void export_ComparedWithJsonDump() throws Exception {
+        final int rooms = 200;
+        final int slots = 1_000;
+        for (int room = 0; room < rooms; room++) {
+            List<ReservationInterval> intervals = new ArrayList<>(slots);
+            for (int slot = 0; slot < slots; slot++) {
+                intervals.add(new ReservationInterval(hour(slot), hour(slot).plus(Duration.ofMinutes(45))));
+            }
+            service.importReservations("room-" + room, intervals);
+        }
+        var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        long started = System.nanoTime();
+        var json = Files.write(directory.resolve("reservations.json"),
+                objectMapper.writeValueAsBytes(service.getAllReservations()));
+        var parsed = objectMapper.readTree(json.toFile());
+        long jsonNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        var report = exporter(65_536, 0).export(directory.resolve("reservations.rescol"));
+        var snapshot = ColumnarSnapshot.read(report.file());
+        long columnarNanos = System.nanoTime() - started;
+
+        logger.info("Snapshot export compared with JSON. reservations={}, jsonBytes={}, jsonMillis={}, " +
+                        "columnarBytes={}, columnarMillis={}", rooms * slots, Files.size(json), jsonNanos / 1_000_000,
+                report.bytes(), columnarNanos / 1_000_000);
+
+        assertThat(parsed.size()).isEqualTo(rooms);
+        assertThat(snapshot.reservations()).isEqualTo((long) rooms * slots);
+        assertThat(report.bytes()).isLessThan(Files.size(json) / 3);
+    }
+
+    private SnapshotExporter exporter(int batchSize, int parallelism) {
+        return new SnapshotExporter(occupancyIndex, new ExportProperties(directory, batchSize, parallelism),
+                Optional.empty());
+    }
+
+    private long book(String roomId, Instant start, Instant end) {
+        var result = service.bookRoom(new RoomReservation(roomId, start, end));
+        assertThat(result.isNewReservation()).isTrue();
+        return result.reservationId();
+    }
+
+    private static List<RoomReservationInfo> rows(ColumnarSnapshot snapshot) {
+        List<RoomReservationInfo> rows = new ArrayList<>();
+        for (var batch : snapshot.batches()) {
+            for (int row = 0; row < batch.rows(); row++) {
+                rows.add(new RoomReservationInfo(batch.reservationIds()[row], snapshot.rooms().get(batch.rooms()[row]),
+                        Instant.ofEpochMilli(batch.starts()[row]), Instant.ofEpochMilli(batch.ends()[row]), null));
+            }
+        }
+        return rows;
+    }
+
+    private static Instant hour(int hour) {
+        return BASE.plus(Duration.ofHours(hour));
+    }
+}
@@ -0,0 +1,258 @@
+package com.efor.task.viableone.reservation.cluster;
+
+import com.efor.task.viableone.reservation.InternalApiInterceptor;
+import com.efor.task.viableone.reservation.ReservationChange;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.bulk.ColumnarSnapshot;
+import com.efor.task.viableone.reservation.bulk.SnapshotExporter;
+import com.efor.task.viableone.reservation.events.ChangeFeed;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+class ClusterRoomReservationServiceTest {
+
+    private static final Instant START = Instant.parse("2025-09-15T09:00:00Z");
+    private static final Instant END = Instant.parse("2025-09-15T10:00:00Z");
+
+    private static InProcessCluster cluster;
+
+    @BeforeAll
+    static void startCluster() {
+        cluster = InProcessCluster.start(3);
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        cluster.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < cluster.size(); i++) {
+            cluster.localService(i).reset();
+        }
+    }
+
+    @Test
+    void bookRoom_ForwardedToOwningNode() {
+        var roomId = cluster.roomOwnedBy(1, "room");
+
+        var result = cluster.service(0).bookRoom(new RoomReservation(roomId, START, END));
+
+        assertThat(result.isNewReservation()).isTrue();
+        assertThat(cluster.localService(1).getReservations(roomId)).hasSize(1);
+        assertThat(cluster.localService(0).getAllReservations()).isEmpty();
+        assertThat(cluster.localService(2).getAllReservations()).isEmpty();
+    }
+
+    @Test
+    void bookRoom_SameRoomThroughDifferentNodesCollides() {
+        var roomId = cluster.roomOwnedBy(2, "room");
+
+        var first = cluster.service(0).bookRoom(new RoomReservation(roomId, START, END));
+        var second = cluster.service(1).bookRoom(new RoomReservation(roomId, START.plusSeconds(1800), END));
+
+        assertThat(first.isNewReservation()).isTrue();
+        assertThat(second.isNewReservation()).isFalse();
+        assertThat(second.nextAvailableStart()).isEqualTo(END);
+    }
+
+    @Test
+    void bookRoom_IdempotencyKeyHonoredByOwningNode() {
+        var roomId = cluster.roomOwnedBy(1, "room");
+        var reservation = new RoomReservation(roomId, START, END);
+
+        var first = cluster.service(0).bookRoom(reservation, "key-1");
+        var retry = cluster.service(2).bookRoom(reservation, "key-1");
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(cluster.localService(1).getReservations(roomId)).hasSize(1);
+    }
+
+    @Test
+    void bookRecurringRoom_RejectionByOwningNodeReported() {
+        var roomId = cluster.roomOwnedBy(1, "room");
+
+        // The occurrence is longer than the period, which only the owning node checks
+        assertThatThrownBy(() -> cluster.service(0).bookRecurringRoom(
+                new RoomReservation(roomId, START, START.plus(Duration.ofHours(25))),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getReservations_ForwardedToOwningNode() {
+        var roomId = cluster.roomOwnedBy(2, "room");
+        var booked = cluster.service(2).bookRecurringRoom(new RoomReservation(roomId, START, END),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 3));
+
+        assertThat(cluster.service(0).getReservations(roomId))
+                .hasSize(3)
+                .extracting(RoomReservationInfo::reservationId)
+                .containsOnly(booked.reservationId());
+    }
+
+    @Test
+    void getAndCancelReservation_FromAnyNode() {
+        var roomId = cluster.roomOwnedBy(1, "room");
+        var booked = cluster.service(0).bookRoom(new RoomReservation(roomId, START, END));
+
+        assertThat(cluster.service(2).getReservation(booked.reservationId()))
+                .map(RoomReservationInfo::roomId)
+                .contains(roomId);
+        assertThat(cluster.service(2).cancelReservation(booked.reservationId())).isTrue();
+        assertThat(cluster.service(0).cancelReservation(booked.reservationId())).isFalse();
+        assertThat(cluster.localService(1).getReservations(roomId)).isEmpty();
+    }
+
+    @Test
+    void reservationIds_UniqueAcrossNodes() {
+        var first = cluster.service(0).bookRoom(new RoomReservation(cluster.roomOwnedBy(0, "room"), START, END));
+        var second = cluster.service(0).bookRoom(new RoomReservation(cluster.roomOwnedBy(1, "room"), START, END));
+
+        assertThat(first.reservationId()).isNotEqualTo(second.reservationId());
+    }
+
+    @Test
+    void changeFeed_PublishesClusterReservationIds() throws InterruptedException {
+        var roomId = cluster.roomOwnedBy(1, "room");
+        try (var subscription = cluster.bean(1, ChangeFeed.class).subscribe(null).orElseThrow()) {
+            var booked = cluster.service(0).bookRoom(new RoomReservation(roomId, START, END));
+            cluster.service(2).cancelReservation(booked.reservationId());
+
+            assertThat(subscription.next(Duration.ofSeconds(5)).change())
+                    .isEqualTo(new ReservationChange.Booked(booked.reservationId(), roomId, START, END, null));
+            assertThat(subscription.next(Duration.ofSeconds(5)).change())
+                    .isEqualTo(new ReservationChange.Cancelled(booked.reservationId(), roomId));
+        }
+    }
+
+    @Test
+    void snapshotExport_WritesClusterReservationIds(@TempDir Path directory) {
+        var roomId = cluster.roomOwnedBy(1, "room");
+        var booked = cluster.service(0).bookRoom(new RoomReservation(roomId, START, END));
+
+        var report = cluster.bean(1, SnapshotExporter.class).export(directory.resolve("node-2.rescol"));
+
+        var snapshot = ColumnarSnapshot.read(report.file());
+        assertThat(snapshot.rooms()).containsExactly(roomId);
+        assertThat(snapshot.batches().getFirst().reservationIds()).containsExactly(booked.reservationId());
+        assertThat(cluster.service(2).getReservation(snapshot.batches().getFirst().reservationIds()[0]))
+                .map(RoomReservationInfo::roomId)
+                .contains(roomId);
+    }
+
+    @Test
+    void findAvailableRoom_FoundOnOtherNode() {
+        var roomId = cluster.roomOwnedBy(2, "room");
+        cluster.service(0).bookRoom(new RoomReservation(roomId, START, END));
+
+        assertThat(cluster.service(0).findAvailableRoom(END, END.plusSeconds(3600))).contains(roomId);
+        assertThat(cluster.service(1).findAvailableRoom(START, END)).isEmpty();
+    }
+
+    @Test
+    void findAvailableRoom_ConstraintsAppliedByOwningNode() {
+        var small = cluster.roomOwnedBy(1, "small");
+        var large = cluster.roomOwnedBy(2, "large");
+        cluster.service(0).setRoomAttributes(small, new RoomAttributes(4, Set.of(), "a"));
+        cluster.service(0).setRoomAttributes(large, new RoomAttributes(20, Set.of("projector"), "a"));
+
+        assertThat(cluster.service(0).getRoomAttributes(large)).map(RoomAttributes::capacity).contains(20);
+        assertThat(cluster.service(0).findAvailableRoom(START, END,
+                new RoomConstraints(Set.of(), 10, Set.of("projector"), "a"))).contains(large);
+    }
+
+    @Test
+    void bookAnyAvailableRoom_BooksOnOtherNode() {
+        var roomId = cluster.roomOwnedBy(1, "room");
+        cluster.service(0).setRoomAttributes(roomId, new RoomAttributes(8, Set.of(), null));
+
+        var booked = cluster.service(2).bookAnyAvailableRoom(START, END, RoomConstraints.none());
+
+        assertThat(booked).isPresent();
+        assertThat(booked.get().roomId()).isEqualTo(roomId);
+        assertThat(cluster.service(0).getReservation(booked.get().reservationId())).isPresent();
+    }
+
+    @Test
+    void bookRooms_SameNodeForwarded() {
+        var first = cluster.roomOwnedBy(1, "a");
+        var second = cluster.roomOwnedBy(1, "b");
+
+        var result = cluster.service(0).bookRooms(Set.of(first, second), START, END);
+
+        assertThat(result.isNewReservation()).isTrue();
+        assertThat(cluster.localService(1).getAllReservations()).containsOnlyKeys(first, second);
+    }
+
+    @Test
+    void bookRooms_DifferentNodesRejected() {
+        var rooms = Set.of(cluster.roomOwnedBy(1, "room"), cluster.roomOwnedBy(2, "room"));
+
+        assertThatThrownBy(() -> cluster.service(0).bookRooms(rooms, START, END))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void internalApi_WithoutSecret_Unauthorized() throws Exception {
+        var roomId = cluster.roomOwnedBy(1, "room");
+        var body = "{\"roomId\": \"" + roomId + "\", \"reservationStart\": \"" + START
+                + "\", \"reservationEnd\": \"" + END + "\"}";
+        var request = HttpRequest.newBuilder(URI.create(cluster.uri(1) + "/internal/v1/cluster/book"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+
+        try (var httpClient = HttpClient.newHttpClient()) {
+            assertThat(httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode())
+                    .isEqualTo(401);
+            assertThat(httpClient.send(request.header(InternalApiInterceptor.SECRET_HEADER, "wrong").build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(401);
+        }
+        assertThat(cluster.localService(1).getAllReservations()).isEmpty();
+    }
+
+    @Test
+    void unresponsiveNode_SkippedBySearchAndReportedForItsRooms() throws IOException {
+        // Accepts connections into the backlog but never answers
+        try (var unresponsive = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+             var partial = InProcessCluster.start(1,
+                     Map.of("node-9", URI.create("http://127.0.0.1:" + unresponsive.getLocalPort())),
+                     Map.of("reservation.cluster.request-timeout", "300ms"))) {
+            var service = partial.service(0);
+            var local = partial.roomOwnedBy("node-1", "room");
+            var lost = partial.roomOwnedBy("node-9", "room");
+            service.bookRoom(new RoomReservation(local, START, END));
+
+            long started = System.nanoTime();
+            assertThat(service.findAvailableRoom(START, END)).isEmpty();
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(3));
+
+            assertThat(service.findAvailableRoom(END, END.plusSeconds(3600))).contains(local);
+            assertThatThrownBy(() -> service.bookRoom(new RoomReservation(lost, START, END)))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.efor.task.viableone.reservation.cluster;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Tag("benchmark")
+class ClusterThroughputTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterThroughputTest.class);
+
+    private static final Instant BASE = Instant.parse("2025-09-15T00:00:00Z");
+    private static final Duration SLOT = Duration.ofMinutes(30);
+    private static final int ROOMS = 200;
+
+    /**
+     * Benchmark: books through the public API of randomly chosen entry nodes of clusters of 1 to 4 nodes.
+     * Every tenth booking is repeated through another entry node and must be rejected by the owning node.
+     */
+    @Test
+    void bookRoom_ThroughputByClusterSize() throws Exception {
+        final int maxNodes = 4;
+        final int warmUps = 300;
+        final int bookings = 2_000;
+        final int clients = 16;
+
+        double singleNode = 0;
+        for (int size = 1; size <= maxNodes; size++) {
+            try (var cluster = InProcessCluster.start(size, Map.of(), Map.of(
+                    "logging.level.com.efor.task.viableone.reservation.impl", "WARN",
+                    "logging.level.com.efor.task.viableone.reservation.cluster.ClusterRoomReservationService", "WARN"));
+                 var httpClient = HttpClient.newHttpClient();
+                 var executor = Executors.newFixedThreadPool(clients)) {
+                run(cluster, httpClient, executor, 0, warmUps);
+
+                long started = System.nanoTime();
+                var outcome = run(cluster, httpClient, executor, warmUps, bookings);
+                double seconds = (System.nanoTime() - started) / 1e9;
+                double throughput = bookings / seconds;
+                if (size == 1) {
+                    singleNode = throughput;
+                }
+
+                logger.info("Cluster booking throughput. nodes={}, bookings={}, clients={}, processors={}, " +
+                                "bookingsPerSecond={}, speedup={}", size, bookings, clients,
+                        Runtime.getRuntime().availableProcessors(), String.format("%.0f", throughput),
+                        String.format("%.2f", throughput / singleNode));
+
+                assertThat(outcome.created()).isEqualTo(bookings);
+                assertThat(outcome.conflicts()).isEqualTo(bookings / 10);
+                assertNoRoomOnSeveralNodes(cluster, warmUps + bookings);
+            }
+        }
+    }
+
+    /**
+     * Books the unique slots {@code [first, first + count)}, repeating every tenth through another entry node.
+     */
+    private static Outcome run(InProcessCluster cluster, HttpClient httpClient,
+                               ExecutorService executor, int first, int count)
+            throws InterruptedException, ExecutionException {
+        var created = new AtomicInteger();
+        var conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            int booking = i;
+            futures.add(executor.submit(() -> {
+                int entry = ThreadLocalRandom.current().nextInt(cluster.size());
+                var body = bookingJson(booking);
+                if (post(httpClient, cluster.uri(entry), body) == 201) {
+                    created.incrementAndGet();
+                }
+                if (booking % 10 == 0 && post(httpClient, cluster.uri((entry + 1) % cluster.size()), body) == 409) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        for (var future : futures) {
+            future.get();
+        }
+        return new Outcome(created.get(), conflicts.get());
+    }
+
+    private static String bookingJson(int booking) {
+        var start = BASE.plus(SLOT.multipliedBy(booking / ROOMS));
+        return "{\"roomId\":\"room-" + booking % ROOMS + "\",\"reservationStart\":\"" + start
+                + "\",\"reservationEnd\":\"" + start.plus(SLOT) + "\"}";
+    }
+
+    private static int post(HttpClient httpClient, URI node, String body) throws Exception {
+        var request = HttpRequest.newBuilder(node.resolve("/api/v1/room/book"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Every room is held by exactly one node, which holds all its bookings.
+     */
+    private static void assertNoRoomOnSeveralNodes(InProcessCluster cluster, int bookings) {
+        Map<String, Integer> holders = new HashMap<>();
+        int reservations = 0;
+        for (int i = 0; i < cluster.size(); i++) {
+            for (var room : cluster.localService(i).getAllReservations().entrySet()) {
+                holders.merge(room.getKey(), 1, Integer::sum);
+                reservations += room.getValue().size();
+            }
+        }
+        assertThat(holders).hasSize(ROOMS).allSatisfy((roomId, nodes) -> assertThat(nodes).isEqualTo(1));
+        assertThat(reservations).isEqualTo(bookings);
+    }
+
+    private record Outcome(int created, int conflicts) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.efor.task.viableone.reservation.cluster;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> ROOMS = IntStream.range(0, 10_000).mapToObj(i -> "room-" + i).toList();
+
+    @Test
+    void ownerOf_IsIndependentOfNodeOrder() {
+        var ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        var reordered = new ConsistentHashRing(List.of("node-3", "node-1", "node-2"), 128);
+
+        assertThat(ROOMS).allMatch(roomId -> ring.ownerOf(roomId).equals(reordered.ownerOf(roomId)));
+    }
+
+    @Test
+    void ownerOf_SpreadsRoomsEvenly() {
+        var ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+
+        Map<String, Integer> rooms = new HashMap<>();
+        ROOMS.forEach(roomId -> rooms.merge(ring.ownerOf(roomId), 1, Integer::sum));
+
+        assertThat(rooms).hasSize(4);
+        // Within 25% of an even share
+        assertThat(rooms.values()).allMatch(count -> Math.abs(count - ROOMS.size() / 4) < ROOMS.size() / 16);
+    }
+
+    @Test
+    void ownerOf_AddedNodeTakesOverOnlyItsShare() {
+        var ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        var grown = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+
+        var moved = ROOMS.stream().filter(roomId -> !ring.ownerOf(roomId).equals(grown.ownerOf(roomId))).toList();
+
+        assertThat(moved).allMatch(roomId -> grown.ownerOf(roomId).equals("node-4"));
+        assertThat(moved.size()).isBetween(ROOMS.size() / 8, ROOMS.size() * 3 / 8);
+    }
+
+    @Test
+    void constructor_NoNode() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
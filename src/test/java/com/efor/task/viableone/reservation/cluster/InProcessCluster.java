@@ -0,0 +1,141 @@
+package com.efor.task.viableone.reservation.cluster;
+
+import com.efor.task.viableone.app.RoomReservationApplication;
+import com.efor.task.viableone.reservation.RoomReservationService;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cluster of application instances running in this JVM on loopback ports.
+ */
+final class InProcessCluster implements AutoCloseable {
+
+    private InProcessCluster(Map<String, URI> nodes, List<ConfigurableApplicationContext> contexts) {
+        this.nodes = nodes;
+        this.contexts = contexts;
+    }
+
+    private static final String SECRET = "cluster-secret";
+
+    private final Map<String, URI> nodes;
+    private final List<ConfigurableApplicationContext> contexts;
+
+    /**
+     * Starts {@code size} nodes named {@code node-1 .. node-<size>}.
+     *
+     * @param size          number of nodes to start
+     * @param externalNodes further cluster members that are not started, by node id
+     * @param properties    further properties of every node
+     */
+    static InProcessCluster start(int size, Map<String, URI> externalNodes, Map<String, Object> properties) {
+        Map<String, URI> nodes = new LinkedHashMap<>();
+        for (int i = 1; i <= size; i++) {
+            nodes.put("node-" + i, URI.create("http://127.0.0.1:" + freePort()));
+        }
+        nodes.putAll(externalNodes);
+
+        var contexts = new ArrayList<ConfigurableApplicationContext>();
+        try {
+            for (int i = 1; i <= size; i++) {
+                var nodeId = "node-" + i;
+                Map<String, Object> nodeProperties = new HashMap<>(properties);
+                nodeProperties.put("server.port", nodes.get(nodeId).getPort());
+                nodeProperties.put("spring.main.banner-mode", "off");
+                nodeProperties.put("reservation.cluster.enabled", true);
+                nodeProperties.put("reservation.cluster.node-id", nodeId);
+                nodeProperties.put("reservation.cluster.secret", SECRET);
+                nodes.forEach((id, uri) -> nodeProperties.put("reservation.cluster.nodes." + id, uri.toString()));
+                // Arguments, unlike default properties, take precedence over application.yaml
+                var args = nodeProperties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new);
+                contexts.add(new SpringApplicationBuilder(RoomReservationApplication.class).run(args));
+            }
+        } catch (RuntimeException e) {
+            contexts.forEach(ConfigurableApplicationContext::close);
+            throw e;
+        }
+        return new InProcessCluster(nodes, contexts);
+    }
+
+    static InProcessCluster start(int size) {
+        return start(size, Map.of(), Map.of());
+    }
+
+    int size() {
+        return contexts.size();
+    }
+
+    String nodeId(int index) {
+        return "node-" + (index + 1);
+    }
+
+    URI uri(int index) {
+        return nodes.get(nodeId(index));
+    }
+
+    /**
+     * Returns the cluster-aware service of the node.
+     */
+    RoomReservationService service(int index) {
+        return contexts.get(index).getBean(RoomReservationService.class);
+    }
+
+    /**
+     * Returns the local shard of the node.
+     */
+    DefaultRoomReservationService localService(int index) {
+        return contexts.get(index).getBean(DefaultRoomReservationService.class);
+    }
+
+    /**
+     * Returns a bean of the node.
+     */
+    <T> T bean(int index, Class<T> type) {
+        return contexts.get(index).getBean(type);
+    }
+
+    /**
+     * Returns a room id owned by the started node, built from {@code prefix}.
+     */
+    String roomOwnedBy(int index, String prefix) {
+        return roomOwnedBy(nodeId(index), prefix);
+    }
+
+    /**
+     * Returns a room id owned by the node, built from {@code prefix}.
+     */
+    String roomOwnedBy(String nodeId, String prefix) {
+        var ring = new ConsistentHashRing(nodes.keySet(), 128);
+        for (int i = 0; ; i++) {
+            var roomId = prefix + "-" + i;
+            if (ring.ownerOf(roomId).equals(nodeId)) {
+                return roomId;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    static int freePort() {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
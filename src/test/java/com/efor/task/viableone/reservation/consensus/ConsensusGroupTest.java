@@ -0,0 +1,205 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import com.efor.task.viableone.app.RoomReservationApplication;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.efor.task.viableone.reservation.RoomReservationService;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Runs a consensus group of three application instances in this JVM on loopback ports.
+ */
+class ConsensusGroupTest {
+
+    private static final Instant START = Instant.parse("2025-09-15T09:00:00Z");
+    private static final Instant END = Instant.parse("2025-09-15T10:00:00Z");
+    private static final String SECRET = "consensus-secret";
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Map<String, ConfigurableApplicationContext> instances = new LinkedHashMap<>();
+
+    @AfterEach
+    void stopInstances() {
+        instances.values().forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void bookRoom_OnLeader_AppliedOnAllNodesWithSameIds() throws Exception {
+        startGroup();
+        var leader = awaitLeader();
+
+        var booked = post(leader, "/api/v1/room/book", booking("room-1"), null);
+        leader.getBean(RoomReservationService.class).bookRoom(new RoomReservation("room-2", START, END));
+
+        assertThat(booked.statusCode()).isEqualTo(201);
+        awaitAppliedEverywhere(leader);
+        var reservations = leader.getBean(DefaultRoomReservationService.class).getAllReservations();
+        assertThat(reservations).containsOnlyKeys("room-1", "room-2");
+        assertThat(instances.values()).allSatisfy(instance ->
+                assertThat(instance.getBean(DefaultRoomReservationService.class).getAllReservations())
+                        .isEqualTo(reservations));
+    }
+
+    @Test
+    void bookRoom_OnFollower_UnavailableNamingLeader() throws Exception {
+        startGroup();
+        var leader = awaitLeader();
+        var leaderId = leader.getBean(RaftNode.class).nodeId();
+        var follower = instances.values().stream().filter(instance -> instance != leader).findFirst().orElseThrow();
+        awaitLeaderKnown(follower);
+
+        var rejected = post(follower, "/api/v1/room/book", booking("room-1"), null);
+
+        assertThat(rejected.statusCode()).isEqualTo(503);
+        assertThat(rejected.body()).contains(leaderId);
+    }
+
+    @Test
+    void bookRoom_ConcurrentSameSlot_BookedOnce() throws Exception {
+        startGroup();
+        var leader = awaitLeader();
+        var service = leader.getBean(RoomReservationService.class);
+
+        List<Future<RoomReservationResult>> results = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit((Callable<RoomReservationResult>) () ->
+                        service.bookRoom(new RoomReservation("contended-1", START, END))));
+            }
+        }
+
+        assertThat(results).extracting(Future::get).filteredOn(RoomReservationResult::isNewReservation).hasSize(1);
+        awaitAppliedEverywhere(leader);
+        assertThat(instances.values()).allSatisfy(instance ->
+                assertThat(instance.getBean(DefaultRoomReservationService.class).getReservations("contended-1"))
+                        .hasSize(1));
+    }
+
+    @Test
+    void leaderFailure_RetryOnNewLeaderAnsweredWithOriginalResult() throws Exception {
+        startGroup();
+        var firstLeader = awaitLeader();
+        var first = post(firstLeader, "/api/v1/room/book", booking("failover-1"), "key-1");
+        assertThat(first.statusCode()).isEqualTo(201);
+        awaitAppliedEverywhere(firstLeader);
+
+        var firstLeaderId = firstLeader.getBean(RaftNode.class).nodeId();
+        instances.remove(firstLeaderId).close();
+        var secondLeader = awaitLeader();
+        var retried = post(secondLeader, "/api/v1/room/book", booking("failover-1"), "key-1");
+        var collision = post(secondLeader, "/api/v1/room/book", booking("failover-1"), null);
+        var next = post(secondLeader, "/api/v1/room/book", booking("failover-2"), null);
+
+        assertThat(retried.statusCode()).isEqualTo(201);
+        assertThat(retried.body()).isEqualTo(first.body());
+        assertThat(collision.statusCode()).isEqualTo(409);
+        assertThat(next.statusCode()).isEqualTo(201);
+        awaitAppliedEverywhere(secondLeader);
+        assertThat(instances.values()).allSatisfy(instance ->
+                assertThat(instance.getBean(DefaultRoomReservationService.class).getAllReservations())
+                        .containsOnlyKeys("failover-1", "failover-2"));
+    }
+
+    private void startGroup() {
+        Map<String, Integer> ports = new LinkedHashMap<>();
+        IntStream.rangeClosed(1, 3).forEach(i -> ports.put("node-" + i, freePort()));
+        ports.forEach((nodeId, port) -> {
+            var args = new ArrayList<>(List.of(
+                    "--server.port=" + port,
+                    "--spring.main.banner-mode=off",
+                    "--reservation.consensus.enabled=true",
+                    "--reservation.consensus.node-id=" + nodeId,
+                    "--reservation.consensus.secret=" + SECRET,
+                    "--reservation.consensus.election-timeout=300ms",
+                    "--reservation.consensus.heartbeat-interval=30ms"));
+            ports.forEach((peerId, peerPort) ->
+                    args.add("--reservation.consensus.nodes." + peerId + "=http://127.0.0.1:" + peerPort));
+            instances.put(nodeId, new SpringApplicationBuilder(RoomReservationApplication.class)
+                    .run(args.toArray(String[]::new)));
+        });
+    }
+
+    private ConfigurableApplicationContext awaitLeader() throws InterruptedException {
+        return await(() -> {
+            var leaders = instances.values().stream()
+                    .filter(instance -> instance.getBean(RaftNode.class).isLeader())
+                    .toList();
+            return leaders.size() == 1 ? leaders.getFirst() : null;
+        }, "No leader elected");
+    }
+
+    private void awaitLeaderKnown(ConfigurableApplicationContext instance) throws InterruptedException {
+        await(() -> instance.getBean(RaftNode.class).leaderId(), "Leader not known");
+    }
+
+    private void awaitAppliedEverywhere(ConfigurableApplicationContext leader) throws InterruptedException {
+        long applied = leader.getBean(RaftNode.class).lastApplied();
+        await(() -> instances.values().stream()
+                .allMatch(instance -> instance.getBean(RaftNode.class).lastApplied() >= applied)
+                ? Boolean.TRUE : null, "Changes not applied on every node");
+    }
+
+    private static <T> T await(Callable<T> condition, String failure) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                var value = condition.call();
+                if (value != null) {
+                    return value;
+                }
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError(failure);
+    }
+
+    private static String booking(String roomId) {
+        return "{\"roomId\":\"" + roomId + "\",\"reservationStart\":\"" + START + "\",\"reservationEnd\":\""
+                + END + "\"}";
+    }
+
+    private HttpResponse<String> post(ConfigurableApplicationContext instance, String path, String body,
+                                      String idempotencyKey) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:"
+                        + instance.getEnvironment().getProperty("local.server.port") + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
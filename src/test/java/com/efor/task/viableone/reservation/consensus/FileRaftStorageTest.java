@@ -0,0 +1,83 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+class FileRaftStorageTest {
+
+    private static final Instant START = Instant.parse("2025-09-15T09:00:00Z");
+    private static final Instant END = Instant.parse("2025-09-15T10:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopen_RestoresVoteAndLog() {
+        try (var storage = new FileRaftStorage(directory, objectMapper)) {
+            storage.saveVote(3, "node-2");
+            storage.append(List.of(entry(1, 1), entry(2, 3)));
+            storage.append(List.of(entry(3, 3)));
+        }
+
+        try (var storage = new FileRaftStorage(directory, objectMapper)) {
+            assertThat(storage.term()).isEqualTo(3);
+            assertThat(storage.votedFor()).isEqualTo("node-2");
+            assertThat(storage.lastIndex()).isEqualTo(3);
+            assertThat(storage.termAt(0)).isZero();
+            assertThat(storage.termAt(2)).isEqualTo(3);
+            assertThat(storage.entries(1, 10)).containsExactly(entry(1, 1), entry(2, 3), entry(3, 3));
+        }
+    }
+
+    @Test
+    void truncateFrom_DropsEntriesAlsoAfterReopen() {
+        try (var storage = new FileRaftStorage(directory, objectMapper)) {
+            storage.append(List.of(entry(1, 1), entry(2, 1), entry(3, 1)));
+            storage.truncateFrom(2);
+            storage.append(List.of(entry(2, 2)));
+
+            assertThat(storage.entries(1, 10)).containsExactly(entry(1, 1), entry(2, 2));
+        }
+
+        try (var storage = new FileRaftStorage(directory, objectMapper)) {
+            assertThat(storage.entries(1, 10)).containsExactly(entry(1, 1), entry(2, 2));
+        }
+    }
+
+    @Test
+    void reopen_IncompleteLastEntry_Dropped() throws IOException {
+        try (var storage = new FileRaftStorage(directory, objectMapper)) {
+            storage.append(List.of(entry(1, 1), entry(2, 1)));
+        }
+        Files.writeString(directory.resolve("log.jsonl"), "{\"index\":3,\"term\":1,\"comm",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (var storage = new FileRaftStorage(directory, objectMapper)) {
+            assertThat(storage.lastIndex()).isEqualTo(2);
+            storage.append(List.of(entry(3, 2)));
+        }
+
+        try (var storage = new FileRaftStorage(directory, objectMapper)) {
+            assertThat(storage.entries(1, 10)).containsExactly(entry(1, 1), entry(2, 1), entry(3, 2));
+        }
+    }
+
+    private static LogEntry entry(long index, long term) {
+        return new LogEntry(index, term,
+                new ReservationCommand.BookRoom(new RoomReservation("room-" + index, START, END), "key-" + index));
+    }
+}
@@ -0,0 +1,146 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Raft group of nodes in this JVM exchanging messages directly; nodes can be isolated from the others and stopped.
+ * Every node records the commands it applies.
+ */
+final class InProcessRaftGroup implements AutoCloseable {
+
+    InProcessRaftGroup(int size, ConsensusProperties properties) {
+        var nodeIds = new ArrayList<String>();
+        for (int i = 1; i <= size; i++) {
+            nodeIds.add("node-" + i);
+        }
+        for (var nodeId : nodeIds) {
+            var applied = Collections.synchronizedList(new ArrayList<ReservationCommand>());
+            Function<ReservationCommand, Object> stateMachine = command -> {
+                applied.add(command);
+                return applied.size();
+            };
+            this.applied.put(nodeId, applied);
+            nodes.put(nodeId, new RaftNode(nodeId, nodeIds, new Transport(nodeId), new MemoryRaftStorage(),
+                    stateMachine, properties));
+        }
+        nodes.values().forEach(RaftNode::start);
+    }
+
+    private final Map<String, RaftNode> nodes = new ConcurrentHashMap<>();
+    private final Map<String, List<ReservationCommand>> applied = new LinkedHashMap<>();
+    private final Set<String> isolated = ConcurrentHashMap.newKeySet();
+    private final ExecutorService network = Executors.newVirtualThreadPerTaskExecutor();
+
+    static ConsensusProperties properties() {
+        return new ConsensusProperties(true, null, Map.of(), null, null, Duration.ofMillis(300), Duration.ofMillis(30),
+                256, 4, Duration.ofSeconds(1), Duration.ofSeconds(5), 1000);
+    }
+
+    RaftNode node(String nodeId) {
+        return nodes.get(nodeId);
+    }
+
+    List<String> nodeIds() {
+        return List.copyOf(applied.keySet());
+    }
+
+    /**
+     * Returns the commands applied by the node so far, in order.
+     */
+    List<ReservationCommand> applied(String nodeId) {
+        synchronized (applied.get(nodeId)) {
+            return List.copyOf(applied.get(nodeId));
+        }
+    }
+
+    /**
+     * Waits until a single running, connected node is the leader and returns it.
+     */
+    RaftNode awaitLeader() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            var leaders = nodes.values().stream()
+                    .filter(node -> !isolated.contains(node.nodeId()) && node.isLeader())
+                    .toList();
+            if (leaders.size() == 1) {
+                return leaders.getFirst();
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("No leader elected");
+    }
+
+    /**
+     * Waits until every running node has applied {@code count} commands.
+     */
+    void awaitApplied(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (nodes.keySet().stream().anyMatch(nodeId -> applied.get(nodeId).size() < count)) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Commands not applied on every node");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Drops all messages from and to the node.
+     */
+    void isolate(String nodeId) {
+        isolated.add(nodeId);
+    }
+
+    void reconnect(String nodeId) {
+        isolated.remove(nodeId);
+    }
+
+    void stop(String nodeId) {
+        nodes.remove(nodeId).close();
+    }
+
+    @Override
+    public void close() {
+        nodes.values().forEach(RaftNode::close);
+        network.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> deliver(String from, String to, Function<RaftNode, T> handler) {
+        return CompletableFuture.supplyAsync(() -> {
+            var target = nodes.get(to);
+            if (target == null || isolated.contains(from) || isolated.contains(to)) {
+                throw new IllegalStateException("Node '" + to + "' unreachable from '" + from + "'");
+            }
+            return handler.apply(target);
+        }, network);
+    }
+
+    private final class Transport implements RaftTransport {
+
+        Transport(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        private final String nodeId;
+
+        @Override
+        public CompletableFuture<VoteResponse> requestVote(String peerId, VoteRequest request) {
+            return deliver(nodeId, peerId, node -> node.handleRequestVote(request));
+        }
+
+        @Override
+        public CompletableFuture<AppendResponse> appendEntries(String peerId, AppendRequest request) {
+            return deliver(nodeId, peerId, node -> node.handleAppendEntries(request));
+        }
+    }
+}
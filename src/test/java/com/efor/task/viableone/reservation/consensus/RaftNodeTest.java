@@ -0,0 +1,146 @@
+package com.efor.task.viableone.reservation.consensus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+class RaftNodeTest {
+
+    private InProcessRaftGroup group;
+
+    @AfterEach
+    void closeGroup() {
+        if (group != null) {
+            group.close();
+        }
+    }
+
+    @Test
+    void start_ElectsSingleLeaderKnownToAllNodes() throws InterruptedException {
+        group = new InProcessRaftGroup(3, InProcessRaftGroup.properties());
+
+        var leader = group.awaitLeader();
+        // The followers learn the leader from its first heartbeat
+        Thread.sleep(200);
+
+        assertThat(group.nodeIds()).allSatisfy(nodeId ->
+                assertThat(group.node(nodeId).leaderId()).isEqualTo(leader.nodeId()));
+        assertThat(group.nodeIds()).filteredOn(nodeId -> group.node(nodeId).isLeader()).hasSize(1);
+    }
+
+    @Test
+    void propose_AppliedInSameOrderOnAllNodes() throws Exception {
+        group = new InProcessRaftGroup(3, InProcessRaftGroup.properties());
+        var leader = group.awaitLeader();
+
+        var results = new ArrayList<CompletableFuture<Object>>();
+        for (int i = 1; i <= 50; i++) {
+            results.add(leader.propose(command(i)));
+        }
+
+        assertThat(results.getLast().get(5, TimeUnit.SECONDS)).isEqualTo(50);
+        group.awaitApplied(50);
+        var expected = IntStream.rangeClosed(1, 50).mapToObj(RaftNodeTest::command).toList();
+        assertThat(group.nodeIds()).allSatisfy(nodeId ->
+                assertThat(group.applied(nodeId)).isEqualTo(expected));
+    }
+
+    @Test
+    void propose_OnFollower_NotLeaderNamingLeader() throws InterruptedException {
+        group = new InProcessRaftGroup(3, InProcessRaftGroup.properties());
+        var leader = group.awaitLeader();
+        Thread.sleep(200);
+        var follower = group.nodeIds().stream()
+                .filter(nodeId -> !nodeId.equals(leader.nodeId()))
+                .findFirst()
+                .map(group::node)
+                .orElseThrow();
+
+        assertThatThrownBy(() -> follower.propose(command(1)).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(NotLeaderException.class, e ->
+                        assertThat(e.leaderId()).isEqualTo(leader.nodeId()));
+    }
+
+    @Test
+    void leaderFailure_NewLeaderKeepsCommittedCommands() throws Exception {
+        group = new InProcessRaftGroup(3, InProcessRaftGroup.properties());
+        var firstLeader = group.awaitLeader();
+        for (int i = 1; i <= 10; i++) {
+            firstLeader.propose(command(i)).get(5, TimeUnit.SECONDS);
+        }
+
+        group.stop(firstLeader.nodeId());
+        var secondLeader = group.awaitLeader();
+        for (int i = 11; i <= 20; i++) {
+            secondLeader.propose(command(i)).get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(secondLeader.nodeId()).isNotEqualTo(firstLeader.nodeId());
+        group.awaitApplied(20);
+        var expected = IntStream.rangeClosed(1, 20).mapToObj(RaftNodeTest::command).toList();
+        assertThat(group.nodeIds()).filteredOn(nodeId -> group.node(nodeId) != null).allSatisfy(nodeId ->
+                assertThat(group.applied(nodeId)).isEqualTo(expected));
+    }
+
+    @Test
+    void isolatedLeader_CannotCommitAndLosesUncommittedCommands() throws Exception {
+        group = new InProcessRaftGroup(3, InProcessRaftGroup.properties());
+        var oldLeader = group.awaitLeader();
+        oldLeader.propose(command(1)).get(5, TimeUnit.SECONDS);
+
+        group.isolate(oldLeader.nodeId());
+        var lost = oldLeader.propose(command(2));
+        var newLeader = group.awaitLeader();
+        newLeader.propose(command(3)).get(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> lost.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        group.reconnect(oldLeader.nodeId());
+
+        assertThatThrownBy(() -> lost.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(NotLeaderException.class);
+        group.awaitApplied(2);
+        assertThat(group.nodeIds()).allSatisfy(nodeId ->
+                assertThat(group.applied(nodeId)).containsExactly(command(1), command(3)));
+        assertThat(oldLeader.isLeader()).isFalse();
+    }
+
+    @Test
+    void propose_ConcurrentProposals_AllCommittedOnce() throws Exception {
+        group = new InProcessRaftGroup(3, InProcessRaftGroup.properties());
+        var leader = group.awaitLeader();
+        int proposals = 2000;
+
+        List<CompletableFuture<Object>> results;
+        try (var executor = Executors.newFixedThreadPool(16)) {
+            results = IntStream.rangeClosed(1, proposals)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> leader.propose(command(i)), executor)
+                            .thenCompose(result -> result))
+                    .toList();
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(results).extracting(CompletableFuture::join).doesNotHaveDuplicates().hasSize(proposals);
+        group.awaitApplied(proposals);
+        var applied = group.applied(leader.nodeId());
+        assertThat(applied).hasSize(proposals).doesNotHaveDuplicates();
+        assertThat(group.nodeIds()).allSatisfy(nodeId ->
+                assertThat(group.applied(nodeId)).isEqualTo(applied));
+    }
+
+    private static ReservationCommand command(int i) {
+        return new ReservationCommand.CancelReservation(i);
+    }
+}
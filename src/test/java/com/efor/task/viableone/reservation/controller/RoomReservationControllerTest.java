@@ -1,9 +1,15 @@
 package com.efor.task.viableone.reservation.controller;
 
 import com.efor.task.viableone.app.RoomReservationApplicationConfig;
+import com.efor.task.viableone.reservation.RoomAttributes;
 import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.controller.dto.BookAnyRoomRequest;
+import com.efor.task.viableone.reservation.controller.dto.BookRecurringRoomRequest;
 import com.efor.task.viableone.reservation.controller.dto.BookRoomRequest;
+import com.efor.task.viableone.reservation.controller.dto.BookRoomsRequest;
+import com.efor.task.viableone.reservation.controller.dto.RoomAttributesRequest;
 import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -19,13 +25,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Set;
 
 @SpringBootTest(
         classes = {
@@ -79,6 +89,7 @@ class RoomReservationControllerTest {
                                     .content(asJson(request))
                     ).andExpect(status().isCreated())
                     .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.reservationId").isNumber())
                     .andExpect(jsonPath("$.roomId").value("A-101"))
                     .andExpect(jsonPath("$.reservationStart").value("2025-09-15T09:00:00Z"))
                     .andExpect(jsonPath("$.reservationEnd").value("2025-09-15T10:00:00Z"));
@@ -100,7 +111,48 @@ class RoomReservationControllerTest {
                                     .contentType(MediaType.APPLICATION_JSON)
                                     .content(asJson(request))
                     )
-                    .andExpect(status().isConflict());
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.reservationId").doesNotExist())
+                    .andExpect(jsonPath("$.roomId").value("A-101"))
+                    .andExpect(jsonPath("$.nextAvailableStart").value("2025-09-15T10:00:00Z"))
+                    .andExpect(jsonPath("$.nextAvailableEnd").value("2025-09-15T11:00:00Z"))
+                    .andExpect(jsonPath("$.alternativeRoomId").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("returns the original 201 Created response for a retry with the same Idempotency-Key")
+        void bookRoom_idempotentRetry201() throws Exception {
+            var request = new BookRoomRequest(ROOM, START, END);
+
+            for (int attempt = 0; attempt < 2; attempt++) {
+                mockMvc.perform(
+                                post(BASE + "/book")
+                                        .header("Idempotency-Key", "key-1")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(asJson(request))
+                        ).andExpect(status().isCreated())
+                        .andExpect(jsonPath("$.roomId").value("A-101"))
+                        .andExpect(jsonPath("$.nextAvailableStart").doesNotExist());
+            }
+        }
+
+        @Test
+        @DisplayName("returns 422 when the Idempotency-Key was used for a different request")
+        void bookRoom_idempotencyKeyMismatch422() throws Exception {
+            mockMvc.perform(
+                    post(BASE + "/book")
+                            .header("Idempotency-Key", "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(new BookRoomRequest(ROOM, START, END)))
+            ).andExpect(status().isCreated());
+
+            mockMvc.perform(
+                            post(BASE + "/book")
+                                    .header("Idempotency-Key", "key-1")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(new BookRoomRequest("B-202", START, END)))
+                    )
+                    .andExpect(status().isUnprocessableEntity());
         }
 
         @Test
@@ -117,6 +169,143 @@ class RoomReservationControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /book-any")
+    class BookAnyAvailableRoom {
+        @Test
+        @DisplayName("returns 201 Created with the booked room")
+        void bookAny_created201() throws Exception {
+            roomReservationService.bookRoom(
+                    new RoomReservation(
+                            ROOM,
+                            Instant.parse("2025-09-15T08:00:00Z"),
+                            Instant.parse("2025-09-15T09:00:00Z")
+                    )
+            );
+            var request = new BookAnyRoomRequest(START, END, null);
+
+            mockMvc.perform(
+                            post(BASE + "/book-any")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(request))
+                    ).andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.roomId").value("A-101"))
+                    .andExpect(jsonPath("$.reservationStart").value("2025-09-15T09:00:00Z"))
+                    .andExpect(jsonPath("$.reservationEnd").value("2025-09-15T10:00:00Z"));
+        }
+
+        @Test
+        @DisplayName("returns 409 Conflict when no room can be booked")
+        void bookAny_conflict409() throws Exception {
+            roomReservationService.bookRoom(new RoomReservation(ROOM, START, END));
+            var request = new BookAnyRoomRequest(START, END, Set.of(ROOM));
+
+            mockMvc.perform(
+                            post(BASE + "/book-any")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(request))
+                    )
+                    .andExpect(status().isConflict());
+        }
+
+        @Test
+        @DisplayName("returns 400 from feature handler - invalid interval")
+        void bookAny_intervalValidation400() throws Exception {
+            var request = new BookAnyRoomRequest(END, START, null);
+
+            mockMvc.perform(
+                            post(BASE + "/book-any")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(request))
+                    )
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /book-rooms")
+    class BookRooms {
+        @Test
+        @DisplayName("returns 201 Created with a reservation per room")
+        void bookRooms_created201() throws Exception {
+            var request = new BookRoomsRequest(Set.of(ROOM, "B-202"), START, END);
+
+            mockMvc.perform(
+                            post(BASE + "/book-rooms")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(request))
+                    ).andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.reservations.length()").value(2))
+                    .andExpect(jsonPath("$.reservations[0].roomId").value("A-101"))
+                    .andExpect(jsonPath("$.reservations[1].roomId").value("B-202"));
+        }
+
+        @Test
+        @DisplayName("returns 409 Conflict with the conflicting rooms and books none")
+        void bookRooms_conflict409() throws Exception {
+            roomReservationService.bookRoom(new RoomReservation("B-202", START, END));
+            var request = new BookRoomsRequest(Set.of(ROOM, "B-202"), START, END);
+
+            mockMvc.perform(
+                            post(BASE + "/book-rooms")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(request))
+                    ).andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.reservations.length()").value(1))
+                    .andExpect(jsonPath("$.reservations[0].roomId").value("B-202"))
+                    .andExpect(jsonPath("$.reservations[0].reservationId").doesNotExist());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /book-recurring")
+    class BookRecurringRoom {
+        @Test
+        @DisplayName("returns 201 Created with the first occurrence")
+        void bookRecurring_created201() throws Exception {
+            var request = new BookRecurringRoomRequest(ROOM, START, END, RecurrenceRule.Frequency.WEEKLY, 1, 52);
+
+            mockMvc.perform(
+                            post(BASE + "/book-recurring")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(request))
+                    ).andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.reservationId").isNumber())
+                    .andExpect(jsonPath("$.roomId").value("A-101"))
+                    .andExpect(jsonPath("$.reservationStart").value("2025-09-15T09:00:00Z"))
+                    .andExpect(jsonPath("$.reservationEnd").value("2025-09-15T10:00:00Z"));
+        }
+
+        @Test
+        @DisplayName("returns 400 Bad Request when the interval is too long")
+        void bookRecurring_intervalTooLong400() throws Exception {
+            var request = new BookRecurringRoomRequest(ROOM, START, END, RecurrenceRule.Frequency.WEEKLY,
+                    Integer.MAX_VALUE, RecurrenceRule.MAX_COUNT);
+
+            mockMvc.perform(
+                            post(BASE + "/book-recurring")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(request))
+                    ).andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("returns 409 Conflict with the conflicting interval when an occurrence conflicts")
+        void bookRecurring_conflict409() throws Exception {
+            roomReservationService.bookRoom(new RoomReservation(ROOM, START.plus(Duration.ofDays(14)),
+                    END.plus(Duration.ofDays(14))));
+            var request = new BookRecurringRoomRequest(ROOM, START, END, RecurrenceRule.Frequency.WEEKLY, 1, 52);
+
+            mockMvc.perform(
+                            post(BASE + "/book-recurring")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(request))
+                    ).andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.reservationId").doesNotExist())
+                    .andExpect(jsonPath("$.reservationStart").value("2025-09-29T09:00:00Z"));
+        }
+    }
+
     @Nested
     @DisplayName("GET /available")
     class FindAvailableRoom {
@@ -168,4 +357,274 @@ class RoomReservationControllerTest {
                     .andExpect(status().isBadRequest());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("GET /availability-matrix")
+    class GetAvailabilityMatrix {
+        @Test
+        @DisplayName("returns 200 OK with a bitmap of free slots per room")
+        void availabilityMatrix_200() throws Exception {
+            roomReservationService.bookRoom(new RoomReservation(ROOM, START, START.plusSeconds(1800)));
+
+            mockMvc.perform(
+                            get(BASE + "/availability-matrix")
+                                    .param("from", START.toString())
+                                    .param("to", START.plusSeconds(4 * 1800).toString())
+                                    .param("slot", "PT30M")
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.slotMinutes").value(30))
+                    .andExpect(jsonPath("$.slots").value(4))
+                    // slots 1, 2 and 3 free: 0b00001110
+                    .andExpect(jsonPath("$.rooms['" + ROOM + "']").value("Dg=="));
+        }
+
+        @Test
+        @DisplayName("returns 400 for a slot that is not a whole number of minutes")
+        void availabilityMatrix_invalidSlot400() throws Exception {
+            mockMvc.perform(
+                            get(BASE + "/availability-matrix")
+                                    .param("from", START.toString())
+                                    .param("to", END.toString())
+                                    .param("slot", "PT90S")
+                    )
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /utilization")
+    class GetUtilization {
+        @Test
+        @DisplayName("returns 200 OK with booked minutes per room and bucket")
+        void utilization_200() throws Exception {
+            roomReservationService.bookRoom(new RoomReservation(ROOM, START, START.plusSeconds(1800)));
+
+            mockMvc.perform(
+                            get(BASE + "/utilization")
+                                    .param("from", START.toString())
+                                    .param("to", START.plusSeconds(2 * 3600).toString())
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.bucketMinutes").value(60))
+                    .andExpect(jsonPath("$.buckets").value(2))
+                    .andExpect(jsonPath("$.groups['" + ROOM + "'].rooms").value(1))
+                    .andExpect(jsonPath("$.groups['" + ROOM + "'].bookedMinutes[0]").value(30))
+                    .andExpect(jsonPath("$.groups['" + ROOM + "'].utilization").value(0.25));
+        }
+
+        @Test
+        @DisplayName("returns 400 for an unknown granularity")
+        void utilization_invalidGranularity400() throws Exception {
+            mockMvc.perform(
+                            get(BASE + "/utilization")
+                                    .param("from", START.toString())
+                                    .param("to", END.toString())
+                                    .param("granularity", "WEEK")
+                    )
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /occupancy")
+    class GetOccupancy {
+        @Test
+        @DisplayName("returns 200 OK with the reservations occupying a room at the instant")
+        void occupancyAt_200() throws Exception {
+            var booked = roomReservationService.bookRoom(new RoomReservation(ROOM, START, END));
+
+            mockMvc.perform(
+                            get(BASE + "/occupancy")
+                                    .param("at", START.toString())
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.reservations.length()").value(1))
+                    .andExpect(jsonPath("$.reservations[0].reservationId").value(booked.reservationId()))
+                    .andExpect(jsonPath("$.reservations[0].roomId").value(ROOM));
+        }
+
+        @Test
+        @DisplayName("returns 200 OK with no reservations outside the booked window")
+        void occupancyWindow_200() throws Exception {
+            roomReservationService.bookRoom(new RoomReservation(ROOM, START, END));
+
+            mockMvc.perform(
+                            get(BASE + "/occupancy")
+                                    .param("from", END.toString())
+                                    .param("to", END.plusSeconds(3600).toString())
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.reservations.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("returns 400 when neither an instant nor a window is given")
+        void occupancy_missingParameters400() throws Exception {
+            mockMvc.perform(get(BASE + "/occupancy"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("PUT/GET /attributes/{roomId}")
+    class RoomAttributesEndpoints {
+        @Test
+        @DisplayName("returns 200 OK with the stored attributes")
+        void setRoomAttributes_200() throws Exception {
+            var request = new RoomAttributesRequest(12, Set.of("Projector"), "B");
+
+            mockMvc.perform(
+                            put(BASE + "/attributes/" + ROOM)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(request))
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.roomId").value(ROOM))
+                    .andExpect(jsonPath("$.capacity").value(12))
+                    .andExpect(jsonPath("$.equipment[0]").value("projector"))
+                    .andExpect(jsonPath("$.location").value("b"));
+
+            mockMvc.perform(get(BASE + "/attributes/" + ROOM))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.capacity").value(12));
+        }
+
+        @Test
+        @DisplayName("returns 400 for a negative capacity")
+        void setRoomAttributes_negativeCapacity400() throws Exception {
+            var request = new RoomAttributesRequest(-1, Set.of(), null);
+
+            mockMvc.perform(
+                            put(BASE + "/attributes/" + ROOM)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(asJson(request))
+                    )
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("returns 404 Not Found for a room without attributes")
+        void getRoomAttributes_404() throws Exception {
+            mockMvc.perform(get(BASE + "/attributes/" + ROOM))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("GET /available returns only rooms with the requested attributes")
+        void available_attributeFilters200() throws Exception {
+            roomReservationService.setRoomAttributes(ROOM, new RoomAttributes(4, Set.of("projector"), "B"));
+            roomReservationService.setRoomAttributes("B-202", new RoomAttributes(16, Set.of("projector"), "B"));
+
+            mockMvc.perform(
+                            get(BASE + "/available")
+                                    .param("start", START.toString())
+                                    .param("end", END.toString())
+                                    .param("minCapacity", "12")
+                                    .param("equipment", "projector")
+                                    .param("location", "B")
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.roomId").value("B-202"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /available-rooms")
+    class FindAvailableRooms {
+        @Test
+        @DisplayName("returns 200 OK with the requested number of rooms")
+        void availableRooms_200() throws Exception {
+            roomReservationService.bookRoom(new RoomReservation(ROOM, START.minusSeconds(3600), START));
+            roomReservationService.bookRoom(new RoomReservation("B-202", START.minusSeconds(3600), START));
+
+            mockMvc.perform(
+                            get(BASE + "/available-rooms")
+                                    .param("start", START.toString())
+                                    .param("end", END.toString())
+                                    .param("count", "2")
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.roomIds.length()").value(2));
+        }
+
+        @Test
+        @DisplayName("returns 204 No Content when fewer rooms are available")
+        void availableRooms_204() throws Exception {
+            roomReservationService.bookRoom(new RoomReservation(ROOM, START.minusSeconds(3600), START));
+
+            mockMvc.perform(
+                            get(BASE + "/available-rooms")
+                                    .param("start", START.toString())
+                                    .param("end", END.toString())
+                                    .param("count", "2")
+                    )
+                    .andExpect(status().isNoContent());
+        }
+
+        @Test
+        @DisplayName("returns 400 for an invalid count")
+        void availableRooms_invalidCount400() throws Exception {
+            mockMvc.perform(
+                            get(BASE + "/available-rooms")
+                                    .param("start", START.toString())
+                                    .param("end", END.toString())
+                                    .param("count", "0")
+                    )
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /reservation/{id}")
+    class GetReservation {
+        @Test
+        @DisplayName("returns 200 OK with the reservation")
+        void getReservation_200() throws Exception {
+            var reservation = roomReservationService.bookRoom(new RoomReservation(ROOM, START, END));
+
+            mockMvc.perform(get(BASE + "/reservation/{id}", reservation.reservationId()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.reservationId").value(reservation.reservationId()))
+                    .andExpect(jsonPath("$.roomId").value(ROOM))
+                    .andExpect(jsonPath("$.reservationStart").value(START.toString()))
+                    .andExpect(jsonPath("$.reservationEnd").value(END.toString()));
+        }
+
+        @Test
+        @DisplayName("returns 404 Not Found for an unknown id")
+        void getReservation_404() throws Exception {
+            mockMvc.perform(get(BASE + "/reservation/{id}", 42))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("DELETE /reservation/{id}")
+    class CancelReservation {
+        @Test
+        @DisplayName("returns 204 No Content and frees the interval")
+        void cancelReservation_204() throws Exception {
+            var reservation = roomReservationService.bookRoom(new RoomReservation(ROOM, START, END));
+
+            mockMvc.perform(delete(BASE + "/reservation/{id}", reservation.reservationId()))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(
+                            get(BASE + "/available")
+                                    .param("start", START.toString())
+                                    .param("end", END.toString())
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.roomId").value(ROOM));
+        }
+
+        @Test
+        @DisplayName("returns 404 Not Found for an unknown id")
+        void cancelReservation_404() throws Exception {
+            mockMvc.perform(delete(BASE + "/reservation/{id}", 42))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.efor.task.viableone.reservation.events;
+
+import com.efor.task.viableone.reservation.ReservationChange;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.impl.ChangeLog;
+import com.efor.task.viableone.reservation.impl.RoomReservationServiceFixture;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+class ChangeFeedTest {
+
+    private static final Instant START = Instant.parse("2025-09-15T09:00:00Z");
+    private static final Instant END = Instant.parse("2025-09-15T10:00:00Z");
+
+    @Test
+    void subscribe_NumbersEveryChange() throws InterruptedException {
+        var log = changeLog(100);
+        var feed = feed(log, 16, OverflowPolicy.DISCONNECT);
+        var subscription = feed.subscribe(null).orElseThrow();
+
+        log.onChange(booked(1, "room-1"));
+        log.onChange(new ReservationChange.RoomAttributesSet("room-1",
+                new RoomAttributes(8, Set.of("projector"), "floor 2")));
+        log.onChange(booked(2, "room-2"));
+        log.onChange(new ReservationChange.Cancelled(1, "room-1"));
+
+        assertThat(feed.sequence()).isEqualTo(4);
+        assertThat(read(subscription, 4)).extracting(ChangeEvent::sequence).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(subscription.next(Duration.ZERO)).isNull();
+    }
+
+    @Test
+    void subscribe_AfterSequence_ReplaysRetainedEvents() throws InterruptedException {
+        var log = changeLog(3);
+        var feed = feed(log, 16, OverflowPolicy.DISCONNECT);
+        for (int i = 1; i <= 5; i++) {
+            log.onChange(booked(i, "room-" + i));
+        }
+
+        var resumed = feed.subscribe(3L).orElseThrow();
+        log.onChange(booked(6, "room-6"));
+
+        assertThat(read(resumed, 3)).extracting(ChangeEvent::sequence).containsExactly(4L, 5L, 6L);
+        assertThat(feed.subscribe(6L)).isPresent();
+    }
+
+    @Test
+    void subscribe_SequenceNotRetained_ReturnsEmpty() {
+        var log = changeLog(3);
+        var feed = feed(log, 16, OverflowPolicy.DISCONNECT);
+        for (int i = 1; i <= 5; i++) {
+            log.onChange(booked(i, "room-" + i));
+        }
+
+        assertThat(feed.subscribe(1L)).isEmpty();
+        assertThat(feed.subscribe(7L)).isEmpty();
+        assertThat(feed.subscribe(-1L)).isEmpty();
+    }
+
+    @Test
+    void subscribe_BacklogLongerThanBuffer_ReadsBacklog() throws InterruptedException {
+        var log = changeLog(100);
+        var feed = feed(log, 2, OverflowPolicy.DISCONNECT);
+        for (int i = 1; i <= 5; i++) {
+            log.onChange(booked(i, "room-" + i));
+        }
+
+        var resumed = feed.subscribe(0L).orElseThrow();
+
+        assertThat(read(resumed, 5)).extracting(ChangeEvent::sequence).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(resumed.ended()).isFalse();
+    }
+
+    @Test
+    void subscribe_MaxSubscribers_Throws() {
+        var feed = new ChangeFeed(changeLog(100), new EventsProperties(true, 16, OverflowPolicy.DISCONNECT,
+                Duration.ofSeconds(15), 1), Optional.empty());
+        var subscription = feed.subscribe(null).orElseThrow();
+
+        assertThatThrownBy(() -> feed.subscribe(null)).isInstanceOf(IllegalStateException.class);
+
+        subscription.close();
+        assertThat(feed.subscribers()).isZero();
+        assertThat(feed.subscribe(null)).isPresent();
+    }
+
+    @Test
+    void next_FallenBehindWithDisconnect_Ends() throws InterruptedException {
+        var log = changeLog(100);
+        var feed = feed(log, 2, OverflowPolicy.DISCONNECT);
+        var subscription = feed.subscribe(null).orElseThrow();
+        log.onChange(booked(1, "room-1"));
+        assertThat(read(subscription, 1)).extracting(ChangeEvent::sequence).containsExactly(1L);
+
+        for (int i = 2; i <= 5; i++) {
+            log.onChange(booked(i, "room-" + i));
+        }
+
+        long started = System.nanoTime();
+        assertThat(subscription.next(Duration.ofSeconds(10))).isNull();
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+        assertThat(subscription.ended()).isTrue();
+        assertThat(feed.subscribe(1L).map(resumed -> resumed.ended())).contains(false);
+    }
+
+    @Test
+    void next_FallenBehindWithDrop_SkipsOldestEvents() throws InterruptedException {
+        var log = changeLog(100);
+        var feed = feed(log, 2, OverflowPolicy.DROP);
+        var subscription = feed.subscribe(null).orElseThrow();
+
+        for (int i = 1; i <= 3; i++) {
+            log.onChange(booked(i, "room-" + i));
+        }
+        assertThat(read(subscription, 2)).extracting(ChangeEvent::sequence).containsExactly(2L, 3L);
+        for (int i = 4; i <= 7; i++) {
+            log.onChange(booked(i, "room-" + i));
+        }
+
+        assertThat(read(subscription, 2)).extracting(ChangeEvent::sequence).containsExactly(6L, 7L);
+        assertThat(subscription.dropped()).isEqualTo(3);
+        assertThat(subscription.ended()).isFalse();
+    }
+
+    @Test
+    void next_NextEventNotRetainedWithDrop_SkipsToRetainedEvents() throws InterruptedException {
+        var log = changeLog(2);
+        var feed = feed(log, 16, OverflowPolicy.DROP);
+        var subscription = feed.subscribe(null).orElseThrow();
+
+        for (int i = 1; i <= 5; i++) {
+            log.onChange(booked(i, "room-" + i));
+        }
+
+        assertThat(read(subscription, 2)).extracting(ChangeEvent::sequence).containsExactly(4L, 5L);
+        assertThat(subscription.dropped()).isEqualTo(3);
+    }
+
+    @Test
+    void bookRoom_SubscriberNotReading_DoesNotWait() throws InterruptedException {
+        var log = changeLog(100_000);
+        var feed = feed(log, 1, OverflowPolicy.DISCONNECT);
+        var service = RoomReservationServiceFixture.builder().changeListeners(log).build();
+        var subscription = feed.subscribe(null).orElseThrow();
+
+        long started = System.nanoTime();
+        var first = service.bookRoom(new RoomReservation("room-1", START, END));
+        for (int i = 0; i < 1000; i++) {
+            service.bookRoom(new RoomReservation("room-2", START.plus(Duration.ofHours(i)),
+                    END.plus(Duration.ofHours(i))));
+        }
+        service.cancelReservation(first.reservationId());
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(10));
+        assertThat(feed.sequence()).isEqualTo(1002);
+        assertThat(subscription.next(Duration.ZERO)).isNull();
+        assertThat(subscription.ended()).isTrue();
+        assertThat(feed.subscribe(0L).orElseThrow().next(Duration.ZERO).change())
+                .isEqualTo(new ReservationChange.Booked(first.reservationId(), "room-1", START, END, null));
+        assertThat(feed.subscribe(1001L).orElseThrow().next(Duration.ZERO).change())
+                .isEqualTo(new ReservationChange.Cancelled(first.reservationId(), "room-1"));
+    }
+
+    @Test
+    void next_ReservationIdEncoder_EncodesReservationIds() throws InterruptedException {
+        var log = changeLog(100);
+        var feed = new ChangeFeed(log, new EventsProperties(true, 16, OverflowPolicy.DISCONNECT,
+                Duration.ofSeconds(15), 1000), Optional.of(localReservationId -> localReservationId * 1024 + 2));
+        var subscription = feed.subscribe(null).orElseThrow();
+        var attributesSet = new ReservationChange.RoomAttributesSet("room-1",
+                new RoomAttributes(8, Set.of("projector"), "floor 2"));
+
+        log.onChange(booked(1, "room-1"));
+        log.onChange(new ReservationChange.Cancelled(1, "room-1"));
+        log.onChange(attributesSet);
+
+        assertThat(read(subscription, 3)).extracting(ChangeEvent::change).containsExactly(
+                booked(1026, "room-1"), new ReservationChange.Cancelled(1026, "room-1"), attributesSet);
+    }
+
+    private static List<ChangeEvent> read(ChangeFeedSubscription subscription, int count)
+            throws InterruptedException {
+        var events = new ArrayList<ChangeEvent>();
+        for (int i = 0; i < count; i++) {
+            var event = subscription.next(Duration.ofSeconds(5));
+            assertThat(event).isNotNull();
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static ChangeLog changeLog(int retention) {
+        return new ChangeLog(RoomReservationServiceFixture.builder().changeLogRetention(retention).properties());
+    }
+
+    private static ChangeFeed feed(ChangeLog changeLog, int bufferSize, OverflowPolicy overflowPolicy) {
+        return new ChangeFeed(changeLog, new EventsProperties(true, bufferSize, overflowPolicy,
+                Duration.ofSeconds(15), 1000), Optional.empty());
+    }
+
+    private static ReservationChange booked(long reservationId, String roomId) {
+        return new ReservationChange.Booked(reservationId, roomId, START, END, null);
+    }
+}
@@ -0,0 +1,158 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AvailableRoomCacheTest {
+
+    @Test
+    void get_CachesNormalizedInterval() {
+        var cache = createCache(16);
+        var loads = new AtomicInteger();
+
+        cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), () -> {
+            loads.incrementAndGet();
+            return Optional.of("room-A");
+        });
+        var result = cache.get(instant("2025-01-01T12:00:30Z"), instant("2025-01-01T13:00:59Z"), () -> {
+            loads.incrementAndGet();
+            return Optional.of("room-B");
+        });
+
+        assertThat(result).contains("room-A");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_EmptyNormalizedIntervalNotCached() {
+        var cache = createCache(16);
+        var loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            cache.get(instant("2025-01-01T12:00:10Z"), instant("2025-01-01T12:00:50Z"), () -> {
+                loads.incrementAndGet();
+                return Optional.empty();
+            });
+        }
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_NotCachedWhenBookedDuringLoad() {
+        var cache = createCache(16);
+        var loads = new AtomicInteger();
+
+        cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), () -> {
+            loads.incrementAndGet();
+            cache.onRoomBooked("room-B", interval("2025-01-02T12:00:00Z", "2025-01-02T13:00:00Z"), false);
+            return Optional.of("room-A");
+        });
+        cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), () -> {
+            loads.incrementAndGet();
+            return Optional.of("room-A");
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onRoomBooked_InvalidatesOnlyOverlappingEntriesOfBookedRoom() {
+        var cache = createCache(16);
+        cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), () -> Optional.of("room-A"));
+        cache.get(instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:00:00Z"), () -> Optional.of("room-A"));
+        cache.get(instant("2025-01-01T12:30:00Z"), instant("2025-01-01T13:30:00Z"), () -> Optional.of("room-B"));
+
+        cache.onRoomBooked("room-A", interval("2025-01-01T12:30:00Z", "2025-01-01T12:45:00Z"), false);
+
+        assertThat(cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"),
+                () -> Optional.of("room-C"))).contains("room-C");
+        assertThat(cache.get(instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:00:00Z"),
+                () -> Optional.of("room-C"))).contains("room-A");
+        assertThat(cache.get(instant("2025-01-01T12:30:00Z"), instant("2025-01-01T13:30:00Z"),
+                () -> Optional.of("room-C"))).contains("room-B");
+    }
+
+    @Test
+    void onRoomBooked_NewRoomInvalidatesNonOverlappingEmptyEntries() {
+        var cache = createCache(16);
+        cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), Optional::empty);
+        cache.get(instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:00:00Z"), Optional::empty);
+
+        cache.onRoomBooked("room-A", interval("2025-01-01T12:00:00Z", "2025-01-01T13:00:00Z"), true);
+
+        assertThat(cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"),
+                () -> Optional.of("room-A"))).isEmpty();
+        assertThat(cache.get(instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:00:00Z"),
+                () -> Optional.of("room-A"))).contains("room-A");
+    }
+
+    @Test
+    void onRoomCancelled_InvalidatesOnlyOverlappingEmptyEntries() {
+        var cache = createCache(16);
+        cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), Optional::empty);
+        cache.get(instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:00:00Z"), Optional::empty);
+        cache.get(instant("2025-01-01T12:30:00Z"), instant("2025-01-01T13:30:00Z"), () -> Optional.of("room-B"));
+
+        cache.onRoomCancelled("room-A", interval("2025-01-01T12:30:00Z", "2025-01-01T12:45:00Z"));
+
+        assertThat(cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"),
+                () -> Optional.of("room-A"))).contains("room-A");
+        assertThat(cache.get(instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:00:00Z"),
+                () -> Optional.of("room-A"))).isEmpty();
+        assertThat(cache.get(instant("2025-01-01T12:30:00Z"), instant("2025-01-01T13:30:00Z"),
+                () -> Optional.of("room-A"))).contains("room-B");
+    }
+
+    @Test
+    void get_EvictsBeyondMaximumSize() {
+        var cache = createCache(2);
+        var loads = new AtomicInteger();
+
+        for (int hour = 10; hour < 13; hour++) {
+            cache.get(instant("2025-01-01T" + hour + ":00:00Z"), instant("2025-01-01T" + (hour + 1) + ":00:00Z"),
+                    () -> Optional.of("room-A"));
+        }
+        cache.get(instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z"), () -> {
+            loads.incrementAndGet();
+            return Optional.of("room-A");
+        });
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void bindTo_ExposesHitRatioAndInvalidations() {
+        var cache = createCache(16);
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), () -> Optional.of("room-A"));
+        cache.get(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), () -> Optional.of("room-A"));
+        cache.onRoomBooked("room-A", interval("2025-01-01T12:00:00Z", "2025-01-01T13:00:00Z"), false);
+
+        assertThat(registry.get("reservation.available-room.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+        assertThat(registry.get("reservation.available-room.cache.invalidations").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    private AvailableRoomCache createCache(long maximumSize) {
+        return new AvailableRoomCache(RoomReservationServiceFixture.builder()
+                .availableRoomCacheMaximumSize(maximumSize)
+                .properties());
+    }
+
+    private ReservationInterval interval(String start, String end) {
+        return new ReservationInterval(instant(start), instant(end));
+    }
+
+    private Instant instant(String s) {
+        return Instant.parse(s);
+    }
+}
@@ -0,0 +1,141 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.ReservationConfig;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import com.efor.task.viableone.reservation.RoomReservation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention benchmark: N threads compete for N rooms in the same time slots.
+ * Compares the 409 rate of the two-call flow (findAvailableRoom + bookRoom with retries)
+ * with the atomic bookAnyAvailableRoom.
+ */
+@SpringBootTest(
+        classes = {ReservationConfig.class}
+)
+class BookAnyAvailableRoomContentionTest {
+
+    public BookAnyAvailableRoomContentionTest(@Autowired DefaultRoomReservationService roomReservationService) {
+        this.service = roomReservationService;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(BookAnyAvailableRoomContentionTest.class);
+
+    private static final int ROOMS = 16;
+    private static final int THREADS = ROOMS;
+    private static final int SLOTS = 200;
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration SLOT = Duration.ofMinutes(30);
+
+    private final DefaultRoomReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        service.reset();
+        for (int room = 0; room < ROOMS; room++) {
+            service.bookRoom(new RoomReservation("room-" + room, BASE.minus(SLOT), BASE));
+        }
+    }
+
+    @Test
+    void twoCallFlow_vs_bookAnyAvailableRoom() throws Exception {
+        var twoCall = run(slotStart -> {
+            long conflicts = 0;
+            while (true) {
+                var room = service.findAvailableRoom(slotStart, slotStart.plus(SLOT));
+                if (room.isEmpty()) {
+                    return new Attempt(false, conflicts);
+                }
+                var result = service.bookRoom(new RoomReservation(room.get(), slotStart, slotStart.plus(SLOT)));
+                if (result.isNewReservation()) {
+                    return new Attempt(true, conflicts);
+                }
+                conflicts++;
+            }
+        });
+
+        setUp();
+
+        var bookAny = run(slotStart -> {
+            var result = service.bookAnyAvailableRoom(slotStart, slotStart.plus(SLOT), RoomConstraints.none());
+            return new Attempt(result.isPresent(), result.isPresent() ? 0 : 1);
+        });
+
+        logger.info("Two-call flow. booked={}, conflicts={}, conflictRate={}, elapsed={}ms",
+                twoCall.booked(), twoCall.conflicts(), twoCall.conflictRate(), twoCall.elapsed().toMillis());
+        logger.info("Book any available room. booked={}, conflicts={}, conflictRate={}, elapsed={}ms",
+                bookAny.booked(), bookAny.conflicts(), bookAny.conflictRate(), bookAny.elapsed().toMillis());
+
+        assertThat(twoCall.booked()).isEqualTo((long) THREADS * SLOTS);
+        assertThat(bookAny.booked()).isEqualTo((long) THREADS * SLOTS);
+        assertThat(bookAny.conflicts()).isZero();
+        assertThat(bookAny.conflicts()).isLessThanOrEqualTo(twoCall.conflicts());
+    }
+
+    private Outcome run(SlotBooking booking) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier slotBarrier = new CyclicBarrier(THREADS);
+        LongAdder booked = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    // All threads compete for the same slot at the same time
+                    slotBarrier.await();
+                    var attempt = booking.book(BASE.plus(SLOT.multipliedBy(slot)));
+                    if (attempt.booked()) {
+                        booked.increment();
+                    }
+                    conflicts.add(attempt.conflicts());
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            // Do not let stuck workers keep booking into the shared service
+            pool.shutdownNow();
+        }
+        var elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        return new Outcome(booked.sum(), conflicts.sum(), elapsed);
+    }
+
+    @FunctionalInterface
+    private interface SlotBooking {
+        Attempt book(Instant slotStart);
+    }
+
+    private record Attempt(boolean booked, long conflicts) {
+    }
+
+    private record Outcome(long booked, long conflicts, Duration elapsed) {
+        double conflictRate() {
+            return (double) conflicts / (booked + conflicts);
+        }
+    }
+}
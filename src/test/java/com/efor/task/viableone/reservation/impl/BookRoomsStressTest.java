@@ -0,0 +1,116 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.MultiRoomReservationResult;
+import com.efor.task.viableone.reservation.ReservationConfig;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress test: many threads book overlapping room sets for the same slots at once.
+ * All calls must complete (no deadlock) and every multi-room booking must be all-or-nothing.
+ */
+@SpringBootTest(
+        classes = {ReservationConfig.class}
+)
+class BookRoomsStressTest {
+
+    public BookRoomsStressTest(@Autowired DefaultRoomReservationService roomReservationService) {
+        this.service = roomReservationService;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(BookRoomsStressTest.class);
+
+    private static final int ROOMS = 12;
+    private static final int THREADS = 16;
+    private static final int BOOKINGS_PER_THREAD = 2_000;
+    private static final int SLOTS = 1_000;
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration SLOT = Duration.ofMinutes(30);
+
+    private final DefaultRoomReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        service.reset();
+    }
+
+    @Test
+    void bookRooms_OverlappingRoomSetsFromManyThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier startBarrier = new CyclicBarrier(THREADS);
+        ConcurrentLinkedQueue<MultiRoomReservationResult> booked = new ConcurrentLinkedQueue<>();
+
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            var random = new Random(t);
+            futures.add(pool.submit(() -> {
+                startBarrier.await();
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    var slotStart = BASE.plus(SLOT.multipliedBy(random.nextInt(SLOTS)));
+                    var result = service.bookRooms(randomRoomSet(random), slotStart, slotStart.plus(SLOT));
+                    if (result.isNewReservation()) {
+                        booked.add(result);
+                    }
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> f : futures) {
+                // A deadlock would show up as a timeout here
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        var elapsed = Duration.ofNanos(System.nanoTime() - started);
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        long attempts = (long) THREADS * BOOKINGS_PER_THREAD;
+        logger.info("Multi-room booking stress. attempts={}, booked={}, elapsed={}ms, throughput={} bookings/s",
+                attempts, booked.size(), elapsed.toMillis(), attempts * 1000 / Math.max(1, elapsed.toMillis()));
+
+        // Every successful booking is present in all of its rooms and nothing else was booked
+        long bookedRooms = booked.stream().mapToLong(result -> result.reservations().size()).sum();
+        long storedRooms = service.getAllReservations().values().stream().mapToLong(List::size).sum();
+        assertThat(storedRooms).isEqualTo(bookedRooms);
+        booked.stream()
+                .flatMap(result -> result.reservations().stream())
+                .map(RoomReservationResult::reservationId)
+                .forEach(reservationId -> assertThat(service.getReservation(reservationId)).isPresent());
+    }
+
+    /**
+     * Two to four neighboring rooms, so the sets of different threads overlap.
+     */
+    private static Set<String> randomRoomSet(Random random) {
+        int first = random.nextInt(ROOMS);
+        int size = 2 + random.nextInt(3);
+        Set<String> roomIds = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            roomIds.add("room-" + (first + i) % ROOMS);
+        }
+        return roomIds;
+    }
+}
@@ -0,0 +1,103 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.ReservationChange;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class ChangeLogTest {
+
+    private static final Instant START = Instant.parse("2025-09-15T09:00:00Z");
+    private static final Instant END = Instant.parse("2025-09-15T10:00:00Z");
+
+    private final ChangeLog log = log(100);
+
+    @Test
+    void onChange_NumbersChangesInCommitOrder() throws InterruptedException {
+        log.onChange(booked(1, "room-1"));
+        log.onChange(new ReservationChange.Cancelled(1, "room-1"));
+
+        var batch = log.read(0, 10, Duration.ZERO).orElseThrow();
+
+        assertThat(log.version()).isEqualTo(2);
+        assertThat(batch.version()).isEqualTo(2);
+        assertThat(batch.entries()).extracting(ChangeLog.Entry::version).containsExactly(1L, 2L);
+        assertThat(batch.entries()).extracting(ChangeLog.Entry::change)
+                .containsExactly(booked(1, "room-1"), new ReservationChange.Cancelled(1, "room-1"));
+    }
+
+    @Test
+    void read_ReturnsAtMostLimitChangesAfterVersion() throws InterruptedException {
+        for (int i = 1; i <= 5; i++) {
+            log.onChange(booked(i, "room-" + i));
+        }
+
+        var batch = log.read(2, 2, Duration.ZERO).orElseThrow();
+
+        assertThat(batch.version()).isEqualTo(5);
+        assertThat(batch.entries()).extracting(ChangeLog.Entry::version).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void read_UpToDate_WaitsForNextChange() throws Exception {
+        log.onChange(booked(1, "room-1"));
+
+        var read = CompletableFuture.supplyAsync(() -> {
+            try {
+                return log.read(1, 10, Duration.ofSeconds(10)).orElseThrow();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertThat(read).isNotDone();
+        log.onChange(booked(2, "room-2"));
+
+        assertThat(read.get(5, TimeUnit.SECONDS).entries()).extracting(ChangeLog.Entry::version)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void read_UpToDate_ReturnsNoEntriesAfterWait() throws InterruptedException {
+        log.onChange(booked(1, "room-1"));
+
+        assertThat(log.read(1, 10, Duration.ofMillis(50)).orElseThrow().entries()).isEmpty();
+    }
+
+    @Test
+    void read_AfterLatestVersion_ReturnsNoEntriesWithoutWaiting() throws InterruptedException {
+        log.onChange(booked(1, "room-1"));
+
+        long started = System.nanoTime();
+        var batch = log.read(7, 10, Duration.ofSeconds(10)).orElseThrow();
+
+        assertThat(batch.entries()).isEmpty();
+        assertThat(batch.version()).isEqualTo(1);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void read_AfterOlderThanRetainedTail_ReturnsEmpty() throws InterruptedException {
+        var log = log(3);
+        for (int i = 1; i <= 5; i++) {
+            log.onChange(booked(i, "room-" + i));
+        }
+
+        assertThat(log.read(0, 10, Duration.ZERO)).isEmpty();
+        assertThat(log.read(1, 10, Duration.ZERO)).isEmpty();
+        assertThat(log.read(2, 10, Duration.ZERO).orElseThrow().entries()).extracting(ChangeLog.Entry::version)
+                .containsExactly(3L, 4L, 5L);
+    }
+
+    private static ChangeLog log(int retention) {
+        return new ChangeLog(RoomReservationServiceFixture.builder().changeLogRetention(retention).properties());
+    }
+
+    private static ReservationChange booked(long reservationId, String roomId) {
+        return new ReservationChange.Booked(reservationId, roomId, START, END, null);
+    }
+}
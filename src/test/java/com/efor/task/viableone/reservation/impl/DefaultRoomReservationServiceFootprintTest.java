@@ -0,0 +1,100 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.StorageType;
+import com.efor.task.viableone.reservation.storage.InMemoryRoomReservationRepository;
+import com.efor.task.viableone.reservation.storage.MappedRoomReservationRepository;
+import com.efor.task.viableone.reservation.storage.RoomReservationRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+@Tag("benchmark")
+class DefaultRoomReservationServiceFootprintTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultRoomReservationServiceFootprintTest.class);
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final int ROOMS = 100;
+    private static final int RESERVATIONS_PER_ROOM = 2_000;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Benchmark: heap retained by the whole service, including the reservation id index, occupancy index and
+     * utilization counters it derives from every reservation, once with the heap storage and once with the mapped
+     * storage, and the time the mapped storage takes to rebuild those indexes on restart.
+     */
+    @Test
+    void footprint_MappedStorageKeepsOnlyTheStoresOffHeap() {
+        long onHeap = measure(new InMemoryRoomReservationRepository(), heapStorage());
+
+        var repository = new MappedRoomReservationRepository(mappedStorage());
+        long mapped = measure(repository, mappedStorage());
+        repository.close();
+
+        var restoredRepository = new MappedRoomReservationRepository(mappedStorage());
+        long before = usedHeapAfterGc();
+        var restored = createService(restoredRepository, mappedStorage());
+        long started = System.nanoTime();
+        restored.restore();
+        long restoreMillis = (System.nanoTime() - started) / 1_000_000;
+        long restoredBytes = Math.max(0, usedHeapAfterGc() - before);
+
+        logger.info("Reservation service footprint. reservations={}, heapStorageBytes={}, mappedStorageBytes={}, " +
+                        "restoredMappedBytes={}, restoreMillis={}", ROOMS * RESERVATIONS_PER_ROOM,
+                onHeap, mapped, restoredBytes, restoreMillis);
+
+        assertThat(restored.getAllReservations()).hasSize(ROOMS)
+                .allSatisfy((roomId, reservations) -> assertThat(reservations).hasSize(RESERVATIONS_PER_ROOM));
+        assertThat(mapped).isLessThan(onHeap);
+        restoredRepository.close();
+    }
+
+    private long measure(RoomReservationRepository repository, ReservationProperties.StorageProperties storage) {
+        long before = usedHeapAfterGc();
+        var service = createService(repository, storage);
+        service.restore();
+        for (int room = 0; room < ROOMS; room++) {
+            for (int i = 0; i < RESERVATIONS_PER_ROOM; i++) {
+                var start = BASE.plus(Duration.ofMinutes(60L * i));
+                assertThat(service.bookRoom(new RoomReservation("room-" + room, start,
+                        start.plus(Duration.ofMinutes(30)))).isNewReservation()).isTrue();
+            }
+        }
+        long after = usedHeapAfterGc();
+        assertThat(service.getAllReservations()).hasSize(ROOMS);
+        return Math.max(0, after - before);
+    }
+
+    private ReservationProperties.StorageProperties heapStorage() {
+        return new ReservationProperties.StorageProperties(StorageType.HEAP, null, 64, 256);
+    }
+
+    private ReservationProperties.StorageProperties mappedStorage() {
+        return new ReservationProperties.StorageProperties(StorageType.MAPPED, directory, RESERVATIONS_PER_ROOM, 256);
+    }
+
+    private static DefaultRoomReservationService createService(RoomReservationRepository repository,
+                                                               ReservationProperties.StorageProperties storage) {
+        return RoomReservationServiceFixture.builder()
+                .storage(storage)
+                .repository(repository)
+                .build();
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
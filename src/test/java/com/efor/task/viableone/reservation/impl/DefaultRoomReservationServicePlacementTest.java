@@ -0,0 +1,151 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.PlacementStrategy;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+class DefaultRoomReservationServicePlacementTest {
+
+    @Test
+    void findAvailableRoom_BestFit() {
+        var service = createService(PlacementStrategy.BEST_FIT);
+        // room-A: free 09:00-17:00, room-B: free 11:00-13:00, room-C: free from 10:00
+        book(service, "room-A", "2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z");
+        book(service, "room-A", "2025-01-01T17:00:00Z", "2025-01-01T18:00:00Z");
+        book(service, "room-B", "2025-01-01T10:00:00Z", "2025-01-01T11:00:00Z");
+        book(service, "room-B", "2025-01-01T13:00:00Z", "2025-01-01T14:00:00Z");
+        book(service, "room-C", "2025-01-01T09:00:00Z", "2025-01-01T10:00:00Z");
+
+        assertThat(service.findAvailableRoom(instant("2025-01-01T11:00:00Z"), instant("2025-01-01T12:00:00Z")))
+                .contains("room-B");
+        assertThat(service.findAvailableRoom(instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:00:00Z")))
+                .contains("room-A");
+    }
+
+    @Test
+    void findAvailableRoom_LeastLoaded() {
+        var service = createService(PlacementStrategy.LEAST_LOADED);
+        book(service, "room-A", "2025-01-01T08:00:00Z", "2025-01-01T10:00:00Z");
+        book(service, "room-B", "2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z");
+        book(service, "room-C", "2025-01-01T08:00:00Z", "2025-01-01T11:00:00Z");
+
+        assertThat(service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")))
+                .contains("room-B");
+        assertThat(service.findAvailableRoom(instant("2025-01-01T08:30:00Z"), instant("2025-01-01T09:30:00Z")))
+                .isEmpty();
+    }
+
+    @Test
+    void findAvailableRoom_LeastLoaded_ChoiceFollowsLaterBookings() {
+        var service = createService(PlacementStrategy.LEAST_LOADED);
+        book(service, "room-A", "2025-01-01T08:00:00Z", "2025-01-01T10:00:00Z");
+        book(service, "room-B", "2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z");
+        var start = instant("2025-01-02T12:00:00Z");
+        var end = instant("2025-01-02T13:00:00Z");
+        assertThat(service.findAvailableRoom(start, end)).contains("room-B");
+
+        // Booked at another time, so the interval searched for stays free in both rooms
+        book(service, "room-B", "2025-01-03T08:00:00Z", "2025-01-03T10:00:00Z");
+
+        assertThat(service.findAvailableRoom(start, end)).contains("room-A");
+    }
+
+    @Test
+    void findAvailableRoom_BestFit_ChoiceFollowsBookingsOfOtherRooms() {
+        var service = createService(PlacementStrategy.BEST_FIT);
+        book(service, "room-A", "2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z");
+        book(service, "room-A", "2025-01-01T14:00:00Z", "2025-01-01T15:00:00Z");
+        book(service, "room-B", "2025-01-01T06:00:00Z", "2025-01-01T07:00:00Z");
+        var start = instant("2025-01-01T10:00:00Z");
+        var end = instant("2025-01-01T11:00:00Z");
+        assertThat(service.findAvailableRoom(start, end)).contains("room-A");
+
+        book(service, "room-B", "2025-01-01T09:00:00Z", "2025-01-01T10:00:00Z");
+        book(service, "room-B", "2025-01-01T11:00:00Z", "2025-01-01T12:00:00Z");
+
+        assertThat(service.findAvailableRoom(start, end)).contains("room-B");
+    }
+
+    @Test
+    void bookAnyAvailableRoom_LeastLoadedSpreadsReservations() {
+        var service = createService(PlacementStrategy.LEAST_LOADED);
+        book(service, "room-A", "2025-01-01T00:00:00Z", "2025-01-01T01:00:00Z");
+        book(service, "room-B", "2025-01-01T00:00:00Z", "2025-01-01T01:00:00Z");
+
+        var first = service.bookAnyAvailableRoom(
+                instant("2025-01-02T08:00:00Z"), instant("2025-01-02T09:00:00Z"), RoomConstraints.none());
+        var second = service.bookAnyAvailableRoom(
+                instant("2025-01-02T10:00:00Z"), instant("2025-01-02T11:00:00Z"), RoomConstraints.none());
+
+        assertThat(first).map(RoomReservationResult::roomId).isPresent();
+        assertThat(second).map(RoomReservationResult::roomId).isPresent();
+        assertThat(first.get().roomId()).isNotEqualTo(second.get().roomId());
+    }
+
+    @Test
+    void findAvailableRooms_ParallelScanKeepsRanking() {
+        var service = createService(PlacementStrategy.LEAST_LOADED, 1);
+        for (int room = 0; room < 48; room++) {
+            book(service, "room-" + room, "2025-01-01T00:00:00Z", "2025-01-01T00:%02d:00Z".formatted(room + 1));
+        }
+
+        assertThat(service.findAvailableRooms(instant("2025-01-02T10:00:00Z"), instant("2025-01-02T11:00:00Z"), 3))
+                .containsExactly("room-0", "room-1", "room-2");
+    }
+
+    @Test
+    void findAvailableRooms_ParallelScanStopsAtCount() {
+        var service = createService(PlacementStrategy.FIRST_FIT, 1);
+        for (int room = 0; room < 64; room++) {
+            book(service, "room-" + room, "2025-01-01T00:00:00Z", "2025-01-01T01:00:00Z");
+        }
+
+        assertThat(service.findAvailableRooms(instant("2025-01-02T10:00:00Z"), instant("2025-01-02T11:00:00Z"), 5))
+                .hasSize(5)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void getAvailabilityMatrix_ParallelSweepMatchesSequential() {
+        var sequential = createService(PlacementStrategy.FIRST_FIT);
+        var parallel = createService(PlacementStrategy.FIRST_FIT, 1);
+        for (int room = 0; room < 48; room++) {
+            for (var service : List.of(sequential, parallel)) {
+                book(service, "room-" + room, "2025-01-01T08:00:00Z", "2025-01-01T08:%02d:00Z".formatted(room + 1));
+            }
+        }
+
+        var from = instant("2025-01-01T08:00:00Z");
+        var to = instant("2025-01-01T09:00:00Z");
+        assertThat(parallel.getAvailabilityMatrix(from, to, Duration.ofMinutes(5)))
+                .isEqualTo(sequential.getAvailabilityMatrix(from, to, Duration.ofMinutes(5)));
+    }
+
+    private DefaultRoomReservationService createService(PlacementStrategy placementStrategy) {
+        return createService(placementStrategy, 4096);
+    }
+
+    private DefaultRoomReservationService createService(PlacementStrategy placementStrategy,
+                                                        int parallelSearchThreshold) {
+        return RoomReservationServiceFixture.builder()
+                .placementStrategy(placementStrategy)
+                .parallelSearchThreshold(parallelSearchThreshold)
+                .build();
+    }
+
+    private void book(DefaultRoomReservationService service, String roomId, String start, String end) {
+        assertThat(service.bookRoom(new RoomReservation(roomId, instant(start), instant(end))).isNewReservation())
+                .isTrue();
+    }
+
+    private Instant instant(String s) {
+        return Instant.parse(s);
+    }
+}
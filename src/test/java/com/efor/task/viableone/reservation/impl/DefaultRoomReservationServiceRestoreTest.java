@@ -0,0 +1,92 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.StorageType;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import com.efor.task.viableone.reservation.storage.MappedRoomReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+class DefaultRoomReservationServiceRestoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restore_MappedStorage_ReservationsSurviveRestart() {
+        var repository = createRepository();
+        var service = createService(repository);
+        service.restore();
+        var single = service.bookRoom(reservation("room-1", "2025-01-01T09:00:00Z", "2025-01-01T10:00:00Z"));
+        var cancelled = service.bookRoom(reservation("room-1", "2025-01-01T11:00:00Z", "2025-01-01T12:00:00Z"));
+        var series = service.bookRecurringRoom(reservation("room-2", "2025-01-06T08:00:00Z", "2025-01-06T09:00:00Z"),
+                new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, 4));
+        assertThat(service.cancelReservation(cancelled.reservationId())).isTrue();
+        var before = service.getAllReservations();
+        repository.close();
+
+        var restoredRepository = createRepository();
+        var restored = createService(restoredRepository);
+        restored.restore();
+
+        assertThat(restored.getAllReservations()).isEqualTo(before);
+        assertThat(restored.getReservation(single.reservationId())).isPresent();
+        assertThat(restored.getReservation(series.reservationId()))
+                .hasValueSatisfying(info -> assertThat(info.recurrence()).isNotNull());
+        assertThat(restored.bookRoom(reservation("room-1", "2025-01-01T09:30:00Z", "2025-01-01T10:30:00Z"))
+                .isNewReservation()).isFalse();
+        assertThat(restored.bookRoom(reservation("room-2", "2025-01-20T08:30:00Z", "2025-01-20T09:30:00Z"))
+                .isNewReservation()).isFalse();
+        var next = restored.bookRoom(reservation("room-1", "2025-01-01T11:00:00Z", "2025-01-01T12:00:00Z"));
+        assertThat(next.isNewReservation()).isTrue();
+        assertThat(next.reservationId()).isGreaterThan(series.reservationId());
+        assertThat(restored.getOccupancy(Instant.parse("2025-01-13T08:30:00Z")))
+                .extracting(RoomReservationInfo::roomId)
+                .containsExactly("room-2");
+        restoredRepository.close();
+    }
+
+    @Test
+    void clear_MappedStorage_KeepsStoredReservations() {
+        var repository = createRepository();
+        var service = createService(repository);
+        service.restore();
+        service.bookRoom(reservation("room-1", "2025-01-01T09:00:00Z", "2025-01-01T10:00:00Z"));
+        var before = service.getAllReservations();
+
+        service.clear();
+
+        assertThat(service.getAllReservations()).isEmpty();
+        repository.close();
+        var restoredRepository = createRepository();
+        var restored = createService(restoredRepository);
+        restored.restore();
+        assertThat(restored.getAllReservations()).isEqualTo(before);
+        restoredRepository.close();
+    }
+
+    private MappedRoomReservationRepository createRepository() {
+        return new MappedRoomReservationRepository(storageProperties());
+    }
+
+    private ReservationProperties.StorageProperties storageProperties() {
+        return new ReservationProperties.StorageProperties(StorageType.MAPPED, directory, 2, 256);
+    }
+
+    private DefaultRoomReservationService createService(MappedRoomReservationRepository repository) {
+        return RoomReservationServiceFixture.builder()
+                .storage(storageProperties())
+                .repository(repository)
+                .build();
+    }
+
+    private static RoomReservation reservation(String roomId, String start, String end) {
+        return new RoomReservation(roomId, Instant.parse(start), Instant.parse(end));
+    }
+}
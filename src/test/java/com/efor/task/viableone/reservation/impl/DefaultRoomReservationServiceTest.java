@@ -1,16 +1,30 @@
 package com.efor.task.viableone.reservation.impl;
 
+import com.efor.task.viableone.reservation.IdempotencyKeyMismatchException;
 import com.efor.task.viableone.reservation.ReservationConfig;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
 import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.efor.task.viableone.reservation.Utilization;
+import com.efor.task.viableone.reservation.UtilizationGranularity;
+import com.efor.task.viableone.reservation.UtilizationGrouping;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
 import com.efor.task.viableone.reservation.validation.IntervalValidatorException;
+import com.efor.task.viableone.reservation.validation.RoomIdentifierValidatorException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 
 @SpringBootTest(
         classes = {ReservationConfig.class}
@@ -184,7 +198,475 @@ class DefaultRoomReservationServiceTest {
     }
 
 
+    @Test
+    void findAvailableRoom_CachedResultInvalidatedByBooking() {
+        service.bookRoom(
+                new RoomReservation(
+                        "room-A",
+                        instant("2025-01-01T13:00:00Z"),
+                        instant("2025-01-01T14:00:00Z")
+                )
+        );
+        assertThat(
+                service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"))
+        ).contains("room-A");
+
+        service.bookRoom(
+                new RoomReservation(
+                        "room-A",
+                        instant("2025-01-01T12:00:00Z"),
+                        instant("2025-01-01T13:00:00Z")
+                )
+        );
+
+        assertThat(
+                service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"))
+        ).isEmpty();
+    }
+
+    @Test
+    void findAvailableRoom_CachedEmptyResultInvalidatedByNewRoom() {
+        assertThat(
+                service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"))
+        ).isEmpty();
+
+        service.bookRoom(
+                new RoomReservation(
+                        "room-A",
+                        instant("2025-01-01T13:00:00Z"),
+                        instant("2025-01-01T14:00:00Z")
+                )
+        );
+
+        assertThat(
+                service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"))
+        ).contains("room-A");
+    }
+
+    @Test
+    void bookAnyAvailableRoom() {
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+        service.bookRoom(new RoomReservation("room-B", instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z")));
+
+        var result = service.bookAnyAvailableRoom(
+                instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), RoomConstraints.none());
+
+        assertThat(result).isPresent();
+        assertThat(result.get().isNewReservation()).isTrue();
+        assertThat(result.get().roomId()).isEqualTo("room-B");
+        assertThat(service.getReservations("room-B")).hasSize(2);
+    }
+
+    @Test
+    void bookAnyAvailableRoom_Constraints() {
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z")));
+        service.bookRoom(new RoomReservation("room-B", instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z")));
+
+        var result = service.bookAnyAvailableRoom(
+                instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), new RoomConstraints(Set.of("room-B")));
+
+        assertThat(result).map(RoomReservationResult::roomId).contains("room-B");
+    }
+
+    @Test
+    void bookAnyAvailableRoom_ConstraintRoomIdsTrimmed() {
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z")));
+        service.bookRoom(new RoomReservation(" room-B ", instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z")));
+
+        var result = service.bookAnyAvailableRoom(
+                instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), new RoomConstraints(Set.of(" room-B")));
+
+        assertThat(result).map(RoomReservationResult::roomId).contains("room-B");
+    }
+
+    @Test
+    void bookAnyAvailableRoom_NoRoomAvailable() {
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+
+        var result = service.bookAnyAvailableRoom(
+                instant("2025-01-01T12:30:00Z"), instant("2025-01-01T13:30:00Z"), RoomConstraints.none());
+
+        assertThat(result).isEmpty();
+        assertThat(service.getReservations("room-A")).hasSize(1);
+    }
+
+    @Test
+    void bookRoom_CollisionSuggestsNextFreeSlotAndAlternativeRoom() {
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+        service.bookRoom(new RoomReservation("room-B", instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z")));
+
+        var result = service.bookRoom(
+                new RoomReservation("room-A", instant("2025-01-01T12:30:00Z"), instant("2025-01-01T13:30:00Z")));
+
+        assertThat(result.isNewReservation()).isFalse();
+        assertThat(result.reservationStart()).isEqualTo(instant("2025-01-01T12:00:00Z"));
+        assertThat(result.nextAvailableStart()).isEqualTo(instant("2025-01-01T13:00:00Z"));
+        assertThat(result.nextAvailableEnd()).isEqualTo(instant("2025-01-01T14:00:00Z"));
+        assertThat(result.alternativeRoomId()).isEqualTo("room-B");
+    }
+
+    @Test
+    void getReservation() {
+        var result = service.bookRoom(
+                new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+
+        assertThat(result.reservationId()).isNotNull();
+        assertThat(service.getReservation(result.reservationId()))
+                .contains(new RoomReservationInfo(result.reservationId(), "room-A",
+                        instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), null));
+        assertThat(service.getReservation(result.reservationId() + 1)).isEmpty();
+    }
+
+    @Test
+    void bookRoom_CollisionHasNoReservationId() {
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+
+        var result = service.bookRoom(
+                new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+
+        assertThat(result.isNewReservation()).isFalse();
+        assertThat(result.reservationId()).isNull();
+    }
+
+    @Test
+    void cancelReservation() {
+        var cancelled = service.bookRoom(
+                new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+        var kept = service.bookRoom(
+                new RoomReservation("room-A", instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:00:00Z")));
+
+        assertThat(service.cancelReservation(cancelled.reservationId())).isTrue();
+        assertThat(service.cancelReservation(cancelled.reservationId())).isFalse();
+
+        assertThat(service.getReservation(cancelled.reservationId())).isEmpty();
+        assertThat(service.getReservations("room-A"))
+                .extracting(RoomReservationInfo::reservationId)
+                .containsExactly(kept.reservationId());
+        assertThat(service.bookRoom(new RoomReservation("room-A",
+                instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"))).isNewReservation()).isTrue();
+    }
+
+    @Test
+    void findAvailableRoom_CachedEmptyResultInvalidatedByCancellation() {
+        var reservation = service.bookRoom(
+                new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+        assertThat(service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")))
+                .isEmpty();
+
+        service.cancelReservation(reservation.reservationId());
+
+        assertThat(service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")))
+                .contains("room-A");
+    }
+
+    @Test
+    void bookRoom_IdempotencyKeyRetryReturnsOriginalResult() {
+        var request = new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"));
+
+        var first = service.bookRoom(request, "key-1");
+        var retry = service.bookRoom(request, "key-1");
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(retry.isNewReservation()).isTrue();
+        assertThat(service.getReservations("room-A")).hasSize(1);
+        assertThat(service.bookRoom(request, "key-2").isNewReservation()).isFalse();
+    }
+
+    @Test
+    void bookRoom_IdempotencyKeyReusedForDifferentRequest() {
+        service.bookRoom(
+                new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")),
+                "key-1");
+
+        assertThatThrownBy(() -> service.bookRoom(
+                new RoomReservation("room-A", instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:00:00Z")),
+                "key-1"))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    @Test
+    void bookRecurringRoom() {
+        var recurrence = new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, 52);
+
+        var result = service.bookRecurringRoom(
+                new RoomReservation("room-A", instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z")),
+                recurrence);
+
+        assertThat(result.isNewReservation()).isTrue();
+        assertThat(service.getReservation(result.reservationId()))
+                .map(RoomReservationInfo::recurrence)
+                .contains(recurrence);
+        assertThat(service.getReservations("room-A")).hasSize(52);
+        assertThat(service.bookRoom(new RoomReservation("room-A",
+                instant("2025-06-02T09:00:00Z"), instant("2025-06-02T10:00:00Z"))).isNewReservation()).isFalse();
+    }
+
+    @Test
+    void bookRecurringRoom_CollisionBooksNoOccurrence() {
+        service.bookRoom(new RoomReservation("room-A", instant("2025-06-02T09:10:00Z"), instant("2025-06-02T09:20:00Z")));
+
+        var result = service.bookRecurringRoom(
+                new RoomReservation("room-A", instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z")),
+                new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, 52));
+
+        assertThat(result.isNewReservation()).isFalse();
+        assertThat(result.reservationStart()).isEqualTo(instant("2025-06-02T09:10:00Z"));
+        assertThat(service.getReservations("room-A")).hasSize(1);
+    }
+
+    @Test
+    void bookRecurringRoom_OccurrenceLongerThanPeriod() {
+        assertThatThrownBy(() -> service.bookRecurringRoom(
+                new RoomReservation("room-A", instant("2025-01-06T09:00:00Z"), instant("2025-01-07T10:00:00Z")),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 2)))
+                .isInstanceOf(IntervalValidatorException.class);
+    }
+
+    @Test
+    void cancelReservation_Series() {
+        var result = service.bookRecurringRoom(
+                new RoomReservation("room-A", instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z")),
+                new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, 52));
+        assertThat(service.findAvailableRoom(instant("2025-06-02T09:00:00Z"), instant("2025-06-02T10:00:00Z")))
+                .isEmpty();
+
+        assertThat(service.cancelReservation(result.reservationId())).isTrue();
+
+        assertThat(service.getReservations("room-A")).isEmpty();
+        assertThat(service.findAvailableRoom(instant("2025-06-02T09:00:00Z"), instant("2025-06-02T10:00:00Z")))
+                .contains("room-A");
+    }
+
+    @Test
+    void bookRooms() {
+        var result = service.bookRooms(Set.of("room-A", " room-B ", "room-C"),
+                instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"));
+
+        assertThat(result.isNewReservation()).isTrue();
+        assertThat(result.reservations())
+                .extracting(RoomReservationResult::roomId)
+                .containsExactly("room-A", "room-B", "room-C");
+        assertThat(service.getAllReservations()).hasSize(3);
+    }
+
+    @Test
+    void bookRooms_CollisionBooksNoRoom() {
+        service.bookRoom(new RoomReservation("room-B", instant("2025-01-01T12:30:00Z"), instant("2025-01-01T13:30:00Z")));
+
+        var result = service.bookRooms(Set.of("room-A", "room-B", "room-C"),
+                instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"));
+
+        assertThat(result.isNewReservation()).isFalse();
+        assertThat(result.reservations()).singleElement()
+                .satisfies(collision -> {
+                    assertThat(collision.roomId()).isEqualTo("room-B");
+                    assertThat(collision.reservationStart()).isEqualTo(instant("2025-01-01T12:30:00Z"));
+                });
+        assertThat(service.getAllReservations()).containsOnlyKeys("room-B");
+    }
+
+    @Test
+    void bookRooms_NoRoom() {
+        assertThatThrownBy(() -> service.bookRooms(Set.of(),
+                instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")))
+                .isInstanceOf(RoomIdentifierValidatorException.class);
+    }
+
+    @Test
+    void findAvailableRooms() {
+        for (var roomId : List.of("room-A", "room-B", "room-C", "room-D")) {
+            service.bookRoom(new RoomReservation(roomId, instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z")));
+        }
+        service.bookRoom(new RoomReservation("room-B", instant("2025-01-01T12:30:00Z"), instant("2025-01-01T13:30:00Z")));
+
+        var rooms = service.findAvailableRooms(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), 2);
+
+        assertThat(rooms).hasSize(2)
+                .doesNotHaveDuplicates()
+                .isSubsetOf("room-A", "room-C", "room-D");
+        assertThat(service.findAvailableRooms(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), 5))
+                .containsExactlyInAnyOrder("room-A", "room-C", "room-D");
+    }
+
+    @Test
+    void findAvailableRooms_InvalidCount() {
+        assertThatThrownBy(() -> service.findAvailableRooms(
+                instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findAvailableRoom_AttributeConstraints() {
+        service.setRoomAttributes("room-A", new RoomAttributes(8, Set.of("projector"), "B"));
+        service.setRoomAttributes("room-B", new RoomAttributes(16, Set.of("whiteboard"), "B"));
+        service.setRoomAttributes("room-C", new RoomAttributes(20, Set.of("Projector", "whiteboard"), "b"));
+        service.setRoomAttributes("room-D", new RoomAttributes(30, Set.of("projector"), "A"));
+        service.bookRoom(new RoomReservation("room-C", instant("2025-01-01T12:30:00Z"), instant("2025-01-01T13:30:00Z")));
+
+        var constraints = new RoomConstraints(Set.of(), 12, Set.of("projector"), "B");
+
+        assertThat(service.findAvailableRoom(instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z"),
+                constraints)).contains("room-C");
+        assertThat(service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"),
+                constraints)).isEmpty();
+    }
+
+    @Test
+    void bookAnyAvailableRoom_AttributeConstraints() {
+        service.setRoomAttributes("room-A", new RoomAttributes(4, Set.of(), "B"));
+        service.setRoomAttributes("room-B", new RoomAttributes(12, Set.of(), "B"));
+
+        var result = service.bookAnyAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"),
+                new RoomConstraints(Set.of(), 10, Set.of(), null));
+
+        assertThat(result).map(RoomReservationResult::roomId).contains("room-B");
+    }
+
+    @Test
+    void setRoomAttributes_ReplacesPreviousAttributes() {
+        service.setRoomAttributes("room-A", new RoomAttributes(8, Set.of("projector"), "B"));
+        service.setRoomAttributes(" room-A ", new RoomAttributes(12, Set.of("whiteboard"), null));
+
+        assertThat(service.getRoomAttributes("room-A"))
+                .contains(new RoomAttributes(12, Set.of("whiteboard"), null));
+        assertThat(service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"),
+                new RoomConstraints(Set.of(), 0, Set.of("projector"), null))).isEmpty();
+        assertThat(service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z"),
+                new RoomConstraints(Set.of(), 10, Set.of(), null))).contains("room-A");
+    }
+
+    @Test
+    void setRoomAttributes_NewRoomInvalidatesCachedEmptyResult() {
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+        assertThat(service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")))
+                .isEmpty();
+
+        service.setRoomAttributes("room-B", new RoomAttributes(4, Set.of(), null));
+
+        assertThat(service.findAvailableRoom(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")))
+                .contains("room-B");
+    }
+
+    @Test
+    void getAvailabilityMatrix() {
+        service.bookRoom(new RoomReservation("room-B", instant("2025-01-01T08:30:00Z"), instant("2025-01-01T09:10:00Z")));
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T09:30:00Z"), instant("2025-01-01T10:00:00Z")));
+
+        var matrix = service.getAvailabilityMatrix(instant("2025-01-01T08:00:00Z"), instant("2025-01-01T10:00:00Z"),
+                Duration.ofMinutes(30));
+
+        assertThat(matrix.slotCount()).isEqualTo(4);
+        assertThat(matrix.freeSlots().keySet()).containsExactly("room-A", "room-B");
+        assertThat(matrix.freeSlots().get("room-A").stream().boxed().toList()).containsExactly(0, 1, 2);
+        assertThat(matrix.freeSlots().get("room-B").stream().boxed().toList()).containsExactly(0, 3);
+    }
+
+    @Test
+    void getAvailabilityMatrix_TooManySlots() {
+        assertThatThrownBy(() -> service.getAvailabilityMatrix(instant("2025-01-01T00:00:00Z"),
+                instant("2025-01-31T00:00:00Z"), Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getOccupancy() {
+        var single = service.bookRoom(
+                new RoomReservation("room-B", instant("2025-01-06T08:30:00Z"), instant("2025-01-06T10:00:00Z")));
+        var series = service.bookRecurringRoom(
+                new RoomReservation("room-A", instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z")),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 5));
+
+        assertThat(service.getOccupancy(instant("2025-01-06T09:05:00Z")))
+                .extracting(RoomReservationInfo::reservationId, RoomReservationInfo::roomId)
+                .containsExactly(
+                        tuple(single.reservationId(), "room-B"),
+                        tuple(series.reservationId(), "room-A"));
+        assertThat(service.getOccupancy(instant("2025-01-08T00:00:00Z"), instant("2025-01-10T00:00:00Z")))
+                .extracting(RoomReservationInfo::reservationStart)
+                .containsExactly(instant("2025-01-08T09:00:00Z"), instant("2025-01-09T09:00:00Z"));
+    }
+
+    @Test
+    void getOccupancy_CancelledReservationIsNotReported() {
+        var single = service.bookRoom(
+                new RoomReservation("room-B", instant("2025-01-06T08:30:00Z"), instant("2025-01-06T10:00:00Z")));
+        var series = service.bookRecurringRoom(
+                new RoomReservation("room-A", instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z")),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 5));
+
+        service.cancelReservation(single.reservationId());
+        service.cancelReservation(series.reservationId());
+
+        assertThat(service.getOccupancy(instant("2025-01-06T00:00:00Z"), instant("2025-01-11T00:00:00Z"))).isEmpty();
+    }
+
+    @Test
+    void getOccupancy_InvalidWindow() {
+        assertThatThrownBy(() -> service.getOccupancy(instant("2025-01-06T10:00:00Z"), instant("2025-01-06T09:00:00Z")))
+                .isInstanceOf(IntervalValidatorException.class);
+    }
+
+    @Test
+    void getUtilization_ByRoom() {
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T08:30:00Z"), instant("2025-01-01T10:00:00Z")));
+        var cancelled = service.bookRoom(
+                new RoomReservation("room-B", instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z")));
+        service.cancelReservation(cancelled.reservationId());
+
+        var utilization = service.getUtilization(instant("2025-01-01T08:15:00Z"), instant("2025-01-01T10:00:00Z"),
+                UtilizationGranularity.HOUR, UtilizationGrouping.ROOM);
+
+        assertThat(utilization.from()).isEqualTo(instant("2025-01-01T08:00:00Z"));
+        assertThat(utilization.bucketCount()).isEqualTo(2);
+        assertThat(utilization.groups().keySet()).containsExactly("room-A", "room-B");
+        assertThat(utilization.groups().get("room-A").bookedMinutes()).containsExactly(30, 60);
+        assertThat(utilization.groups().get("room-B").bookedMinutes()).containsExactly(0, 0);
+        assertThat(utilization.groups().get("room-A").ratio(Duration.ofHours(1))).isEqualTo(0.75);
+    }
+
+    @Test
+    void getUtilization_ByLocation() {
+        service.setRoomAttributes("room-A", new RoomAttributes(10, Set.of(), "B"));
+        service.setRoomAttributes("room-B", new RoomAttributes(10, Set.of(), "B"));
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T08:00:00Z"), instant("2025-01-01T20:00:00Z")));
+        service.bookRoom(new RoomReservation("room-C", instant("2025-01-02T08:00:00Z"), instant("2025-01-02T09:00:00Z")));
+
+        var utilization = service.getUtilization(instant("2025-01-01T00:00:00Z"), instant("2025-01-03T00:00:00Z"),
+                UtilizationGranularity.DAY, UtilizationGrouping.LOCATION);
+
+        assertThat(utilization.bucketCount()).isEqualTo(2);
+        assertThat(utilization.groups().keySet()).containsExactly("b", Utilization.UNASSIGNED_LOCATION);
+        assertThat(utilization.groups().get("b").rooms()).isEqualTo(2);
+        assertThat(utilization.groups().get("b").bookedMinutes()).containsExactly(720, 0);
+        assertThat(utilization.groups().get(Utilization.UNASSIGNED_LOCATION).bookedMinutes()).containsExactly(0, 60);
+    }
+
+    @Test
+    void getUtilization_TooManyBuckets() {
+        assertThatThrownBy(() -> service.getUtilization(instant("2025-01-01T00:00:00Z"), instant("2027-01-01T00:00:00Z"),
+                UtilizationGranularity.HOUR, UtilizationGrouping.ROOM))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void archive_PastReservationsStayBookedAndCancellable() {
+        var past = service.bookRoom(
+                new RoomReservation("room-A", instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z")));
+        service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z")));
+        service.bookRoom(new RoomReservation("room-B", instant("2025-01-03T10:00:00Z"), instant("2025-01-03T11:00:00Z")));
+        var before = service.getAllReservations();
+
+        assertThat(service.archive(instant("2025-01-02T00:00:00Z"))).isEqualTo(2);
+
+        assertThat(service.getAllReservations()).isEqualTo(before);
+        assertThat(service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T08:30:00Z"),
+                instant("2025-01-01T09:30:00Z"))).isNewReservation()).isFalse();
+        assertThat(service.cancelReservation(past.reservationId())).isTrue();
+        assertThat(service.bookRoom(new RoomReservation("room-A", instant("2025-01-01T08:00:00Z"),
+                instant("2025-01-01T09:00:00Z"))).isNewReservation()).isTrue();
+    }
+
     private Instant instant(String s) {
         return Instant.parse(s);
     }
-}
\ No newline at end of file
+}
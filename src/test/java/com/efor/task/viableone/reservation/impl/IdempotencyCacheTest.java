@@ -0,0 +1,116 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.IdempotencyKeyMismatchException;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.google.common.base.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class IdempotencyCacheTest {
+
+    private static final RoomReservation REQUEST = new RoomReservation(
+            "room-A", Instant.parse("2025-01-01T12:00:00Z"), Instant.parse("2025-01-01T13:00:00Z"));
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    @Test
+    void get_RetryReturnsOriginalResult() {
+        var cache = createCache(DataSize.ofMegabytes(1));
+        var bookings = new AtomicInteger();
+
+        var first = cache.get("key-1", REQUEST, () -> result(bookings.incrementAndGet()));
+        var retry = cache.get("key-1", REQUEST, () -> result(bookings.incrementAndGet()));
+
+        assertThat(retry).isSameAs(first);
+        assertThat(bookings).hasValue(1);
+    }
+
+    @Test
+    void get_DifferentRequestWithSameKeyRejected() {
+        var cache = createCache(DataSize.ofMegabytes(1));
+        cache.get("key-1", REQUEST, () -> result(1));
+
+        var otherRequest = new RoomReservation("room-B", REQUEST.reservationStart(), REQUEST.reservationEnd());
+
+        assertThatThrownBy(() -> cache.get("key-1", otherRequest, () -> result(2)))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    @Test
+    void get_FailedBookingNotCached() {
+        var cache = createCache(DataSize.ofMegabytes(1));
+
+        assertThatThrownBy(() -> cache.get("key-1", REQUEST, () -> {
+            throw new IllegalStateException("busy");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("key-1", REQUEST, () -> result(1)).reservationId()).isEqualTo(1);
+    }
+
+    @Test
+    void get_ExpiredResultBookedAgain() {
+        var cache = createCache(DataSize.ofMegabytes(1));
+        cache.get("key-1", REQUEST, () -> result(1));
+
+        nanos.addAndGet(Duration.ofHours(25).toNanos());
+
+        assertThat(cache.get("key-1", REQUEST, () -> result(2)).reservationId()).isEqualTo(2);
+    }
+
+    @Test
+    void get_EvictsBeyondMaximumFootprint() {
+        var cache = createCache(DataSize.ofKilobytes(4));
+
+        for (int i = 0; i < 100; i++) {
+            int reservationId = i;
+            cache.get("key-" + i, REQUEST, () -> result(reservationId));
+        }
+
+        assertThat(cache.footprint()).isPositive().isLessThanOrEqualTo(DataSize.ofKilobytes(4).toBytes());
+    }
+
+    @Test
+    void bindTo_ExposesHitRatioAndFootprint() {
+        var cache = createCache(DataSize.ofMegabytes(1));
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get("key-1", REQUEST, () -> result(1));
+        cache.get("key-1", REQUEST, () -> result(1));
+
+        assertThat(registry.get("reservation.idempotency.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+        assertThat(registry.get("reservation.idempotency.cache.footprint").gauge().value())
+                .isEqualTo(cache.footprint())
+                .isPositive();
+
+        cache.clear();
+
+        assertThat(registry.get("reservation.idempotency.cache.footprint").gauge().value()).isZero();
+    }
+
+    private IdempotencyCache createCache(DataSize maximumFootprint) {
+        return new IdempotencyCache(RoomReservationServiceFixture.builder()
+                .idempotencyMaximumFootprint(maximumFootprint)
+                .properties(), ticker);
+    }
+
+    private RoomReservationResult result(long reservationId) {
+        return new RoomReservationResult(reservationId, REQUEST.roomId(),
+                REQUEST.reservationStart(), REQUEST.reservationEnd());
+    }
+}
@@ -0,0 +1,214 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import com.efor.task.viableone.reservation.model.RoomReservations;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class OccupancyIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyIndexTest.class);
+
+    @Test
+    void occupiedAt_ReturnsReservationsContainingInstant() {
+        var index = new OccupancyIndex();
+        index.add("room-A", 1, interval("2025-01-01T13:00:00Z", "2025-01-01T15:00:00Z"));
+        index.add("room-B", 2, interval("2025-01-01T14:00:00Z", "2025-01-01T14:30:00Z"));
+        index.add("room-C", 3, interval("2025-01-01T12:00:00Z", "2025-01-01T14:00:00Z"));
+
+        assertThat(index.occupiedAt(instant("2025-01-01T14:00:00Z")))
+                .extracting(OccupancyIndex.Occupancy::roomId)
+                .containsExactly("room-A", "room-B");
+    }
+
+    @Test
+    void occupied_ReturnsReservationsOverlappingWindow() {
+        var index = new OccupancyIndex();
+        index.add("room-A", 1, interval("2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z"));
+        index.add("room-B", 2, interval("2025-01-01T09:00:00Z", "2025-01-01T10:00:00Z"));
+        index.add("room-A", 3, interval("2025-01-01T10:00:00Z", "2025-01-01T11:00:00Z"));
+
+        assertThat(index.occupied(instant("2025-01-01T08:30:00Z"), instant("2025-01-01T10:00:00Z")))
+                .extracting(OccupancyIndex.Occupancy::reservationId)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void remove_DropsOnlyTheReservationOfTheRoom() {
+        var index = new OccupancyIndex();
+        index.add("room-A", 1, interval("2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z"));
+        index.add("room-B", 2, interval("2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z"));
+
+        index.remove("room-A", interval("2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z"));
+
+        assertThat(index.occupiedAt(instant("2025-01-01T08:30:00Z")))
+                .extracting(OccupancyIndex.Occupancy::roomId)
+                .containsExactly("room-B");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void addSeries_IndexesEveryOccurrence() {
+        var index = new OccupancyIndex();
+        var series = new RecurringReservation(7, interval("2025-01-06T09:00:00Z", "2025-01-06T09:15:00Z"),
+                Duration.ofDays(7).toMinutes(), 4);
+
+        index.add("room-A", series);
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.occupiedAt(instant("2025-01-20T09:10:00Z")))
+                .containsExactly(new OccupancyIndex.Occupancy("room-A", 7,
+                        instant("2025-01-20T09:00:00Z"), instant("2025-01-20T09:15:00Z")));
+
+        index.remove("room-A", series);
+
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void occupied_MatchesBruteForce() {
+        var index = new OccupancyIndex();
+        var random = new Random(42);
+        var all = new ArrayList<OccupancyIndex.Occupancy>();
+        var base = instant("2025-01-01T00:00:00Z");
+        for (int i = 0; i < 5_000; i++) {
+            var roomId = "room-" + random.nextInt(200);
+            var start = base.plus(Duration.ofMinutes(random.nextInt(10_000)));
+            var end = start.plus(Duration.ofMinutes(1 + random.nextInt(600)));
+            if (all.stream().noneMatch(o -> o.roomId().equals(roomId) && o.start().equals(start))) {
+                all.add(new OccupancyIndex.Occupancy(roomId, i, start, end));
+                index.add(roomId, i, new ReservationInterval(start, end));
+            }
+        }
+        for (int i = 0; i < all.size(); i += 3) {
+            var removed = all.get(i);
+            index.remove(removed.roomId(), new ReservationInterval(removed.start(), removed.end()));
+        }
+        List<OccupancyIndex.Occupancy> remaining = new ArrayList<>();
+        for (int i = 0; i < all.size(); i++) {
+            if (i % 3 != 0) {
+                remaining.add(all.get(i));
+            }
+        }
+
+        for (int q = 0; q < 200; q++) {
+            var from = base.plus(Duration.ofMinutes(random.nextInt(10_600)));
+            var to = from.plus(Duration.ofMinutes(1 + random.nextInt(120)));
+            var expected = remaining.stream()
+                    .filter(o -> o.start().isBefore(to) && o.end().isAfter(from))
+                    .sorted(Comparator.comparing(OccupancyIndex.Occupancy::start)
+                            .thenComparing(OccupancyIndex.Occupancy::roomId))
+                    .toList();
+            assertThat(index.occupied(from, to)).containsExactlyElementsOf(expected);
+        }
+        assertThat(index.size()).isEqualTo(remaining.size());
+    }
+
+    @Test
+    void add_ConcurrentRooms_NoUpdateLost() throws Exception {
+        var index = new OccupancyIndex();
+        var base = instant("2025-01-01T00:00:00Z");
+        final int rooms = 16;
+        final int reservationsPerRoom = 500;
+
+        List<Future<?>> results = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(rooms)) {
+            for (int room = 0; room < rooms; room++) {
+                var roomId = "room-" + room;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < reservationsPerRoom; i++) {
+                        var start = base.plus(Duration.ofHours(i));
+                        index.add(roomId, i, new ReservationInterval(start, start.plus(Duration.ofMinutes(30))));
+                    }
+                    for (int i = 0; i < reservationsPerRoom; i += 2) {
+                        var start = base.plus(Duration.ofHours(i));
+                        index.remove(roomId, new ReservationInterval(start, start.plus(Duration.ofMinutes(30))));
+                    }
+                }));
+            }
+        }
+        for (var result : results) {
+            result.get();
+        }
+
+        assertThat(index.size()).isEqualTo(rooms * reservationsPerRoom / 2);
+        assertThat(index.occupiedAt(base.plus(Duration.ofHours(1)))).hasSize(rooms);
+        assertThat(index.occupiedAt(base)).isEmpty();
+    }
+
+    /**
+     * Benchmark: "which rooms are occupied at T" over 1M active reservations, answered by the index and by checking
+     * every room's reservations.
+     */
+    @Test
+    @Tag("benchmark")
+    void occupiedAt_BenchmarkWithMillionReservations() {
+        final int rooms = 10_000;
+        final int reservationsPerRoom = 100;
+        final int queries = 200;
+        var base = instant("2025-01-01T00:00:00Z");
+        var random = new Random(7);
+
+        var index = new OccupancyIndex();
+        Map<String, RoomReservations> roomReservations = new HashMap<>();
+        long buildStarted = System.nanoTime();
+        for (int room = 0; room < rooms; room++) {
+            var roomId = "room-" + room;
+            var reservations = new RoomReservations();
+            // 30-minute reservations every hour with a random offset per room
+            var start = base.plus(Duration.ofMinutes(random.nextInt(60)));
+            for (int i = 0; i < reservationsPerRoom; i++) {
+                var interval = reservations.add(i, start, start.plus(Duration.ofMinutes(30)));
+                index.add(roomId, (long) room * reservationsPerRoom + i, interval);
+                start = start.plus(Duration.ofHours(1));
+            }
+            roomReservations.put(roomId, reservations);
+        }
+        long buildMillis = (System.nanoTime() - buildStarted) / 1_000_000;
+
+        long indexNanos = 0;
+        long scanNanos = 0;
+        for (int q = 0; q < queries; q++) {
+            var at = base.plus(Duration.ofMinutes(random.nextInt(reservationsPerRoom * 60)));
+
+            long started = System.nanoTime();
+            var occupied = index.occupiedAt(at);
+            indexNanos += System.nanoTime() - started;
+
+            started = System.nanoTime();
+            var scanned = roomReservations.entrySet().stream()
+                    .filter(e -> e.getValue().findCollision(at, at.plus(Duration.ofMinutes(1))).isPresent())
+                    .count();
+            scanNanos += System.nanoTime() - started;
+
+            assertThat(occupied).hasSize((int) scanned);
+        }
+
+        logger.info("Occupancy query. reservations={}, build={}ms, index={}us/query, scan={}us/query",
+                index.size(), buildMillis, indexNanos / queries / 1_000, scanNanos / queries / 1_000);
+        assertThat(index.size()).isEqualTo(rooms * reservationsPerRoom);
+    }
+
+    private static ReservationInterval interval(String start, String end) {
+        return new ReservationInterval(instant(start), instant(end));
+    }
+
+    private static Instant instant(String s) {
+        return Instant.parse(s);
+    }
+}
@@ -0,0 +1,143 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.model.RoomReservations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+class ParallelRoomScannerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelRoomScannerTest.class);
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration SLOT = Duration.ofMinutes(30);
+
+    private final ParallelRoomScanner scanner = new ParallelRoomScanner(
+            RoomReservationServiceFixture.defaultProperties());
+
+    @AfterEach
+    void tearDown() {
+        scanner.shutdown();
+    }
+
+    @Test
+    void findAny_ReturnsAllMatchesUpToLimit() {
+        var rooms = IntStream.range(0, 10_000).boxed().toList();
+
+        var matches = scanner.findAny(rooms.spliterator(), room -> room % 1000 == 7 ? Optional.of(room) : Optional.empty(),
+                100);
+
+        assertThat(matches).containsExactlyInAnyOrder(7, 1007, 2007, 3007, 4007, 5007, 6007, 7007, 8007, 9007);
+    }
+
+    @Test
+    void findAny_StopsOnceLimitIsFound() {
+        var rooms = IntStream.range(0, 1_000_000).boxed().toList();
+        var checked = new AtomicInteger();
+
+        var matches = scanner.findAny(rooms.spliterator(), room -> {
+            checked.incrementAndGet();
+            return Optional.of(room);
+        }, 3);
+
+        assertThat(matches).hasSize(3).doesNotHaveDuplicates();
+        assertThat(checked.get()).isLessThan(rooms.size() / 10);
+    }
+
+    @Test
+    void findLeast_ReturnsLeastMatchesInOrder() {
+        var rooms = IntStream.range(0, 10_000).boxed().toList();
+
+        var matches = scanner.findLeast(rooms.spliterator(),
+                room -> room % 2 == 1 ? Optional.of(10_000 - room) : Optional.empty(), Comparator.naturalOrder(), 3);
+
+        assertThat(matches).containsExactly(1, 3, 5);
+    }
+
+    /**
+     * Benchmark: finds the single free room among many busy ones (the whole map is scanned) and any free room
+     * when most rooms are free (the scan stops early), sequentially on the calling thread and in parallel.
+     */
+    @Test
+    @Tag("benchmark")
+    void findAny_BenchmarkAgainstSequentialScan() {
+        final int roomCount = 100_000;
+        final int reservationsPerRoom = 4;
+
+        Map<String, RoomReservations> busyRooms = new ConcurrentHashMap<>();
+        for (int room = 0; room < roomCount; room++) {
+            var reservations = new RoomReservations();
+            for (int slot = 0; slot < reservationsPerRoom; slot++) {
+                // Every room but one is booked at the searched slot 0
+                if (slot > 0 || room != roomCount / 2) {
+                    var start = BASE.plus(SLOT.multipliedBy(2L * slot));
+                    reservations.add(start, start.plus(SLOT));
+                }
+            }
+            busyRooms.put("room-" + room, reservations);
+        }
+        Map<String, RoomReservations> freeRooms = new ConcurrentHashMap<>();
+        busyRooms.forEach((roomId, reservations) -> freeRooms.put(roomId, new RoomReservations()));
+
+        var freeRoomId = "room-" + roomCount / 2;
+        for (var rooms : Map.of("single free room", busyRooms, "all rooms free", freeRooms).entrySet()) {
+            var sequential = benchmark(() -> rooms.getValue().entrySet().stream()
+                    .filter(e -> e.getValue().hasNoConflict(BASE, BASE.plus(SLOT)))
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElseThrow());
+            var parallel = benchmark(() -> scanner.findAny(rooms.getValue().entrySet().spliterator(),
+                    e -> e.getValue().hasNoConflict(BASE, BASE.plus(SLOT)) ? Optional.of(e.getKey()) : Optional.empty(),
+                    1).getFirst());
+
+            logger.info("Available room scan. case='{}', rooms={}, processors={}, sequential={}us, parallel={}us, " +
+                            "speedup={}", rooms.getKey(), roomCount, Runtime.getRuntime().availableProcessors(),
+                    sequential.micros(), parallel.micros(),
+                    String.format("%.2f", (double) sequential.micros() / Math.max(1, parallel.micros())));
+
+            if (rooms.getValue() == busyRooms) {
+                assertThat(sequential.roomId()).isEqualTo(freeRoomId);
+                assertThat(parallel.roomId()).isEqualTo(freeRoomId);
+            } else {
+                assertThat(parallel.roomId()).startsWith("room-");
+            }
+        }
+    }
+
+    /**
+     * Returns the median duration of repeated runs after a warm-up.
+     */
+    private static Measurement benchmark(Supplier<String> scan) {
+        final int warmUps = 5;
+        final int runs = 11;
+        for (int i = 0; i < warmUps; i++) {
+            scan.get();
+        }
+        long[] micros = new long[runs];
+        String roomId = null;
+        for (int i = 0; i < runs; i++) {
+            long started = System.nanoTime();
+            roomId = scan.get();
+            micros[i] = (System.nanoTime() - started) / 1_000;
+        }
+        Arrays.sort(micros);
+        return new Measurement(roomId, micros[runs / 2]);
+    }
+
+    private record Measurement(String roomId, long micros) {
+    }
+}
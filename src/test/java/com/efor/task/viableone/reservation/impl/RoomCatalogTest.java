@@ -0,0 +1,54 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+class RoomCatalogTest {
+
+    @Test
+    void matchingRooms_IntersectsAttributeIndexes() {
+        var catalog = new RoomCatalog();
+        catalog.put("room-A", new RoomAttributes(8, Set.of("projector"), "B"));
+        catalog.put("room-B", new RoomAttributes(12, Set.of("projector", "whiteboard"), "B"));
+        catalog.put("room-C", new RoomAttributes(20, Set.of("projector"), "A"));
+        catalog.put("room-D", new RoomAttributes(40, Set.of("whiteboard"), "B"));
+
+        assertThat(catalog.matchingRooms(constraints(12, Set.of("projector"), "B"))).containsExactly("room-B");
+        assertThat(catalog.matchingRooms(constraints(12, Set.of(), null)))
+                .containsExactly("room-B", "room-C", "room-D");
+        assertThat(catalog.matchingRooms(constraints(0, Set.of("projector"), null)))
+                .containsExactly("room-A", "room-B", "room-C");
+        assertThat(catalog.matchingRooms(constraints(0, Set.of(), "b")))
+                .containsExactly("room-A", "room-B", "room-D");
+    }
+
+    @Test
+    void matchingRooms_UnknownValueMatchesNothing() {
+        var catalog = new RoomCatalog();
+        catalog.put("room-A", new RoomAttributes(8, Set.of("projector"), "B"));
+
+        assertThat(catalog.matchingRooms(constraints(0, Set.of("projector", "piano"), null))).isEmpty();
+        assertThat(catalog.matchingRooms(constraints(0, Set.of(), "C"))).isEmpty();
+        assertThat(catalog.matchingRooms(constraints(9, Set.of(), null))).isEmpty();
+    }
+
+    @Test
+    void put_ReplacesIndexedAttributes() {
+        var catalog = new RoomCatalog();
+        catalog.put("room-A", new RoomAttributes(8, Set.of("projector"), "B"));
+        catalog.put("room-A", new RoomAttributes(20, Set.of("whiteboard"), null));
+
+        assertThat(catalog.get("room-A")).contains(new RoomAttributes(20, Set.of("whiteboard"), null));
+        assertThat(catalog.matchingRooms(constraints(0, Set.of("projector"), null))).isEmpty();
+        assertThat(catalog.matchingRooms(constraints(0, Set.of(), "B"))).isEmpty();
+        assertThat(catalog.matchingRooms(constraints(10, Set.of("whiteboard"), null))).containsExactly("room-A");
+    }
+
+    private static RoomConstraints constraints(int minCapacity, Set<String> equipment, String location) {
+        return new RoomConstraints(Set.of(), minCapacity, equipment, location);
+    }
+}
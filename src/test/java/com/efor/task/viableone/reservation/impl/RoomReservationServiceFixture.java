@@ -0,0 +1,163 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.PlacementStrategy;
+import com.efor.task.viableone.reservation.ReservationChangeListener;
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.StorageType;
+import com.efor.task.viableone.reservation.storage.InMemoryRoomReservationRepository;
+import com.efor.task.viableone.reservation.storage.RoomReservationRepository;
+import com.efor.task.viableone.reservation.validation.DefaultIntervalValidator;
+import com.efor.task.viableone.reservation.validation.DefaultRoomIdentifierValidator;
+import com.efor.task.viableone.reservation.validation.DefaultRoomReservationValidator;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds {@link ReservationProperties} and a {@link DefaultRoomReservationService} outside a Spring context, with the
+ * defaults of {@code application.yaml} except that archiving is off; tests override only what they exercise.
+ */
+public final class RoomReservationServiceFixture {
+
+    private long availableRoomCacheMaximumSize = 1024;
+    private PlacementStrategy placementStrategy = PlacementStrategy.FIRST_FIT;
+    private DataSize idempotencyMaximumFootprint = DataSize.ofMegabytes(16);
+    private int parallelSearchThreshold = 4096;
+    private ReservationProperties.StorageProperties storage =
+            new ReservationProperties.StorageProperties(StorageType.HEAP, null, 64, 256);
+    private ReservationProperties.ResidencyProperties residency =
+            new ReservationProperties.ResidencyProperties(false, null, DataSize.ofMegabytes(64));
+    private ReservationProperties.ArchiveProperties archive =
+            new ReservationProperties.ArchiveProperties(false, Duration.ofDays(7), Duration.ofHours(1));
+    private int changeLogRetention = 100_000;
+    private OccupancyIndex occupancyIndex;
+    private UtilizationAggregates utilizationAggregates;
+    private RoomReservationRepository repository;
+    private RoomResidency roomResidency;
+    private List<ReservationChangeListener> changeListeners = List.of();
+
+    private RoomReservationServiceFixture() {
+    }
+
+    public static RoomReservationServiceFixture builder() {
+        return new RoomReservationServiceFixture();
+    }
+
+    /**
+     * Returns properties with every default.
+     */
+    public static ReservationProperties defaultProperties() {
+        return builder().properties();
+    }
+
+    /**
+     * Returns a service with every default.
+     */
+    public static DefaultRoomReservationService defaultService() {
+        return builder().build();
+    }
+
+    public RoomReservationServiceFixture availableRoomCacheMaximumSize(long availableRoomCacheMaximumSize) {
+        this.availableRoomCacheMaximumSize = availableRoomCacheMaximumSize;
+        return this;
+    }
+
+    public RoomReservationServiceFixture placementStrategy(PlacementStrategy placementStrategy) {
+        this.placementStrategy = placementStrategy;
+        return this;
+    }
+
+    public RoomReservationServiceFixture idempotencyMaximumFootprint(DataSize idempotencyMaximumFootprint) {
+        this.idempotencyMaximumFootprint = idempotencyMaximumFootprint;
+        return this;
+    }
+
+    public RoomReservationServiceFixture parallelSearchThreshold(int parallelSearchThreshold) {
+        this.parallelSearchThreshold = parallelSearchThreshold;
+        return this;
+    }
+
+    public RoomReservationServiceFixture storage(ReservationProperties.StorageProperties storage) {
+        this.storage = storage;
+        return this;
+    }
+
+    public RoomReservationServiceFixture residency(ReservationProperties.ResidencyProperties residency) {
+        this.residency = residency;
+        return this;
+    }
+
+    public RoomReservationServiceFixture archive(ReservationProperties.ArchiveProperties archive) {
+        this.archive = archive;
+        return this;
+    }
+
+    public RoomReservationServiceFixture changeLogRetention(int changeLogRetention) {
+        this.changeLogRetention = changeLogRetention;
+        return this;
+    }
+
+    public RoomReservationServiceFixture occupancyIndex(OccupancyIndex occupancyIndex) {
+        this.occupancyIndex = occupancyIndex;
+        return this;
+    }
+
+    public RoomReservationServiceFixture utilizationAggregates(UtilizationAggregates utilizationAggregates) {
+        this.utilizationAggregates = utilizationAggregates;
+        return this;
+    }
+
+    public RoomReservationServiceFixture repository(RoomReservationRepository repository) {
+        this.repository = repository;
+        return this;
+    }
+
+    /**
+     * Uses the given residency instead of one created from the properties.
+     */
+    public RoomReservationServiceFixture roomResidency(RoomResidency roomResidency) {
+        this.roomResidency = roomResidency;
+        return this;
+    }
+
+    public RoomReservationServiceFixture changeListeners(ReservationChangeListener... changeListeners) {
+        this.changeListeners = List.of(changeListeners);
+        return this;
+    }
+
+    public ReservationProperties properties() {
+        return new ReservationProperties(
+                new ReservationProperties.AvailableRoomCacheProperties(true, availableRoomCacheMaximumSize),
+                placementStrategy,
+                new ReservationProperties.IdempotencyProperties(idempotencyMaximumFootprint, Duration.ofHours(24)),
+                parallelSearchThreshold,
+                0,
+                storage,
+                residency,
+                archive,
+                new ReservationProperties.ChangeLogProperties(changeLogRetention)
+        );
+    }
+
+    public DefaultRoomReservationService build() {
+        var properties = properties();
+        var intervalValidator = new DefaultIntervalValidator();
+        var roomIdentifierValidator = new DefaultRoomIdentifierValidator();
+        return new DefaultRoomReservationService(
+                new DefaultRoomReservationValidator(roomIdentifierValidator, intervalValidator),
+                roomIdentifierValidator,
+                intervalValidator,
+                new AvailableRoomCache(properties),
+                new IdempotencyCache(properties),
+                new RoomCatalog(),
+                new ParallelRoomScanner(properties),
+                occupancyIndex != null ? occupancyIndex : new OccupancyIndex(),
+                utilizationAggregates != null ? utilizationAggregates : new UtilizationAggregates(),
+                repository != null ? repository : new InMemoryRoomReservationRepository(),
+                roomResidency != null ? roomResidency : new RoomResidency(properties),
+                properties,
+                changeListeners
+        );
+    }
+}
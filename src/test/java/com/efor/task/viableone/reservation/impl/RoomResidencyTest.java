@@ -0,0 +1,173 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationResult;
+import com.efor.task.viableone.reservation.model.HeapReservationStore;
+import com.efor.task.viableone.reservation.model.RoomReservations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+class RoomResidencyTest {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final List<RoomResidency> residencies = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        residencies.forEach(RoomResidency::close);
+    }
+
+    @Test
+    void evict_OverBudget_SpillsColdRoomsAndFaultsThemBackIn() {
+        var residency = createResidency(10 * HeapReservationStore.HOT_RESERVATION_BYTES);
+        List<RoomReservations> rooms = new ArrayList<>();
+        for (int room = 0; room < 4; room++) {
+            var reservations = new RoomReservations(residency.track("room-" + room, new ReentrantLock()));
+            for (int i = 0; i < 10; i++) {
+                reservations.add(room * 100L + i, hour(i), hour(i).plus(Duration.ofMinutes(30)));
+            }
+            rooms.add(reservations);
+        }
+        var expected = rooms.getFirst().reservations();
+
+        residency.evict();
+
+        assertThat(residency.residentBytes()).isLessThanOrEqualTo(10 * HeapReservationStore.HOT_RESERVATION_BYTES);
+        assertThat(residency.evictions()).isGreaterThanOrEqualTo(3);
+        long faults = residency.faults();
+        assertThat(rooms.getFirst().reservations()).isEqualTo(expected);
+        assertThat(rooms.getFirst().findCollision(hour(3), hour(4))).isPresent();
+        assertThat(rooms.getFirst().size()).isEqualTo(10);
+        assertThat(residency.faults()).isEqualTo(faults + 1);
+    }
+
+    @Test
+    void archive_ColdSegmentsCountedAndFaultedBackInAsSegments() {
+        var residency = createResidency(0);
+        var room = new RoomReservations(residency.track("room-1", new ReentrantLock()));
+        for (int i = 0; i < 100; i++) {
+            room.add(i, hour(i), hour(i).plus(Duration.ofMinutes(30)));
+        }
+        assertThat(residency.residentBytes()).isEqualTo(100 * HeapReservationStore.HOT_RESERVATION_BYTES);
+
+        assertThat(room.archive(hour(100))).isEqualTo(100);
+        long archived = residency.residentBytes();
+        var expected = room.reservations();
+        assertThat(archived).isPositive().isLessThan(10 * HeapReservationStore.HOT_RESERVATION_BYTES);
+
+        assertThat(residency.evict()).isOne();
+        assertThat(residency.residentBytes()).isZero();
+        assertThat(room.reservations()).isEqualTo(expected);
+        assertThat(residency.faults()).isOne();
+        assertThat(residency.residentBytes()).isEqualTo(archived);
+    }
+
+    @Test
+    void evict_RecentlyUsedRoom_SpilledLast() {
+        var residency = createResidency(HeapReservationStore.HOT_RESERVATION_BYTES);
+        var cold = new RoomReservations(residency.track("cold", new ReentrantLock()));
+        var hot = new RoomReservations(residency.track("hot", new ReentrantLock()));
+        cold.add(1, hour(0), hour(1));
+        hot.add(2, hour(0), hour(1));
+        residency.evict();
+        hot.findCollision(hour(0), hour(1));
+        var faults = residency.faults();
+
+        residency.evict();
+
+        hot.findCollision(hour(0), hour(1));
+        assertThat(residency.faults()).isEqualTo(faults);
+        cold.findCollision(hour(0), hour(1));
+        assertThat(residency.faults()).isEqualTo(faults + 1);
+    }
+
+    @Test
+    void evict_RoomLockHeld_RoomStaysResident() {
+        var residency = createResidency(0);
+        var lock = new ReentrantLock();
+        var room = new RoomReservations(residency.track("room-1", lock));
+        room.add(1, hour(0), hour(1));
+        room.findCollision(hour(0), hour(1));
+
+        lock.lock();
+        try {
+            CompletableFuture.supplyAsync(residency::evict).join();
+            assertThat(CompletableFuture.supplyAsync(residency::evict).join()).isZero();
+        } finally {
+            lock.unlock();
+        }
+
+        assertThat(residency.evictions()).isZero();
+        assertThat(CompletableFuture.supplyAsync(residency::evict).join()).isOne();
+    }
+
+    @Test
+    void bookRoom_ConcurrentWithEviction_NoLostOrDoubleBookings() throws Exception {
+        var residency = createResidency(20 * HeapReservationStore.HOT_RESERVATION_BYTES, true);
+        var service = createService(residency);
+        final int rooms = 50;
+        final int slots = 20;
+
+        List<Future<RoomReservationResult>> results = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                for (int slot = 0; slot < slots; slot++) {
+                    for (int room = 0; room < rooms; room++) {
+                        var reservation = new RoomReservation("room-" + room, hour(slot), hour(slot + 1));
+                        results.add(executor.submit(() -> service.bookRoom(reservation)));
+                    }
+                }
+            }
+        }
+
+        assertThat(results).extracting(Future::get).filteredOn(RoomReservationResult::isNewReservation)
+                .hasSize(rooms * slots);
+        assertThat(residency.evictions()).isPositive();
+        assertThat(service.getAllReservations()).hasSize(rooms)
+                .allSatisfy((roomId, reservations) -> assertThat(reservations).hasSize(slots));
+        assertThat(residency.faults()).isPositive();
+    }
+
+    private RoomResidency createResidency(long memoryBudget) {
+        return createResidency(memoryBudget, false);
+    }
+
+    private RoomResidency createResidency(long memoryBudget, boolean background) {
+        var residency = new RoomResidency(properties(memoryBudget), background);
+        residency.start();
+        residencies.add(residency);
+        return residency;
+    }
+
+    private ReservationProperties properties(long memoryBudget) {
+        return RoomReservationServiceFixture.builder()
+                .residency(new ReservationProperties.ResidencyProperties(true, directory, DataSize.ofBytes(memoryBudget)))
+                .properties();
+    }
+
+    private DefaultRoomReservationService createService(RoomResidency residency) {
+        return RoomReservationServiceFixture.builder().roomResidency(residency).build();
+    }
+
+    private static Instant hour(int hour) {
+        return BASE.plus(Duration.ofHours(hour));
+    }
+}
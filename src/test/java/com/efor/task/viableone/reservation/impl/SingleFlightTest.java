@@ -0,0 +1,149 @@
+package com.efor.task.viableone.reservation.impl;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SingleFlightTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlightTest.class);
+
+    @Test
+    void execute_ConcurrentCallersShareResult() throws Exception {
+        var singleFlight = new SingleFlight<String, Integer>();
+        var computations = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<Integer> leader = pool.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                return computations.incrementAndGet();
+            }));
+            started.await(10, TimeUnit.SECONDS);
+
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(pool.submit(() -> singleFlight.execute("key", computations::incrementAndGet)));
+            }
+            // Release the computation only once all followers joined it
+            while (singleFlight.sharedCount() < 3) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThat(leader.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+            for (var follower : followers) {
+                assertThat(follower.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+            assertThat(computations).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_SequentialCallsRecompute() {
+        var singleFlight = new SingleFlight<String, Integer>();
+        var computations = new AtomicInteger();
+
+        singleFlight.execute("key", computations::incrementAndGet);
+        singleFlight.execute("key", computations::incrementAndGet);
+
+        assertThat(computations).hasValue(2);
+        assertThat(singleFlight.sharedCount()).isZero();
+    }
+
+    @Test
+    void execute_PropagatesException() {
+        var singleFlight = new SingleFlight<String, Integer>();
+
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("key", () -> 1)).isEqualTo(1);
+    }
+
+    /**
+     * Load test: N duplicate callers start at the same moment; the CPU time spent by all of them together
+     * stays close to the CPU time of a single computation instead of growing with N.
+     */
+    @Test
+    void execute_CpuTimeFlatAsDuplicateCallersGrow() throws Exception {
+        final Duration computationCpuTime = Duration.ofMillis(100);
+
+        long singleCallerCpuNanos = 0;
+        for (int callers : new int[]{1, 16, 64, 256}) {
+            var singleFlight = new SingleFlight<String, Long>();
+            var computations = new AtomicInteger();
+            var startBarrier = new CyclicBarrier(callers);
+            var threadMxBean = ManagementFactory.getThreadMXBean();
+
+            ExecutorService pool = Executors.newFixedThreadPool(callers);
+            List<Future<Long>> cpuTimes = new ArrayList<>(callers);
+            for (int i = 0; i < callers; i++) {
+                cpuTimes.add(pool.submit(() -> {
+                    startBarrier.await();
+                    long cpuStart = threadMxBean.getCurrentThreadCpuTime();
+                    singleFlight.execute("2025-01-01T12:00Z/2025-01-01T13:00Z", () -> {
+                        computations.incrementAndGet();
+                        return burnCpu(computationCpuTime);
+                    });
+                    return threadMxBean.getCurrentThreadCpuTime() - cpuStart;
+                }));
+            }
+
+            long totalCpuNanos = 0;
+            for (var cpuTime : cpuTimes) {
+                totalCpuNanos += cpuTime.get(60, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+
+            if (callers == 1) {
+                singleCallerCpuNanos = totalCpuNanos;
+            }
+            logger.info("Single-flight load. callers={}, computations={}, totalCpu={}ms",
+                    callers, computations.get(), TimeUnit.NANOSECONDS.toMillis(totalCpuNanos));
+
+            assertThat(computations).hasValue(1);
+            assertThat(totalCpuNanos).isLessThan(singleCallerCpuNanos * 3);
+        }
+    }
+
+    private static long burnCpu(Duration duration) {
+        var threadMxBean = ManagementFactory.getThreadMXBean();
+        long end = threadMxBean.getCurrentThreadCpuTime() + duration.toNanos();
+        long iterations = 0;
+        while (threadMxBean.getCurrentThreadCpuTime() < end) {
+            iterations++;
+        }
+        return iterations;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.efor.task.viableone.reservation.impl;
+
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class UtilizationAggregatesTest {
+
+    private final UtilizationAggregates aggregates = new UtilizationAggregates();
+
+    @Test
+    void add_SplitsIntervalIntoHours() {
+        aggregates.add("room-A", interval("2025-01-01T08:30:00Z", "2025-01-01T10:15:00Z"));
+
+        assertThat(aggregates.bookedMinutes("room-A", instant("2025-01-01T08:00:00Z"), 1, 4))
+                .containsExactly(30, 60, 15, 0);
+    }
+
+    @Test
+    void bookedMinutes_SumsHoursIntoBuckets() {
+        aggregates.add("room-A", interval("2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z"));
+        aggregates.add("room-A", interval("2025-01-01T23:30:00Z", "2025-01-02T00:30:00Z"));
+
+        assertThat(aggregates.bookedMinutes("room-A", instant("2025-01-01T00:00:00Z"), 24, 2))
+                .containsExactly(90, 30);
+    }
+
+    @Test
+    void remove_DiscountsInterval() {
+        aggregates.add("room-A", interval("2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z"));
+        aggregates.add("room-A", interval("2025-01-01T09:00:00Z", "2025-01-01T09:45:00Z"));
+
+        aggregates.remove("room-A", interval("2025-01-01T08:00:00Z", "2025-01-01T09:00:00Z"));
+
+        assertThat(aggregates.bookedMinutes("room-A", instant("2025-01-01T08:00:00Z"), 1, 2))
+                .containsExactly(0, 45);
+    }
+
+    @Test
+    void addSeries_CountsEveryOccurrence() {
+        var series = new RecurringReservation(1, interval("2025-01-06T09:00:00Z", "2025-01-06T09:15:00Z"),
+                Duration.ofDays(1).toMinutes(), 5);
+
+        aggregates.add("room-A", series);
+
+        assertThat(aggregates.bookedMinutes("room-A", instant("2025-01-06T00:00:00Z"), 24, 6))
+                .containsExactly(15, 15, 15, 15, 15, 0);
+
+        aggregates.remove("room-A", series);
+
+        assertThat(aggregates.bookedMinutes("room-A", instant("2025-01-06T00:00:00Z"), 24, 6))
+                .containsOnly(0);
+    }
+
+    @Test
+    void add_CenturiesLongReservation_TouchesBoundedNodes() {
+        var interval = interval("2025-01-01T08:30:00Z", "2825-01-01T09:15:00Z");
+
+        aggregates.add("room-A", interval);
+
+        assertThat(aggregates.nodeCount("room-A")).isLessThanOrEqualTo(6 * 44);
+        assertThat(aggregates.bookedMinutes("room-A", instant("2025-01-01T08:00:00Z"), 1, 3))
+                .containsExactly(30, 60, 60);
+        assertThat(aggregates.bookedMinutes("room-A", instant("2500-06-01T00:00:00Z"), 24, 2))
+                .containsExactly(24 * 60, 24 * 60);
+        assertThat(aggregates.bookedMinutes("room-A", instant("2825-01-01T08:00:00Z"), 1, 3))
+                .containsExactly(60, 15, 0);
+        assertThat(aggregates.bookedMinutes("room-A", instant("2025-01-01T00:00:00Z"), 24, 1))
+                .containsExactly(15 * 60 + 30);
+
+        aggregates.remove("room-A", interval);
+
+        assertThat(aggregates.nodeCount("room-A")).isZero();
+    }
+
+    @Test
+    void addSeries_YearLongOccurrences_TouchesBoundedNodes() {
+        var series = new RecurringReservation(1, interval("2025-01-01T00:00:00Z", "2026-01-01T00:00:00Z"),
+                Duration.ofDays(366).toMinutes(), 1000);
+
+        aggregates.add("room-A", series);
+
+        assertThat(aggregates.nodeCount("room-A")).isLessThanOrEqualTo(1000 * 6 * 44);
+        // Occurrences start every 366 days, so 2026-01-01 is free
+        assertThat(aggregates.bookedMinutes("room-A", instant("2025-12-31T00:00:00Z"), 24, 3))
+                .containsExactly(24 * 60, 0, 24 * 60);
+        assertThat(aggregates.bookedMinutes("room-A", instant("3020-06-01T00:00:00Z"), 24, 1))
+                .containsExactly(24 * 60);
+
+        aggregates.remove("room-A", series);
+
+        assertThat(aggregates.nodeCount("room-A")).isZero();
+    }
+
+    @Test
+    void bookedMinutes_UnknownRoom() {
+        assertThat(aggregates.bookedMinutes("room-X", instant("2025-01-01T00:00:00Z"), 1, 3))
+                .containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void add_ConcurrentUpdatesAreAllCounted() throws InterruptedException {
+        final int threads = 8;
+        final int updatesPerThread = 1_000;
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        aggregates.add("room-A", interval("2025-01-01T08:00:00Z", "2025-01-01T08:01:00Z"));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(aggregates.bookedMinutes("room-A", instant("2025-01-01T08:00:00Z"), 1, 1))
+                .containsExactly(threads * updatesPerThread);
+    }
+
+    private static ReservationInterval interval(String start, String end) {
+        return new ReservationInterval(instant(start), instant(end));
+    }
+
+    private static Instant instant(String s) {
+        return Instant.parse(s);
+    }
+}
@@ -0,0 +1,166 @@
+package com.efor.task.viableone.reservation.model;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+class HeapReservationStoreTest {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void archiveAndCompact_LookupsUnchanged() {
+        var random = new Random(46);
+        var store = new HeapReservationStore();
+        NavigableMap<Instant, Reservation> expected = new TreeMap<>();
+        int compactions = 0;
+        for (int i = 1; i <= 5_000; i++) {
+            var start = BASE.plus(Duration.ofMinutes(random.nextInt(100_000)));
+            var reservation = new Reservation(i, new ReservationInterval(start, start.plus(Duration.ofMinutes(30))));
+            if (random.nextInt(4) == 0 && !expected.isEmpty()) {
+                var key = new ArrayList<>(expected.keySet()).get(random.nextInt(expected.size()));
+                assertThat(store.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(store.put(reservation)).isEqualTo(expected.put(start, reservation));
+            }
+            if (i % 250 == 0) {
+                var before = BASE.plus(Duration.ofMinutes(i * 20L));
+                int hot = expected.headMap(before).size();
+                assertThat(store.archive(before)).isLessThanOrEqualTo(hot);
+                compactions += store.compact() ? 1 : 0;
+                assertThat(store.segments()).hasSizeLessThanOrEqualTo(HeapReservationStore.MAX_SEGMENTS);
+            }
+            if (i % 50 == 0) {
+                var probe = BASE.plus(Duration.ofMinutes(random.nextInt(100_000)));
+                assertThat(store.get(probe)).isEqualTo(expected.get(probe));
+                assertThat(store.floor(probe)).isEqualTo(value(expected.floorEntry(probe)));
+                assertThat(store.ceiling(probe)).isEqualTo(value(expected.ceilingEntry(probe)));
+                assertThat(store.higher(probe)).isEqualTo(value(expected.higherEntry(probe)));
+                var to = probe.plus(Duration.ofMinutes(random.nextInt(5_000)));
+                assertThat(store.startingBetween(probe, to))
+                        .containsExactlyElementsOf(expected.subMap(probe, false, to, false).values());
+            }
+        }
+
+        assertThat(compactions).isPositive();
+        assertThat(store.segments()).isNotEmpty();
+        assertThat(store.first()).isEqualTo(expected.firstEntry().getValue());
+        assertThat(store.last()).isEqualTo(expected.lastEntry().getValue());
+        assertThat(store.values()).containsExactlyElementsOf(expected.values());
+        assertThat(store.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void putAll_InterleavedWithHotReservations_LookupsUnchanged() {
+        var store = new HeapReservationStore();
+        NavigableMap<Instant, Reservation> expected = new TreeMap<>();
+        for (int i = 0; i < 100; i++) {
+            var reservation = reservation(i, 2L * i);
+            store.put(reservation);
+            expected.put(reservation.interval().start(), reservation);
+        }
+        var bulk = new ArrayList<Reservation>();
+        for (int i = 0; i < 100; i++) {
+            var reservation = reservation(100 + i, 2L * i + 1);
+            bulk.add(reservation);
+            expected.put(reservation.interval().start(), reservation);
+        }
+
+        store.putAll(bulk);
+
+        assertThat(store.segments()).hasSize(1);
+        assertThat(store.size()).isEqualTo(200);
+        assertThat(store.values()).containsExactlyElementsOf(expected.values());
+        var probe = BASE.plus(Duration.ofMinutes(31 * 30 + 10));
+        assertThat(store.floor(probe)).isEqualTo(value(expected.floorEntry(probe)));
+        assertThat(store.higher(probe)).isEqualTo(value(expected.higherEntry(probe)));
+        assertThat(store.remove(bulk.get(7).interval().start())).isEqualTo(bulk.get(7));
+        assertThat(store.size()).isEqualTo(199);
+    }
+
+    @Test
+    void putAll_EndedAndFutureReservations_OnlyEndedGoToColdSegment() {
+        var now = BASE.plus(Duration.ofMinutes(30 * 10 + 15));
+        var store = new HeapReservationStore(Clock.fixed(now, ZoneOffset.UTC));
+        var bulk = new ArrayList<Reservation>();
+        for (int i = 0; i < 20; i++) {
+            bulk.add(reservation(i, i));
+        }
+
+        store.putAll(bulk);
+
+        assertThat(store.segments()).singleElement()
+                .satisfies(segment -> assertThat(segment.values()).containsExactlyElementsOf(bulk.subList(0, 10)));
+        assertThat(store.size()).isEqualTo(20);
+        assertThat(store.values()).containsExactlyElementsOf(bulk);
+        assertThat(store.floor(now)).isEqualTo(bulk.get(10));
+        assertThat(store.archive(now.plus(Duration.ofMinutes(15)))).isEqualTo(1);
+    }
+
+    @Test
+    void putAll_OnlyFutureReservations_KeepsThemHot() {
+        var store = new HeapReservationStore(Clock.fixed(BASE, ZoneOffset.UTC));
+        var bulk = new ArrayList<Reservation>();
+        for (int i = 0; i < 20; i++) {
+            bulk.add(reservation(i, 2L * i));
+        }
+        store.putAll(bulk);
+        var more = new ArrayList<Reservation>();
+        for (int i = 0; i < 20; i++) {
+            more.add(reservation(20 + i, 2L * i + 1));
+        }
+
+        store.putAll(more);
+
+        assertThat(store.segments()).isEmpty();
+        assertThat(store.size()).isEqualTo(40);
+        assertThat(store.first()).isEqualTo(bulk.getFirst());
+        assertThat(store.last()).isEqualTo(more.getLast());
+        assertThat(store.get(more.get(3).interval().start())).isEqualTo(more.get(3));
+    }
+
+    @Test
+    void writeToAndReadFrom_RestoresSegmentsAndHotReservations() throws IOException {
+        var store = new HeapReservationStore();
+        for (int i = 0; i < 200; i++) {
+            store.put(reservation(i, i));
+        }
+        store.archive(BASE.plus(Duration.ofMinutes(30 * 150)));
+        store.remove(reservation(7, 7).interval().start());
+        var bytes = new ByteArrayOutputStream();
+
+        store.writeTo(new DataOutputStream(bytes));
+        var read = HeapReservationStore.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(read.values()).containsExactlyElementsOf(store.values());
+        assertThat(read.size()).isEqualTo(199);
+        assertThat(read.segments()).hasSize(1);
+        assertThat(read.segments().getFirst().encodedSize()).isEqualTo(150);
+        assertThat(read.heapBytes()).isEqualTo(store.heapBytes());
+        assertThat(read.get(reservation(7, 7).interval().start())).isNull();
+        assertThat(read.floor(BASE.plus(Duration.ofMinutes(30 * 160 + 5)))).isEqualTo(reservation(160, 160));
+    }
+
+    private static Reservation reservation(long id, long slot) {
+        var start = BASE.plus(Duration.ofMinutes(30 * slot));
+        return new Reservation(id, new ReservationInterval(start, start.plus(Duration.ofMinutes(30))));
+    }
+
+    private static Reservation value(Map.Entry<Instant, Reservation> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+}
@@ -0,0 +1,98 @@
+package com.efor.task.viableone.reservation.model;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+class ReservationSegmentTest {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void lookups_SameAsTreeMap() {
+        var random = new Random(46);
+        NavigableMap<Instant, Reservation> expected = new TreeMap<>();
+        long minute = 0;
+        for (int i = 0; i < 1_000; i++) {
+            minute += 1 + random.nextInt(300);
+            var start = BASE.plus(Duration.ofMinutes(minute));
+            expected.put(start, new Reservation(random.nextInt(1_000_000),
+                    new ReservationInterval(start, start.plus(Duration.ofMinutes(1 + random.nextInt(240))))));
+        }
+        var segment = ReservationSegment.of(List.copyOf(expected.values()));
+        for (int i = 0; i < 200; i++) {
+            var key = new ArrayList<>(expected.keySet()).get(random.nextInt(expected.size()));
+            assertThat(segment.remove(key)).isEqualTo(expected.remove(key));
+        }
+        assertThat(segment.remove(BASE)).isNull();
+
+        for (int i = 0; i < 2_000; i++) {
+            var probe = BASE.plus(Duration.ofMinutes(random.nextLong(minute + 600) - 300));
+            assertThat(segment.get(probe)).isEqualTo(expected.get(probe));
+            assertThat(segment.floor(probe)).isEqualTo(value(expected.floorEntry(probe)));
+            assertThat(segment.lower(probe)).isEqualTo(value(expected.lowerEntry(probe)));
+            assertThat(segment.ceiling(probe)).isEqualTo(value(expected.ceilingEntry(probe)));
+            assertThat(segment.higher(probe)).isEqualTo(value(expected.higherEntry(probe)));
+            var to = probe.plus(Duration.ofMinutes(random.nextInt(5_000)));
+            assertThat(segment.startingBetween(probe, to))
+                    .containsExactlyElementsOf(expected.subMap(probe, false, to, false).values());
+        }
+        assertThat(segment.first()).isEqualTo(expected.firstEntry().getValue());
+        assertThat(segment.last()).isEqualTo(expected.lastEntry().getValue());
+        assertThat(segment.values()).containsExactlyElementsOf(expected.values());
+        assertThat(segment.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void of_EncodesCompactly() {
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            var start = BASE.plus(Duration.ofMinutes(60L * i));
+            reservations.add(new Reservation(i + 1, new ReservationInterval(start, start.plus(Duration.ofMinutes(30)))));
+        }
+
+        var segment = ReservationSegment.of(reservations);
+
+        assertThat(segment.encodedBytes()).isLessThan(6 * reservations.size());
+        assertThat(segment.values()).isEqualTo(reservations);
+    }
+
+    @Test
+    void merge_DropsRemovedReservations() {
+        var first = ReservationSegment.of(List.of(reservation(1, 0), reservation(3, 200)));
+        var second = ReservationSegment.of(List.of(reservation(2, 100), reservation(4, 300)));
+        first.remove(minute(200));
+
+        var merged = ReservationSegment.merge(List.of(first, second));
+
+        assertThat(merged.encodedSize()).isEqualTo(3);
+        assertThat(merged.values()).containsExactly(reservation(1, 0), reservation(2, 100), reservation(4, 300));
+    }
+
+    @Test
+    void of_UnorderedReservations() {
+        assertThatThrownBy(() -> ReservationSegment.of(List.of(reservation(1, 100), reservation(2, 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Reservation reservation(long id, int startMinute) {
+        return new Reservation(id, new ReservationInterval(minute(startMinute), minute(startMinute + 30)));
+    }
+
+    private static Instant minute(int minute) {
+        return BASE.plus(Duration.ofMinutes(minute));
+    }
+
+    private static Reservation value(Map.Entry<Instant, Reservation> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+}
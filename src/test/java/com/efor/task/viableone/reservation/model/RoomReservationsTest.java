@@ -4,10 +4,14 @@ import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 class RoomReservationsTest {
 
+    private static final RecurrenceRule WEEKLY_YEAR = new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, 52);
+
     @Test
     void findCollision_NoCollisions() {
         var reservations = new RoomReservations();
@@ -130,6 +134,231 @@ class RoomReservationsTest {
         assertThat(reservations.asList()).isEmpty();
     }
 
+    @Test
+    void enclosingGapMinutes() {
+        var reservations = new RoomReservations();
+
+        reservations.add(instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z"));
+        reservations.add(instant("2025-01-01T13:00:00Z"), instant("2025-01-01T14:00:00Z"));
+
+        assertThat(reservations.enclosingGapMinutes(instant("2025-01-01T11:00:00Z"), instant("2025-01-01T12:00:00Z")))
+                .hasValue(120);
+        assertThat(reservations.enclosingGapMinutes(instant("2025-01-01T11:30:00Z"), instant("2025-01-01T12:00:00Z")))
+                .hasValue(120);
+        assertThat(reservations.enclosingGapMinutes(instant("2025-01-01T10:30:00Z"), instant("2025-01-01T12:00:00Z")))
+                .isEmpty();
+        assertThat(reservations.enclosingGapMinutes(instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:00:00Z")))
+                .hasValue(RoomReservations.UNBOUNDED_GAP_MINUTES + 60);
+    }
+
+    @Test
+    void bookedMinutes() {
+        var reservations = new RoomReservations();
+        assertThat(reservations.bookedMinutes()).isZero();
+
+        reservations.add(instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z"));
+        reservations.add(instant("2025-01-01T13:00:00Z"), instant("2025-01-01T13:30:59Z"));
+
+        assertThat(reservations.bookedMinutes()).isEqualTo(90);
+    }
+
+    @Test
+    void findNextFreeSlot() {
+        var reservations = new RoomReservations();
+
+        reservations.add(instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z"));
+        reservations.add(instant("2025-01-01T11:30:00Z"), instant("2025-01-01T12:00:00Z"));
+        reservations.add(instant("2025-01-01T13:00:00Z"), instant("2025-01-01T14:00:00Z"));
+
+        assertThat(reservations.findNextFreeSlot(instant("2025-01-01T09:00:00Z"), instant("2025-01-01T10:00:00Z")))
+                .isEqualTo(new ReservationInterval(instant("2025-01-01T09:00:00Z"), instant("2025-01-01T10:00:00Z")));
+        assertThat(reservations.findNextFreeSlot(instant("2025-01-01T10:30:00Z"), instant("2025-01-01T11:00:00Z")))
+                .isEqualTo(new ReservationInterval(instant("2025-01-01T11:00:00Z"), instant("2025-01-01T11:30:00Z")));
+        assertThat(reservations.findNextFreeSlot(instant("2025-01-01T10:30:00Z"), instant("2025-01-01T11:30:00Z")))
+                .isEqualTo(new ReservationInterval(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+        assertThat(reservations.findNextFreeSlot(instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:30:00Z")))
+                .isEqualTo(new ReservationInterval(instant("2025-01-01T14:00:00Z"), instant("2025-01-01T15:30:00Z")));
+    }
+
+    @Test
+    void remove() {
+        var reservations = new RoomReservations();
+
+        reservations.add(1, instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z"));
+        reservations.add(2, instant("2025-01-01T13:00:00Z"), instant("2025-01-01T14:00:00Z"));
+
+        assertThat(reservations.remove(2, instant("2025-01-01T10:00:00Z"))).isEmpty();
+        assertThat(reservations.remove(1, instant("2025-01-01T10:00:30Z")))
+                .contains(new Reservation(1, new ReservationInterval(
+                        instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z"))));
+        assertThat(reservations.remove(1, instant("2025-01-01T10:00:00Z"))).isEmpty();
+
+        assertThat(reservations.reservations()).containsExactly(new Reservation(2, new ReservationInterval(
+                instant("2025-01-01T13:00:00Z"), instant("2025-01-01T14:00:00Z"))));
+        assertThat(reservations.bookedMinutes()).isEqualTo(60);
+        assertThat(reservations.hasNoConflict(instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z")))
+                .isTrue();
+    }
+
+    @Test
+    void addSeries_Invalid_IntervalTooLongOrLastOccurrenceBeyondInstantMax() {
+        var reservations = new RoomReservations();
+        var start = Instant.MAX.minus(Duration.ofDays(30)).truncatedTo(ChronoUnit.MINUTES);
+
+        assertThatThrownBy(() -> new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, Integer.MAX_VALUE, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> reservations.addSeries(1, start, start.plus(Duration.ofHours(1)), WEEKLY_YEAR))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(reservations.size()).isZero();
+    }
+
+    @Test
+    void addSeries_StoredCompactly() {
+        var reservations = new RoomReservations();
+
+        reservations.addSeries(1, instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z"), WEEKLY_YEAR);
+
+        assertThat(reservations.size()).isEqualTo(1);
+        assertThat(reservations.bookedMinutes()).isEqualTo(52 * 15);
+        assertThat(reservations.asList()).hasSize(52)
+                .startsWith(new ReservationInterval(instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z")))
+                .endsWith(new ReservationInterval(instant("2025-12-29T09:00:00Z"), instant("2025-12-29T09:15:00Z")));
+    }
+
+    @Test
+    void findCollision_Series() {
+        var reservations = new RoomReservations();
+        reservations.addSeries(1, instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z"), WEEKLY_YEAR);
+
+        assertThat(reservations.findCollision(instant("2025-03-10T09:10:00Z"), instant("2025-03-10T10:00:00Z")))
+                .contains(new ReservationInterval(instant("2025-03-10T09:00:00Z"), instant("2025-03-10T09:15:00Z")));
+        assertThat(reservations.findCollision(instant("2025-03-10T09:15:00Z"), instant("2025-03-17T09:00:00Z")))
+                .isEmpty();
+        assertThat(reservations.findCollision(instant("2024-12-30T09:00:00Z"), instant("2024-12-30T09:15:00Z")))
+                .isEmpty();
+        assertThat(reservations.findCollision(instant("2026-01-05T09:00:00Z"), instant("2026-01-05T09:15:00Z")))
+                .isEmpty();
+    }
+
+    @Test
+    void findSeriesCollision() {
+        var reservations = new RoomReservations();
+        reservations.add(1, instant("2025-02-03T09:10:00Z"), instant("2025-02-03T09:20:00Z"));
+        reservations.addSeries(2, instant("2025-01-07T09:00:00Z"), instant("2025-01-07T10:00:00Z"),
+                new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 2, 10));
+
+        assertThat(reservations.findSeriesCollision(
+                instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z"), WEEKLY_YEAR))
+                .contains(new ReservationInterval(instant("2025-02-03T09:10:00Z"), instant("2025-02-03T09:20:00Z")));
+        assertThat(reservations.findSeriesCollision(
+                instant("2025-01-06T09:30:00Z"), instant("2025-01-06T10:30:00Z"),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 30)))
+                .contains(new ReservationInterval(instant("2025-01-07T09:00:00Z"), instant("2025-01-07T10:00:00Z")));
+        assertThat(reservations.findSeriesCollision(
+                instant("2025-01-06T10:00:00Z"), instant("2025-01-06T11:00:00Z"), WEEKLY_YEAR))
+                .isEmpty();
+    }
+
+    @Test
+    void findNextFreeSlot_SkipsSeriesOccurrences() {
+        var reservations = new RoomReservations();
+        reservations.addSeries(1, instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z"),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 3));
+        reservations.add(2, instant("2025-01-01T11:00:00Z"), instant("2025-01-01T12:00:00Z"));
+
+        assertThat(reservations.findNextFreeSlot(instant("2025-01-01T10:30:00Z"), instant("2025-01-01T11:30:00Z")))
+                .isEqualTo(new ReservationInterval(instant("2025-01-01T12:00:00Z"), instant("2025-01-01T13:00:00Z")));
+        assertThat(reservations.findNextFreeSlot(instant("2025-01-02T09:30:00Z"), instant("2025-01-02T10:30:00Z")))
+                .isEqualTo(new ReservationInterval(instant("2025-01-02T11:00:00Z"), instant("2025-01-02T12:00:00Z")));
+    }
+
+    @Test
+    void enclosingGapMinutes_Series() {
+        var reservations = new RoomReservations();
+        reservations.addSeries(1, instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z"),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 3));
+
+        assertThat(reservations.enclosingGapMinutes(instant("2025-01-02T08:00:00Z"), instant("2025-01-02T09:00:00Z")))
+                .hasValue(23 * 60);
+        assertThat(reservations.enclosingGapMinutes(instant("2025-01-02T10:30:00Z"), instant("2025-01-02T12:00:00Z")))
+                .isEmpty();
+    }
+
+    @Test
+    void reservations_ExpandsSeriesOnlyWithinWindow() {
+        var reservations = new RoomReservations();
+        reservations.add(1, instant("2025-03-11T12:00:00Z"), instant("2025-03-11T13:00:00Z"));
+        reservations.addSeries(2, instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z"), WEEKLY_YEAR);
+
+        assertThat(reservations.reservations(instant("2025-03-10T09:10:00Z"), instant("2025-03-24T09:00:00Z")))
+                .containsExactly(
+                        new Reservation(2, new ReservationInterval(
+                                instant("2025-03-10T09:00:00Z"), instant("2025-03-10T09:15:00Z"))),
+                        new Reservation(1, new ReservationInterval(
+                                instant("2025-03-11T12:00:00Z"), instant("2025-03-11T13:00:00Z"))),
+                        new Reservation(2, new ReservationInterval(
+                                instant("2025-03-17T09:00:00Z"), instant("2025-03-17T09:15:00Z")))
+                );
+    }
+
+    @Test
+    void removeSeries() {
+        var reservations = new RoomReservations();
+        reservations.addSeries(1, instant("2025-01-06T09:00:00Z"), instant("2025-01-06T09:15:00Z"), WEEKLY_YEAR);
+
+        assertThat(reservations.remove(1, instant("2025-01-06T09:00:00Z"))).isEmpty();
+        assertThat(reservations.removeSeries(1, instant("2025-01-06T09:00:00Z"))).isPresent();
+
+        assertThat(reservations.size()).isZero();
+        assertThat(reservations.bookedMinutes()).isZero();
+        assertThat(reservations.hasNoConflict(instant("2025-03-10T09:00:00Z"), instant("2025-03-10T09:15:00Z")))
+                .isTrue();
+    }
+
+    @Test
+    void busySlots_MarksEverySlotOverlappingAReservation() {
+        var reservations = new RoomReservations();
+        reservations.add(1, instant("2025-01-01T07:00:00Z"), instant("2025-01-01T08:10:00Z"));
+        reservations.add(2, instant("2025-01-01T09:15:00Z"), instant("2025-01-01T09:45:00Z"));
+        reservations.add(3, instant("2025-01-01T11:30:00Z"), instant("2025-01-01T13:00:00Z"));
+        reservations.addSeries(4, instant("2024-12-31T10:00:00Z"), instant("2024-12-31T10:30:00Z"),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 3));
+
+        // 08:00 - 12:00 in 30-minute slots
+        var busy = reservations.busySlots(instant("2025-01-01T08:00:00Z"), Duration.ofMinutes(30), 8);
+
+        assertThat(busy.stream().boxed().toList()).containsExactly(0, 2, 3, 4, 7);
+    }
+
+    @Test
+    void busySlots_InvalidSlot() {
+        var reservations = new RoomReservations();
+
+        assertThatThrownBy(() -> reservations.busySlots(instant("2025-01-01T08:00:00Z"), Duration.ofSeconds(90), 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void archive_PastReservationsStayQueryable() {
+        var reservations = new RoomReservations();
+        reservations.add(1, instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z"));
+        reservations.add(2, instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z"));
+        reservations.add(3, instant("2025-01-02T10:00:00Z"), instant("2025-01-02T11:00:00Z"));
+
+        assertThat(reservations.archive(instant("2025-01-01T11:00:00Z"))).isEqualTo(2);
+
+        assertThat(reservations.size()).isEqualTo(3);
+        assertThat(reservations.reservations()).extracting(Reservation::id).containsExactly(1L, 2L, 3L);
+        assertThat(reservations.findCollision(instant("2025-01-01T08:30:00Z"), instant("2025-01-01T10:30:00Z")))
+                .contains(new ReservationInterval(instant("2025-01-01T08:00:00Z"), instant("2025-01-01T09:00:00Z")));
+        assertThat(reservations.findNextFreeSlot(instant("2025-01-01T08:00:00Z"), instant("2025-01-01T10:00:00Z")))
+                .isEqualTo(new ReservationInterval(instant("2025-01-01T11:00:00Z"), instant("2025-01-01T13:00:00Z")));
+        assertThat(reservations.remove(2, instant("2025-01-01T10:00:00Z"))).isPresent();
+        assertThat(reservations.hasNoConflict(instant("2025-01-01T10:00:00Z"), instant("2025-01-01T11:00:00Z")))
+                .isTrue();
+        assertThat(reservations.bookedMinutes()).isEqualTo(120);
+    }
+
     private Instant instant(String s) {
         return Instant.parse(s);
     }
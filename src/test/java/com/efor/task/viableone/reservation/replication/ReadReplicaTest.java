@@ -0,0 +1,258 @@
+package com.efor.task.viableone.reservation.replication;
+
+import com.efor.task.viableone.app.RoomReservationApplication;
+import com.efor.task.viableone.reservation.InternalApiInterceptor;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomConstraints;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.RoomReservationInfo;
+import com.efor.task.viableone.reservation.RoomReservationService;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Runs a leader and a follower as separate application instances in this JVM on loopback ports.
+ */
+class ReadReplicaTest {
+
+    private static final Instant START = Instant.parse("2025-09-15T09:00:00Z");
+    private static final Instant END = Instant.parse("2025-09-15T10:00:00Z");
+    private static final String SECRET = "replication-secret";
+
+    private static ConfigurableApplicationContext leader;
+    private static ConfigurableApplicationContext follower;
+    private static final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void startInstances() {
+        int leaderPort = freePort();
+        leader = start(leaderPort, Map.of("reservation.replication.role", "leader"));
+        follower = start(freePort(), Map.of(
+                "reservation.replication.role", "follower",
+                "reservation.replication.leader-url", "http://127.0.0.1:" + leaderPort));
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        follower.close();
+        leader.close();
+    }
+
+    @Test
+    void changes_AppliedByFollowerWithLeaderIds() {
+        var leaderService = leader.getBean(RoomReservationService.class);
+        var single = leaderService.bookRoom(new RoomReservation("changes-1", START, END));
+        var series = leaderService.bookRecurringRoom(new RoomReservation("changes-2", START, END),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 3));
+        var cancelled = leaderService.bookRoom(new RoomReservation("changes-1", END, END.plusSeconds(3600)));
+        leaderService.cancelReservation(cancelled.reservationId());
+        leaderService.setRoomAttributes("changes-3", new RoomAttributes(8, Set.of("projector"), "b"));
+
+        awaitLeaderVersion(follower);
+
+        var replica = follower.getBean(RoomReservationService.class);
+        assertThat(replica.getReservation(single.reservationId())).map(RoomReservationInfo::roomId)
+                .contains("changes-1");
+        assertThat(replica.getReservations("changes-1")).extracting(RoomReservationInfo::reservationId)
+                .containsExactly(single.reservationId());
+        assertThat(replica.getReservations("changes-2"))
+                .hasSize(3)
+                .extracting(RoomReservationInfo::reservationId)
+                .containsOnly(series.reservationId());
+        assertThat(replica.getReservation(cancelled.reservationId())).isEmpty();
+        assertThat(replica.getRoomAttributes("changes-3")).map(RoomAttributes::capacity).contains(8);
+        assertThat(replica.findAvailableRoom(START, END,
+                new RoomConstraints(Set.of(), 4, Set.of("projector"), null)))
+                .contains("changes-3");
+    }
+
+    @Test
+    void follower_RejectsChanges() {
+        var replica = follower.getBean(RoomReservationService.class);
+
+        assertThatThrownBy(() -> replica.bookRoom(new RoomReservation("rejected-1", START, END)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("read replica");
+        assertThatThrownBy(() -> replica.cancelReservation(1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void readWithMinVersion_SeesOwnBooking() throws Exception {
+        var booked = post(leader, "/api/v1/room/book",
+                "{\"roomId\":\"own-1\",\"reservationStart\":\"" + START + "\",\"reservationEnd\":\"" + END + "\"}");
+        assertThat(booked.statusCode()).isEqualTo(201);
+        var version = booked.headers().firstValue(ReplicationVersionAdvice.VERSION_HEADER).orElseThrow();
+        var matcher = Pattern.compile("\"reservationId\":(\\d+)").matcher(booked.body());
+        assertThat(matcher.find()).isTrue();
+
+        var read = get(follower, "/api/v1/room/reservation/" + matcher.group(1) + "?minVersion=" + version);
+
+        assertThat(read.statusCode()).isEqualTo(200);
+        assertThat(read.body()).contains("\"roomId\":\"own-1\"");
+        assertThat(Long.parseLong(read.headers().firstValue(ReplicationVersionAdvice.VERSION_HEADER).orElseThrow()))
+                .isGreaterThanOrEqualTo(Long.parseLong(version));
+    }
+
+    @Test
+    void readWithMinVersion_NotReachedInTime_Unavailable() throws Exception {
+        long ahead = leader.getBean(ReplicationLog.class).version() + 1_000;
+
+        var read = get(follower, "/api/v1/room/available?start=" + START + "&end=" + END + "&minVersion=" + ahead);
+
+        assertThat(read.statusCode()).isEqualTo(503);
+    }
+
+    @Test
+    void replicationApi_WithoutSecret_Unauthorized() throws Exception {
+        var path = "/internal/v1/replication/log?after=0";
+
+        var anonymous = get(leader, path);
+        var wrong = httpClient.send(HttpRequest.newBuilder(uri(leader, path))
+                .header(InternalApiInterceptor.SECRET_HEADER, "wrong").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        var authenticated = httpClient.send(HttpRequest.newBuilder(uri(leader, path))
+                .header(InternalApiInterceptor.SECRET_HEADER, SECRET).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(anonymous.statusCode()).isEqualTo(401);
+        assertThat(wrong.statusCode()).isEqualTo(401);
+        assertThat(authenticated.statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void lag_ZeroWhenCaughtUp() {
+        leader.getBean(RoomReservationService.class).bookRoom(new RoomReservation("lag-1", START, END));
+
+        awaitLeaderVersion(follower);
+
+        var registry = follower.getBean(MeterRegistry.class);
+        assertThat(registry.get("reservation.replication.lag").gauge().value()).isZero();
+        assertThat(registry.get("reservation.replication.version").gauge().value())
+                .isEqualTo(leader.getBean(ReplicationLog.class).version());
+    }
+
+    @Test
+    void leaderRestart_FollowerReplaysNewLog() {
+        int leaderPort = freePort();
+        var firstLeader = start(leaderPort, Map.of("reservation.replication.role", "leader"));
+        try (var replica = start(freePort(), Map.of(
+                "reservation.replication.role", "follower",
+                "reservation.replication.leader-url", "http://127.0.0.1:" + leaderPort,
+                "reservation.replication.retry-delay", "100ms"))) {
+            firstLeader.getBean(RoomReservationService.class).bookRoom(new RoomReservation("before-1", START, END));
+            replica.getBean(ReplicationState.class).awaitVersion(1);
+            firstLeader.close();
+
+            try (var secondLeader = start(leaderPort, Map.of("reservation.replication.role", "leader"))) {
+                secondLeader.getBean(RoomReservationService.class)
+                        .bookRoom(new RoomReservation("after-1", START, END));
+                secondLeader.getBean(RoomReservationService.class)
+                        .bookRoom(new RoomReservation("after-2", START, END));
+                replica.getBean(ReplicationState.class).awaitVersion(2);
+
+                assertThat(replica.getBean(DefaultRoomReservationService.class).getAllReservations())
+                        .containsOnlyKeys("after-1", "after-2");
+            }
+        } finally {
+            firstLeader.close();
+        }
+    }
+
+    @Test
+    void followerBehindRetainedLog_AppliesSnapshot() {
+        int leaderPort = freePort();
+        try (var smallLeader = start(leaderPort, Map.of(
+                "reservation.replication.role", "leader",
+                "reservation.change-log.retention", "2"))) {
+            var leaderService = smallLeader.getBean(RoomReservationService.class);
+            leaderService.setRoomAttributes("snapshot-1", new RoomAttributes(8, Set.of("projector"), "b"));
+            var single = leaderService.bookRoom(new RoomReservation("snapshot-1", START, END));
+            var series = leaderService.bookRecurringRoom(new RoomReservation("snapshot-2", START, END),
+                    new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 3));
+            var cancelled = leaderService.bookRoom(new RoomReservation("snapshot-2", END, END.plusSeconds(3600)));
+            leaderService.cancelReservation(cancelled.reservationId());
+
+            try (var replica = start(freePort(), Map.of(
+                    "reservation.replication.role", "follower",
+                    "reservation.replication.leader-url", "http://127.0.0.1:" + leaderPort))) {
+                replica.getBean(ReplicationState.class).awaitVersion(5);
+                var replicaService = replica.getBean(RoomReservationService.class);
+                assertThat(replicaService.getAllReservations()).isEqualTo(leaderService.getAllReservations());
+                assertThat(replicaService.getReservation(series.reservationId()))
+                        .map(RoomReservationInfo::recurrence).isPresent();
+                assertThat(replicaService.getRoomAttributes("snapshot-1")).map(RoomAttributes::capacity).contains(8);
+
+                var later = leaderService.bookRoom(new RoomReservation("snapshot-1", END, END.plusSeconds(3600)));
+                leaderService.cancelReservation(single.reservationId());
+                replica.getBean(ReplicationState.class).awaitVersion(7);
+
+                assertThat(replicaService.getReservations("snapshot-1")).extracting(RoomReservationInfo::reservationId)
+                        .containsExactly(later.reservationId());
+            }
+        }
+    }
+
+    private static void awaitLeaderVersion(ConfigurableApplicationContext follower) {
+        follower.getBean(ReplicationState.class).awaitVersion(leader.getBean(ReplicationLog.class).version());
+    }
+
+    private static HttpResponse<String> post(ConfigurableApplicationContext instance, String path, String body)
+            throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(uri(instance, path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> get(ConfigurableApplicationContext instance, String path)
+            throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(uri(instance, path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(ConfigurableApplicationContext instance, String path) {
+        return URI.create("http://127.0.0.1:" + instance.getEnvironment().getProperty("local.server.port") + path);
+    }
+
+    private static ConfigurableApplicationContext start(int port, Map<String, Object> properties) {
+        Map<String, Object> instanceProperties = new HashMap<>(properties);
+        instanceProperties.put("server.port", port);
+        instanceProperties.put("spring.main.banner-mode", "off");
+        instanceProperties.put("reservation.replication.secret", SECRET);
+        // Arguments, unlike default properties, take precedence over application.yaml
+        var args = instanceProperties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(RoomReservationApplication.class).run(args);
+    }
+
+    private static int freePort() {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
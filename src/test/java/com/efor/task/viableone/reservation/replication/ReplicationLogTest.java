@@ -0,0 +1,86 @@
+package com.efor.task.viableone.reservation.replication;
+
+import com.efor.task.viableone.reservation.ReservationChange;
+import com.efor.task.viableone.reservation.RoomAttributes;
+import com.efor.task.viableone.reservation.RoomReservation;
+import com.efor.task.viableone.reservation.impl.ChangeLog;
+import com.efor.task.viableone.reservation.impl.DefaultRoomReservationService;
+import com.efor.task.viableone.reservation.impl.RoomReservationServiceFixture;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+class ReplicationLogTest {
+
+    private static final Instant START = Instant.parse("2025-09-15T09:00:00Z");
+    private static final Instant END = Instant.parse("2025-09-15T10:00:00Z");
+
+    private final ChangeLog changeLog = changeLog(100);
+    private final ReplicationLog log = new ReplicationLog(changeLog);
+
+    @Test
+    void read_ShipsChangeLogEntriesUnderEpoch() throws InterruptedException {
+        changeLog.onChange(booked(1, "room-1"));
+        changeLog.onChange(new ReservationChange.Cancelled(1, "room-1"));
+
+        var batch = log.read(0, 10, Duration.ZERO).orElseThrow();
+        var next = log.read(1, 10, Duration.ZERO).orElseThrow();
+
+        assertThat(log.version()).isEqualTo(2);
+        assertThat(batch.leaderVersion()).isEqualTo(2);
+        assertThat(batch.entries()).extracting(ReplicationEntry::version).containsExactly(1L, 2L);
+        assertThat(batch.entries()).extracting(ReplicationEntry::change)
+                .containsExactly(booked(1, "room-1"), new ReservationChange.Cancelled(1, "room-1"));
+        assertThat(next.epoch()).isEqualTo(batch.epoch());
+        assertThat(new ReplicationLog(changeLog).read(0, 10, Duration.ZERO).orElseThrow().epoch())
+                .isNotEqualTo(batch.epoch());
+    }
+
+    @Test
+    void read_AfterOlderThanRetainedTail_ReturnsEmpty() throws InterruptedException {
+        var changeLog = changeLog(3);
+        var log = new ReplicationLog(changeLog);
+        for (int i = 1; i <= 5; i++) {
+            changeLog.onChange(booked(i, "room-" + i));
+        }
+
+        assertThat(log.read(1, 10, Duration.ZERO)).isEmpty();
+        assertThat(log.read(2, 10, Duration.ZERO).orElseThrow().entries()).extracting(ReplicationEntry::version)
+                .containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void snapshot_RoomsWithTheirChangesAndVersions() {
+        var service = RoomReservationServiceFixture.builder().changeListeners(changeLog).build();
+        var attributes = new RoomAttributes(8, Set.of("projector"), "floor 2");
+        service.setRoomAttributes("room-1", attributes);
+        var single = service.bookRoom(new RoomReservation("room-1", START, END));
+        var cancelled = service.bookRoom(new RoomReservation("room-1", END, END.plusSeconds(3600)));
+        var recurrence = new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, 4);
+        var series = service.bookRecurringRoom(new RoomReservation("room-2", START, END), recurrence);
+        service.cancelReservation(cancelled.reservationId());
+
+        var snapshot = log.snapshot(service);
+
+        assertThat(snapshot.version()).isEqualTo(5);
+        assertThat(snapshot.rooms()).containsExactlyInAnyOrder(
+                new DefaultRoomReservationService.RoomSnapshot("room-1", 5, List.of(
+                        new ReservationChange.RoomAttributesSet("room-1", attributes),
+                        booked(single.reservationId(), "room-1"))),
+                new DefaultRoomReservationService.RoomSnapshot("room-2", 5, List.of(
+                        new ReservationChange.Booked(series.reservationId(), "room-2", START, END, recurrence))));
+    }
+
+    private static ChangeLog changeLog(int retention) {
+        return new ChangeLog(RoomReservationServiceFixture.builder().changeLogRetention(retention).properties());
+    }
+
+    private static ReservationChange booked(long reservationId, String roomId) {
+        return new ReservationChange.Booked(reservationId, roomId, START, END, null);
+    }
+}
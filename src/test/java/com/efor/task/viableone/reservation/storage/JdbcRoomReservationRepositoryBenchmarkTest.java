@@ -0,0 +1,96 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.StorageType;
+import com.efor.task.viableone.reservation.model.RoomReservations;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Tag("benchmark")
+class JdbcRoomReservationRepositoryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcRoomReservationRepositoryBenchmarkTest.class);
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final int ROOMS = 64;
+    private static final int BOOKINGS_PER_ROOM = 200;
+
+    /**
+     * Benchmark: bookings per second of concurrent clients, one per room, in memory and in an embedded H2 database
+     * with batched and unbatched writes.
+     */
+    @Test
+    void bookRooms_JdbcComparedWithInMemory() throws Exception {
+        long inMemory = bookingsPerSecond(new InMemoryRoomReservationRepository());
+        var unbatchedDataSource = dataSource();
+        long unbatched = bookingsPerSecond(createRepository(unbatchedDataSource, 1));
+        var batchedDataSource = dataSource();
+        long batched = bookingsPerSecond(createRepository(batchedDataSource, 256));
+
+        logger.info("Repository throughput. bookings={}, inMemoryPerSecond={}, jdbcUnbatchedPerSecond={}, " +
+                "jdbcBatchedPerSecond={}", ROOMS * BOOKINGS_PER_ROOM, inMemory, unbatched, batched);
+
+        for (var dataSource : List.of(unbatchedDataSource, batchedDataSource)) {
+            var jdbcTemplate = new JdbcTemplate(dataSource);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservation", Integer.class))
+                    .isEqualTo(ROOMS * BOOKINGS_PER_ROOM);
+            jdbcTemplate.execute("SHUTDOWN");
+        }
+    }
+
+    private static long bookingsPerSecond(RoomReservationRepository repository) throws Exception {
+        List<RoomReservations> rooms = new ArrayList<>(ROOMS);
+        for (int room = 0; room < ROOMS; room++) {
+            rooms.add(new RoomReservations(repository.create("room-" + room)));
+        }
+
+        long started = System.nanoTime();
+        List<Future<?>> clients = new ArrayList<>(ROOMS);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int room = 0; room < ROOMS; room++) {
+                var reservations = rooms.get(room);
+                long firstId = (long) room * BOOKINGS_PER_ROOM;
+                clients.add(executor.submit(() -> {
+                    for (int i = 0; i < BOOKINGS_PER_ROOM; i++) {
+                        var start = BASE.plus(Duration.ofMinutes(60L * i));
+                        var end = start.plus(Duration.ofMinutes(30));
+                        if (reservations.findCollision(start, end).isEmpty()) {
+                            reservations.add(firstId + i, start, end);
+                        }
+                    }
+                }));
+            }
+        }
+        for (var client : clients) {
+            client.get();
+        }
+        long elapsed = Math.max(1, System.nanoTime() - started);
+        repository.close();
+
+        assertThat(rooms).allSatisfy(room -> assertThat(room.size()).isEqualTo(BOOKINGS_PER_ROOM));
+        return ROOMS * BOOKINGS_PER_ROOM * 1_000_000_000L / elapsed;
+    }
+
+    private static DriverManagerDataSource dataSource() {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    private static JdbcRoomReservationRepository createRepository(DriverManagerDataSource dataSource,
+                                                                  int batchSize) {
+        return new JdbcRoomReservationRepository(dataSource,
+                new ReservationProperties.StorageProperties(StorageType.JDBC, null, 64, batchSize));
+    }
+}
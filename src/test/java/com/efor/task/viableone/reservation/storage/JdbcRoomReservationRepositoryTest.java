@@ -0,0 +1,170 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.StorageType;
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.RoomReservations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class JdbcRoomReservationRepositoryTest {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    private final List<JdbcRoomReservationRepository> repositories = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        repositories.forEach(JdbcRoomReservationRepository::close);
+        new JdbcTemplate(dataSource).execute("SHUTDOWN");
+    }
+
+    @Test
+    void findAll_AfterReopening_ReturnsStoredReservationsAndSeries() {
+        var repository = createRepository();
+        var store = repository.create("room-1");
+        var room = new RoomReservations(store);
+        room.add(1, hour(0), hour(1));
+        room.add(2, hour(2), hour(3));
+        room.add(3, hour(4), hour(5));
+        room.remove(2, hour(2));
+        room.addSeries(4, hour(24), hour(25), new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 5));
+        new RoomReservations(repository.create("room-2")).add(5, hour(0), hour(2));
+        repository.close();
+
+        var stored = createRepository().findAll();
+
+        assertThat(stored).containsOnlyKeys("room-1", "room-2");
+        var restored = new RoomReservations(stored.get("room-1"));
+        assertThat(restored.reservations()).isEqualTo(room.reservations());
+        assertThat(stored.get("room-1").series()).isEqualTo(store.series()).hasSize(1);
+        assertThat(stored.get("room-2").size()).isOne();
+    }
+
+    @Test
+    void put_OverlappingReservationOfAnotherService_RejectedByDatabase() {
+        var first = createRepository().create("room-1");
+        var second = createRepository().create("room-1");
+        new RoomReservations(first).add(1, hour(10), hour(11));
+        var stale = new RoomReservations(second);
+
+        assertThatThrownBy(() -> stale.add(2, hour(10).plus(Duration.ofMinutes(30)), hour(12)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("overlaps");
+
+        assertThat(stale.size()).isZero();
+        stale.add(3, hour(11), hour(12));
+        assertThat(createRepository().findAll().get("room-1").values()).hasSize(2);
+    }
+
+    @Test
+    void put_OverlappingSeriesOccurrenceOfAnotherService_RejectedByDatabase() {
+        var first = createRepository().create("room-1");
+        var second = createRepository().create("room-1");
+        new RoomReservations(first).addSeries(1, hour(10), hour(11),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 5));
+        var stale = new RoomReservations(second);
+
+        assertThatThrownBy(() -> stale.add(2, hour(3 * 24 + 10), hour(3 * 24 + 12)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("overlaps");
+
+        stale.add(3, hour(3 * 24 + 11), hour(3 * 24 + 12));
+        stale.add(4, hour(5 * 24 + 10), hour(5 * 24 + 11));
+        assertThat(createRepository().findAll().get("room-1").values()).hasSize(2);
+    }
+
+    @Test
+    void addSeries_OverlappingReservationOrSeriesOfAnotherService_RejectedByDatabase() {
+        var first = new RoomReservations(createRepository().create("room-1"));
+        first.add(1, hour(4 * 24 + 10), hour(4 * 24 + 11));
+        first.addSeries(2, hour(20), hour(21), new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, 3));
+        var stale = new RoomReservations(createRepository().create("room-1"));
+
+        assertThatThrownBy(() -> stale.addSeries(3, hour(10), hour(11),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 7)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("overlaps");
+        assertThatThrownBy(() -> stale.addSeries(4, hour(14 * 24 + 20), hour(14 * 24 + 22),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 2)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("overlaps");
+
+        assertThat(stale.bookedMinutes()).isZero();
+        stale.addSeries(5, hour(10), hour(11), new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 4));
+        assertThat(createRepository().findAll().get("room-1").series()).hasSize(2);
+    }
+
+    @Test
+    void removeSeries_ThenAddOverlapping_Accepted() {
+        var repository = createRepository();
+        var room = new RoomReservations(repository.create("room-1"));
+        room.addSeries(1, hour(10), hour(11), new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 5));
+        room.addSeries(2, hour(12), hour(13), new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 5));
+
+        room.removeSeries(1, hour(10));
+        room.addSeries(3, hour(10), hour(12), new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, 5));
+
+        assertThat(createRepository().findAll().get("room-1").series())
+                .extracting(RecurringReservation::id)
+                .containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void put_ConcurrentRooms_AllWritesCommitted() throws Exception {
+        var repository = createRepository();
+        final int rooms = 32;
+        final int slots = 50;
+        List<RoomReservations> reservations = new ArrayList<>();
+        for (int room = 0; room < rooms; room++) {
+            reservations.add(new RoomReservations(repository.create("room-" + room)));
+        }
+
+        List<Future<?>> results = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int room = 0; room < rooms; room++) {
+                var roomReservations = reservations.get(room);
+                long firstId = (long) room * slots;
+                results.add(executor.submit(() -> {
+                    for (int slot = 0; slot < slots; slot++) {
+                        roomReservations.add(firstId + slot, hour(slot), hour(slot).plus(Duration.ofMinutes(30)));
+                    }
+                }));
+            }
+        }
+        for (var result : results) {
+            result.get();
+        }
+
+        assertThat(createRepository().findAll().values())
+                .hasSize(rooms)
+                .allSatisfy(store -> assertThat(store.size()).isEqualTo(slots));
+    }
+
+    private JdbcRoomReservationRepository createRepository() {
+        var repository = new JdbcRoomReservationRepository(dataSource,
+                new ReservationProperties.StorageProperties(StorageType.JDBC, null, 64, 256));
+        repositories.add(repository);
+        return repository;
+    }
+
+    private static Instant hour(int hour) {
+        return BASE.plus(Duration.ofHours(hour));
+    }
+}
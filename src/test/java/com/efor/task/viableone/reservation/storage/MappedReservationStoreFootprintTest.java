@@ -0,0 +1,92 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.model.HeapReservationStore;
+import com.efor.task.viableone.reservation.model.ReservationStore;
+import com.efor.task.viableone.reservation.model.RoomReservations;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Tag("benchmark")
+class MappedReservationStoreFootprintTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedReservationStoreFootprintTest.class);
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final int ROOMS = 100;
+    private static final int RESERVATIONS_PER_ROOM = 2_000;
+    private static final int COLLECTIONS = 5;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Benchmark: heap retained by the reservations of every room and the time of full collections with them live,
+     * once on the heap and once in memory-mapped files.
+     */
+    @Test
+    void footprint_MappedKeepsReservationsOffHeap() {
+        var onHeap = measure(roomId -> new HeapReservationStore());
+        var mapped = measure(roomId -> MappedReservationStore.create(
+                directory.resolve(roomId + ".res"), roomId, RESERVATIONS_PER_ROOM));
+
+        logger.info("Reservation store footprint. reservations={}, heapBytes={}, mappedHeapBytes={}, " +
+                        "heapGcMillis={}, mappedGcMillis={}", ROOMS * RESERVATIONS_PER_ROOM,
+                onHeap.heapBytes(), mapped.heapBytes(), onHeap.gcMillis(), mapped.gcMillis());
+
+        assertThat(mapped.heapBytes()).isLessThan(onHeap.heapBytes() / 4);
+    }
+
+    private static Footprint measure(Function<String, ReservationStore> factory) {
+        long before = usedHeapAfterGc();
+        List<ReservationStore> stores = new ArrayList<>(ROOMS);
+        List<RoomReservations> rooms = new ArrayList<>(ROOMS);
+        for (int room = 0; room < ROOMS; room++) {
+            var store = factory.apply("room-" + room);
+            var reservations = new RoomReservations(store);
+            for (int i = 0; i < RESERVATIONS_PER_ROOM; i++) {
+                var start = BASE.plus(Duration.ofMinutes(60L * i));
+                reservations.add(start, start.plus(Duration.ofMinutes(30)));
+            }
+            stores.add(store);
+            rooms.add(reservations);
+        }
+
+        long gcBefore = gcMillis();
+        long after = 0;
+        for (int i = 0; i < COLLECTIONS; i++) {
+            after = usedHeapAfterGc();
+        }
+        long gcAfter = gcMillis();
+
+        assertThat(rooms).allSatisfy(room -> assertThat(room.size()).isEqualTo(RESERVATIONS_PER_ROOM));
+        stores.forEach(ReservationStore::close);
+        return new Footprint(Math.max(0, after - before), gcAfter - gcBefore);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+
+    private record Footprint(long heapBytes, long gcMillis) {
+    }
+}
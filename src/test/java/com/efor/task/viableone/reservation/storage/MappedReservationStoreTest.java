@@ -0,0 +1,206 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.model.RecurrenceRule;
+import com.efor.task.viableone.reservation.model.RecurringReservation;
+import com.efor.task.viableone.reservation.model.Reservation;
+import com.efor.task.viableone.reservation.model.ReservationInterval;
+import com.efor.task.viableone.reservation.model.RoomReservations;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+class MappedReservationStoreTest {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void lookups_ReadSortedRecords() {
+        try (var store = MappedReservationStore.create(directory.resolve("room.res"), "room-1", 4)) {
+            store.put(reservation(3, 300, 360));
+            store.put(reservation(1, 100, 160));
+            store.put(reservation(2, 200, 260));
+
+            assertThat(store.size()).isEqualTo(3);
+            assertThat(store.get(minute(200))).isEqualTo(reservation(2, 200, 260));
+            assertThat(store.get(minute(201))).isNull();
+            assertThat(store.floor(minute(250))).isEqualTo(reservation(2, 200, 260));
+            assertThat(store.floor(minute(99))).isNull();
+            assertThat(store.ceiling(minute(200))).isEqualTo(reservation(2, 200, 260));
+            assertThat(store.higher(minute(200))).isEqualTo(reservation(3, 300, 360));
+            assertThat(store.higher(minute(300))).isNull();
+            assertThat(store.first()).isEqualTo(reservation(1, 100, 160));
+            assertThat(store.last()).isEqualTo(reservation(3, 300, 360));
+            assertThat(store.startingBetween(minute(100), minute(300))).containsExactly(reservation(2, 200, 260));
+            assertThat(store.values()).extracting(Reservation::id).containsExactly(1L, 2L, 3L);
+        }
+    }
+
+    @Test
+    void putAndRemove_BeyondInitialCapacity_FileGrows() {
+        try (var store = MappedReservationStore.create(directory.resolve("room.res"), "room-1", 2)) {
+            for (int i = 100; i >= 1; i--) {
+                store.put(reservation(i, i * 10, i * 10 + 5));
+            }
+            assertThat(store.put(reservation(1000, 500, 505))).isEqualTo(reservation(50, 500, 505));
+            assertThat(store.remove(minute(10))).isEqualTo(reservation(1, 10, 15));
+            assertThat(store.remove(minute(11))).isNull();
+
+            assertThat(store.size()).isEqualTo(99);
+            assertThat(store.first()).isEqualTo(reservation(2, 20, 25));
+            assertThat(store.get(minute(500))).isEqualTo(reservation(1000, 500, 505));
+        }
+    }
+
+    @Test
+    void open_RestoresReservationsAndSeries() {
+        var file = directory.resolve("room.res");
+        var series = new RecurringReservation(7, interval(1000, 1060), Duration.ofDays(7).toMinutes(), 4);
+        try (var store = MappedReservationStore.create(file, "room-ü", 4)) {
+            store.put(reservation(1, 100, 160));
+            store.put(reservation(2, 200, 260));
+            store.saveSeries(List.of(series));
+        }
+
+        try (var store = MappedReservationStore.open(file)) {
+            assertThat(store.roomId()).isEqualTo("room-ü");
+            assertThat(store.values()).containsExactly(reservation(1, 100, 160), reservation(2, 200, 260));
+            assertThat(store.series()).containsExactly(series);
+        }
+    }
+
+    @Test
+    void open_InsertCutShort_DropsExtraRecord() throws IOException {
+        var file = directory.resolve("room.res");
+        try (var store = MappedReservationStore.create(file, "room-1", 8)) {
+            store.put(reservation(1, 100, 160));
+            store.put(reservation(2, 200, 260));
+            store.put(reservation(3, 300, 360));
+        }
+        // Inserting at the second position: the last record copied and counted, the second one copied but its id not
+        writeRecord(file, 3, 300, 360, 3);
+        writeCount(file, 4);
+        writeRecord(file, 2, 200, 260, 3);
+
+        try (var store = MappedReservationStore.open(file)) {
+            assertThat(store.values()).containsExactly(reservation(1, 100, 160), reservation(2, 200, 260),
+                    reservation(3, 300, 360));
+            store.put(reservation(4, 150, 160));
+            assertThat(store.values()).extracting(Reservation::id).containsExactly(1L, 4L, 2L, 3L);
+        }
+    }
+
+    @Test
+    void open_RemoveCutShort_DropsExtraRecord() throws IOException {
+        var file = directory.resolve("room.res");
+        try (var store = MappedReservationStore.create(file, "room-1", 8)) {
+            store.put(reservation(1, 100, 160));
+            store.put(reservation(2, 200, 260));
+            store.put(reservation(3, 300, 360));
+        }
+        // Removing the first record: the second one copied over it but only its id written
+        writeRecord(file, 0, 100, 160, 2);
+
+        try (var store = MappedReservationStore.open(file)) {
+            assertThat(store.values()).containsExactly(reservation(2, 200, 260), reservation(3, 300, 360));
+        }
+        try (var store = MappedReservationStore.open(file)) {
+            assertThat(store.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void open_RecordsNotSorted_Throws() throws IOException {
+        var file = directory.resolve("room.res");
+        try (var store = MappedReservationStore.create(file, "room-1", 8)) {
+            store.put(reservation(1, 100, 160));
+            store.put(reservation(2, 200, 260));
+        }
+        writeRecord(file, 1, 50, 60, 2);
+
+        assertThatThrownBy(() -> MappedReservationStore.open(file)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void roomReservations_SameAnswersAsOnHeap() {
+        var random = new Random(44);
+        var weekly = new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, 8);
+        try (var store = MappedReservationStore.create(directory.resolve("room.res"), "room-1", 8)) {
+            var onHeap = new RoomReservations();
+            var mapped = new RoomReservations(store);
+            for (int i = 1; i <= 2_000; i++) {
+                var start = BASE.plus(Duration.ofMinutes(15L * random.nextInt(20_000)));
+                var end = start.plus(Duration.ofMinutes(15L * (1 + random.nextInt(8))));
+                assertThat(mapped.findCollision(start, end)).isEqualTo(onHeap.findCollision(start, end));
+                assertThat(mapped.findNextFreeSlot(start, end)).isEqualTo(onHeap.findNextFreeSlot(start, end));
+                assertThat(mapped.enclosingGapMinutes(start, end)).isEqualTo(onHeap.enclosingGapMinutes(start, end));
+                if (i % 100 == 0 && onHeap.findSeriesCollision(start, end, weekly).isEmpty()) {
+                    onHeap.addSeries(i, start, end, weekly);
+                    mapped.addSeries(i, start, end, weekly);
+                } else if (onHeap.hasNoConflict(start, end)) {
+                    onHeap.add(i, start, end);
+                    mapped.add(i, start, end);
+                } else if (random.nextBoolean()) {
+                    var existing = onHeap.findCollision(start, end).orElseThrow();
+                    var removed = onHeap.reservations(existing.start(), existing.end()).getFirst();
+                    assertThat(mapped.remove(removed.id(), removed.interval().start()))
+                            .isEqualTo(onHeap.remove(removed.id(), removed.interval().start()));
+                }
+            }
+
+            assertThat(mapped.reservations()).isEqualTo(onHeap.reservations());
+            assertThat(mapped.bookedMinutes()).isEqualTo(onHeap.bookedMinutes());
+            var window = BASE.plus(Duration.ofDays(30));
+            assertThat(mapped.busySlots(window, Duration.ofMinutes(30), 1000))
+                    .isEqualTo(onHeap.busySlots(window, Duration.ofMinutes(30), 1000));
+            assertThat(new RoomReservations(store).bookedMinutes()).isEqualTo(onHeap.bookedMinutes());
+        }
+    }
+
+    /**
+     * Writes a record of a file created for {@code room-1}, whose records start at byte 32.
+     */
+    private static void writeRecord(Path file, int position, int startMinute, int endMinute, long id)
+            throws IOException {
+        long base = BASE.getEpochSecond() / 60;
+        var record = ByteBuffer.allocate(MappedReservationStore.RECORD_BYTES)
+                .putInt((int) (base + startMinute))
+                .putInt((int) (base + endMinute))
+                .putLong(id)
+                .flip();
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(record, 32 + (long) position * MappedReservationStore.RECORD_BYTES);
+        }
+    }
+
+    private static void writeCount(Path file, int count) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(count).flip(), 4);
+        }
+    }
+
+    private static Reservation reservation(long id, int startMinute, int endMinute) {
+        return new Reservation(id, interval(startMinute, endMinute));
+    }
+
+    private static ReservationInterval interval(int startMinute, int endMinute) {
+        return new ReservationInterval(minute(startMinute), minute(endMinute));
+    }
+
+    private static Instant minute(int minute) {
+        return BASE.plus(Duration.ofMinutes(minute));
+    }
+}
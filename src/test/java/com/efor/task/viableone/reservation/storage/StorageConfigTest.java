@@ -0,0 +1,61 @@
+package com.efor.task.viableone.reservation.storage;
+
+import com.efor.task.viableone.reservation.ReservationProperties;
+import com.efor.task.viableone.reservation.StorageType;
+import com.efor.task.viableone.reservation.impl.RoomReservationServiceFixture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+
+class StorageConfigTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void mappedStorage_StandaloneOrLeader_Starts() {
+        runner(StorageType.MAPPED)
+                .withPropertyValues("reservation.replication.role=leader")
+                .run(context -> assertThat(context).hasSingleBean(MappedRoomReservationRepository.class));
+    }
+
+    @Test
+    void persistentStorage_ClusterMode_FailsToStart() {
+        runner(StorageType.MAPPED)
+                .withPropertyValues("reservation.cluster.enabled=true")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause().hasMessageContaining("cluster mode"));
+        runner(StorageType.JDBC)
+                .withPropertyValues("reservation.cluster.enabled=true")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause().hasMessageContaining("cluster mode"));
+    }
+
+    @Test
+    void persistentStorage_ConsensusMode_FailsToStart() {
+        runner(StorageType.JDBC)
+                .withPropertyValues("reservation.consensus.enabled=true")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause().hasMessageContaining("consensus mode"));
+    }
+
+    @Test
+    void persistentStorage_ReplicationFollower_FailsToStart() {
+        runner(StorageType.MAPPED)
+                .withPropertyValues("reservation.replication.role=follower")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause().hasMessageContaining("replication follower"));
+    }
+
+    private ApplicationContextRunner runner(StorageType type) {
+        var properties = RoomReservationServiceFixture.builder()
+                .storage(new ReservationProperties.StorageProperties(type, directory, 64, 256))
+                .properties();
+        return new ApplicationContextRunner()
+                .withBean(ReservationProperties.class, () -> properties)
+                .withUserConfiguration(StorageConfig.class);
+    }
+}